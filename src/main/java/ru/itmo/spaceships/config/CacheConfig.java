@@ -0,0 +1,49 @@
+package ru.itmo.spaceships.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.itmo.spaceships.model.MaintenanceRequestEntity;
+import ru.itmo.spaceships.model.RepairmanEntity;
+import ru.itmo.spaceships.model.SpaceShipEntity;
+import ru.itmo.spaceships.service.EntityCache;
+
+/**
+ * Конфигурация кэшей сущностей для чтения по ключу.
+ */
+@Configuration
+public class CacheConfig {
+
+    private static final int SPACESHIP_CACHE_SIZE = 10_000;
+    private static final int REPAIRMAN_CACHE_SIZE = 1_000;
+    private static final int MAINTENANCE_REQUEST_CACHE_SIZE = 10_000;
+
+    /**
+     * Создаёт кэш кораблей по серийному номеру.
+     *
+     * @return кэш кораблей
+     */
+    @Bean
+    public EntityCache<Long, SpaceShipEntity> spaceShipCache() {
+        return new EntityCache<>("spaceships", SPACESHIP_CACHE_SIZE);
+    }
+
+    /**
+     * Создаёт кэш ремонтников по идентификатору.
+     *
+     * @return кэш ремонтников
+     */
+    @Bean
+    public EntityCache<Long, RepairmanEntity> repairmanCache() {
+        return new EntityCache<>("repairmen", REPAIRMAN_CACHE_SIZE);
+    }
+
+    /**
+     * Создаёт кэш заявок на обслуживание по идентификатору.
+     *
+     * @return кэш заявок на обслуживание
+     */
+    @Bean
+    public EntityCache<Long, MaintenanceRequestEntity> maintenanceRequestCache() {
+        return new EntityCache<>("maintenance-requests", MAINTENANCE_REQUEST_CACHE_SIZE);
+    }
+}
@@ -11,6 +11,7 @@ import ru.itmo.spaceships.generator.RepairmanGenerator;
 import ru.itmo.spaceships.generator.SpaseShipGenerator;
 import ru.itmo.spaceships.repository.RepairmanRepository;
 import ru.itmo.spaceships.repository.SpaceShipRepository;
+import ru.itmo.spaceships.service.SpaceShipService;
 
 /**
  * Инициализатор данных, который обеспечивает наличие минимально необходимых данных в базе данных.
@@ -30,6 +31,7 @@ public class DataInitializer implements CommandLineRunner {
 
     private final SpaceShipRepository spaceShipRepository;
     private final RepairmanRepository repairmanRepository;
+    private final SpaceShipService spaceShipService;
     private final SpaseShipGenerator spaceshipGenerator;
     private final RepairmanGenerator repairmanGenerator;
 
@@ -86,16 +88,16 @@ public class DataInitializer implements CommandLineRunner {
     }
 
     /**
-     * Генерирует и сохраняет указанное количество кораблей.
-     * Обрабатывает возможные ошибки дублирования серийных номеров, пропуская неудачные сохранения.
+     * Генерирует и сохраняет указанное количество кораблей пачками.
+     * Корабли с повторяющимися серийными номерами пропускаются.
      *
      * @param count количество кораблей для генерации
      * @return Mono, который завершается, когда все корабли сохранены (или попытка сохранения выполнена)
      */
     private Mono<Void> generateSpaceships(int count) {
-        return Flux.range(0, count)
-                .flatMap(i -> spaceShipRepository.save(spaceshipGenerator.generateOne())
-                        .onErrorResume(error -> Mono.empty()))
+        return spaceShipService.importSpaceships(Flux.range(0, count).map(i -> spaceshipGenerator.generateOne()))
+                .doOnNext(result -> log.info("Saved {} of {} generated spaceships",
+                        result.getCreated(), result.getReceived()))
                 .then();
     }
 
@@ -0,0 +1,40 @@
+package ru.itmo.spaceships.config;
+
+import java.util.List;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.itmo.spaceships.service.EventHub;
+
+/**
+ * Инициализатор нумерации событий стримов обновлений.
+ * Продолжает нумерацию с последнего номера в журнале событий, чтобы клиенты могли
+ * переподключиться с номером, полученным до перезапуска приложения.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventSequenceInitializer {
+
+    private final List<EventHub<?>> eventHubs;
+
+    /**
+     * Восстанавливает последние номера событий из журнала.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreSequences() {
+        Flux.fromIterable(eventHubs)
+                .flatMap(EventHub::restoreSequence)
+                .then()
+                .onErrorResume(error -> {
+                    log.error("Ошибка при восстановлении номеров событий из журнала", error);
+                    return Mono.empty();
+                })
+                .block(); // Блокируем выполнение, чтобы номера не начинались заново при первых обновлениях
+    }
+}
@@ -1,51 +1,94 @@
 package ru.itmo.spaceships.config;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import reactor.core.publisher.Sinks;
 import reactor.util.concurrent.Queues;
+import ru.itmo.spaceships.converter.JsonbCodec;
 import ru.itmo.spaceships.model.MaintenanceRequestEntity;
 import ru.itmo.spaceships.model.RepairmanEntity;
 import ru.itmo.spaceships.model.SpaceShipEntity;
+import ru.itmo.spaceships.repository.UpdateEventRepository;
+import ru.itmo.spaceships.service.EventHub;
+import ru.itmo.spaceships.service.EventHub.OverflowPolicy;
+import ru.itmo.spaceships.service.EventOutbox;
+import ru.itmo.spaceships.service.ObjectMapperWrapper;
 
 /**
  * Конфигурация для событий стриминга обновлений.
- * Создаёт Sinks для публикации событий обновлений различных сущностей.
+ * Создаёт EventHub для публикации событий обновлений различных сущностей.
+ * События склеиваются по идентификатору или серийному номеру сущности.
+ * Последние события хранятся в памяти для переподключающихся клиентов, а при включённом
+ * spaceships.events.outbox.enabled ещё и в журнале в базе.
  */
 @Configuration
 public class EventStreamingConfig {
 
+    private static final int SUBSCRIBER_BUFFER_SIZE = Queues.SMALL_BUFFER_SIZE;
+    private static final OverflowPolicy DEFAULT_OVERFLOW_POLICY = OverflowPolicy.DROP_OLDEST;
+    private static final int HISTORY_SIZE = 4_096;
+    private static final long OUTBOX_RETAINED_EVENTS = 100_000;
+
     /**
-     * Создаёт Sink для публикации событий обновления ремонтников.
+     * Создаёт EventHub для публикации событий обновления ремонтников.
      * Используется для стриминга обновлений через SSE.
      *
-     * @return Sink для публикации событий обновления ремонтников
+     * @param updateEventRepository журнал событий, если он включён
+     * @param objectMapperWrapper   обёртка ObjectMapper для записи событий в журнал
+     * @return EventHub для публикации событий обновления ремонтников
      */
     @Bean
-    public Sinks.Many<RepairmanEntity> repairmanUpdateSink() {
-        return Sinks.many().multicast().onBackpressureBuffer(Queues.SMALL_BUFFER_SIZE, false);
+    public EventHub<RepairmanEntity> repairmanUpdateHub(
+            ObjectProvider<UpdateEventRepository> updateEventRepository,
+            ObjectMapperWrapper objectMapperWrapper) {
+        return new EventHub<>("repairmen", SUBSCRIBER_BUFFER_SIZE, DEFAULT_OVERFLOW_POLICY,
+                RepairmanEntity::getId, HISTORY_SIZE,
+                outbox("repairmen", RepairmanEntity.class, updateEventRepository, objectMapperWrapper));
     }
 
     /**
-     * Создаёт Sink для публикации событий обновления заявок на обслуживание.
+     * Создаёт EventHub для публикации событий обновления заявок на обслуживание.
      * Используется для стриминга обновлений через SSE.
      *
-     * @return Sink для публикации событий обновления заявок на обслуживание
+     * @param updateEventRepository журнал событий, если он включён
+     * @param objectMapperWrapper   обёртка ObjectMapper для записи событий в журнал
+     * @return EventHub для публикации событий обновления заявок на обслуживание
      */
     @Bean
-    public Sinks.Many<MaintenanceRequestEntity> maintenanceRequestUpdateSink() {
-        return Sinks.many().multicast().onBackpressureBuffer(Queues.SMALL_BUFFER_SIZE, false);
+    public EventHub<MaintenanceRequestEntity> maintenanceRequestUpdateHub(
+            ObjectProvider<UpdateEventRepository> updateEventRepository,
+            ObjectMapperWrapper objectMapperWrapper) {
+        return new EventHub<>("maintenance-requests", SUBSCRIBER_BUFFER_SIZE, DEFAULT_OVERFLOW_POLICY,
+                MaintenanceRequestEntity::getId, HISTORY_SIZE,
+                outbox("maintenance-requests", MaintenanceRequestEntity.class,
+                        updateEventRepository, objectMapperWrapper));
     }
 
     /**
-     * Создаёт Sink для публикации событий обновления кораблей.
+     * Создаёт EventHub для публикации событий обновления кораблей.
      * Используется для стриминга обновлений через SSE.
      *
-     * @return Sink для публикации событий обновления кораблей
+     * @param updateEventRepository журнал событий, если он включён
+     * @param objectMapperWrapper   обёртка ObjectMapper для записи событий в журнал
+     * @return EventHub для публикации событий обновления кораблей
      */
     @Bean
-    public Sinks.Many<SpaceShipEntity> spaceShipUpdateSink() {
-        return Sinks.many().multicast().onBackpressureBuffer(Queues.SMALL_BUFFER_SIZE, false);
+    public EventHub<SpaceShipEntity> spaceShipUpdateHub(
+            ObjectProvider<UpdateEventRepository> updateEventRepository,
+            ObjectMapperWrapper objectMapperWrapper) {
+        return new EventHub<>("spaceships", SUBSCRIBER_BUFFER_SIZE, DEFAULT_OVERFLOW_POLICY,
+                SpaceShipEntity::getSerial, HISTORY_SIZE,
+                outbox("spaceships", SpaceShipEntity.class, updateEventRepository, objectMapperWrapper));
     }
-}
 
+    private static <T> EventOutbox<T> outbox(String stream, Class<T> type,
+                                             ObjectProvider<UpdateEventRepository> updateEventRepository,
+                                             ObjectMapperWrapper objectMapperWrapper) {
+        UpdateEventRepository repository = updateEventRepository.getIfAvailable();
+        if (repository == null) {
+            return null;
+        }
+        return new EventOutbox<>(stream, JsonbCodec.of(objectMapperWrapper, type), repository,
+                OUTBOX_RETAINED_EVENTS);
+    }
+}
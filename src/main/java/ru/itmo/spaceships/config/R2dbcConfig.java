@@ -1,5 +1,6 @@
 package ru.itmo.spaceships.config;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.convert.CustomConversions.StoreConversions;
@@ -11,10 +12,15 @@ import ru.itmo.spaceships.converter.DimensionsReadingConverter;
 import ru.itmo.spaceships.converter.DimensionsWritingConverter;
 import ru.itmo.spaceships.converter.EngineReadingConverter;
 import ru.itmo.spaceships.converter.EngineWritingConverter;
+import ru.itmo.spaceships.converter.JsonbCodec;
 import ru.itmo.spaceships.converter.SpaceShipTypeReadingConverter;
 import ru.itmo.spaceships.converter.SpaceShipTypeWritingConverter;
 import ru.itmo.spaceships.converter.MaintenanceStatusReadingConverter;
 import ru.itmo.spaceships.converter.MaintenanceStatusWritingConverter;
+import ru.itmo.spaceships.converter.StringInterner;
+import ru.itmo.spaceships.model.CrewMember;
+import ru.itmo.spaceships.model.Dimensions;
+import ru.itmo.spaceships.model.Engine;
 import ru.itmo.spaceships.service.ObjectMapperWrapper;
 
 import java.util.List;
@@ -27,21 +33,26 @@ public class R2dbcConfig {
 
     /**
      * Настраивает пользовательские конвертации R2DBC.
+     * Конвертеры JSONB-колонок одного типа делят общий кодек.
      *
      * @param objectMapperWrapper обёртка ObjectMapper для JSON сериализации
      * @return пользовательские конвертации R2DBC
      */
     @Bean
     public R2dbcCustomConversions r2dbcCustomConversions(ObjectMapperWrapper objectMapperWrapper) {
+        JsonbCodec<Dimensions> dimensionsCodec = JsonbCodec.of(objectMapperWrapper, Dimensions.class);
+        JsonbCodec<Engine> engineCodec = JsonbCodec.of(objectMapperWrapper, Engine.class);
+        JsonbCodec<List<CrewMember>> crewCodec = JsonbCodec.of(objectMapperWrapper, new TypeReference<>() {
+        });
         return new R2dbcCustomConversions(
                 StoreConversions.of(PostgresDialect.INSTANCE.getSimpleTypeHolder()),
                 List.of(
-                        new DimensionsWritingConverter(objectMapperWrapper),
-                        new DimensionsReadingConverter(objectMapperWrapper),
-                        new EngineWritingConverter(objectMapperWrapper),
-                        new EngineReadingConverter(objectMapperWrapper),
-                        new CrewMemberListWritingConverter(objectMapperWrapper),
-                        new CrewMemberListReadingConverter(objectMapperWrapper),
+                        new DimensionsWritingConverter(dimensionsCodec),
+                        new DimensionsReadingConverter(dimensionsCodec),
+                        new EngineWritingConverter(engineCodec),
+                        new EngineReadingConverter(engineCodec),
+                        new CrewMemberListWritingConverter(crewCodec),
+                        new CrewMemberListReadingConverter(crewCodec, new StringInterner()),
                         new SpaceShipTypeWritingConverter(),
                         new SpaceShipTypeReadingConverter(),
                         new MaintenanceStatusWritingConverter(),
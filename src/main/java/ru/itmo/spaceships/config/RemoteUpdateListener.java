@@ -0,0 +1,87 @@
+package ru.itmo.spaceships.config;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import ru.itmo.spaceships.model.MaintenanceRequestEntity;
+import ru.itmo.spaceships.model.RepairmanEntity;
+import ru.itmo.spaceships.model.SpaceShipEntity;
+import ru.itmo.spaceships.service.EventBus;
+import ru.itmo.spaceships.service.EventHub;
+import ru.itmo.spaceships.service.MaintenanceRequestService;
+import ru.itmo.spaceships.service.RepairmanService;
+import ru.itmo.spaceships.service.SpaceShipService;
+
+/**
+ * Слушатель изменений, сделанных на других узлах.
+ * Подписывается на {@link EventBus} после запуска приложения и передаёт ключи изменённых сущностей
+ * сервису соответствующего стрима, который рассылает свежие версии подписчикам этого узла.
+ */
+@Slf4j
+@Component
+public class RemoteUpdateListener implements DisposableBean {
+
+    private final EventBus eventBus;
+    private final Map<String, Function<Set<Long>, Mono<Void>>> handlers;
+
+    private Disposable subscription;
+
+    /**
+     * @param eventBus                    шина изменений между узлами
+     * @param repairmanService            сервис ремонтников
+     * @param maintenanceRequestService   сервис заявок на обслуживание
+     * @param spaceShipService            сервис кораблей
+     * @param repairmanUpdateHub          стрим обновлений ремонтников
+     * @param maintenanceRequestUpdateHub стрим обновлений заявок на обслуживание
+     * @param spaceShipUpdateHub          стрим обновлений кораблей
+     */
+    public RemoteUpdateListener(EventBus eventBus,
+                                RepairmanService repairmanService,
+                                MaintenanceRequestService maintenanceRequestService,
+                                SpaceShipService spaceShipService,
+                                EventHub<RepairmanEntity> repairmanUpdateHub,
+                                EventHub<MaintenanceRequestEntity> maintenanceRequestUpdateHub,
+                                EventHub<SpaceShipEntity> spaceShipUpdateHub) {
+        this.eventBus = eventBus;
+        this.handlers = Map.of(
+                repairmanUpdateHub.name(), repairmanService::applyRemoteUpdates,
+                maintenanceRequestUpdateHub.name(), maintenanceRequestService::applyRemoteUpdates,
+                spaceShipUpdateHub.name(), spaceShipService::applyRemoteUpdates);
+    }
+
+    /**
+     * Начинает слушать изменения других узлов.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void listen() {
+        subscription = eventBus.changes()
+                .concatMap(change -> {
+                    Function<Set<Long>, Mono<Void>> handler = handlers.get(change.stream());
+                    if (handler == null) {
+                        log.warn("Получены изменения неизвестного стрима {}", change.stream());
+                        return Mono.empty();
+                    }
+                    return handler.apply(change.keys())
+                            .onErrorResume(error -> {
+                                log.error("Ошибка при применении изменений стрима {}", change.stream(), error);
+                                return Mono.empty();
+                            });
+                })
+                .subscribe();
+    }
+
+    @Override
+    public void destroy() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package ru.itmo.spaceships.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import ru.itmo.spaceships.service.SpaceShipStatisticsService;
+
+/**
+ * Инициализатор живой статистики по кораблям.
+ * Запускается после всех CommandLineRunner, чтобы учесть корабли, созданные {@link DataInitializer}.
+ * С шиной postgres статистика не заполняется: по шине приходят только ключи изменённых кораблей,
+ * без прежнего состояния, которое нужно вычесть, поэтому каждый запрос считается разовым отчётом.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spaceships.events.bus", havingValue = "local", matchIfMissing = true)
+@RequiredArgsConstructor
+public class StatisticsInitializer {
+
+    private final SpaceShipStatisticsService spaceShipStatisticsService;
+
+    /**
+     * Заполняет статистику одним проходом по таблице кораблей.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedStatistics() {
+        log.info("Заполнение статистики по кораблям...");
+        spaceShipStatisticsService.seed()
+                .onErrorResume(error -> {
+                    log.error("Ошибка при заполнении статистики по кораблям", error);
+                    return Mono.empty();
+                })
+                .block(); // Блокируем выполнение, чтобы статистика была готова к первому запросу
+    }
+}
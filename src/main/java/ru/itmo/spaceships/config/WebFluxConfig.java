@@ -0,0 +1,34 @@
+package ru.itmo.spaceships.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import ru.itmo.spaceships.converter.EncodedJsonEncoder;
+import ru.itmo.spaceships.converter.SpaceShipCsvEncoder;
+import ru.itmo.spaceships.converter.SpaceShipNdjsonEncoder;
+import ru.itmo.spaceships.service.ObjectMapperWrapper;
+
+/**
+ * Конфигурация WebFlux: кодировщики для выгрузки кораблей и стримов обновлений.
+ * Пользовательские кодировщики конкретного типа проверяются раньше стандартного Jackson,
+ * поэтому NDJSON с SpaceShipDto пишется порциями, а не со сбросом после каждой строки.
+ * Данные SSE, сериализованные заранее, пишутся без повторной сериализации в каждом подключении.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebFluxConfig implements WebFluxConfigurer {
+
+    private final ObjectMapperWrapper objectMapperWrapper;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.customCodecs().register(new SpaceShipNdjsonEncoder(objectMapperWrapper));
+        configurer.customCodecs().register(new SpaceShipCsvEncoder());
+        configurer.defaultCodecs()
+                .serverSentEventEncoder(new EncodedJsonEncoder(new Jackson2JsonEncoder(objectMapper)));
+    }
+}
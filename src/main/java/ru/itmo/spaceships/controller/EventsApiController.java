@@ -0,0 +1,109 @@
+package ru.itmo.spaceships.controller;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import ru.itmo.spaceships.converter.EventStreamConverter;
+import ru.itmo.spaceships.converter.MaintenanceRequestConverter;
+import ru.itmo.spaceships.converter.RepairmanConverter;
+import ru.itmo.spaceships.converter.SpaceShipConverter;
+import ru.itmo.spaceships.generated.api.EventsApi;
+import ru.itmo.spaceships.generated.model.EventTopic;
+import ru.itmo.spaceships.generated.model.StreamOverflowPolicy;
+import ru.itmo.spaceships.model.MaintenanceRequestEntity;
+import ru.itmo.spaceships.model.RepairmanEntity;
+import ru.itmo.spaceships.model.SpaceShipEntity;
+import ru.itmo.spaceships.model.TopicEvent;
+import ru.itmo.spaceships.service.EventHub;
+import ru.itmo.spaceships.service.Heartbeat;
+import ru.itmo.spaceships.service.MaintenanceRequestService;
+import ru.itmo.spaceships.service.RepairmanService;
+import ru.itmo.spaceships.service.SpaceShipService;
+
+/**
+ * Контроллер общего стрима обновлений: все стримы сущностей и сигнал "сервер жив" в одном подключении.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class EventsApiController implements EventsApi {
+
+    private static final String PING = "ping";
+
+    private final RepairmanService repairmanService;
+    private final MaintenanceRequestService maintenanceRequestService;
+    private final SpaceShipService spaceShipService;
+    private final RepairmanConverter repairmanConverter;
+    private final MaintenanceRequestConverter maintenanceRequestConverter;
+    private final SpaceShipConverter spaceShipConverter;
+    private final EventStreamConverter eventStreamConverter;
+    private final EventHub<RepairmanEntity> repairmanUpdateHub;
+    private final EventHub<MaintenanceRequestEntity> maintenanceRequestUpdateHub;
+    private final EventHub<SpaceShipEntity> spaceShipUpdateHub;
+    private final Heartbeat heartbeat;
+
+    @Override
+    public Flux<Object> getEvents(
+            List<EventTopic> topic,
+            StreamOverflowPolicy overflow,
+            Boolean conflate,
+            Integer conflateWindow,
+            String lastEventID,
+            ServerWebExchange exchange) {
+        Set<EventTopic> topics = topic == null || topic.isEmpty()
+                ? EnumSet.allOf(EventTopic.class)
+                : EnumSet.copyOf(topic);
+        log.info("GET /events - Starting events stream, topics={}, overflow={}, conflate={}, window={}, cursor={}",
+                topics, overflow, conflate, conflateWindow, lastEventID);
+        EventHub.OverflowPolicy policy = eventStreamConverter.convertToPolicy(overflow);
+        EventHub.Conflation conflation = eventStreamConverter.convertToConflation(conflate, conflateWindow);
+        return Flux.defer(() -> {
+            // Топики без номера в курсоре начинаются с текущего события, и оно сразу попадает в курсор,
+            // поэтому при переподключении ни один топик не теряет события, даже если до обрыва их не было
+            Map<String, String> cursor = eventStreamConverter.convertToCursor(lastEventID);
+            List<Flux<TopicEvent>> streams = new ArrayList<>();
+            if (topics.contains(EventTopic.REPAIRMEN)) {
+                String name = repairmanUpdateHub.name();
+                String start = cursor.computeIfAbsent(name, n -> repairmanUpdateHub.lastEventPosition().toString());
+                streams.add(repairmanService.getRepairmenUpdatesStream(policy, conflation, null, start)
+                        .map(event -> eventStreamConverter.convertToTopicEvent(
+                                name, event, repairmanConverter::convertToDto)));
+            }
+            if (topics.contains(EventTopic.MAINTENANCE_REQUESTS)) {
+                String name = maintenanceRequestUpdateHub.name();
+                String start = cursor.computeIfAbsent(
+                        name, n -> maintenanceRequestUpdateHub.lastEventPosition().toString());
+                streams.add(maintenanceRequestService
+                        .getMaintenanceRequestsUpdatesStream(policy, conflation, null,
+                                maintenanceRequestConverter.convertToFilter(null, null, null, null, null), start)
+                        .map(event -> eventStreamConverter.convertToTopicEvent(
+                                name, event, maintenanceRequestConverter::convertToDto)));
+            }
+            if (topics.contains(EventTopic.SPACESHIPS)) {
+                String name = spaceShipUpdateHub.name();
+                String start = cursor.computeIfAbsent(name, n -> spaceShipUpdateHub.lastEventPosition().toString());
+                streams.add(spaceShipService.getSpaceshipsUpdatesStream(policy, conflation, null, null, start)
+                        .map(event -> eventStreamConverter.convertToTopicEvent(
+                                name, event, spaceShipConverter::convertToDto)));
+            }
+            if (topics.contains(EventTopic.PING)) {
+                streams.add(heartbeat.ticks().map(tick -> new TopicEvent(PING, null, "pong", false)));
+            }
+            return Flux.merge(streams)
+                    .map(event -> eventStreamConverter.convertToServerSentEvent(event, cursor));
+        })
+                .doOnNext(event -> log.debug("Streaming event: type={}, id={}", event.event(), event.id()))
+                .map(Object.class::cast)
+                .doOnError(error -> log.error("Error in events stream", error))
+                .doOnCancel(() -> log.info("Events stream cancelled"))
+                .doOnComplete(() -> log.info("Events stream completed"));
+    }
+}
@@ -1,15 +1,22 @@
 package ru.itmo.spaceships.controller;
 
+import java.time.OffsetDateTime;
+import java.util.List;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import ru.itmo.spaceships.converter.EventStreamConverter;
 import ru.itmo.spaceships.converter.MaintenanceRequestConverter;
 import ru.itmo.spaceships.generated.api.MaintenanceRequestsApi;
 import ru.itmo.spaceships.generated.model.MaintenanceRequestDto;
 import ru.itmo.spaceships.generated.model.MaintenanceRequestRequest;
+import ru.itmo.spaceships.generated.model.MaintenanceStatus;
+import ru.itmo.spaceships.generated.model.StreamOverflowPolicy;
+import ru.itmo.spaceships.model.MaintenanceRequestFilter;
 import ru.itmo.spaceships.service.MaintenanceRequestService;
 
 /**
@@ -22,6 +29,7 @@ public class MaintenanceRequestsApiController implements MaintenanceRequestsApi
 
     private final MaintenanceRequestService maintenanceRequestService;
     private final MaintenanceRequestConverter maintenanceRequestConverter;
+    private final EventStreamConverter eventStreamConverter;
 
     @Override
     public Mono<MaintenanceRequestDto> createMaintenanceRequest(
@@ -49,9 +57,9 @@ public class MaintenanceRequestsApiController implements MaintenanceRequestsApi
     }
 
     @Override
-    public Mono<Void> deleteMaintenanceRequest(Long id, ServerWebExchange exchange) {
+    public Mono<Void> deleteMaintenanceRequest(Long id, Long version, ServerWebExchange exchange) {
         log.info("DELETE /maintenance-requests/{} - Deleting maintenance request", id);
-        return maintenanceRequestService.deleteMaintenanceRequest(id)
+        return maintenanceRequestService.deleteMaintenanceRequest(id, version)
                 .doOnSuccess(v -> log.info("Successfully deleted maintenance request with id: {}", id))
                 .doOnError(error -> log.error("Error deleting maintenance request with id: {}", id, error));
     }
@@ -60,15 +68,24 @@ public class MaintenanceRequestsApiController implements MaintenanceRequestsApi
     public Flux<MaintenanceRequestDto> getMaintenanceRequests(
             Integer page,
             Integer size,
+            Long after,
+            List<MaintenanceStatus> status,
+            Long assignee,
+            Long spaceshipSerial,
+            OffsetDateTime createdFrom,
+            OffsetDateTime createdTo,
             ServerWebExchange exchange) {
-        log.info("GET /maintenance-requests - Listing maintenance requests (page={}, size={})", page, size);
-        return maintenanceRequestService.getMaintenanceRequests(page, size)
+        MaintenanceRequestFilter filter = maintenanceRequestConverter.convertToFilter(
+                status, assignee, spaceshipSerial, createdFrom, createdTo);
+        log.info("GET /maintenance-requests - Listing maintenance requests (page={}, size={}, after={}, filter={})",
+                page, size, after, filter);
+        return maintenanceRequestService.getMaintenanceRequests(page, size, after, filter)
                 .map(maintenanceRequestConverter::convertToDto)
                 .collectList()
-                .doOnSuccess(list -> log.info("Returned {} maintenance requests (page={}, size={})",
-                        list.size(), page, size))
-                .doOnError(error -> log.error("Error listing maintenance requests (page={}, size={})",
-                        page, size, error))
+                .doOnSuccess(list -> log.info("Returned {} maintenance requests (page={}, size={}, after={})",
+                        list.size(), page, size, after))
+                .doOnError(error -> log.error("Error listing maintenance requests (page={}, size={}, after={})",
+                        page, size, after, error))
                 .flatMapMany(Flux::fromIterable);
     }
 
@@ -82,11 +99,31 @@ public class MaintenanceRequestsApiController implements MaintenanceRequestsApi
     }
 
     @Override
-    public Flux<MaintenanceRequestDto> getMaintenanceRequestsUpdatesStream(ServerWebExchange exchange) {
-        log.info("GET /maintenance-requests/updates/stream - Starting maintenance request updates stream");
-        return maintenanceRequestService.getMaintenanceRequestsUpdatesStream()
-                .map(maintenanceRequestConverter::convertToDto)
-                .doOnNext(dto -> log.info("Streaming maintenance request update: id={}", dto.getId()))
+    public Flux<MaintenanceRequestDto> getMaintenanceRequestsUpdatesStream(
+            StreamOverflowPolicy overflow,
+            Boolean conflate,
+            Integer conflateWindow,
+            List<Long> id,
+            List<MaintenanceStatus> status,
+            Long assignee,
+            Long spaceshipSerial,
+            String lastEventId,
+            ServerWebExchange exchange) {
+        MaintenanceRequestFilter filter =
+                maintenanceRequestConverter.convertToFilter(status, assignee, spaceshipSerial, null, null);
+        log.info("GET /maintenance-requests/updates/stream - Starting maintenance request updates stream"
+                + ", overflow={}, conflate={}, window={}, ids={}, filter={}, lastEventId={}",
+                overflow, conflate, conflateWindow, id, filter, lastEventId);
+        return maintenanceRequestService
+                .getMaintenanceRequestsUpdatesStream(
+                        eventStreamConverter.convertToPolicy(overflow),
+                        eventStreamConverter.convertToConflation(conflate, conflateWindow),
+                        id,
+                        filter,
+                        lastEventId)
+                .doOnNext(event -> log.info("Streaming maintenance request update: event={}", event.id()))
+                .transform(events -> eventStreamConverter.convertToServerSentEvents(
+                        events, maintenanceRequestConverter::convertToDto))
                 .doOnError(error -> log.error("Error in maintenance request updates stream", error))
                 .doOnCancel(() -> log.info("Maintenance request updates stream cancelled"))
                 .doOnComplete(() -> log.info("Maintenance request updates stream completed"));
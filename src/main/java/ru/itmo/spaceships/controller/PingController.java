@@ -1,16 +1,20 @@
 package ru.itmo.spaceships.controller;
 
-import java.time.Duration;
-
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import ru.itmo.spaceships.service.Heartbeat;
 
 @Slf4j
 @RestController
+@RequiredArgsConstructor
 public class PingController {
+
+    private final Heartbeat heartbeat;
+
     @GetMapping("/ping")
     public Mono<String> ping() {
         log.info("Endpoint /ping called");
@@ -19,7 +23,7 @@ public class PingController {
 
     @GetMapping("/pinger")
     public Flux<String> pinger() {
-        return Flux.interval(Duration.ofSeconds(3))
+        return heartbeat.ticks()
                 .map(i -> "pong");
     }
 }
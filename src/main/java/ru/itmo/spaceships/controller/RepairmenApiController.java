@@ -1,15 +1,19 @@
 package ru.itmo.spaceships.controller;
 
+import java.util.List;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import ru.itmo.spaceships.converter.EventStreamConverter;
 import ru.itmo.spaceships.converter.RepairmanConverter;
 import ru.itmo.spaceships.generated.api.RepairmenApi;
 import ru.itmo.spaceships.generated.model.RepairmanDto;
 import ru.itmo.spaceships.generated.model.RepairmanRequest;
+import ru.itmo.spaceships.generated.model.StreamOverflowPolicy;
 import ru.itmo.spaceships.service.RepairmanService;
 
 /**
@@ -22,6 +26,7 @@ public class RepairmenApiController implements RepairmenApi {
 
     private final RepairmanService repairmanService;
     private final RepairmanConverter repairmanConverter;
+    private final EventStreamConverter eventStreamConverter;
 
     @Override
     public Mono<RepairmanDto> createRepairman(
@@ -49,9 +54,9 @@ public class RepairmenApiController implements RepairmenApi {
     }
 
     @Override
-    public Mono<Void> deleteRepairman(Long id, ServerWebExchange exchange) {
+    public Mono<Void> deleteRepairman(Long id, Long version, ServerWebExchange exchange) {
         log.info("DELETE /repairmen/{} - Deleting repairman", id);
-        return repairmanService.deleteRepairman(id)
+        return repairmanService.deleteRepairman(id, version)
                 .doOnSuccess(v -> log.info("Successfully deleted repairman with id: {}", id))
                 .doOnError(error -> log.error("Error deleting repairman with id: {}", id, error));
     }
@@ -60,13 +65,16 @@ public class RepairmenApiController implements RepairmenApi {
     public Flux<RepairmanDto> getRepairmen(
             Integer page,
             Integer size,
+            Long after,
             ServerWebExchange exchange) {
-        log.info("GET /repairmen - Listing repairmen (page={}, size={})", page, size);
-        return repairmanService.getRepairmen(page, size)
+        log.info("GET /repairmen - Listing repairmen (page={}, size={}, after={})", page, size, after);
+        return repairmanService.getRepairmen(page, size, after)
                 .map(repairmanConverter::convertToDto)
                 .collectList()
-                .doOnSuccess(list -> log.info("Returned {} repairmen (page={}, size={})", list.size(), page, size))
-                .doOnError(error -> log.error("Error listing repairmen (page={}, size={})", page, size, error))
+                .doOnSuccess(list -> log.info("Returned {} repairmen (page={}, size={}, after={})",
+                        list.size(), page, size, after))
+                .doOnError(error -> log.error("Error listing repairmen (page={}, size={}, after={})",
+                        page, size, after, error))
                 .flatMapMany(Flux::fromIterable);
     }
 
@@ -80,11 +88,25 @@ public class RepairmenApiController implements RepairmenApi {
     }
 
     @Override
-    public Flux<RepairmanDto> getRepairmenUpdatesStream(ServerWebExchange exchange) {
-        log.info("GET /repairmen/updates/stream - Starting repairman updates stream");
-        return repairmanService.getRepairmenUpdatesStream()
-                .map(repairmanConverter::convertToDto)
-                .doOnNext(dto -> log.info("Streaming repairman update: id={}", dto.getId()))
+    public Flux<RepairmanDto> getRepairmenUpdatesStream(
+            StreamOverflowPolicy overflow,
+            Boolean conflate,
+            Integer conflateWindow,
+            List<Long> id,
+            String lastEventId,
+            ServerWebExchange exchange) {
+        log.info("GET /repairmen/updates/stream - Starting repairman updates stream"
+                + ", overflow={}, conflate={}, window={}, ids={}, lastEventId={}",
+                overflow, conflate, conflateWindow, id, lastEventId);
+        return repairmanService
+                .getRepairmenUpdatesStream(
+                        eventStreamConverter.convertToPolicy(overflow),
+                        eventStreamConverter.convertToConflation(conflate, conflateWindow),
+                        id,
+                        lastEventId)
+                .doOnNext(event -> log.info("Streaming repairman update: event={}", event.id()))
+                .transform(events -> eventStreamConverter.convertToServerSentEvents(
+                        events, repairmanConverter::convertToDto))
                 .doOnError(error -> log.error("Error in repairman updates stream", error))
                 .doOnCancel(() -> log.info("Repairman updates stream cancelled"))
                 .doOnComplete(() -> log.info("Repairman updates stream completed"));
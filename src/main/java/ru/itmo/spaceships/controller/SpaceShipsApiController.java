@@ -1,15 +1,21 @@
 package ru.itmo.spaceships.controller;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import ru.itmo.spaceships.converter.EventStreamConverter;
 import ru.itmo.spaceships.converter.SpaceShipConverter;
 import ru.itmo.spaceships.generated.api.SpaceshipsApi;
+import ru.itmo.spaceships.generated.model.SpaceShipBatchResultDto;
 import ru.itmo.spaceships.generated.model.SpaceShipDto;
 import ru.itmo.spaceships.generated.model.SpaceShipRequest;
+import ru.itmo.spaceships.generated.model.StreamOverflowPolicy;
 import ru.itmo.spaceships.service.SpaceShipService;
 
 /**
@@ -22,6 +28,7 @@ public class SpaceShipsApiController implements SpaceshipsApi {
 
     private final SpaceShipService spaceShipService;
     private final SpaceShipConverter spaceShipConverter;
+    private final EventStreamConverter eventStreamConverter;
 
     @Override
     public Mono<SpaceShipDto> createSpaceship(
@@ -38,6 +45,18 @@ public class SpaceShipsApiController implements SpaceshipsApi {
                 .doOnError(error -> log.error("Error creating spaceship", error));
     }
 
+    @Override
+    public Mono<SpaceShipBatchResultDto> createSpaceshipsBatch(
+            Flux<SpaceShipRequest> spaceShipRequest,
+            ServerWebExchange exchange) {
+        log.info("POST /spaceships/batch - Creating spaceships in bulk");
+        return spaceShipService.createSpaceships(spaceShipRequest)
+                .map(spaceShipConverter::convertToDto)
+                .doOnSuccess(dto -> log.info("Bulk create finished: received={}, created={}, failed={}",
+                        dto.getReceived(), dto.getCreated(), dto.getFailed()))
+                .doOnError(error -> log.error("Error creating spaceships in bulk", error));
+    }
+
     @Override
     public Mono<SpaceShipDto> updateSpaceship(
             Long serial,
@@ -52,9 +71,9 @@ public class SpaceShipsApiController implements SpaceshipsApi {
     }
 
     @Override
-    public Mono<Void> deleteSpaceship(Long serial, ServerWebExchange exchange) {
+    public Mono<Void> deleteSpaceship(Long serial, Long version, ServerWebExchange exchange) {
         log.info("DELETE /spaceships/{} - Deleting spaceship", serial);
-        return spaceShipService.deleteSpaceship(serial)
+        return spaceShipService.deleteSpaceship(serial, version)
                 .doOnSuccess(v -> log.info("Successfully deleted spaceship with serial: {}", serial))
                 .doOnError(error -> log.error("Error deleting spaceship with serial: {}", serial, error));
     }
@@ -63,16 +82,31 @@ public class SpaceShipsApiController implements SpaceshipsApi {
     public Flux<SpaceShipDto> getSpaceships(
             Integer page,
             Integer size,
+            Long after,
             ServerWebExchange exchange) {
-        log.info("GET /spaceships - Listing spaceships (page={}, size={})", page, size);
-        return spaceShipService.getSpaceships(page, size)
+        log.info("GET /spaceships - Listing spaceships (page={}, size={}, after={})", page, size, after);
+        return spaceShipService.getSpaceships(page, size, after)
                 .map(spaceShipConverter::convertToDto)
                 .collectList()
-                .doOnSuccess(list -> log.info("Returned {} spaceships (page={}, size={})", list.size(), page, size))
-                .doOnError(error -> log.error("Error listing spaceships (page={}, size={})", page, size, error))
+                .doOnSuccess(list -> log.info("Returned {} spaceships (page={}, size={}, after={})",
+                        list.size(), page, size, after))
+                .doOnError(error -> log.error("Error listing spaceships (page={}, size={}, after={})",
+                        page, size, after, error))
                 .flatMapMany(Flux::fromIterable);
     }
 
+    @Override
+    public Flux<SpaceShipDto> exportSpaceships(Integer fetchSize, ServerWebExchange exchange) {
+        log.info("GET /spaceships/export - Exporting spaceships (fetchSize={})", fetchSize);
+        AtomicLong exported = new AtomicLong();
+        return spaceShipService.exportSpaceships(fetchSize)
+                .map(spaceShipConverter::convertToDto)
+                .doOnNext(dto -> exported.incrementAndGet())
+                .doOnComplete(() -> log.info("Exported {} spaceships", exported.get()))
+                .doOnCancel(() -> log.info("Spaceship export cancelled after {} rows", exported.get()))
+                .doOnError(error -> log.error("Error exporting spaceships", error));
+    }
+
     @Override
     public Mono<SpaceShipDto> getSpaceshipBySerial(Long serial, ServerWebExchange exchange) {
         log.info("GET /spaceships/{} - Getting spaceship by serial", serial);
@@ -83,11 +117,27 @@ public class SpaceShipsApiController implements SpaceshipsApi {
     }
 
     @Override
-    public Flux<SpaceShipDto> getSpaceshipsUpdatesStream(ServerWebExchange exchange) {
-        log.info("GET /spaceships/updates/stream - Starting spaceship updates stream");
-        return spaceShipService.getSpaceshipsUpdatesStream()
-                .map(spaceShipConverter::convertToDto)
-                .doOnNext(dto -> log.info("Streaming spaceship update: serial={}", dto.getSerial()))
+    public Flux<SpaceShipDto> getSpaceshipsUpdatesStream(
+            StreamOverflowPolicy overflow,
+            Boolean conflate,
+            Integer conflateWindow,
+            List<Long> serial,
+            String manufacturer,
+            String lastEventId,
+            ServerWebExchange exchange) {
+        log.info("GET /spaceships/updates/stream - Starting spaceship updates stream"
+                + ", overflow={}, conflate={}, window={}, serials={}, manufacturer={}, lastEventId={}",
+                overflow, conflate, conflateWindow, serial, manufacturer, lastEventId);
+        return spaceShipService
+                .getSpaceshipsUpdatesStream(
+                        eventStreamConverter.convertToPolicy(overflow),
+                        eventStreamConverter.convertToConflation(conflate, conflateWindow),
+                        serial,
+                        manufacturer,
+                        lastEventId)
+                .doOnNext(event -> log.info("Streaming spaceship update: event={}", event.id()))
+                .transform(events -> eventStreamConverter.convertToServerSentEvents(
+                        events, spaceShipConverter::convertToDto))
                 .doOnError(error -> log.error("Error in spaceship updates stream", error))
                 .doOnCancel(() -> log.info("Spaceship updates stream cancelled"))
                 .doOnComplete(() -> log.info("Spaceship updates stream completed"));
@@ -0,0 +1,85 @@
+package ru.itmo.spaceships.controller;
+
+import java.util.List;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.itmo.spaceships.converter.EventStreamConverter;
+import ru.itmo.spaceships.converter.StatisticsConverter;
+import ru.itmo.spaceships.generated.api.StatisticsApi;
+import ru.itmo.spaceships.generated.model.CacheStatisticsDto;
+import ru.itmo.spaceships.generated.model.CountStatisticsDto;
+import ru.itmo.spaceships.generated.model.EventStreamStatisticsDto;
+import ru.itmo.spaceships.generated.model.OverallStatisticsDto;
+import ru.itmo.spaceships.service.EntityCache;
+import ru.itmo.spaceships.service.EventHub;
+import ru.itmo.spaceships.service.SpaceShipStatisticsService;
+
+/**
+ * Контроллер для API эндпоинтов статистики.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class StatisticsApiController implements StatisticsApi {
+
+    private final SpaceShipStatisticsService spaceShipStatisticsService;
+    private final StatisticsConverter statisticsConverter;
+    private final List<EntityCache<?, ?>> entityCaches;
+    private final EventStreamConverter eventStreamConverter;
+    private final List<EventHub<?>> eventHubs;
+
+    @Override
+    public Mono<CountStatisticsDto> getManufacturerStatistics(ServerWebExchange exchange) {
+        log.info("GET /statistics/manufacturers - Counting spaceships by manufacturer");
+        return spaceShipStatisticsService.countByManufacturer()
+                .map(statisticsConverter::convertToDto)
+                .doOnSuccess(dto -> log.info("Counted {} spaceships by manufacturer", dto.getTotal()))
+                .doOnError(error -> log.error("Error counting spaceships by manufacturer", error));
+    }
+
+    @Override
+    public Mono<CountStatisticsDto> getFuelTypeStatistics(ServerWebExchange exchange) {
+        log.info("GET /statistics/fuel-types - Counting spaceships by fuel type");
+        return spaceShipStatisticsService.countByFuelType()
+                .map(statisticsConverter::convertToDto)
+                .doOnSuccess(dto -> log.info("Counted {} spaceships by fuel type", dto.getTotal()))
+                .doOnError(error -> log.error("Error counting spaceships by fuel type", error));
+    }
+
+    @Override
+    public Mono<CountStatisticsDto> getBirthdayMonthStatistics(ServerWebExchange exchange) {
+        log.info("GET /statistics/birthday-months - Counting crew members by birth month");
+        return spaceShipStatisticsService.countByBirthdayMonth()
+                .map(statisticsConverter::convertToDto)
+                .doOnSuccess(dto -> log.info("Counted {} crew members by birth month", dto.getTotal()))
+                .doOnError(error -> log.error("Error counting crew members by birth month", error));
+    }
+
+    @Override
+    public Mono<OverallStatisticsDto> getOverallStatistics(ServerWebExchange exchange) {
+        log.info("GET /statistics/overall - Reading overall spaceship statistics");
+        return spaceShipStatisticsService.getOverallStatistics()
+                .map(statisticsConverter::convertToDto)
+                .doOnSuccess(dto -> log.info("Read statistics over {} spaceships", dto.getMaxSpeed().getCount()))
+                .doOnError(error -> log.error("Error reading overall spaceship statistics", error));
+    }
+
+    @Override
+    public Flux<CacheStatisticsDto> getCacheStatistics(ServerWebExchange exchange) {
+        log.info("GET /statistics/caches - Reading entity cache statistics");
+        return Flux.fromIterable(entityCaches)
+                .map(cache -> statisticsConverter.convertToDto(cache.stats()));
+    }
+
+    @Override
+    public Flux<EventStreamStatisticsDto> getEventStreamStatistics(ServerWebExchange exchange) {
+        log.info("GET /statistics/event-streams - Reading update stream statistics");
+        return Flux.fromIterable(eventHubs)
+                .map(hub -> eventStreamConverter.convertToDto(hub.stats()));
+    }
+}
@@ -1,29 +1,32 @@
 package ru.itmo.spaceships.converter;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import io.r2dbc.postgresql.codec.Json;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.convert.ReadingConverter;
 import org.springframework.lang.NonNull;
 import ru.itmo.spaceships.model.CrewMember;
-import ru.itmo.spaceships.service.ObjectMapperWrapper;
 
 import java.util.List;
 
 /**
  * Конвертер для чтения списка CrewMember из JSONB.
+ * Ранги берутся из небольшого справочника, поэтому одинаковые значения заменяются одним экземпляром строки.
  */
 @ReadingConverter
 @RequiredArgsConstructor
 public class CrewMemberListReadingConverter implements Converter<Json, List<CrewMember>> {
-    private final ObjectMapperWrapper objectMapper;
+    private final JsonbCodec<List<CrewMember>> codec;
+    private final StringInterner ranks;
 
     @Override
     @NonNull
     public List<CrewMember> convert(@NonNull Json source) {
-        return objectMapper.readValue(source.asString(), new TypeReference<>() {
-        });
+        List<CrewMember> crew = codec.decode(source);
+        for (CrewMember member : crew) {
+            member.setRank(ranks.intern(member.getRank()));
+        }
+        return crew;
     }
 }
 
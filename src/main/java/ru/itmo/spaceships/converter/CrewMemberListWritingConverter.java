@@ -6,7 +6,6 @@ import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.convert.WritingConverter;
 import org.springframework.lang.NonNull;
 import ru.itmo.spaceships.model.CrewMember;
-import ru.itmo.spaceships.service.ObjectMapperWrapper;
 
 import java.util.List;
 
@@ -16,12 +15,12 @@ import java.util.List;
 @WritingConverter
 @RequiredArgsConstructor
 public class CrewMemberListWritingConverter implements Converter<List<CrewMember>, Json> {
-    private final ObjectMapperWrapper objectMapper;
+    private final JsonbCodec<List<CrewMember>> codec;
 
     @Override
     @NonNull
     public Json convert(@NonNull List<CrewMember> source) {
-        return Json.of(objectMapper.writeValueAsString(source));
+        return codec.encode(source);
     }
 }
 
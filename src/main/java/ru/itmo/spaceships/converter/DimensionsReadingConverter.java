@@ -6,7 +6,6 @@ import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.convert.ReadingConverter;
 import org.springframework.lang.NonNull;
 import ru.itmo.spaceships.model.Dimensions;
-import ru.itmo.spaceships.service.ObjectMapperWrapper;
 
 /**
  * Конвертер для чтения Dimensions из JSONB.
@@ -14,12 +13,12 @@ import ru.itmo.spaceships.service.ObjectMapperWrapper;
 @ReadingConverter
 @RequiredArgsConstructor
 public class DimensionsReadingConverter implements Converter<Json, Dimensions> {
-    private final ObjectMapperWrapper objectMapper;
+    private final JsonbCodec<Dimensions> codec;
 
     @Override
     @NonNull
     public Dimensions convert(@NonNull Json source) {
-        return objectMapper.readValue(source.asString(), Dimensions.class);
+        return codec.decode(source);
     }
 }
 
@@ -0,0 +1,29 @@
+package ru.itmo.spaceships.converter;
+
+/**
+ * Заранее сериализованный JSON, который пишется в ответ как есть.
+ * Один экземпляр отправляется во все подключения стрима: {@link EncodedJsonEncoder} оборачивает
+ * общий массив байт в буфер ответа без копирования, поэтому массив после создания не изменяется
+ */
+public final class EncodedJson {
+
+    private final byte[] bytes;
+
+    /**
+     * @param bytes JSON в UTF-8, владение массивом переходит к объекту
+     */
+    public EncodedJson(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    byte[] bytes() {
+        return bytes;
+    }
+
+    /**
+     * Размер JSON в байтах
+     */
+    public int size() {
+        return bytes.length;
+    }
+}
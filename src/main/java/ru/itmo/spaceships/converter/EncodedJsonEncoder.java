@@ -0,0 +1,55 @@
+package ru.itmo.spaceships.converter;
+
+import java.util.List;
+import java.util.Map;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+/**
+ * Кодировщик данных SSE: {@link EncodedJson} пишется готовыми байтами, остальное передаётся Jackson.
+ * Писатель SSE кодирует данные каждого события отдельным вызовом encodeValue без проверки типа,
+ * поэтому заранее сериализованное событие не проходит через Jackson ни в одном подключении
+ */
+public class EncodedJsonEncoder implements Encoder<Object> {
+
+    private final Encoder<Object> delegate;
+
+    /**
+     * @param delegate кодировщик для остальных данных
+     */
+    public EncodedJsonEncoder(Encoder<Object> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        return EncodedJson.class.isAssignableFrom(elementType.toClass()) || delegate.canEncode(elementType, mimeType);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+        return Flux.from(inputStream)
+                .map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints));
+    }
+
+    @Override
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory,
+                                  ResolvableType valueType, MimeType mimeType, Map<String, Object> hints) {
+        if (value instanceof EncodedJson json) {
+            return bufferFactory.wrap(json.bytes());
+        }
+        return delegate.encodeValue(value, bufferFactory, valueType, mimeType, hints);
+    }
+
+    @Override
+    public List<MimeType> getEncodableMimeTypes() {
+        return delegate.getEncodableMimeTypes();
+    }
+}
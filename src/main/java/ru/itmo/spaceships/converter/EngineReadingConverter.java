@@ -6,7 +6,6 @@ import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.convert.ReadingConverter;
 import org.springframework.lang.NonNull;
 import ru.itmo.spaceships.model.Engine;
-import ru.itmo.spaceships.service.ObjectMapperWrapper;
 
 /**
  * Конвертер для чтения Engine из JSONB.
@@ -14,12 +13,12 @@ import ru.itmo.spaceships.service.ObjectMapperWrapper;
 @ReadingConverter
 @RequiredArgsConstructor
 public class EngineReadingConverter implements Converter<Json, Engine> {
-    private final ObjectMapperWrapper objectMapper;
+    private final JsonbCodec<Engine> codec;
 
     @Override
     @NonNull
     public Engine convert(@NonNull Json source) {
-        return objectMapper.readValue(source.asString(), Engine.class);
+        return codec.decode(source);
     }
 }
 
@@ -6,7 +6,6 @@ import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.convert.WritingConverter;
 import org.springframework.lang.NonNull;
 import ru.itmo.spaceships.model.Engine;
-import ru.itmo.spaceships.service.ObjectMapperWrapper;
 
 /**
  * Конвертер для записи Engine в JSONB.
@@ -14,12 +13,12 @@ import ru.itmo.spaceships.service.ObjectMapperWrapper;
 @WritingConverter
 @RequiredArgsConstructor
 public class EngineWritingConverter implements Converter<Engine, Json> {
-    private final ObjectMapperWrapper objectMapper;
+    private final JsonbCodec<Engine> codec;
 
     @Override
     @NonNull
     public Json convert(@NonNull Engine source) {
-        return Json.of(objectMapper.writeValueAsString(source));
+        return codec.encode(source);
     }
 }
 
@@ -0,0 +1,197 @@
+package ru.itmo.spaceships.converter;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import ru.itmo.spaceships.generated.model.EventStreamStatisticsDto;
+import ru.itmo.spaceships.generated.model.EventSubscriberStatisticsDto;
+import ru.itmo.spaceships.generated.model.StreamOverflowPolicy;
+import ru.itmo.spaceships.model.TopicEvent;
+import ru.itmo.spaceships.service.EventHub;
+import ru.itmo.spaceships.service.ObjectMapperWrapper;
+
+/**
+ * Конвертер для параметров и метрик стримов обновлений.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventStreamConverter {
+
+    private final ObjectMapperWrapper objectMapperWrapper;
+
+    /**
+     * Конвертирует политику переполнения из API в политику EventHub.
+     *
+     * @param policy политика из запроса
+     * @return политика EventHub или null, если в запросе не указана
+     */
+    public EventHub.OverflowPolicy convertToPolicy(StreamOverflowPolicy policy) {
+        return policy != null ? EventHub.OverflowPolicy.valueOf(policy.name()) : null;
+    }
+
+    /**
+     * Собирает склейку событий из параметров запроса.
+     *
+     * @param conflate      склеивать ли события, пока клиент отстаёт
+     * @param windowMillis  окно склейки в миллисекундах, при наличии склейка включается независимо от conflate
+     * @return склейка или null, если клиент хочет получать каждое событие
+     */
+    public EventHub.Conflation convertToConflation(Boolean conflate, Integer windowMillis) {
+        if (windowMillis != null) {
+            return EventHub.Conflation.within(Duration.ofMillis(windowMillis));
+        }
+        return Boolean.TRUE.equals(conflate) ? EventHub.Conflation.whileBehind() : null;
+    }
+
+    /**
+     * Конвертирует события стрима в события SSE с номером, который браузер вернёт в Last-Event-ID
+     * при переподключении. Сброс уходит событием reset без данных, данные остальных событий
+     * сериализуются один раз на событие, см. {@link #encode}.
+     * Сгенерированный интерфейс контроллера объявляет поток DTO, а писатель SSE сам распознаёт
+     * элементы ServerSentEvent и берёт из них номер и тип события, поэтому поток отдаётся под типом потока DTO.
+     *
+     * @param events    события стрима
+     * @param converter конвертер сущности в DTO
+     * @param <E>       сущность
+     * @param <D>       DTO
+     * @return поток для ответа контроллера
+     */
+    @SuppressWarnings("unchecked")
+    public <E, D> Flux<D> convertToServerSentEvents(Flux<EventHub.Event<E>> events, Function<E, D> converter) {
+        Flux<ServerSentEvent<Object>> serverSentEvents = events.map(event -> {
+            ServerSentEvent.Builder<Object> builder = event.isReset()
+                    ? ServerSentEvent.builder().event("reset")
+                    : ServerSentEvent.<Object>builder(encode(event, converter));
+            return builder.id(event.position().toString()).build();
+        });
+        return (Flux<D>) (Flux<?>) serverSentEvents;
+    }
+
+    /**
+     * Конвертирует событие стрима топика в событие общего стрима. Сброс несёт имя топика в данных.
+     *
+     * @param topic     топик, он же тип события SSE
+     * @param event     событие стрима топика
+     * @param converter конвертер сущности в DTO
+     * @param <E>       сущность
+     * @param <D>       DTO
+     * @return событие общего стрима
+     */
+    public <E, D> TopicEvent convertToTopicEvent(String topic, EventHub.Event<E> event, Function<E, D> converter) {
+        return event.isReset()
+                ? new TopicEvent(topic, event.position(), topic, true)
+                : new TopicEvent(topic, event.position(), encode(event, converter), false);
+    }
+
+    /**
+     * Конвертирует событие в DTO и сериализует его один раз на событие: все подключения стрима,
+     * получившие то же событие, отправляют одни и те же байты.
+     *
+     * @param event     событие стрима
+     * @param converter конвертер сущности в DTO, одинаковый для всех подписчиков стрима
+     * @param <E>       сущность
+     * @param <D>       DTO
+     * @return сериализованное DTO
+     */
+    public <E, D> EncodedJson encode(EventHub.Event<E> event, Function<E, D> converter) {
+        return event.encoded(payload ->
+                new EncodedJson(objectMapperWrapper.writeValueAsBytes(converter.apply(payload))));
+    }
+
+    /**
+     * Разбирает курсор общего стрима из Last-Event-ID. Записи без топика пропускаются, а номер события
+     * в неизвестном формате или из другой эпохи приводит к сбросу топика при подписке.
+     *
+     * @param cursor курсор вида "топик:эпоха-номер,топик:эпоха-номер" или null
+     * @return номер последнего полученного события по каждому топику, см. {@link EventPosition}
+     */
+    public Map<String, String> convertToCursor(String cursor) {
+        Map<String, String> lastEventIds = new LinkedHashMap<>();
+        if (cursor == null || cursor.isBlank()) {
+            return lastEventIds;
+        }
+        for (String entry : cursor.split(",")) {
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                continue;
+            }
+            lastEventIds.put(entry.substring(0, separator).trim(), entry.substring(separator + 1).trim());
+        }
+        return lastEventIds;
+    }
+
+    /**
+     * Конвертирует событие общего стрима в событие SSE. Событие с номером сдвигает курсор своего топика,
+     * и весь курсор уходит номером события SSE, чтобы при переподключении каждый топик продолжился со своего места.
+     * Вызывается последовательно для событий одного подключения.
+     *
+     * @param event  событие общего стрима
+     * @param cursor курсор подключения, изменяется
+     * @return событие SSE
+     */
+    public ServerSentEvent<Object> convertToServerSentEvent(TopicEvent event, Map<String, String> cursor) {
+        ServerSentEvent.Builder<Object> builder = ServerSentEvent.builder(event.data())
+                .event(event.reset() ? "reset" : event.topic());
+        if (event.id() != null) {
+            cursor.put(event.topic(), event.id().toString());
+            builder.id(formatCursor(cursor));
+        }
+        return builder.build();
+    }
+
+    private static String formatCursor(Map<String, String> cursor) {
+        StringBuilder result = new StringBuilder();
+        for (Map.Entry<String, String> entry : cursor.entrySet()) {
+            if (!result.isEmpty()) {
+                result.append(',');
+            }
+            result.append(entry.getKey()).append(':').append(entry.getValue());
+        }
+        return result.toString();
+    }
+
+    /**
+     * Конвертирует метрики стрима в EventStreamStatisticsDto.
+     *
+     * @param stats метрики стрима
+     * @return DTO метрик стрима
+     */
+    public EventStreamStatisticsDto convertToDto(EventHub.Stats stats) {
+        EventStreamStatisticsDto dto = new EventStreamStatisticsDto();
+        dto.setName(stats.name());
+        dto.setBufferSize(stats.bufferSize());
+        dto.setPublished(stats.published());
+        dto.setDropped(stats.dropped());
+        dto.setDisconnected(stats.disconnected());
+        dto.setConflated(stats.conflated());
+        dto.setLastEventId(stats.lastEventId());
+        dto.setHistory(stats.history());
+        dto.setReplayed(stats.replayed());
+        dto.setResets(stats.resets());
+        dto.setSubscribers(stats.subscribers().stream().map(EventStreamConverter::toDto).toList());
+        return dto;
+    }
+
+    private static EventSubscriberStatisticsDto toDto(EventHub.SubscriberStats stats) {
+        EventSubscriberStatisticsDto dto = new EventSubscriberStatisticsDto();
+        dto.setId(stats.id());
+        dto.setOverflowPolicy(StreamOverflowPolicy.valueOf(stats.policy().name()));
+        dto.setKeys(stats.keys());
+        dto.setConflate(stats.conflation() != null);
+        if (stats.conflation() != null && stats.conflation().window() != null) {
+            dto.setConflateWindow(stats.conflation().window().toMillis());
+        }
+        dto.setLag(stats.lag());
+        dto.setMaxLag(stats.maxLag());
+        dto.setDelivered(stats.delivered());
+        dto.setDropped(stats.dropped());
+        dto.setConflated(stats.conflated());
+        return dto;
+    }
+}
@@ -0,0 +1,84 @@
+package ru.itmo.spaceships.converter;
+
+import java.nio.ByteBuffer;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import io.r2dbc.postgresql.codec.Json;
+import lombok.SneakyThrows;
+import ru.itmo.spaceships.service.ObjectMapperWrapper;
+
+/**
+ * Кодек JSONB-колонки одного типа.
+ * Читает значение прямо из байтов, которые вернул драйвер, и пишет значение сразу в байты,
+ * минуя промежуточную строку. ObjectReader и ObjectWriter создаются один раз на тип:
+ * они потокобезопасны и уже знают, какие (де)сериализаторы использовать.
+ *
+ * @param <T> тип значения колонки
+ */
+public final class JsonbCodec<T> {
+
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+
+    private JsonbCodec(ObjectReader reader, ObjectWriter writer) {
+        this.reader = reader;
+        this.writer = writer;
+    }
+
+    /**
+     * Кодек для класса.
+     *
+     * @param objectMapper обёртка ObjectMapper с настройками приложения
+     * @param type класс значения
+     * @param <T> тип значения
+     * @return кодек
+     */
+    public static <T> JsonbCodec<T> of(ObjectMapperWrapper objectMapper, Class<T> type) {
+        return new JsonbCodec<>(objectMapper.readerFor(type), objectMapper.writerFor(type));
+    }
+
+    /**
+     * Кодек для обобщённого типа, например списка.
+     *
+     * @param objectMapper обёртка ObjectMapper с настройками приложения
+     * @param type ссылка на тип значения
+     * @param <T> тип значения
+     * @return кодек
+     */
+    public static <T> JsonbCodec<T> of(ObjectMapperWrapper objectMapper, TypeReference<T> type) {
+        return new JsonbCodec<>(objectMapper.readerFor(type), objectMapper.writerFor(type));
+    }
+
+    /**
+     * Читает значение из JSONB.
+     * Если байты лежат в массиве, парсер работает прямо по нему, иначе читает буфер как поток.
+     *
+     * @param source значение колонки
+     * @return значение
+     */
+    public T decode(Json source) {
+        return source.mapBuffer(this::read);
+    }
+
+    /**
+     * Записывает значение в JSONB.
+     *
+     * @param value значение
+     * @return значение колонки
+     */
+    @SneakyThrows
+    public Json encode(T value) {
+        return Json.of(writer.writeValueAsBytes(value));
+    }
+
+    @SneakyThrows
+    private T read(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            return reader.readValue(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        return reader.readValue(new ByteBufferBackedInputStream(buffer));
+    }
+}
@@ -3,8 +3,14 @@ package ru.itmo.spaceships.converter;
 import org.springframework.stereotype.Component;
 import ru.itmo.spaceships.generated.model.MaintenanceRequestDto;
 import ru.itmo.spaceships.model.MaintenanceRequestEntity;
+import ru.itmo.spaceships.model.MaintenanceRequestFilter;
+import ru.itmo.spaceships.model.MaintenanceStatus;
 
+import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Конвертер для MaintenanceRequestEntity и MaintenanceRequestDto.
@@ -33,7 +39,35 @@ public class MaintenanceRequestConverter {
         dto.setStatus(entity.getStatus() != null
                 ? ru.itmo.spaceships.generated.model.MaintenanceStatus.valueOf(entity.getStatus().name())
                 : null);
+        dto.setVersion(entity.getVersion());
         return dto;
     }
-}
 
+    /**
+     * Собирает фильтр заявок на обслуживание из параметров запроса.
+     *
+     * @param statuses допустимые статусы
+     * @param assignee идентификатор назначенного ремонтника
+     * @param spaceshipSerial серийный номер корабля
+     * @param createdFrom начало интервала создания, включительно
+     * @param createdTo конец интервала создания, не включительно
+     * @return фильтр заявок на обслуживание
+     */
+    public MaintenanceRequestFilter convertToFilter(
+            List<ru.itmo.spaceships.generated.model.MaintenanceStatus> statuses,
+            Long assignee,
+            Long spaceshipSerial,
+            OffsetDateTime createdFrom,
+            OffsetDateTime createdTo) {
+        Set<MaintenanceStatus> statusSet = EnumSet.noneOf(MaintenanceStatus.class);
+        if (statuses != null) {
+            statuses.forEach(status -> statusSet.add(MaintenanceStatus.valueOf(status.name())));
+        }
+        return new MaintenanceRequestFilter(
+                statusSet,
+                assignee,
+                spaceshipSerial,
+                createdFrom != null ? createdFrom.toInstant() : null,
+                createdTo != null ? createdTo.toInstant() : null);
+    }
+}
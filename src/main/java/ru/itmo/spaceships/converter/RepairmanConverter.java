@@ -21,6 +21,7 @@ public class RepairmanConverter {
         dto.setId(entity.getId());
         dto.setName(entity.getName());
         dto.setPosition(entity.getPosition());
+        dto.setVersion(entity.getVersion());
         return dto;
     }
 }
@@ -0,0 +1,108 @@
+package ru.itmo.spaceships.converter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import ru.itmo.spaceships.generated.model.SpaceShipDto;
+
+/**
+ * Основа потоковых форматов выгрузки кораблей.
+ * Строки кодируются порциями по {@link #ROWS_PER_CHUNK} в один буфер: сервер получает крупные куски
+ * без сброса после каждой строки, а в памяти одновременно находится не больше нескольких порций.
+ * Кодировщик не объявляет формат потоковым, поэтому WebFlux пишет ответ с обычным обратным давлением Netty
+ */
+public abstract class SpaceShipChunkEncoder implements Encoder<SpaceShipDto> {
+
+    /**
+     * Количество строк в одном буфере
+     */
+    public static final int ROWS_PER_CHUNK = 256;
+
+    /**
+     * Оценка размера одной строки для начальной ёмкости буфера, байт
+     */
+    private static final int ESTIMATED_ROW_BYTES = 1_024;
+
+    private final MimeType mimeType;
+
+    protected SpaceShipChunkEncoder(MimeType mimeType) {
+        this.mimeType = mimeType;
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        return mimeType != null
+                && this.mimeType.isCompatibleWith(mimeType)
+                && SpaceShipDto.class.isAssignableFrom(elementType.toClass());
+    }
+
+    @Override
+    public List<MimeType> getEncodableMimeTypes() {
+        return List.of(mimeType);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(
+            Publisher<? extends SpaceShipDto> inputStream,
+            DataBufferFactory bufferFactory,
+            ResolvableType elementType,
+            MimeType mimeType,
+            Map<String, Object> hints) {
+        Flux<DataBuffer> rows = Flux.from(inputStream)
+                .buffer(ROWS_PER_CHUNK)
+                .map(chunk -> encodeChunk(chunk, bufferFactory));
+        return Flux.concat(Flux.defer(() -> encodeHeader(bufferFactory)), rows);
+    }
+
+    @Override
+    public DataBuffer encodeValue(
+            SpaceShipDto value,
+            DataBufferFactory bufferFactory,
+            ResolvableType valueType,
+            MimeType mimeType,
+            Map<String, Object> hints) {
+        return encodeChunk(List.of(value), bufferFactory);
+    }
+
+    /**
+     * Заголовок перед первой строкой. По умолчанию его нет
+     */
+    protected Flux<DataBuffer> encodeHeader(DataBufferFactory bufferFactory) {
+        return Flux.empty();
+    }
+
+    /**
+     * Записать порцию строк
+     *
+     * @param ships корабли
+     * @param out   поток поверх буфера
+     */
+    protected abstract void writeRows(List<? extends SpaceShipDto> ships, OutputStream out) throws IOException;
+
+    private DataBuffer encodeChunk(List<? extends SpaceShipDto> ships, DataBufferFactory bufferFactory) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(ships.size() * ESTIMATED_ROW_BYTES);
+        boolean release = true;
+        try (OutputStream out = buffer.asOutputStream()) {
+            writeRows(ships, out);
+            release = false;
+            return buffer;
+        } catch (IOException e) {
+            throw new EncodingException("Failed to encode spaceships", e);
+        } finally {
+            if (release) {
+                DataBufferUtils.release(buffer);
+            }
+        }
+    }
+}
@@ -4,12 +4,16 @@ import org.springframework.stereotype.Component;
 import ru.itmo.spaceships.generated.model.CrewMemberDto;
 import ru.itmo.spaceships.generated.model.DimensionsDto;
 import ru.itmo.spaceships.generated.model.EngineDto;
+import ru.itmo.spaceships.generated.model.ErrorObject;
+import ru.itmo.spaceships.generated.model.SpaceShipBatchErrorDto;
+import ru.itmo.spaceships.generated.model.SpaceShipBatchResultDto;
 import ru.itmo.spaceships.generated.model.SpaceShipDto;
 import ru.itmo.spaceships.generated.model.SpaceShipRequest;
 import ru.itmo.spaceships.model.CrewMember;
 import ru.itmo.spaceships.model.Dimensions;
 import ru.itmo.spaceships.model.Engine;
 import ru.itmo.spaceships.model.FuelType;
+import ru.itmo.spaceships.model.SpaceShipBatchResult;
 import ru.itmo.spaceships.model.SpaceShipEntity;
 import ru.itmo.spaceships.model.SpaceShipType;
 
@@ -45,6 +49,7 @@ public class SpaceShipConverter {
         dto.setEngine(convertEngineToDto(entity.getEngine()));
         dto.setCrew(convertCrewToDto(entity.getCrew()));
         dto.setMaxSpeed(entity.getMaxSpeed());
+        dto.setVersion(entity.getVersion());
         return dto;
     }
 
@@ -164,4 +169,33 @@ public class SpaceShipConverter {
                 dto.getBirthDate()
         );
     }
+
+    /**
+     * Конвертирует итог массового создания кораблей в SpaceShipBatchResultDto.
+     *
+     * @param result итог массового создания
+     * @return DTO итога
+     */
+    public SpaceShipBatchResultDto convertToDto(SpaceShipBatchResult result) {
+        List<SpaceShipBatchErrorDto> errors = new ArrayList<>();
+        for (SpaceShipBatchResult.RowError rowError : result.getErrors()) {
+            ErrorObject error = new ErrorObject();
+            error.setCode(rowError.error().getCode());
+            error.setMessage(rowError.error().getMessage());
+            error.setHumanMessage(rowError.error().getHumanMessage());
+
+            SpaceShipBatchErrorDto dto = new SpaceShipBatchErrorDto();
+            dto.setIndex(rowError.index());
+            dto.setSerial(rowError.serial());
+            dto.setError(error);
+            errors.add(dto);
+        }
+        SpaceShipBatchResultDto dto = new SpaceShipBatchResultDto();
+        dto.setReceived(result.getReceived());
+        dto.setCreated(result.getCreated());
+        dto.setFailed(result.getFailed());
+        dto.setErrors(errors);
+        dto.setErrorsTruncated(result.isErrorsTruncated());
+        return dto;
+    }
 }
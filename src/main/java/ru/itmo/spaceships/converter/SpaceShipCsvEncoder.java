@@ -0,0 +1,87 @@
+package ru.itmo.spaceships.converter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import ru.itmo.spaceships.generated.model.DimensionsDto;
+import ru.itmo.spaceships.generated.model.EngineDto;
+import ru.itmo.spaceships.generated.model.SpaceShipDto;
+
+/**
+ * Выгрузка кораблей в CSV (RFC 4180) с заголовком.
+ * Вложенные размеры и двигатель разворачиваются в отдельные колонки, от экипажа остаётся только его размер
+ */
+public class SpaceShipCsvEncoder extends SpaceShipChunkEncoder {
+
+    public static final MimeType TEXT_CSV = new MimeType("text", "csv", StandardCharsets.UTF_8);
+
+    private static final String HEADER = String.join(",",
+            "serial", "name", "manufacturer", "manufactureDate", "type", "maxSpeed",
+            "length", "width", "height", "weight", "volume",
+            "engineModel", "engineThrust", "fuelType", "fuelConsumption", "crewSize") + "\r\n";
+
+    public SpaceShipCsvEncoder() {
+        super(TEXT_CSV);
+    }
+
+    @Override
+    protected Flux<DataBuffer> encodeHeader(DataBufferFactory bufferFactory) {
+        return Flux.just(bufferFactory.wrap(HEADER.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Override
+    protected void writeRows(List<? extends SpaceShipDto> ships, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        for (SpaceShipDto ship : ships) {
+            DimensionsDto dimensions = ship.getDimensions();
+            EngineDto engine = ship.getEngine();
+            writeField(writer, ship.getSerial(), true);
+            writeField(writer, ship.getName(), false);
+            writeField(writer, ship.getManufacturer(), false);
+            writeField(writer, ship.getManufactureDate(), false);
+            writeField(writer, ship.getType(), false);
+            writeField(writer, ship.getMaxSpeed(), false);
+            writeField(writer, dimensions != null ? dimensions.getLength() : null, false);
+            writeField(writer, dimensions != null ? dimensions.getWidth() : null, false);
+            writeField(writer, dimensions != null ? dimensions.getHeight() : null, false);
+            writeField(writer, dimensions != null ? dimensions.getWeight() : null, false);
+            writeField(writer, dimensions != null ? dimensions.getVolume() : null, false);
+            writeField(writer, engine != null ? engine.getModel() : null, false);
+            writeField(writer, engine != null ? engine.getThrust() : null, false);
+            writeField(writer, engine != null ? engine.getFuelType() : null, false);
+            writeField(writer, engine != null ? engine.getFuelConsumption() : null, false);
+            writeField(writer, ship.getCrew() != null ? ship.getCrew().size() : 0, false);
+            writer.write("\r\n");
+        }
+        writer.flush();
+    }
+
+    /**
+     * Записать значение, взяв его в кавычки, если в нём есть разделитель, кавычка или перевод строки
+     */
+    private static void writeField(Writer writer, Object value, boolean first) throws IOException {
+        if (!first) {
+            writer.write(',');
+        }
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
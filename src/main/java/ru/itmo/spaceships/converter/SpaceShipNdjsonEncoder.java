@@ -0,0 +1,35 @@
+package ru.itmo.spaceships.converter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.MediaType;
+import ru.itmo.spaceships.generated.model.SpaceShipDto;
+import ru.itmo.spaceships.service.ObjectMapperWrapper;
+
+/**
+ * Выгрузка кораблей в NDJSON: по одному SpaceShipDto на строку.
+ * Порция пишется одним JsonGenerator, значения разделяются переводом строки
+ */
+public class SpaceShipNdjsonEncoder extends SpaceShipChunkEncoder {
+
+    private final ObjectWriter writer;
+
+    public SpaceShipNdjsonEncoder(ObjectMapperWrapper objectMapper) {
+        super(MediaType.APPLICATION_NDJSON);
+        this.writer = objectMapper.writerFor(SpaceShipDto.class).withRootValueSeparator("\n");
+    }
+
+    @Override
+    protected void writeRows(List<? extends SpaceShipDto> ships, OutputStream out) throws IOException {
+        try (JsonGenerator generator = writer.createGenerator(out)) {
+            for (SpaceShipDto ship : ships) {
+                writer.writeValue(generator, ship);
+            }
+            generator.writeRaw('\n');
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package ru.itmo.spaceships.converter;
+
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Component;
+import ru.itmo.spaceships.generated.model.CacheStatisticsDto;
+import ru.itmo.spaceships.generated.model.CountStatisticsDto;
+import ru.itmo.spaceships.generated.model.OverallStatisticsDto;
+import ru.itmo.spaceships.generated.model.SummaryStatisticsDto;
+import ru.itmo.spaceships.service.EntityCache;
+import ru.itmo.spaceships.statistics.overall.OverallStatistics;
+
+/**
+ * Конвертер для статистики.
+ */
+@Component
+public class StatisticsConverter {
+
+    /**
+     * Конвертирует счётчики в CountStatisticsDto.
+     * Ключи перечислений записываются их именами.
+     *
+     * @param counts количество объектов по значению признака
+     * @return DTO статистики
+     */
+    public CountStatisticsDto convertToDto(Map<?, Long> counts) {
+        Map<String, Long> byName = new TreeMap<>();
+        long total = 0;
+        for (Map.Entry<?, Long> entry : counts.entrySet()) {
+            Object key = entry.getKey();
+            byName.put(key instanceof Enum<?> value ? value.name() : String.valueOf(key), entry.getValue());
+            total += entry.getValue();
+        }
+        CountStatisticsDto dto = new CountStatisticsDto();
+        dto.setTotal(total);
+        dto.setCounts(byName);
+        return dto;
+    }
+
+    /**
+     * Конвертирует OverallStatistics в OverallStatisticsDto.
+     *
+     * @param statistics общая статистика
+     * @return DTO общей статистики
+     */
+    public OverallStatisticsDto convertToDto(OverallStatistics statistics) {
+        Map<String, SummaryStatisticsDto> crewByShipType = new TreeMap<>();
+        statistics.getAggregateCrewByShipType().forEach((type, summary) -> crewByShipType.put(type, toDto(summary)));
+        OverallStatisticsDto dto = new OverallStatisticsDto();
+        dto.setCountByManufacturer(new TreeMap<>(statistics.getCountByManufacturer()));
+        dto.setCountByFuelType(new TreeMap<>(statistics.getCountByFuelType()));
+        dto.setCountByDate(new TreeMap<>(statistics.getCountByDate()));
+        dto.setMaxSpeed(toDto(statistics.getAggregateMaxSpeed()));
+        dto.setCrewMembers(toDto(statistics.getAggregateCrewMembers()));
+        dto.setLength(toDto(statistics.getAggregateLength()));
+        dto.setCrewByShipType(crewByShipType);
+        return dto;
+    }
+
+    /**
+     * Конвертирует метрики кэша сущностей в CacheStatisticsDto.
+     *
+     * @param stats метрики кэша
+     * @return DTO метрик кэша
+     */
+    public CacheStatisticsDto convertToDto(EntityCache.Stats stats) {
+        CacheStatisticsDto dto = new CacheStatisticsDto();
+        dto.setName(stats.name());
+        dto.setSize(stats.size());
+        dto.setMaximumSize(stats.maximumSize());
+        dto.setHits(stats.hits());
+        dto.setMisses(stats.misses());
+        dto.setHitRate(stats.hitRate());
+        dto.setEvictions(stats.evictions());
+        return dto;
+    }
+
+    private static SummaryStatisticsDto toDto(LongSummaryStatistics summary) {
+        SummaryStatisticsDto dto = new SummaryStatisticsDto();
+        dto.setCount(summary.getCount());
+        if (summary.getCount() > 0) {
+            dto.setMin(summary.getMin());
+            dto.setMax(summary.getMax());
+        }
+        dto.setSum(summary.getSum());
+        dto.setAverage(summary.getAverage());
+        return dto;
+    }
+}
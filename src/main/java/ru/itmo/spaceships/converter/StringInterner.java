@@ -0,0 +1,60 @@
+package ru.itmo.spaceships.converter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Пул повторяющихся строк из JSONB, например рангов экипажа.
+ * Одинаковые значения из разных строк таблицы заменяются одним экземпляром,
+ * так что загруженные корабли не держат тысячи копий "Captain".
+ * В отличие от String.intern пул ограничен: когда он заполнен, новые значения возвращаются как есть
+ */
+public final class StringInterner {
+
+    /**
+     * Ограничение по умолчанию, с запасом покрывает справочные значения
+     */
+    public static final int DEFAULT_MAX_SIZE = 1_024;
+
+    private final ConcurrentMap<String, String> pool = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    public StringInterner() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param maxSize максимальное количество строк в пуле
+     */
+    public StringInterner(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Канонический экземпляр строки.
+     *
+     * @param value строка
+     * @return строка из пула или сама строка, если пул заполнен
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String interned = pool.get(value);
+        if (interned != null) {
+            return interned;
+        }
+        if (pool.size() >= maxSize) {
+            return value;
+        }
+        interned = pool.putIfAbsent(value, value);
+        return interned != null ? interned : value;
+    }
+
+    /**
+     * Количество строк в пуле
+     */
+    public int size() {
+        return pool.size();
+    }
+}
@@ -59,6 +59,14 @@ public class Errors {
                 "Производитель, название, дата производства и тип обязательны для создания корабля");
     }
 
+    /**
+     * Корабль с таким серийным номером уже существует.
+     */
+    public static BaseException spaceshipSerialDuplicateError(long serial) {
+        return new BaseException(409, "spaceship.serial.duplicate.error",
+                String.format("Корабль с серийным номером=\"%s\" уже существует", serial));
+    }
+
     /**
      * Ошибка валидации: серийный номер корабля обязателен для создания заявки на обслуживание.
      */
@@ -83,6 +91,32 @@ public class Errors {
                 String.format("Переход статуса из \"%s\" в \"%s\" не разрешён", currentStatus, newStatus));
     }
 
+    /**
+     * Ремонтник был изменён после того, как клиент его прочитал.
+     */
+    public static BaseException repairmanVersionConflictError(long id, long currentVersion) {
+        return new BaseException(409, "repairman.version.conflict.error",
+                String.format("Ремонтник с id=\"%s\" уже изменён, текущая версия %s", id, currentVersion));
+    }
+
+    /**
+     * Корабль был изменён после того, как клиент его прочитал.
+     */
+    public static BaseException spaceshipVersionConflictError(long serial, long currentVersion) {
+        return new BaseException(409, "spaceship.version.conflict.error",
+                String.format("Корабль с серийным номером=\"%s\" уже изменён, текущая версия %s",
+                        serial, currentVersion));
+    }
+
+    /**
+     * Заявка на обслуживание была изменена после того, как клиент её прочитал.
+     */
+    public static BaseException maintenanceRequestVersionConflictError(long id, long currentVersion) {
+        return new BaseException(409, "maintenance.request.version.conflict.error",
+                String.format("Заявка на обслуживание с id=\"%s\" уже изменена, текущая версия %s",
+                        id, currentVersion));
+    }
+
     /**
      * Ошибка валидации (общая).
      */
@@ -128,5 +162,13 @@ public class Errors {
         return new BaseException(code, "response.status.error",
                 message != null ? message : "Ошибка обработки запроса");
     }
-}
 
+    /**
+     * Подписчик не успевал забирать обновления и был отключён.
+     */
+    public static BaseException eventStreamOverflowError(String stream, int bufferSize) {
+        return new BaseException(503, "event.stream.overflow.error",
+                String.format("Клиент отстал от стрима \"%s\" больше чем на %s событий и был отключён",
+                        stream, bufferSize));
+    }
+}
@@ -1,9 +1,12 @@
 package ru.itmo.spaceships.generator;
 
+import java.time.Clock;
 import java.time.LocalDate;
-import java.time.Period;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 import ru.itmo.spaceships.model.CrewMember;
 
@@ -24,35 +27,85 @@ public class CrewMemberGenerator implements Generator<CrewMember> {
      */
     private static final LocalDate MIN_BIRTH_DATE = LocalDate.of(1960, 1, 1);
     private static final LocalDate MAX_BIRTH_DATE = LocalDate.of(2001, 1, 1);
+    private static final long BIRTH_DATE_DAYS = ChronoUnit.DAYS.between(MIN_BIRTH_DATE, MAX_BIRTH_DATE);
     /**
      * Минимальный возраст с которого можно работать на корабле
      */
     private static final int MIN_WORK_YEAR_THRESHOLD = 18;
 
-    private final Random random;
+    private final RandomGenerator random;
     private final NameGenerator nameGenerator;
+    private final Clock clock;
 
     public CrewMemberGenerator() {
         this(new Random());
     }
 
-    public CrewMemberGenerator(Random random) {
+    public CrewMemberGenerator(RandomGenerator random) {
+        this(random, Clock.systemDefaultZone());
+    }
+
+    /**
+     * @param random генератор случайных чисел
+     * @param clock  часы, от которых считается стаж
+     */
+    public CrewMemberGenerator(RandomGenerator random, Clock clock) {
         this.random = random;
         this.nameGenerator = new NameGenerator(random);
+        this.clock = clock;
     }
 
     @Override
     public CrewMember generateOne() {
+        return generateOne(LocalDate.now(clock));
+    }
+
+    /**
+     * Сгенерировать заданное количество объектов. Текущая дата для стажа берётся из часов один раз на пачку
+     */
+    @Override
+    public List<CrewMember> generateMany(int count) {
+        return generateMany(count, LocalDate.now(clock));
+    }
+
+    /**
+     * Сгенерировать экипаж со стажем на указанную дату
+     */
+    List<CrewMember> generateMany(int count, LocalDate today) {
+        ArrayList<CrewMember> crewMembers = new ArrayList<>(count);
+        while (count-- > 0) {
+            crewMembers.add(generateOne(today));
+        }
+        return crewMembers;
+    }
+
+    Clock clock() {
+        return clock;
+    }
+
+    private CrewMember generateOne(LocalDate today) {
         String fullName = nameGenerator.generateFullName();
 
         String rank = RANKS[random.nextInt(RANKS.length)];
 
-        long days = ChronoUnit.DAYS.between(MIN_BIRTH_DATE, MAX_BIRTH_DATE);
-        LocalDate birthDate = MIN_BIRTH_DATE.plusDays(random.nextLong(days));
+        LocalDate birthDate = MIN_BIRTH_DATE.plusDays(random.nextLong(BIRTH_DATE_DAYS));
 
-        long age = Period.between(birthDate, LocalDate.now()).getYears();
-        int experienceYears = (int) Math.max(0, age - MIN_WORK_YEAR_THRESHOLD);
+        int age = fullYearsBetween(birthDate, today);
+        int experienceYears = Math.max(0, age - MIN_WORK_YEAR_THRESHOLD);
 
         return new CrewMember(fullName, rank, experienceYears, birthDate);
     }
+
+    /**
+     * Количество полных лет между датами, как Period.between(from, to).getYears(), но без создания Period.
+     * Дата to не раньше from
+     */
+    static int fullYearsBetween(LocalDate from, LocalDate to) {
+        int years = to.getYear() - from.getYear();
+        if (to.getMonthValue() < from.getMonthValue()
+                || to.getMonthValue() == from.getMonthValue() && to.getDayOfMonth() < from.getDayOfMonth()) {
+            years--;
+        }
+        return years;
+    }
 }
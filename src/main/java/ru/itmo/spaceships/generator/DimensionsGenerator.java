@@ -1,6 +1,7 @@
 package ru.itmo.spaceships.generator;
 
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 import ru.itmo.spaceships.model.Dimensions;
 
@@ -37,13 +38,13 @@ public class DimensionsGenerator implements Generator<Dimensions> {
     private static final double DENSITY_MIN = 0.003;
     private static final double DENSITY_MAX = 0.010;
 
-    private final Random random;
+    private final RandomGenerator random;
 
     public DimensionsGenerator() {
         this(new Random());
     }
 
-    public DimensionsGenerator(Random random) {
+    public DimensionsGenerator(RandomGenerator random) {
         this.random = random;
     }
 
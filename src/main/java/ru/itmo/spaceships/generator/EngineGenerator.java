@@ -1,6 +1,7 @@
 package ru.itmo.spaceships.generator;
 
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 import ru.itmo.spaceships.model.Engine;
 import ru.itmo.spaceships.model.FuelType;
@@ -31,26 +32,38 @@ public class EngineGenerator implements Generator<Engine> {
      */
     private static final double MIN_FUEL_CONSUMPTION = 0.5;
     private static final double MAX_FUEL_CONSUMPTION = 10.0;
+    /**
+     * Все возможные модели двигателей по номеру производителя и номеру модели
+     */
+    private static final String[][] MODELS = new String[MANUFACTURERS.length][MAX_MODEL_NUM - MIN_MODEL_NUM];
+    private static final FuelType[] FUEL_TYPES = FuelType.values();
+
+    static {
+        for (int manufacturer = 0; manufacturer < MANUFACTURERS.length; manufacturer++) {
+            for (int model = MIN_MODEL_NUM; model < MAX_MODEL_NUM; model++) {
+                MODELS[manufacturer][model - MIN_MODEL_NUM] = MANUFACTURERS[manufacturer] + " Model-" + model;
+            }
+        }
+    }
 
-    private final Random random;
+    private final RandomGenerator random;
 
     public EngineGenerator() {
         this(new Random());
     }
 
-    public EngineGenerator(Random random) {
+    public EngineGenerator(RandomGenerator random) {
         this.random = random;
     }
 
     @Override
     public Engine generateOne() {
-        String manufacturer = MANUFACTURERS[random.nextInt(MANUFACTURERS.length)];
-        String model = String.format("%s Model-%s", manufacturer, random.nextInt(MIN_MODEL_NUM, MAX_MODEL_NUM));
+        String[] manufacturerModels = MODELS[random.nextInt(MANUFACTURERS.length)];
+        String model = manufacturerModels[random.nextInt(MIN_MODEL_NUM, MAX_MODEL_NUM) - MIN_MODEL_NUM];
 
         int thrust = random.nextInt(MIN_THRUST, MAX_THRUST);
 
-        FuelType[] fuelTypes = FuelType.values();
-        FuelType fuelType = fuelTypes[random.nextInt(fuelTypes.length)];
+        FuelType fuelType = FUEL_TYPES[random.nextInt(FUEL_TYPES.length)];
 
         double fuelConsumption = random.nextDouble(MIN_FUEL_CONSUMPTION, MAX_FUEL_CONSUMPTION);
 
@@ -1,6 +1,7 @@
 package ru.itmo.spaceships.generator;
 
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Утилитный класс для генерации случайных имён.
@@ -24,7 +25,21 @@ public class NameGenerator {
             "Соколов", "Попов", "Морозов", "Волков", "Фёдоров"
     };
 
-    private final Random random;
+    /**
+     * Все возможные полные имена, индекс - номер имени * количество фамилий + номер фамилии.
+     * Полные имена общие для всех сгенерированных объектов, а не собираются заново для каждого.
+     */
+    private static final String[] FULL_NAMES = new String[FIRST_NAMES.length * LAST_NAMES.length];
+
+    static {
+        for (int first = 0; first < FIRST_NAMES.length; first++) {
+            for (int last = 0; last < LAST_NAMES.length; last++) {
+                FULL_NAMES[first * LAST_NAMES.length + last] = FIRST_NAMES[first] + " " + LAST_NAMES[last];
+            }
+        }
+    }
+
+    private final RandomGenerator random;
 
     /**
      * Создаёт NameGenerator с новым экземпляром Random.
@@ -34,11 +49,11 @@ public class NameGenerator {
     }
 
     /**
-     * Создаёт NameGenerator с указанным экземпляром Random.
+     * Создаёт NameGenerator с указанным генератором случайных чисел.
      *
      * @param random генератор случайных чисел
      */
-    public NameGenerator(Random random) {
+    public NameGenerator(RandomGenerator random) {
         this.random = random;
     }
 
@@ -48,9 +63,9 @@ public class NameGenerator {
      * @return сгенерированное полное имя
      */
     public String generateFullName() {
-        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
-        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
-        return String.format("%s %s", firstName, lastName);
+        int first = random.nextInt(FIRST_NAMES.length);
+        int last = random.nextInt(LAST_NAMES.length);
+        return FULL_NAMES[first * LAST_NAMES.length + last];
     }
 }
 
@@ -0,0 +1,94 @@
+package ru.itmo.spaceships.generator;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.BiFunction;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+import ru.itmo.spaceships.model.SpaceShipEntity;
+
+/**
+ * Параллельный детерминированный генератор на {@link SplittableRandom}.
+ * Пачка делится на части фиксированного размера, и каждая часть генерируется своим генератором
+ * со своим SplittableRandom, отщеплённым от общего зерна в порядке номеров частей. Поэтому потоки
+ * не делят одно состояние случайности, а результат для одного зерна не зависит от количества потоков
+ * и от того, в каком порядке они обработали части. Все части пачки считают даты от одного момента,
+ * взятого из часов в начале пачки
+ *
+ * @param <T> тип генерируемого объекта
+ */
+public class ParallelGenerator<T> implements Generator<T> {
+
+    /**
+     * Количество объектов в одной части пачки. Не зависит от количества потоков,
+     * иначе от него зависело бы, какой объект каким SplittableRandom сгенерирован
+     */
+    static final int CHUNK_SIZE = 1_024;
+
+    private final SplittableRandom seed;
+    private final Clock clock;
+    private final BiFunction<RandomGenerator, Clock, ? extends Generator<T>> factory;
+
+    /**
+     * @param seed    зерно
+     * @param factory создание генератора части из её генератора случайных чисел и часов пачки
+     */
+    public ParallelGenerator(long seed, BiFunction<RandomGenerator, Clock, ? extends Generator<T>> factory) {
+        this(seed, Clock.systemDefaultZone(), factory);
+    }
+
+    /**
+     * @param seed    зерно
+     * @param clock   часы, момент которых фиксируется в начале каждой пачки
+     * @param factory создание генератора части из её генератора случайных чисел и часов пачки
+     */
+    public ParallelGenerator(long seed, Clock clock,
+                             BiFunction<RandomGenerator, Clock, ? extends Generator<T>> factory) {
+        this.seed = new SplittableRandom(seed);
+        this.clock = clock;
+        this.factory = factory;
+    }
+
+    /**
+     * Генератор кораблей
+     *
+     * @param seed зерно
+     */
+    public static ParallelGenerator<SpaceShipEntity> spaceships(long seed) {
+        return new ParallelGenerator<>(seed, SpaseShipGenerator::new);
+    }
+
+    @Override
+    public T generateOne() {
+        return generateMany(1).get(0);
+    }
+
+    /**
+     * Сгенерировать заданное количество объектов в общем пуле ForkJoinPool.
+     * Чтобы ограничить количество потоков, метод можно вызвать из задачи своего ForkJoinPool
+     */
+    @Override
+    public List<T> generateMany(int count) {
+        int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        synchronized (seed) {
+            for (int i = 0; i < chunks; i++) {
+                randoms[i] = seed.split();
+            }
+        }
+        Clock batchClock = Clock.fixed(clock.instant(), clock.getZone());
+
+        List<List<T>> parts = IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> factory.apply(randoms[chunk], batchClock)
+                        .generateMany(Math.min(CHUNK_SIZE, count - chunk * CHUNK_SIZE)))
+                .toList();
+
+        ArrayList<T> objects = new ArrayList<>(count);
+        parts.forEach(objects::addAll);
+        return objects;
+    }
+}
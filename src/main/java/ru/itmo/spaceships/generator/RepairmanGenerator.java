@@ -3,6 +3,7 @@ package ru.itmo.spaceships.generator;
 import ru.itmo.spaceships.model.RepairmanEntity;
 
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Генератор для RepairmanEntity.
@@ -18,7 +19,7 @@ public class RepairmanGenerator implements Generator<RepairmanEntity> {
             "Мастер по ремонту", "Техник", "Специалист по диагностике"
     };
 
-    private final Random random;
+    private final RandomGenerator random;
     private final NameGenerator nameGenerator;
 
     /**
@@ -29,22 +30,22 @@ public class RepairmanGenerator implements Generator<RepairmanEntity> {
     }
 
     /**
-     * Создаёт RepairmanGenerator с указанным экземпляром Random.
+     * Создаёт RepairmanGenerator с указанным генератором случайных чисел.
      *
      * @param random генератор случайных чисел
      */
-    public RepairmanGenerator(Random random) {
+    public RepairmanGenerator(RandomGenerator random) {
         this.random = random;
         this.nameGenerator = new NameGenerator(random);
     }
 
     /**
-     * Создаёт RepairmanGenerator с указанными экземплярами Random и NameGenerator.
+     * Создаёт RepairmanGenerator с указанными генератором случайных чисел и NameGenerator.
      *
      * @param random генератор случайных чисел
      * @param nameGenerator генератор имён
      */
-    public RepairmanGenerator(Random random, NameGenerator nameGenerator) {
+    public RepairmanGenerator(RandomGenerator random, NameGenerator nameGenerator) {
         this.random = random;
         this.nameGenerator = nameGenerator;
     }
@@ -55,7 +56,7 @@ public class RepairmanGenerator implements Generator<RepairmanEntity> {
         String position = POSITIONS[random.nextInt(POSITIONS.length)];
 
         // ID будет автоматически сгенерирован базой данных
-        return new RepairmanEntity(0L, name, position);
+        return new RepairmanEntity(0L, name, position, 0L);
     }
 }
 
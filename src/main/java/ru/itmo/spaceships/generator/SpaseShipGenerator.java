@@ -1,8 +1,12 @@
 package ru.itmo.spaceships.generator;
 
+import java.time.Clock;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 import ru.itmo.spaceships.model.CrewMember;
 import ru.itmo.spaceships.model.Dimensions;
@@ -18,9 +22,9 @@ public class SpaseShipGenerator implements Generator<SpaceShipEntity> {
     /**
      * Все возможные производители кораблей
      */
-    private static final String[] MANUFACTURERS = {
+    public static final List<String> MANUFACTURERS = List.of(
             "AMD", "Intel", "NVidia", "Acer", "Apple Inc.", "Hitachi", "IBM", "Qualcomm", "Samsung", "SpaceX", "NASA"
-    };
+    );
     /**
      * Максимальное количество в секундах от сегодняшнего дня для времени производства лодки
      */
@@ -30,6 +34,10 @@ public class SpaseShipGenerator implements Generator<SpaceShipEntity> {
      */
     private static final int MIN_NAME_NUMBER = 1_000;
     private static final int MAX_NAME_NUMBER = 9_000;
+    /**
+     * Все возможные названия кораблей, индекс - номер из названия минус минимальный номер
+     */
+    private static final String[] NAMES = new String[MAX_NAME_NUMBER - MIN_NAME_NUMBER];
     /**
      * Минимальное и максимальное количество человек состава экипажа
      */
@@ -44,50 +52,103 @@ public class SpaseShipGenerator implements Generator<SpaceShipEntity> {
     // https://developer.mozilla.org/en-US/docs/Web/JavaScript/Reference/Global_Objects/Number/MAX_SAFE_INTEGER
     public static final long JS_MAX_SAFE_INTEGER = 9007199254740991L;
 
-    private final Random random;
+    private static final SpaceShipType[] SPACE_SHIP_TYPES = SpaceShipType.values();
+
+    static {
+        for (int number = MIN_NAME_NUMBER; number < MAX_NAME_NUMBER; number++) {
+            NAMES[number - MIN_NAME_NUMBER] = "SS-" + number;
+        }
+    }
+
+    private final RandomGenerator random;
     private final Generator<Dimensions> dimensionsGenerator;
     private final Generator<Engine> engineGenerator;
     private final Generator<CrewMember> crewMemberGenerator;
+    private final Clock clock;
+    /**
+     * Генератор экипажа, которому можно передать дату пачки: он считает стаж по тем же часам
+     */
+    private final CrewMemberGenerator batchCrewMemberGenerator;
 
     public SpaseShipGenerator() {
         this(new Random(), new DimensionsGenerator(), new EngineGenerator(), new CrewMemberGenerator());
     }
 
-    public SpaseShipGenerator(Random random) {
-        this(random, new DimensionsGenerator(random), new EngineGenerator(random), new CrewMemberGenerator(random));
+    public SpaseShipGenerator(RandomGenerator random) {
+        this(random, Clock.systemDefaultZone());
+    }
+
+    /**
+     * @param random генератор случайных чисел для корабля и всех его частей
+     * @param clock  часы, от которых отсчитываются даты производства и стаж экипажа
+     */
+    public SpaseShipGenerator(RandomGenerator random, Clock clock) {
+        this(random, new DimensionsGenerator(random), new EngineGenerator(random),
+                new CrewMemberGenerator(random, clock), clock);
     }
 
-    public SpaseShipGenerator(Random random, Generator<Dimensions> dimensionsGenerator,
+    public SpaseShipGenerator(RandomGenerator random, Generator<Dimensions> dimensionsGenerator,
                               Generator<Engine> engineGenerator, Generator<CrewMember> crewMemberGenerator) {
+        this(random, dimensionsGenerator, engineGenerator, crewMemberGenerator, Clock.systemDefaultZone());
+    }
+
+    private SpaseShipGenerator(RandomGenerator random, Generator<Dimensions> dimensionsGenerator,
+                               Generator<Engine> engineGenerator, Generator<CrewMember> crewMemberGenerator,
+                               Clock clock) {
         this.random = random;
         this.dimensionsGenerator = dimensionsGenerator;
         this.engineGenerator = engineGenerator;
         this.crewMemberGenerator = crewMemberGenerator;
+        this.clock = clock;
+        this.batchCrewMemberGenerator = crewMemberGenerator instanceof CrewMemberGenerator generator
+                && clock.equals(generator.clock()) ? generator : null;
     }
 
     @Override
     public SpaceShipEntity generateOne() {
+        Instant now = clock.instant();
+        return generateOne(now, LocalDate.ofInstant(now, clock.getZone()));
+    }
+
+    /**
+     * Сгенерировать заданное количество объектов. Текущий момент берётся из часов один раз на пачку,
+     * от него отсчитываются даты производства и стаж экипажа всех кораблей пачки
+     */
+    @Override
+    public List<SpaceShipEntity> generateMany(int count) {
+        Instant now = clock.instant();
+        LocalDate today = LocalDate.ofInstant(now, clock.getZone());
+        ArrayList<SpaceShipEntity> ships = new ArrayList<>(count);
+        while (count-- > 0) {
+            ships.add(generateOne(now, today));
+        }
+        return ships;
+    }
+
+    private SpaceShipEntity generateOne(Instant now, LocalDate today) {
         long serial = random.nextLong(0, JS_MAX_SAFE_INTEGER);
 
-        String manufacturer = MANUFACTURERS[random.nextInt(MANUFACTURERS.length)];
+        String manufacturer = MANUFACTURERS.get(random.nextInt(MANUFACTURERS.size()));
 
-        Instant manufactureDate = Instant.now().minusSeconds(random.nextInt(MANUFACTURE_SECONDS_MAX));
+        Instant manufactureDate = now.minusSeconds(random.nextInt(MANUFACTURE_SECONDS_MAX));
 
-        String name = String.format("SS-%s", random.nextInt(MIN_NAME_NUMBER, MAX_NAME_NUMBER));
+        String name = NAMES[random.nextInt(MIN_NAME_NUMBER, MAX_NAME_NUMBER) - MIN_NAME_NUMBER];
 
-        SpaceShipType[] spaceShipTypes = SpaceShipType.values();
-        SpaceShipType spaceShipType = spaceShipTypes[random.nextInt(spaceShipTypes.length)];
+        SpaceShipType spaceShipType = SPACE_SHIP_TYPES[random.nextInt(SPACE_SHIP_TYPES.length)];
 
         Dimensions dimensions = dimensionsGenerator.generateOne();
 
         Engine engine = engineGenerator.generateOne();
 
-        List<CrewMember> crewMembers = crewMemberGenerator.generateMany(random.nextInt(MIN_CREW_SIZE, MAX_CREW_SIZE));
+        int crewSize = random.nextInt(MIN_CREW_SIZE, MAX_CREW_SIZE);
+        List<CrewMember> crewMembers = batchCrewMemberGenerator != null
+                ? batchCrewMemberGenerator.generateMany(crewSize, today)
+                : crewMemberGenerator.generateMany(crewSize);
 
         int maxSpeed = random.nextInt(MIN_MAX_SPEED, MAX_MAX_SPEED);
 
         // id будет автоматически сгенерирован базой данных, пока устанавливаем в 0
         return new SpaceShipEntity(0L, serial, manufacturer, manufactureDate, name, spaceShipType, dimensions, engine,
-                crewMembers, maxSpeed);
+                crewMembers, maxSpeed, 0L);
     }
 }
@@ -0,0 +1,14 @@
+package ru.itmo.spaceships.model;
+
+/**
+ * Итог изменения или удаления строки одним запросом с условием.
+ * Строка до изменения возвращается всегда, поэтому по ней можно понять, какое условие не выполнилось,
+ * не делая второй запрос
+ *
+ * @param previous строка до изменения
+ * @param current  строка после изменения, null для удаления и для невыполненного условия
+ * @param applied  выполнилось ли условие
+ * @param <T>      сущность
+ */
+public record ConditionalWrite<T>(T previous, T current, boolean applied) {
+}
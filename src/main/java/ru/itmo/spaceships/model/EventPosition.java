@@ -0,0 +1,41 @@
+package ru.itmo.spaceships.model;
+
+/**
+ * Номер события в том виде, в котором его получает клиент: эпоха нумерации и номер в ней.
+ * Без журнала в базе нумерация начинается заново при каждом запуске узла, а у разных узлов она своя,
+ * поэтому номер без эпохи мог бы указать на несвязанные события. Клиент с номером из другой эпохи получает сброс
+ *
+ * @param epoch эпоха нумерации стрима
+ * @param id    номер события в эпохе
+ */
+public record EventPosition(String epoch, long id) {
+
+    private static final char SEPARATOR = '-';
+
+    /**
+     * Разобрать номер события, полученный от клиента
+     *
+     * @param value номер вида "эпоха-номер"
+     * @return номер события или null, если формат неизвестен
+     */
+    public static EventPosition parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        int separator = value.lastIndexOf(SEPARATOR);
+        if (separator <= 0) {
+            return null;
+        }
+        try {
+            long id = Long.parseLong(value.substring(separator + 1));
+            return new EventPosition(value.substring(0, separator).trim(), id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return epoch + SEPARATOR + id;
+    }
+}
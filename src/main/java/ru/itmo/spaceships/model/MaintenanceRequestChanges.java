@@ -0,0 +1,13 @@
+package ru.itmo.spaceships.model;
+
+/**
+ * Изменения заявки на обслуживание. Поля со значением null не изменяются
+ *
+ * @param spaceshipSerial серийный номер корабля
+ * @param comment         комментарий
+ * @param assignee        идентификатор назначенного ремонтника
+ * @param status          новый статус
+ */
+public record MaintenanceRequestChanges(Long spaceshipSerial, String comment, Long assignee,
+                                        MaintenanceStatus status) {
+}
@@ -24,4 +24,8 @@ public class MaintenanceRequestEntity {
     private Instant updatedAt;
     private Long assignee;
     private MaintenanceStatus status;
+    /**
+     * Версия строки, увеличивается при каждом изменении
+     */
+    private long version;
 }
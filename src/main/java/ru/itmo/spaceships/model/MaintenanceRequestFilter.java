@@ -0,0 +1,60 @@
+package ru.itmo.spaceships.model;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Фильтр заявок на обслуживание. Поля со значением null (и пустое множество статусов) не ограничивают выборку
+ *
+ * @param statuses        допустимые статусы
+ * @param assignee        идентификатор назначенного ремонтника
+ * @param spaceshipSerial серийный номер корабля
+ * @param createdFrom     начало интервала создания, включительно
+ * @param createdTo       конец интервала создания, не включительно
+ */
+public record MaintenanceRequestFilter(
+        Set<MaintenanceStatus> statuses,
+        Long assignee,
+        Long spaceshipSerial,
+        Instant createdFrom,
+        Instant createdTo
+) {
+
+    /**
+     * Проверяет, что фильтр ничего не ограничивает.
+     *
+     * @return true, если ни одно условие не задано
+     */
+    public boolean isEmpty() {
+        return (statuses == null || statuses.isEmpty())
+                && assignee == null
+                && spaceshipSerial == null
+                && createdFrom == null
+                && createdTo == null;
+    }
+
+    /**
+     * Проверяет, что выбираются только незакрытые заявки.
+     *
+     * @return true, если задан непустой набор статусов без конечных
+     */
+    public boolean isOpenOnly() {
+        return statuses != null
+                && !statuses.isEmpty()
+                && statuses.stream().noneMatch(MaintenanceStatus::isTerminal);
+    }
+
+    /**
+     * Проверяет, что заявка удовлетворяет всем заданным условиям.
+     *
+     * @param request заявка на обслуживание
+     * @return true, если заявка проходит фильтр
+     */
+    public boolean matches(MaintenanceRequestEntity request) {
+        return (statuses == null || statuses.isEmpty() || statuses.contains(request.getStatus()))
+                && (assignee == null || assignee.equals(request.getAssignee()))
+                && (spaceshipSerial == null || spaceshipSerial == request.getSpaceshipSerial())
+                && (createdFrom == null || !request.getCreatedAt().isBefore(createdFrom))
+                && (createdTo == null || request.getCreatedAt().isBefore(createdTo));
+    }
+}
@@ -92,6 +92,30 @@ public enum MaintenanceStatus {
         return transitions.contains(newStatus);
     }
 
+    /**
+     * Проверяет, является ли статус конечным (из него нет переходов).
+     *
+     * @return true для завершённых и отменённых заявок
+     */
+    public boolean isTerminal() {
+        return transitions.isEmpty();
+    }
+
+    /**
+     * Статусы, из которых разрешён переход в этот статус, включая сам статус.
+     *
+     * @return множество исходных статусов
+     */
+    public Set<MaintenanceStatus> allowedSources() {
+        Set<MaintenanceStatus> sources = EnumSet.noneOf(MaintenanceStatus.class);
+        for (MaintenanceStatus status : values()) {
+            if (status.isTransitionAllowed(this)) {
+                sources.add(status);
+            }
+        }
+        return sources;
+    }
+
     /**
      * Валидирует переход в новый статус и выбрасывает исключение, если переход не разрешён.
      *
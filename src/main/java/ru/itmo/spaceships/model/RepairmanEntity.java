@@ -18,4 +18,8 @@ public class RepairmanEntity {
     private long id;
     private String name;
     private String position;
+    /**
+     * Версия строки, увеличивается при каждом изменении
+     */
+    private long version;
 }
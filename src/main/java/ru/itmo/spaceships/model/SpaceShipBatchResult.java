@@ -0,0 +1,88 @@
+package ru.itmo.spaceships.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ru.itmo.spaceships.exception.BaseException;
+
+/**
+ * Итог массового создания кораблей.
+ * Заполняется по мере обработки пачек, которые завершаются параллельно, поэтому методы синхронизированы.
+ * Ошибок хранится не больше заданного количества, остальные только считаются
+ */
+public class SpaceShipBatchResult {
+
+    private final int maxReportedErrors;
+    private final List<RowError> errors = new ArrayList<>();
+    private long received;
+    private long created;
+    private long failed;
+
+    /**
+     * @param maxReportedErrors сколько ошибок сохранять для ответа
+     */
+    public SpaceShipBatchResult(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Учесть полученную строку
+     */
+    public synchronized void received() {
+        received++;
+    }
+
+    /**
+     * Учесть созданные корабли
+     */
+    public synchronized void created(long count) {
+        created += count;
+    }
+
+    /**
+     * Учесть строку, которую не удалось создать
+     *
+     * @param index  номер строки в запросе
+     * @param serial серийный номер, если он был указан
+     * @param error  причина
+     */
+    public synchronized void failed(long index, Long serial, BaseException error) {
+        failed++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new RowError(index, serial, error));
+        }
+    }
+
+    public synchronized long getReceived() {
+        return received;
+    }
+
+    public synchronized long getCreated() {
+        return created;
+    }
+
+    public synchronized long getFailed() {
+        return failed;
+    }
+
+    public synchronized List<RowError> getErrors() {
+        return List.copyOf(errors);
+    }
+
+    /**
+     * Часть ошибок не попала в список
+     */
+    public synchronized boolean isErrorsTruncated() {
+        return failed > errors.size();
+    }
+
+    /**
+     * Ошибка одной строки
+     *
+     * @param index  номер строки в запросе, начиная с 0
+     * @param serial серийный номер, если он был указан
+     * @param error  причина
+     */
+    public record RowError(long index, Long serial, BaseException error) {
+    }
+}
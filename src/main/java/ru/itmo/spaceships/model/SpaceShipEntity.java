@@ -60,11 +60,19 @@ public class SpaceShipEntity {
      * Максимальная развиваемая скорость
      */
     private int maxSpeed;
+    /**
+     * Версия строки, увеличивается при каждом изменении
+     */
+    private long version;
 
     /**
-     * Получить производителя с заданной задержкой (имитация работы)
+     * Получить производителя с заданной задержкой (имитация работы).
+     * Без задержки поток не засыпает: Thread.sleep(0) всё равно уступает процессор
      */
     public String getManufacturerDelayed(long delay) {
+        if (delay <= 0) {
+            return getManufacturer();
+        }
         try {
             Thread.sleep(delay);
         } catch (InterruptedException e) {
@@ -72,4 +80,19 @@ public class SpaceShipEntity {
         }
         return getManufacturer();
     }
+
+    /**
+     * Получить экипаж с заданной задержкой (имитация работы). Без задержки поток не засыпает
+     */
+    public List<CrewMember> getCrewDelayed(long delay) {
+        if (delay <= 0) {
+            return getCrew();
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+        return getCrew();
+    }
 }
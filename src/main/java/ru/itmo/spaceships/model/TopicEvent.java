@@ -0,0 +1,12 @@
+package ru.itmo.spaceships.model;
+
+/**
+ * Событие общего стрима обновлений до сдвига курсора подключения
+ *
+ * @param topic топик, он же тип события SSE
+ * @param id    номер события в стриме топика или null для событий без номера
+ * @param data  DTO сущности, имя топика для сброса или данные сигнала
+ * @param reset сброс топика: пропущенные события восстановить нельзя
+ */
+public record TopicEvent(String topic, EventPosition id, Object data, boolean reset) {
+}
@@ -0,0 +1,29 @@
+package ru.itmo.spaceships.model;
+
+import io.r2dbc.postgresql.codec.Json;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Событие стрима обновлений, сохранённое в журнале.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("update_event")
+public class UpdateEventEntity {
+    /**
+     * Название стрима
+     */
+    private String stream;
+    /**
+     * Номер события, возрастающий в пределах стрима
+     */
+    private long id;
+    /**
+     * Изменённая сущность
+     */
+    private Json payload;
+}
@@ -0,0 +1,54 @@
+package ru.itmo.spaceships.repository;
+
+import java.util.Map;
+
+import io.r2dbc.spi.Parameter;
+import io.r2dbc.spi.Parameters;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+import ru.itmo.spaceships.model.ConditionalWrite;
+
+/**
+ * Разбор ответа условных UPDATE и DELETE.
+ * UPDATE возвращает строку до изменения (is_current = false) и, если условие выполнилось,
+ * строку после изменения (is_current = true). DELETE возвращает строку до удаления с признаком applied.
+ * Пустой ответ означает, что строки нет
+ */
+final class ConditionalWriteReader {
+
+    private ConditionalWriteReader() {
+    }
+
+    /**
+     * Параметр условного запроса, который может быть null. Для null передаётся тип,
+     * чтобы драйвер знал, каким типом его отправить
+     */
+    static Parameter nullable(Object value, Class<?> type) {
+        return value != null ? Parameters.in(value) : Parameters.in(type);
+    }
+
+    static <T> Mono<ConditionalWrite<T>> readUpdate(
+            R2dbcEntityTemplate template,
+            DatabaseClient.GenericExecuteSpec spec,
+            Class<T> type) {
+        return spec.map((row, metadata) -> Map.entry(
+                        row.get("is_current", Boolean.class),
+                        template.getConverter().read(type, row, metadata)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .filter(rows -> rows.containsKey(false))
+                .map(rows -> new ConditionalWrite<>(rows.get(false), rows.get(true), rows.containsKey(true)));
+    }
+
+    static <T> Mono<ConditionalWrite<T>> readDelete(
+            R2dbcEntityTemplate template,
+            DatabaseClient.GenericExecuteSpec spec,
+            Class<T> type) {
+        return spec.map((row, metadata) -> new ConditionalWrite<>(
+                        template.getConverter().read(type, row, metadata),
+                        null,
+                        Boolean.TRUE.equals(row.get("applied", Boolean.class))))
+                .one();
+    }
+}
@@ -0,0 +1,36 @@
+package ru.itmo.spaceships.repository;
+
+import java.time.Instant;
+
+import reactor.core.publisher.Mono;
+import ru.itmo.spaceships.model.ConditionalWrite;
+import ru.itmo.spaceships.model.MaintenanceRequestChanges;
+import ru.itmo.spaceships.model.MaintenanceRequestEntity;
+
+/**
+ * Изменение и удаление заявок на обслуживание одним запросом с проверкой версии и перехода статуса.
+ */
+public interface MaintenanceRequestConditionalRepository {
+
+    /**
+     * Изменяет переданные поля заявки, обновляет updatedAt и увеличивает версию.
+     * Новый статус записывается, только если переход из текущего статуса разрешён.
+     *
+     * @param id идентификатор заявки
+     * @param changes изменения
+     * @param updatedAt время изменения
+     * @param expectedVersion версия, на которой основано изменение, или null без проверки
+     * @return состояние до и после изменения или пустой Mono, если заявки нет
+     */
+    Mono<ConditionalWrite<MaintenanceRequestEntity>> conditionalUpdate(
+            long id, MaintenanceRequestChanges changes, Instant updatedAt, Long expectedVersion);
+
+    /**
+     * Удаляет заявку.
+     *
+     * @param id идентификатор заявки
+     * @param expectedVersion версия, которую видел клиент, или null без проверки
+     * @return состояние до удаления или пустой Mono, если заявки нет
+     */
+    Mono<ConditionalWrite<MaintenanceRequestEntity>> conditionalDelete(long id, Long expectedVersion);
+}
@@ -0,0 +1,84 @@
+package ru.itmo.spaceships.repository;
+
+import java.time.Instant;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+import ru.itmo.spaceships.model.ConditionalWrite;
+import ru.itmo.spaceships.model.MaintenanceRequestChanges;
+import ru.itmo.spaceships.model.MaintenanceRequestEntity;
+import ru.itmo.spaceships.model.MaintenanceStatus;
+
+/**
+ * Реализация {@link MaintenanceRequestConditionalRepository}.
+ * Допустимость перехода проверяется в том же запросе: статус меняется, только если текущий статус
+ * входит в список статусов, из которых разрешён переход в новый.
+ */
+@RequiredArgsConstructor
+public class MaintenanceRequestConditionalRepositoryImpl implements MaintenanceRequestConditionalRepository {
+
+    private static final String UPDATE = """
+            WITH previous AS (
+                SELECT * FROM maintenance_request WHERE id = $1 FOR UPDATE
+            ), updated AS (
+                UPDATE maintenance_request target
+                SET spaceship_serial = COALESCE($3, target.spaceship_serial),
+                    comment = COALESCE($4, target.comment),
+                    assignee = COALESCE($5, target.assignee),
+                    status = COALESCE($6, target.status),
+                    updated_at = $7,
+                    version = target.version + 1
+                FROM previous
+                WHERE target.id = previous.id
+                  AND ($2::bigint IS NULL OR previous.version = $2)
+                  AND ($6::varchar IS NULL OR previous.status = ANY($8::varchar[]))
+                RETURNING target.*
+            )
+            SELECT true AS is_current, * FROM updated
+            UNION ALL
+            SELECT false AS is_current, * FROM previous
+            """;
+
+    private static final String DELETE = """
+            WITH previous AS (
+                SELECT * FROM maintenance_request WHERE id = $1 FOR UPDATE
+            ), deleted AS (
+                DELETE FROM maintenance_request target
+                USING previous
+                WHERE target.id = previous.id AND ($2::bigint IS NULL OR previous.version = $2)
+                RETURNING target.id
+            )
+            SELECT EXISTS (SELECT 1 FROM deleted) AS applied, * FROM previous
+            """;
+
+    private final R2dbcEntityTemplate template;
+
+    @Override
+    public Mono<ConditionalWrite<MaintenanceRequestEntity>> conditionalUpdate(
+            long id, MaintenanceRequestChanges changes, Instant updatedAt, Long expectedVersion) {
+        MaintenanceStatus status = changes.status();
+        String[] allowedSources = status != null
+                ? status.allowedSources().stream().map(Enum::name).toArray(String[]::new)
+                : new String[0];
+        DatabaseClient.GenericExecuteSpec spec = template.getDatabaseClient().sql(UPDATE)
+                .bind(0, id)
+                .bind(1, ConditionalWriteReader.nullable(expectedVersion, Long.class))
+                .bind(2, ConditionalWriteReader.nullable(changes.spaceshipSerial(), Long.class))
+                .bind(3, ConditionalWriteReader.nullable(changes.comment(), String.class))
+                .bind(4, ConditionalWriteReader.nullable(changes.assignee(), Long.class))
+                .bind(5, ConditionalWriteReader.nullable(status != null ? status.name() : null, String.class))
+                .bind(6, updatedAt)
+                .bind(7, allowedSources);
+        return ConditionalWriteReader.readUpdate(template, spec, MaintenanceRequestEntity.class);
+    }
+
+    @Override
+    public Mono<ConditionalWrite<MaintenanceRequestEntity>> conditionalDelete(long id, Long expectedVersion) {
+        DatabaseClient.GenericExecuteSpec spec = template.getDatabaseClient().sql(DELETE)
+                .bind(0, id)
+                .bind(1, ConditionalWriteReader.nullable(expectedVersion, Long.class));
+        return ConditionalWriteReader.readDelete(template, spec, MaintenanceRequestEntity.class);
+    }
+}
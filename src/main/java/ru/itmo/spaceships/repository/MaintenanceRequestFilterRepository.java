@@ -0,0 +1,22 @@
+package ru.itmo.spaceships.repository;
+
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import ru.itmo.spaceships.model.MaintenanceRequestEntity;
+import ru.itmo.spaceships.model.MaintenanceRequestFilter;
+
+/**
+ * Выборка заявок на обслуживание по фильтру.
+ */
+public interface MaintenanceRequestFilterRepository {
+
+    /**
+     * Находит страницу заявок, подходящих под фильтр, в порядке возрастания идентификатора.
+     *
+     * @param filter фильтр
+     * @param after курсор - идентификатор последнего элемента предыдущей страницы, или null
+     * @param pageable номер и размер страницы, при наличии курсора номер не учитывается
+     * @return заявки страницы
+     */
+    Flux<MaintenanceRequestEntity> findFiltered(MaintenanceRequestFilter filter, Long after, Pageable pageable);
+}
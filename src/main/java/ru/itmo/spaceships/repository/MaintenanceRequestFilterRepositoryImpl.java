@@ -0,0 +1,72 @@
+package ru.itmo.spaceships.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import ru.itmo.spaceships.model.MaintenanceRequestEntity;
+import ru.itmo.spaceships.model.MaintenanceRequestFilter;
+
+/**
+ * Реализация {@link MaintenanceRequestFilterRepository}.
+ * В запрос попадают только заданные условия, поэтому планировщик выбирает индекс по тому полю, которое задано:
+ * статусу, ремонтнику, кораблю или дате создания. Каждый индекс кроме даты заканчивается на id,
+ * так что ORDER BY id LIMIT читает ровно одну страницу без сортировки.
+ */
+@RequiredArgsConstructor
+public class MaintenanceRequestFilterRepositoryImpl implements MaintenanceRequestFilterRepository {
+
+    /**
+     * Условие частичного индекса maintenance_request_open_assignee_idx, записанное так же, как в индексе.
+     * Параметры запроса планировщик не сравнивает с условием индекса, поэтому для выборки незакрытых заявок
+     * оно добавляется в текст запроса
+     */
+    private static final String OPEN_STATUS_PREDICATE = "status NOT IN ('COMPLETED', 'CANCELLED')";
+
+    private final R2dbcEntityTemplate template;
+
+    @Override
+    public Flux<MaintenanceRequestEntity> findFiltered(MaintenanceRequestFilter filter, Long after, Pageable pageable) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        if (filter.statuses() != null && !filter.statuses().isEmpty()) {
+            values.add(filter.statuses().stream().map(Enum::name).toArray(String[]::new));
+            conditions.add("status = ANY($" + values.size() + "::varchar[])");
+            if (filter.isOpenOnly()) {
+                conditions.add(OPEN_STATUS_PREDICATE);
+            }
+        }
+        addCondition(conditions, values, "assignee = $", filter.assignee());
+        addCondition(conditions, values, "spaceship_serial = $", filter.spaceshipSerial());
+        addCondition(conditions, values, "created_at >= $", filter.createdFrom());
+        addCondition(conditions, values, "created_at < $", filter.createdTo());
+        addCondition(conditions, values, "id > $", after);
+
+        StringBuilder sql = new StringBuilder("SELECT * FROM maintenance_request");
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        values.add(pageable.getPageSize());
+        sql.append(" ORDER BY id LIMIT $").append(values.size());
+        values.add(after != null ? 0L : pageable.getOffset());
+        sql.append(" OFFSET $").append(values.size());
+
+        DatabaseClient.GenericExecuteSpec spec = template.getDatabaseClient().sql(sql.toString());
+        for (int i = 0; i < values.size(); i++) {
+            spec = spec.bind(i, values.get(i));
+        }
+        return spec.map((row, metadata) -> template.getConverter().read(MaintenanceRequestEntity.class, row, metadata))
+                .all();
+    }
+
+    private static void addCondition(List<String> conditions, List<Object> values, String condition, Object value) {
+        if (value != null) {
+            values.add(value);
+            conditions.add(condition + values.size());
+        }
+    }
+}
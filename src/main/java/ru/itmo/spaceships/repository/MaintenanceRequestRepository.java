@@ -1,11 +1,30 @@
 package ru.itmo.spaceships.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
 import ru.itmo.spaceships.model.MaintenanceRequestEntity;
 
 /**
  * Репозиторий для MaintenanceRequestEntity.
  */
-public interface MaintenanceRequestRepository extends R2dbcRepository<MaintenanceRequestEntity, Long> {
-}
+public interface MaintenanceRequestRepository extends R2dbcRepository<MaintenanceRequestEntity, Long>,
+        MaintenanceRequestConditionalRepository, MaintenanceRequestFilterRepository {
+
+    /**
+     * Находит страницу заявок на обслуживание через LIMIT и OFFSET.
+     *
+     * @param pageable номер, размер страницы и сортировка
+     * @return заявки страницы
+     */
+    Flux<MaintenanceRequestEntity> findAllBy(Pageable pageable);
 
+    /**
+     * Находит заявки на обслуживание с идентификатором больше курсора.
+     *
+     * @param id курсор - идентификатор последнего элемента предыдущей страницы
+     * @param pageable размер страницы и сортировка
+     * @return заявки после курсора
+     */
+    Flux<MaintenanceRequestEntity> findByIdGreaterThan(Long id, Pageable pageable);
+}
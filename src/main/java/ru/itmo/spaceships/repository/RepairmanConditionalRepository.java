@@ -0,0 +1,32 @@
+package ru.itmo.spaceships.repository;
+
+import reactor.core.publisher.Mono;
+import ru.itmo.spaceships.model.ConditionalWrite;
+import ru.itmo.spaceships.model.RepairmanEntity;
+
+/**
+ * Изменение и удаление ремонтников одним запросом с проверкой версии.
+ */
+public interface RepairmanConditionalRepository {
+
+    /**
+     * Изменяет переданные поля ремонтника и увеличивает версию.
+     *
+     * @param id идентификатор ремонтника
+     * @param name новое имя или null, чтобы оставить прежнее
+     * @param position новая должность или null, чтобы оставить прежнюю
+     * @param expectedVersion версия, на которой основано изменение, или null без проверки
+     * @return состояние до и после изменения или пустой Mono, если ремонтника нет
+     */
+    Mono<ConditionalWrite<RepairmanEntity>> conditionalUpdate(
+            long id, String name, String position, Long expectedVersion);
+
+    /**
+     * Удаляет ремонтника.
+     *
+     * @param id идентификатор ремонтника
+     * @param expectedVersion версия, которую видел клиент, или null без проверки
+     * @return состояние до удаления или пустой Mono, если ремонтника нет
+     */
+    Mono<ConditionalWrite<RepairmanEntity>> conditionalDelete(long id, Long expectedVersion);
+}
@@ -0,0 +1,65 @@
+package ru.itmo.spaceships.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+import ru.itmo.spaceships.model.ConditionalWrite;
+import ru.itmo.spaceships.model.RepairmanEntity;
+
+/**
+ * Реализация {@link RepairmanConditionalRepository}.
+ */
+@RequiredArgsConstructor
+public class RepairmanConditionalRepositoryImpl implements RepairmanConditionalRepository {
+
+    private static final String UPDATE = """
+            WITH previous AS (
+                SELECT * FROM repairmen WHERE id = $1 FOR UPDATE
+            ), updated AS (
+                UPDATE repairmen target
+                SET name = COALESCE($3, target.name),
+                    position = COALESCE($4, target.position),
+                    version = target.version + 1
+                FROM previous
+                WHERE target.id = previous.id AND ($2::bigint IS NULL OR previous.version = $2)
+                RETURNING target.*
+            )
+            SELECT true AS is_current, * FROM updated
+            UNION ALL
+            SELECT false AS is_current, * FROM previous
+            """;
+
+    private static final String DELETE = """
+            WITH previous AS (
+                SELECT * FROM repairmen WHERE id = $1 FOR UPDATE
+            ), deleted AS (
+                DELETE FROM repairmen target
+                USING previous
+                WHERE target.id = previous.id AND ($2::bigint IS NULL OR previous.version = $2)
+                RETURNING target.id
+            )
+            SELECT EXISTS (SELECT 1 FROM deleted) AS applied, * FROM previous
+            """;
+
+    private final R2dbcEntityTemplate template;
+
+    @Override
+    public Mono<ConditionalWrite<RepairmanEntity>> conditionalUpdate(
+            long id, String name, String position, Long expectedVersion) {
+        DatabaseClient.GenericExecuteSpec spec = template.getDatabaseClient().sql(UPDATE)
+                .bind(0, id)
+                .bind(1, ConditionalWriteReader.nullable(expectedVersion, Long.class))
+                .bind(2, ConditionalWriteReader.nullable(name, String.class))
+                .bind(3, ConditionalWriteReader.nullable(position, String.class));
+        return ConditionalWriteReader.readUpdate(template, spec, RepairmanEntity.class);
+    }
+
+    @Override
+    public Mono<ConditionalWrite<RepairmanEntity>> conditionalDelete(long id, Long expectedVersion) {
+        DatabaseClient.GenericExecuteSpec spec = template.getDatabaseClient().sql(DELETE)
+                .bind(0, id)
+                .bind(1, ConditionalWriteReader.nullable(expectedVersion, Long.class));
+        return ConditionalWriteReader.readDelete(template, spec, RepairmanEntity.class);
+    }
+}
@@ -1,10 +1,29 @@
 package ru.itmo.spaceships.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
 import ru.itmo.spaceships.model.RepairmanEntity;
 
 /**
  * Репозиторий для RepairmanEntity.
  */
-public interface RepairmanRepository extends R2dbcRepository<RepairmanEntity, Long> {
+public interface RepairmanRepository extends R2dbcRepository<RepairmanEntity, Long>, RepairmanConditionalRepository {
+
+    /**
+     * Находит страницу ремонтников через LIMIT и OFFSET.
+     *
+     * @param pageable номер, размер страницы и сортировка
+     * @return ремонтники страницы
+     */
+    Flux<RepairmanEntity> findAllBy(Pageable pageable);
+
+    /**
+     * Находит ремонтников с идентификатором больше курсора.
+     *
+     * @param id курсор - идентификатор последнего элемента предыдущей страницы
+     * @param pageable размер страницы и сортировка
+     * @return ремонтники после курсора
+     */
+    Flux<RepairmanEntity> findByIdGreaterThan(Long id, Pageable pageable);
 }
@@ -0,0 +1,50 @@
+package ru.itmo.spaceships.repository;
+
+import java.time.Month;
+import java.util.Map;
+
+import reactor.core.publisher.Mono;
+import ru.itmo.spaceships.model.FuelType;
+import ru.itmo.spaceships.statistics.overall.OverallStatistics;
+
+/**
+ * Агрегация статистики по кораблям на стороне базы данных.
+ * Каждая агрегация выполняется запросом с GROUP BY, по сети передаются только итоговые строки.
+ */
+public interface SpaceShipAggregationRepository {
+
+    /**
+     * Оценивает количество кораблей по статистике планировщика без прохода по таблице.
+     *
+     * @return оценка количества строк или -1, если статистика ещё не собиралась
+     */
+    Mono<Long> estimateCount();
+
+    /**
+     * Считает корабли каждого производителя.
+     *
+     * @return количество кораблей по производителю
+     */
+    Mono<Map<String, Long>> aggregateCountByManufacturer();
+
+    /**
+     * Считает корабли по типу топлива двигателя. Корабли без двигателя не учитываются.
+     *
+     * @return количество кораблей по типу топлива
+     */
+    Mono<Map<FuelType, Long>> aggregateCountByFuelType();
+
+    /**
+     * Считает членов экипажа по месяцу рождения.
+     *
+     * @return количество членов экипажа по месяцу рождения
+     */
+    Mono<Map<Month, Long>> aggregateCountByBirthdayMonth();
+
+    /**
+     * Собирает общую статистику по кораблям.
+     *
+     * @return общая статистика
+     */
+    Mono<OverallStatistics> aggregateOverallStatistics();
+}
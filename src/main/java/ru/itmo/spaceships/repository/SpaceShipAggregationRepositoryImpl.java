@@ -0,0 +1,169 @@
+package ru.itmo.spaceships.repository;
+
+import java.time.Month;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import reactor.core.publisher.Mono;
+import ru.itmo.spaceships.model.FuelType;
+import ru.itmo.spaceships.statistics.overall.OverallStatistics;
+
+/**
+ * Реализация {@link SpaceShipAggregationRepository} на SQL-запросах к PostgreSQL.
+ * Поля из JSONB извлекаются операторами ->>, размер экипажа - jsonb_array_length.
+ */
+@RequiredArgsConstructor
+public class SpaceShipAggregationRepositoryImpl implements SpaceShipAggregationRepository {
+
+    private static final String ESTIMATE_COUNT = """
+            SELECT reltuples::bigint AS estimate
+            FROM pg_class
+            WHERE oid = 'spaceship'::regclass
+            """;
+
+    private static final String COUNT_BY_MANUFACTURER = """
+            SELECT manufacturer AS key, count(*) AS count
+            FROM spaceship
+            GROUP BY manufacturer
+            """;
+
+    private static final String COUNT_BY_FUEL_TYPE = """
+            SELECT engine ->> 'fuelType' AS key, count(*) AS count
+            FROM spaceship
+            WHERE engine ->> 'fuelType' IS NOT NULL
+            GROUP BY 1
+            """;
+
+    private static final String COUNT_BY_DATE = """
+            SELECT to_char(manufacture_date, 'DD.MM.YYYY') AS key, count(*) AS count
+            FROM spaceship
+            GROUP BY 1
+            """;
+
+    private static final String COUNT_BY_BIRTHDAY_MONTH = """
+            SELECT extract(MONTH FROM (member ->> 'birthDate')::date)::int AS key, count(*) AS count
+            FROM spaceship,
+                 jsonb_array_elements(CASE WHEN jsonb_typeof(crew) = 'array' THEN crew ELSE '[]'::jsonb END) AS member
+            WHERE member ->> 'birthDate' IS NOT NULL
+            GROUP BY 1
+            """;
+
+    /**
+     * Числовые показатели корабля, по которым строятся сводки
+     */
+    private static final String SHIP_METRICS = """
+            SELECT type,
+                   max_speed::bigint AS max_speed,
+                   CASE WHEN jsonb_typeof(crew) = 'array' THEN jsonb_array_length(crew) ELSE 0 END::bigint AS crew_size,
+                   (dimensions ->> 'length')::bigint AS length
+            FROM spaceship
+            """;
+
+    private static final String SUMMARIES = """
+            SELECT count(max_speed) AS max_speed_count, min(max_speed) AS max_speed_min,
+                   max(max_speed) AS max_speed_max, sum(max_speed)::bigint AS max_speed_sum,
+                   count(crew_size) AS crew_size_count, min(crew_size) AS crew_size_min,
+                   max(crew_size) AS crew_size_max, sum(crew_size)::bigint AS crew_size_sum,
+                   count(length) AS length_count, min(length) AS length_min,
+                   max(length) AS length_max, sum(length)::bigint AS length_sum
+            FROM (%s) AS metrics
+            """.formatted(SHIP_METRICS);
+
+    private static final String CREW_BY_SHIP_TYPE = """
+            SELECT type AS key,
+                   count(crew_size) AS crew_size_count, min(crew_size) AS crew_size_min,
+                   max(crew_size) AS crew_size_max, sum(crew_size)::bigint AS crew_size_sum
+            FROM (%s) AS metrics
+            GROUP BY type
+            """.formatted(SHIP_METRICS);
+
+    private final R2dbcEntityTemplate template;
+
+    @Override
+    public Mono<Long> estimateCount() {
+        return template.getDatabaseClient().sql(ESTIMATE_COUNT)
+                .map(row -> row.get("estimate", Long.class))
+                .one()
+                .defaultIfEmpty(-1L);
+    }
+
+    @Override
+    public Mono<Map<String, Long>> aggregateCountByManufacturer() {
+        return countBy(COUNT_BY_MANUFACTURER, HashMap::new, Function.identity());
+    }
+
+    @Override
+    public Mono<Map<FuelType, Long>> aggregateCountByFuelType() {
+        return countBy(COUNT_BY_FUEL_TYPE, () -> new EnumMap<>(FuelType.class), FuelType::valueOf);
+    }
+
+    @Override
+    public Mono<Map<Month, Long>> aggregateCountByBirthdayMonth() {
+        return template.getDatabaseClient().sql(COUNT_BY_BIRTHDAY_MONTH)
+                .map(row -> Map.entry(Month.of(row.get("key", Integer.class)), row.get("count", Long.class)))
+                .all()
+                .collect(() -> new EnumMap<>(Month.class),
+                        (counts, entry) -> counts.put(entry.getKey(), entry.getValue()));
+    }
+
+    @Override
+    public Mono<OverallStatistics> aggregateOverallStatistics() {
+        Mono<Map<String, LongSummaryStatistics>> crewByShipType = template.getDatabaseClient().sql(CREW_BY_SHIP_TYPE)
+                .map(row -> Map.entry(row.get("key", String.class), summary(row, "crew_size")))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+        return Mono.zip(
+                aggregateCountByManufacturer(),
+                countBy(COUNT_BY_FUEL_TYPE, HashMap::new, Function.identity()),
+                countBy(COUNT_BY_DATE, HashMap::new, Function.identity()),
+                template.getDatabaseClient().sql(SUMMARIES)
+                        .map(row -> new LongSummaryStatistics[]{
+                                summary(row, "max_speed"),
+                                summary(row, "crew_size"),
+                                summary(row, "length")
+                        })
+                        .one(),
+                crewByShipType
+        ).map(result -> {
+            OverallStatistics statistics = new OverallStatistics();
+            statistics.getCountByManufacturer().putAll(result.getT1());
+            statistics.getCountByFuelType().putAll(result.getT2());
+            statistics.getCountByDate().putAll(result.getT3());
+            statistics.setAggregateMaxSpeed(result.getT4()[0]);
+            statistics.setAggregateCrewMembers(result.getT4()[1]);
+            statistics.setAggregateLength(result.getT4()[2]);
+            statistics.getAggregateCrewByShipType().putAll(result.getT5());
+            return statistics;
+        });
+    }
+
+    private <K> Mono<Map<K, Long>> countBy(
+            String sql,
+            Supplier<Map<K, Long>> countsFactory,
+            Function<String, K> keyMapper) {
+        return template.getDatabaseClient().sql(sql)
+                .map(row -> Map.entry(keyMapper.apply(row.get("key", String.class)), row.get("count", Long.class)))
+                .all()
+                .collect(countsFactory, (counts, entry) -> counts.put(entry.getKey(), entry.getValue()));
+    }
+
+    private static LongSummaryStatistics summary(Readable row, String prefix) {
+        long count = row.get(prefix + "_count", Long.class);
+        if (count == 0) {
+            return new LongSummaryStatistics();
+        }
+        return new LongSummaryStatistics(
+                count,
+                row.get(prefix + "_min", Long.class),
+                row.get(prefix + "_max", Long.class),
+                row.get(prefix + "_sum", Long.class)
+        );
+    }
+}
@@ -0,0 +1,21 @@
+package ru.itmo.spaceships.repository;
+
+import java.util.List;
+
+import reactor.core.publisher.Flux;
+import ru.itmo.spaceships.model.SpaceShipEntity;
+
+/**
+ * Массовая вставка кораблей.
+ */
+public interface SpaceShipBatchRepository {
+
+    /**
+     * Вставляет корабли одним многострочным INSERT.
+     * Корабли с уже занятым серийным номером (в таблице или раньше в этой же пачке) пропускаются.
+     *
+     * @param ships корабли без id
+     * @return вставленные корабли с заполненным id
+     */
+    Flux<SpaceShipEntity> insertSkippingDuplicates(List<SpaceShipEntity> ships);
+}
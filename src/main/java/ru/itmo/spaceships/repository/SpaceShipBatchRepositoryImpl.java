@@ -0,0 +1,90 @@
+package ru.itmo.spaceships.repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.mapping.OutboundRow;
+import org.springframework.data.relational.core.sql.IdentifierProcessing;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import ru.itmo.spaceships.model.SpaceShipEntity;
+
+/**
+ * Реализация {@link SpaceShipBatchRepository}.
+ * Значения колонок получаются тем же конвертером, что и при save, поэтому JSONB и enum пишутся одинаково.
+ * Дубликаты отсекает ON CONFLICT DO NOTHING, а RETURNING возвращает серийные номера вставленных строк,
+ * по которым вызывающий код понимает, какие строки не вставились.
+ */
+@RequiredArgsConstructor
+public class SpaceShipBatchRepositoryImpl implements SpaceShipBatchRepository {
+
+    private static final IdentifierProcessing IDENTIFIERS = PostgresDialect.INSTANCE.getIdentifierProcessing();
+
+    private final R2dbcEntityTemplate template;
+
+    @Override
+    public Flux<SpaceShipEntity> insertSkippingDuplicates(List<SpaceShipEntity> ships) {
+        if (ships.isEmpty()) {
+            return Flux.empty();
+        }
+        SqlIdentifier idColumn = template.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(SpaceShipEntity.class)
+                .getIdColumn();
+        List<OutboundRow> rows = ships.stream()
+                .map(this::toRow)
+                .toList();
+        List<SqlIdentifier> columns = rows.get(0).keySet().stream()
+                .filter(column -> !column.equals(idColumn))
+                .toList();
+
+        StringBuilder sql = new StringBuilder("INSERT INTO spaceship (");
+        for (int i = 0; i < columns.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append(columns.get(i).toSql(IDENTIFIERS));
+        }
+        sql.append(") VALUES ");
+        int marker = 1;
+        for (int row = 0; row < rows.size(); row++) {
+            sql.append(row == 0 ? "(" : ", (");
+            for (int i = 0; i < columns.size(); i++) {
+                sql.append(i == 0 ? "$" : ", $").append(marker++);
+            }
+            sql.append(')');
+        }
+        sql.append(" ON CONFLICT (serial) DO NOTHING RETURNING id, serial");
+
+        DatabaseClient.GenericExecuteSpec spec = template.getDatabaseClient().sql(sql.toString());
+        int index = 0;
+        for (OutboundRow row : rows) {
+            for (SqlIdentifier column : columns) {
+                spec = spec.bind(index++, row.get(column));
+            }
+        }
+        return spec.map(row -> Map.entry(row.get("serial", Long.class), row.get("id", Long.class)))
+                .all()
+                .collect(HashMap<Long, Long>::new, (ids, entry) -> ids.put(entry.getKey(), entry.getValue()))
+                .flatMapIterable(ids -> {
+                    List<SpaceShipEntity> inserted = new ArrayList<>(ids.size());
+                    for (SpaceShipEntity ship : ships) {
+                        // При повторе серийного номера внутри пачки вставлена первая из строк
+                        Long id = ids.remove(ship.getSerial());
+                        if (id != null) {
+                            ship.setId(id);
+                            inserted.add(ship);
+                        }
+                    }
+                    return inserted;
+                });
+    }
+
+    private OutboundRow toRow(SpaceShipEntity ship) {
+        OutboundRow row = new OutboundRow();
+        template.getConverter().write(ship, row);
+        return row;
+    }
+}
@@ -0,0 +1,29 @@
+package ru.itmo.spaceships.repository;
+
+import reactor.core.publisher.Mono;
+import ru.itmo.spaceships.model.ConditionalWrite;
+import ru.itmo.spaceships.model.SpaceShipEntity;
+
+/**
+ * Изменение и удаление кораблей одним запросом с проверкой версии.
+ */
+public interface SpaceShipConditionalRepository {
+
+    /**
+     * Заменяет все поля корабля, кроме id, серийного номера и версии, и увеличивает версию.
+     *
+     * @param ship новое состояние, корабль ищется по серийному номеру
+     * @param expectedVersion версия, на которой основано изменение, или null без проверки
+     * @return состояние до и после изменения или пустой Mono, если корабля нет
+     */
+    Mono<ConditionalWrite<SpaceShipEntity>> conditionalUpdate(SpaceShipEntity ship, Long expectedVersion);
+
+    /**
+     * Удаляет корабль.
+     *
+     * @param serial серийный номер
+     * @param expectedVersion версия, которую видел клиент, или null без проверки
+     * @return состояние до удаления или пустой Mono, если корабля нет
+     */
+    Mono<ConditionalWrite<SpaceShipEntity>> conditionalDelete(long serial, Long expectedVersion);
+}
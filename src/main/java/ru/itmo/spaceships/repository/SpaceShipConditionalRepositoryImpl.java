@@ -0,0 +1,79 @@
+package ru.itmo.spaceships.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.mapping.OutboundRow;
+import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+import ru.itmo.spaceships.model.ConditionalWrite;
+import ru.itmo.spaceships.model.SpaceShipEntity;
+
+/**
+ * Реализация {@link SpaceShipConditionalRepository}.
+ * Строка блокируется в CTE previous, изменяется только при совпадении версии,
+ * а в ответ попадают оба состояния, которые нужны для пересчёта статистики.
+ */
+@RequiredArgsConstructor
+public class SpaceShipConditionalRepositoryImpl implements SpaceShipConditionalRepository {
+
+    private static final String UPDATE = """
+            WITH previous AS (
+                SELECT * FROM spaceship WHERE serial = $1 FOR UPDATE
+            ), updated AS (
+                UPDATE spaceship target
+                SET manufacturer = $3, manufacture_date = $4, name = $5, type = $6,
+                    dimensions = $7, engine = $8, crew = $9, max_speed = $10, version = target.version + 1
+                FROM previous
+                WHERE target.id = previous.id AND ($2::bigint IS NULL OR previous.version = $2)
+                RETURNING target.*
+            )
+            SELECT true AS is_current, * FROM updated
+            UNION ALL
+            SELECT false AS is_current, * FROM previous
+            """;
+
+    private static final String DELETE = """
+            WITH previous AS (
+                SELECT * FROM spaceship WHERE serial = $1 FOR UPDATE
+            ), deleted AS (
+                DELETE FROM spaceship target
+                USING previous
+                WHERE target.id = previous.id AND ($2::bigint IS NULL OR previous.version = $2)
+                RETURNING target.id
+            )
+            SELECT EXISTS (SELECT 1 FROM deleted) AS applied, * FROM previous
+            """;
+
+    private static final String[] UPDATED_PROPERTIES = {
+            "manufacturer", "manufactureDate", "name", "type", "dimensions", "engine", "crew", "maxSpeed"
+    };
+
+    private final R2dbcEntityTemplate template;
+
+    @Override
+    public Mono<ConditionalWrite<SpaceShipEntity>> conditionalUpdate(SpaceShipEntity ship, Long expectedVersion) {
+        // Значения колонок получаются тем же конвертером, что и при save, поэтому JSONB и enum пишутся одинаково
+        OutboundRow row = new OutboundRow();
+        template.getConverter().write(ship, row);
+        RelationalPersistentEntity<?> entity = template.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(SpaceShipEntity.class);
+        DatabaseClient.GenericExecuteSpec spec = template.getDatabaseClient().sql(UPDATE)
+                .bind(0, ship.getSerial())
+                .bind(1, ConditionalWriteReader.nullable(expectedVersion, Long.class));
+        for (int i = 0; i < UPDATED_PROPERTIES.length; i++) {
+            SqlIdentifier column = entity.getRequiredPersistentProperty(UPDATED_PROPERTIES[i]).getColumnName();
+            spec = spec.bind(i + 2, row.get(column));
+        }
+        return ConditionalWriteReader.readUpdate(template, spec, SpaceShipEntity.class);
+    }
+
+    @Override
+    public Mono<ConditionalWrite<SpaceShipEntity>> conditionalDelete(long serial, Long expectedVersion) {
+        DatabaseClient.GenericExecuteSpec spec = template.getDatabaseClient().sql(DELETE)
+                .bind(0, serial)
+                .bind(1, ConditionalWriteReader.nullable(expectedVersion, Long.class));
+        return ConditionalWriteReader.readDelete(template, spec, SpaceShipEntity.class);
+    }
+}
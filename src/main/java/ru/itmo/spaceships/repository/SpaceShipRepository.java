@@ -1,13 +1,18 @@
 package ru.itmo.spaceships.repository;
 
+import java.util.Collection;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import ru.itmo.spaceships.model.SpaceShipEntity;
 
 /**
  * Репозиторий для SpaceShipEntity.
  */
-public interface SpaceShipRepository extends R2dbcRepository<SpaceShipEntity, Long> {
+public interface SpaceShipRepository extends R2dbcRepository<SpaceShipEntity, Long>, SpaceShipStreamingRepository,
+        SpaceShipAggregationRepository, SpaceShipBatchRepository, SpaceShipConditionalRepository {
 
     /**
      * Находит корабль по серийному номеру.
@@ -16,5 +21,30 @@ public interface SpaceShipRepository extends R2dbcRepository<SpaceShipEntity, Lo
      * @return сущность корабля
      */
     Mono<SpaceShipEntity> findBySerial(Long serial);
-}
 
+    /**
+     * Находит страницу кораблей. Смещение и размер страницы передаются в запрос как OFFSET и LIMIT.
+     *
+     * @param pageable номер, размер страницы и сортировка
+     * @return корабли страницы
+     */
+    Flux<SpaceShipEntity> findAllBy(Pageable pageable);
+
+    /**
+     * Находит корабли с серийным номером больше курсора.
+     * Запрос начинается с курсора по индексу, поэтому дальние страницы стоят столько же, сколько первая.
+     *
+     * @param serial курсор - серийный номер последнего элемента предыдущей страницы
+     * @param pageable размер страницы и сортировка
+     * @return корабли после курсора
+     */
+    Flux<SpaceShipEntity> findBySerialGreaterThan(Long serial, Pageable pageable);
+
+    /**
+     * Находит корабли по серийным номерам.
+     *
+     * @param serials серийные номера
+     * @return найденные корабли
+     */
+    Flux<SpaceShipEntity> findBySerialIn(Collection<Long> serials);
+}
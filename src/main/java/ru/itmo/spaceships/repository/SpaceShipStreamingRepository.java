@@ -0,0 +1,19 @@
+package ru.itmo.spaceships.repository;
+
+import reactor.core.publisher.Flux;
+import ru.itmo.spaceships.model.SpaceShipEntity;
+
+/**
+ * Потоковое чтение кораблей без загрузки всей таблицы в память.
+ */
+public interface SpaceShipStreamingRepository {
+
+    /**
+     * Читает все корабли серверным курсором: строки запрашиваются у базы данных порциями,
+     * следующая порция запрашивается только после того, как подписчик обработал предыдущую.
+     *
+     * @param fetchSize количество строк в одной порции
+     * @return поток всех кораблей
+     */
+    Flux<SpaceShipEntity> streamAll(int fetchSize);
+}
@@ -0,0 +1,27 @@
+package ru.itmo.spaceships.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import reactor.core.publisher.Flux;
+import ru.itmo.spaceships.model.SpaceShipEntity;
+
+/**
+ * Реализация {@link SpaceShipStreamingRepository}.
+ * Размер порции передаётся драйверу через fetchSize, поэтому запрос выполняется через портал
+ * и в памяти одновременно находится не больше одной порции строк.
+ */
+@RequiredArgsConstructor
+public class SpaceShipStreamingRepositoryImpl implements SpaceShipStreamingRepository {
+
+    private final R2dbcEntityTemplate template;
+
+    @Override
+    public Flux<SpaceShipEntity> streamAll(int fetchSize) {
+        return template.getDatabaseClient()
+                .sql("SELECT * FROM spaceship")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map((row, metadata) -> template.getConverter().read(SpaceShipEntity.class, row, metadata))
+                .all()
+                .limitRate(fetchSize);
+    }
+}
@@ -0,0 +1,104 @@
+package ru.itmo.spaceships.repository;
+
+import java.util.List;
+
+import io.r2dbc.postgresql.codec.Json;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.itmo.spaceships.model.UpdateEventEntity;
+
+/**
+ * Журнал событий стримов обновлений.
+ * Первичный ключ составной (стрим, номер), поэтому запросы пишутся вручную, а не выводятся Spring Data.
+ * Журнал подключается свойством spaceships.events.outbox.enabled.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spaceships.events.outbox.enabled", havingValue = "true")
+public class UpdateEventRepository {
+
+    private final R2dbcEntityTemplate template;
+
+    /**
+     * Сохраняет пачку событий одним запросом.
+     * Уже сохранённые номера пропускаются, поэтому повтор пачки безопасен.
+     *
+     * @param events события одного стрима
+     * @return завершение записи
+     */
+    public Mono<Void> insertAll(List<UpdateEventEntity> events) {
+        if (events.isEmpty()) {
+            return Mono.empty();
+        }
+        String[] streams = new String[events.size()];
+        Long[] ids = new Long[events.size()];
+        String[] payloads = new String[events.size()];
+        for (int i = 0; i < events.size(); i++) {
+            UpdateEventEntity event = events.get(i);
+            streams[i] = event.getStream();
+            ids[i] = event.getId();
+            payloads[i] = event.getPayload().asString();
+        }
+        return template.getDatabaseClient()
+                .sql("INSERT INTO update_event (stream, id, payload) "
+                        + "SELECT stream, id, payload::jsonb FROM unnest($1::varchar[], $2::bigint[], $3::text[]) "
+                        + "AS event(stream, id, payload) "
+                        + "ON CONFLICT DO NOTHING")
+                .bind(0, streams)
+                .bind(1, ids)
+                .bind(2, payloads)
+                .then();
+    }
+
+    /**
+     * Находит события стрима с номерами строго между границами в порядке номеров.
+     *
+     * @param stream   название стрима
+     * @param afterId  номер, после которого нужны события
+     * @param beforeId номер, до которого нужны события
+     * @return события
+     */
+    public Flux<UpdateEventEntity> findBetween(String stream, long afterId, long beforeId) {
+        return template.getDatabaseClient()
+                .sql("SELECT id, payload FROM update_event WHERE stream = $1 AND id > $2 AND id < $3 ORDER BY id")
+                .bind(0, stream)
+                .bind(1, afterId)
+                .bind(2, beforeId)
+                .map(row -> new UpdateEventEntity(stream, row.get("id", Long.class), row.get("payload", Json.class)))
+                .all();
+    }
+
+    /**
+     * Находит номер последнего сохранённого события стрима.
+     *
+     * @param stream название стрима
+     * @return номер или 0, если событий нет
+     */
+    public Mono<Long> findLastId(String stream) {
+        return template.getDatabaseClient()
+                .sql("SELECT coalesce(max(id), 0) AS id FROM update_event WHERE stream = $1")
+                .bind(0, stream)
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    /**
+     * Удаляет события стрима с номером не больше указанного.
+     *
+     * @param stream название стрима
+     * @param lastId последний удаляемый номер
+     * @return количество удалённых событий
+     */
+    public Mono<Long> deleteUpTo(String stream, long lastId) {
+        return template.getDatabaseClient()
+                .sql("DELETE FROM update_event WHERE stream = $1 AND id <= $2")
+                .bind(0, stream)
+                .bind(1, lastId)
+                .fetch()
+                .rowsUpdated();
+    }
+}
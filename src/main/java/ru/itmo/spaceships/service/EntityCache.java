@@ -0,0 +1,223 @@
+package ru.itmo.spaceships.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Ограниченный по количеству элементов кэш сущностей в памяти с вытеснением в стиле W-TinyLFU.
+ * Новые элементы попадают в маленькое окно LRU (1%), вытесненные из окна претендуют на место в основной области.
+ * Претендент вытесняет самый старый элемент испытательного сегмента только если обращений к нему было больше,
+ * поэтому разовые чтения не вымывают горячие сущности. Повторное обращение переводит элемент в защищённый сегмент.
+ * Изменения сущностей должны проходить через {@link #put} или {@link #invalidate}: загрузка, начатая до изменения
+ * этой сущности, своё значение в кэш уже не положит. Изменения других сущностей загрузку не отменяют
+ *
+ * @param <K> ключ
+ * @param <V> сущность
+ */
+public class EntityCache<K, V> {
+
+    private static final int WINDOW_PERCENT = 1;
+    private static final int PROTECTED_PERCENT = 80;
+
+    private final String name;
+    private final int maximumSize;
+    private final int maximumWindowSize;
+    private final int maximumProtectedSize;
+
+    private final LinkedHashMap<K, V> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, V> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, V> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch;
+    // Загрузки в процессе: метка меняется при изменении сущности, загрузка со старой меткой значение не кладёт
+    private final HashMap<K, Object> loads = new HashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param name        название кэша для метрик
+     * @param maximumSize максимальное количество элементов
+     */
+    public EntityCache(String name, int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        this.name = name;
+        this.maximumSize = maximumSize;
+        this.maximumWindowSize = Math.max(1, maximumSize * WINDOW_PERCENT / 100);
+        this.maximumProtectedSize = (maximumSize - maximumWindowSize) * PROTECTED_PERCENT / 100;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    /**
+     * Получить сущность из кэша, а при промахе загрузить и запомнить.
+     * Отсутствие сущности не кэшируется
+     *
+     * @param key    ключ
+     * @param loader загрузка сущности из базы данных
+     * @return сущность или пустой Mono
+     */
+    public Mono<V> get(K key, Function<? super K, ? extends Mono<V>> loader) {
+        return Mono.defer(() -> {
+            V cached = getIfPresent(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            Object stamp = startLoad(key);
+            return loader.apply(key)
+                    .doOnNext(value -> putIfUnchanged(key, value, stamp))
+                    .doFinally(signal -> finishLoad(key, stamp));
+        });
+    }
+
+    /**
+     * Сущность из кэша без загрузки
+     *
+     * @return сущность или null
+     */
+    public synchronized V getIfPresent(K key) {
+        sketch.increment(key);
+        V value = window.get(key);
+        if (value == null) {
+            value = probation.remove(key);
+            if (value != null) {
+                promote(key, value);
+            } else {
+                value = protectedSegment.get(key);
+            }
+        }
+        (value != null ? hits : misses).increment();
+        return value;
+    }
+
+    /**
+     * Запомнить актуальное состояние сущности после её изменения
+     */
+    public synchronized void put(K key, V value) {
+        loads.remove(key);
+        insert(key, value);
+    }
+
+    /**
+     * Забыть сущность после её удаления
+     */
+    public synchronized void invalidate(K key) {
+        loads.remove(key);
+        if (window.remove(key) == null && probation.remove(key) == null) {
+            protectedSegment.remove(key);
+        }
+    }
+
+    /**
+     * Забыть все сущности
+     */
+    public synchronized void invalidateAll() {
+        loads.clear();
+        window.clear();
+        probation.clear();
+        protectedSegment.clear();
+    }
+
+    /**
+     * Текущие метрики кэша
+     */
+    public Stats stats() {
+        return new Stats(name, size(), maximumSize, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    /**
+     * Количество элементов в кэше
+     */
+    public synchronized int size() {
+        return window.size() + probation.size() + protectedSegment.size();
+    }
+
+    private synchronized Object startLoad(K key) {
+        return loads.computeIfAbsent(key, k -> new Object());
+    }
+
+    private synchronized void putIfUnchanged(K key, V value, Object stamp) {
+        if (loads.get(key) == stamp) {
+            insert(key, value);
+        }
+    }
+
+    private synchronized void finishLoad(K key, Object stamp) {
+        loads.remove(key, stamp);
+    }
+
+    private void insert(K key, V value) {
+        if (window.containsKey(key)) {
+            window.put(key, value);
+        } else if (probation.containsKey(key)) {
+            probation.put(key, value);
+        } else if (protectedSegment.containsKey(key)) {
+            protectedSegment.put(key, value);
+        } else {
+            window.put(key, value);
+            if (window.size() > maximumWindowSize) {
+                K candidate = eldest(window);
+                probation.put(candidate, window.remove(candidate));
+                evict(candidate);
+            }
+        }
+    }
+
+    /**
+     * Перевести элемент испытательного сегмента в защищённый, освободив место самым старым защищённым
+     */
+    private void promote(K key, V value) {
+        protectedSegment.put(key, value);
+        if (protectedSegment.size() > maximumProtectedSize) {
+            K demoted = eldest(protectedSegment);
+            probation.put(demoted, protectedSegment.remove(demoted));
+        }
+    }
+
+    /**
+     * Вытеснять, пока кэш переполнен: из пары претендент - самый старый элемент испытательного сегмента
+     * остаётся тот, к которому обращались чаще
+     */
+    private void evict(K candidate) {
+        while (size() > maximumSize) {
+            K victim = eldest(probation);
+            K evicted = victim;
+            if (!victim.equals(candidate) && probation.containsKey(candidate)
+                    && sketch.frequency(candidate) <= sketch.frequency(victim)) {
+                evicted = candidate;
+            }
+            probation.remove(evicted);
+            evictions.increment();
+        }
+    }
+
+    private static <K> K eldest(LinkedHashMap<K, ?> segment) {
+        return segment.keySet().iterator().next();
+    }
+
+    /**
+     * Метрики кэша
+     *
+     * @param name        название кэша
+     * @param size        текущее количество элементов
+     * @param maximumSize максимальное количество элементов
+     * @param hits        количество попаданий
+     * @param misses      количество промахов
+     * @param evictions   количество вытесненных элементов
+     */
+    public record Stats(String name, long size, long maximumSize, long hits, long misses, long evictions) {
+
+        /**
+         * Доля попаданий среди всех обращений
+         */
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package ru.itmo.spaceships.service;
+
+import java.util.Set;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Шина изменений сущностей между узлами приложения.
+ * {@link EventHub} рассылает обновления только подписчикам своего узла, поэтому об изменении, сделанном
+ * на одном узле, остальные узнают через шину. По шине передаются только ключи изменённых сущностей,
+ * узел-получатель сбрасывает их в кэше, перечитывает и рассылает своим подписчикам
+ */
+public interface EventBus {
+
+    /**
+     * Сообщить другим узлам, что сущность изменена или удалена. Не блокирует вызывающий поток
+     *
+     * @param stream название стрима обновлений
+     * @param key    ключ сущности в стриме
+     */
+    void announce(String stream, long key);
+
+    /**
+     * Изменения, сделанные на других узлах. Изменения этого узла в поток не попадают
+     */
+    Flux<Change> changes();
+
+    /**
+     * Изменения сущностей одного стрима
+     *
+     * @param stream название стрима обновлений
+     * @param keys   ключи изменённых сущностей
+     */
+    record Change(String stream, Set<Long> keys) {
+    }
+}
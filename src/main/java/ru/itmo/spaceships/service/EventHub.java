@@ -0,0 +1,500 @@
+package ru.itmo.spaceships.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import ru.itmo.spaceships.exception.BaseException;
+import ru.itmo.spaceships.exception.Errors;
+import ru.itmo.spaceships.model.EventPosition;
+
+/**
+ * Рассылка событий об изменении сущностей подписчикам стримов обновлений.
+ * Публикация никогда не ждёт подписчиков: событие кладётся в собственную ограниченную очередь каждого подписчика,
+ * а отдаётся из неё по мере запроса от клиента. Если очередь заполнена, срабатывает политика переполнения подписчика,
+ * поэтому один медленный клиент не задерживает ни публикующий поток, ни остальных подписчиков.
+ * Подписчик может включить склейку по ключу сущности, тогда при серии правок одной сущности
+ * объём отправляемых ему событий ограничен количеством различных сущностей, а не количеством правок.
+ * Каждое событие получает возрастающий номер и попадает в ограниченную историю, поэтому переподключившийся
+ * клиент может получить события, пропущенные после последнего полученного номера. Более старые события
+ * берутся из журнала в базе, если он подключён, иначе клиенту отправляется сброс и он перечитывает состояние
+ *
+ * @param <T> событие
+ */
+public class EventHub<T> {
+
+    private static final int MAX_REPLAY_EVENTS = 10_000;
+    private static final String OUTBOX_EPOCH = "log";
+
+    private final String name;
+    private final int bufferSize;
+    private final OverflowPolicy defaultPolicy;
+    private final Function<? super T, ?> keyExtractor;
+    private final EventRing<T> history;
+    private final EventOutbox<T> outbox;
+
+    private final Set<EventSubscriber<T>> subscribers = ConcurrentHashMap.newKeySet();
+    private final Set<EventSubscriber<T>> broadcastSubscribers = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<Object, Set<EventSubscriber<T>>> subscribersByKey = new ConcurrentHashMap<>();
+    private final AtomicLong subscriberIds = new AtomicLong();
+    private final LongAdder published = new LongAdder();
+
+    private long lastEventId;
+
+    // Счётчики по всем подписчикам, их увеличивают сами подписчики
+    final LongAdder dropped = new LongAdder();
+    final LongAdder disconnected = new LongAdder();
+    final LongAdder conflated = new LongAdder();
+    final LongAdder replayed = new LongAdder();
+    final LongAdder resets = new LongAdder();
+    // Эпоха нумерации, номер события действителен только вместе с ней. Номера из журнала продолжаются после перезапуска
+    final String epoch;
+
+    /**
+     * @param name          название стрима для метрик
+     * @param bufferSize    размер очереди одного подписчика
+     * @param defaultPolicy политика переполнения, если подписчик не выбрал свою
+     * @param keyExtractor  ключ сущности, по которому склеиваются события
+     * @param historySize   количество последних событий, хранимых в памяти для переподключившихся клиентов
+     * @param outbox        журнал событий в базе или null, если события старше истории в памяти не нужны
+     */
+    public EventHub(String name, int bufferSize, OverflowPolicy defaultPolicy, Function<? super T, ?> keyExtractor,
+                    int historySize, EventOutbox<T> outbox) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("bufferSize must be positive: " + bufferSize);
+        }
+        this.name = name;
+        this.bufferSize = bufferSize;
+        this.defaultPolicy = defaultPolicy;
+        this.keyExtractor = keyExtractor;
+        this.history = new EventRing<>(historySize);
+        this.outbox = outbox;
+        this.epoch = outbox != null ? OUTBOX_EPOCH
+                : Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, Character.MAX_RADIX);
+    }
+
+    /**
+     * Разослать событие подписчикам, которым оно интересно. Не блокирует вызывающий поток.
+     * Подписчики на конкретные сущности находятся по ключу события, так что событие проверяется только
+     * ими и подписчиками на все сущности, а не каждым подключением.
+     * Номер, история и очереди подписчиков меняются под одним монитором, чтобы события доходили до подписчиков
+     * в порядке номеров. Отдача клиентам выполняется уже после выхода из монитора
+     */
+    public void publish(T payload) {
+        List<EventSubscriber<T>> offered = new ArrayList<>();
+        synchronized (history) {
+            Event<T> event = new Event<>(epoch, ++lastEventId, payload);
+            history.add(event);
+            if (outbox != null) {
+                outbox.append(event);
+            }
+            Set<EventSubscriber<T>> keyed = subscribersByKey.get(keyExtractor.apply(payload));
+            if (keyed != null) {
+                for (EventSubscriber<T> subscriber : keyed) {
+                    subscriber.offerIfMatches(event, offered);
+                }
+            }
+            for (EventSubscriber<T> subscriber : broadcastSubscribers) {
+                subscriber.offerIfMatches(event, offered);
+            }
+        }
+        published.increment();
+        for (EventSubscriber<T> subscriber : offered) {
+            subscriber.drain();
+        }
+    }
+
+    /**
+     * Подписаться на события, опубликованные после подписки
+     *
+     * @param policy      политика переполнения очереди подписчика или null для политики по умолчанию
+     * @param conflation  склейка событий по ключу сущности или null, чтобы получать каждое событие
+     * @param filter      какие события нужны подписчику или null, чтобы получать все
+     * @param lastEventId номер последнего полученного клиентом события, см. {@link EventPosition},
+     *                    или null для нового клиента. События после него отдаются перед новыми
+     *                    без склейки и без ограничения очереди
+     * @return бесконечный поток событий
+     */
+    public Flux<Event<T>> subscribe(OverflowPolicy policy, Conflation conflation, Filter<? super T> filter,
+                                    String lastEventId) {
+        OverflowPolicy effectivePolicy = policy != null ? policy : defaultPolicy;
+        Filter<? super T> effectiveFilter = filter != null ? filter : Filter.all();
+        return Flux.create(sink -> {
+            EventSubscriber<T> subscriber = new EventSubscriber<>(
+                    this, subscriberIds.incrementAndGet(), effectivePolicy, conflation, effectiveFilter, sink);
+            long[] missing;
+            synchronized (history) {
+                register(subscriber);
+                missing = lastEventId != null ? replay(subscriber, EventPosition.parse(lastEventId)) : null;
+            }
+            Disposable.Composite resources = Disposables.composite();
+            sink.onDispose(() -> {
+                resources.dispose();
+                unregister(subscriber);
+            });
+            sink.onRequest(n -> subscriber.drain());
+            if (subscriber.isWindowed()) {
+                long windowMillis = conflation.window().toMillis();
+                resources.add(Schedulers.parallel().schedulePeriodically(
+                        subscriber::release, windowMillis, windowMillis, TimeUnit.MILLISECONDS));
+            }
+            if (missing != null) {
+                resources.add(outbox.read(epoch, missing[0], missing[1])
+                        .collectList()
+                        .subscribe(
+                                events -> subscriber.completeReplay(events, missing[0], missing[1]),
+                                error -> subscriber.completeReplay(List.of(), missing[0], missing[1])));
+            }
+        }, FluxSink.OverflowStrategy.ERROR);
+    }
+
+    /**
+     * Номер последнего опубликованного события. Подписка с этим номером получит все события после него
+     */
+    public long lastEventId() {
+        synchronized (history) {
+            return lastEventId;
+        }
+    }
+
+    /**
+     * Номер последнего опубликованного события в том виде, в котором его получает клиент
+     */
+    public EventPosition lastEventPosition() {
+        synchronized (history) {
+            return new EventPosition(epoch, lastEventId);
+        }
+    }
+
+    /**
+     * Продолжить нумерацию событий с последнего номера в журнале, чтобы номера, полученные клиентами
+     * до перезапуска приложения, остались действительными
+     */
+    public Mono<Void> restoreSequence() {
+        if (outbox == null) {
+            return Mono.empty();
+        }
+        return outbox.lastEventId()
+                .doOnNext(restored -> {
+                    synchronized (history) {
+                        if (restored > lastEventId) {
+                            history.clear();
+                            lastEventId = restored;
+                        }
+                    }
+                })
+                .then();
+    }
+
+    /**
+     * Текущие метрики стрима и его подписчиков
+     */
+    public Stats stats() {
+        List<SubscriberStats> subscriberStats = new ArrayList<>(subscribers.size());
+        for (EventSubscriber<T> subscriber : subscribers) {
+            subscriberStats.add(subscriber.stats());
+        }
+        subscriberStats.sort(Comparator.comparingLong(SubscriberStats::id));
+        return new Stats(name, bufferSize, published.sum(), dropped.sum(), disconnected.sum(), conflated.sum(),
+                lastEventId(), history.size(), replayed.sum(), resets.sum(), subscriberStats);
+    }
+
+    /**
+     * Отдать подписчику события после номера, известного клиенту. Вызывается под монитором истории,
+     * поэтому между снимком истории и первым живым событием ничего не теряется и не повторяется
+     *
+     * @return диапазон номеров (после, до), который нужно дочитать из журнала, или null
+     */
+    private long[] replay(EventSubscriber<T> subscriber, EventPosition after) {
+        if (after == null || !after.epoch().equals(epoch)) {
+            // Номер другого узла или прошлого запуска: по нему нельзя найти пропущенные события
+            subscriber.reset(lastEventId);
+            return null;
+        }
+        long afterId = after.id();
+        if (afterId == lastEventId) {
+            return null;
+        }
+        if (afterId > lastEventId || lastEventId - afterId > MAX_REPLAY_EVENTS) {
+            // Номер не из этой нумерации или клиент отстал слишком сильно: дешевле перечитать состояние
+            subscriber.reset(lastEventId);
+            return null;
+        }
+        long oldestId = history.oldestId(lastEventId + 1);
+        if (afterId + 1 >= oldestId) {
+            subscriber.replay(history.after(afterId));
+            return null;
+        }
+        if (outbox == null) {
+            subscriber.reset(oldestId - 1);
+            subscriber.replay(history.after(afterId));
+            return null;
+        }
+        subscriber.awaitReplay();
+        subscriber.replay(history.after(afterId));
+        return new long[]{afterId, oldestId};
+    }
+
+    private void register(EventSubscriber<T> subscriber) {
+        subscribers.add(subscriber);
+        Set<?> keys = subscriber.filter().keys();
+        if (keys == null) {
+            broadcastSubscribers.add(subscriber);
+            return;
+        }
+        for (Object key : keys) {
+            subscribersByKey.compute(key, (k, keyed) -> {
+                Set<EventSubscriber<T>> result = keyed != null ? keyed : ConcurrentHashMap.newKeySet();
+                result.add(subscriber);
+                return result;
+            });
+        }
+    }
+
+    void unregister(EventSubscriber<T> subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        Set<?> keys = subscriber.filter().keys();
+        if (keys == null) {
+            broadcastSubscribers.remove(subscriber);
+            return;
+        }
+        for (Object key : keys) {
+            subscribersByKey.computeIfPresent(key, (k, keyed) -> {
+                keyed.remove(subscriber);
+                return keyed.isEmpty() ? null : keyed;
+            });
+        }
+    }
+
+    /**
+     * Название стрима
+     */
+    public String name() {
+        return name;
+    }
+
+    int bufferSize() {
+        return bufferSize;
+    }
+
+    Object keyOf(T payload) {
+        return keyExtractor.apply(payload);
+    }
+
+    BaseException overflowError() {
+        return Errors.eventStreamOverflowError(name, bufferSize);
+    }
+
+    /**
+     * Что делать с событием, если очередь подписчика заполнена
+     */
+    public enum OverflowPolicy {
+        /**
+         * Выбросить самое старое событие из очереди
+         */
+        DROP_OLDEST,
+        /**
+         * Заменить последнее событие в очереди новым: пока клиент отстаёт, хвост очереди хранит самое свежее событие
+         */
+        CONFLATE_LATEST,
+        /**
+         * Отключить подписчика с ошибкой, чтобы клиент переподключился и перечитал состояние
+         */
+        DISCONNECT
+    }
+
+    /**
+     * Метрики стрима обновлений
+     *
+     * @param name         название стрима
+     * @param bufferSize   размер очереди одного подписчика
+     * @param published    количество опубликованных событий
+     * @param dropped      количество событий, не доставленных из-за переполнения, по всем подписчикам
+     * @param disconnected количество подписчиков, отключённых из-за переполнения
+     * @param conflated    количество событий, заменённых более свежими по тому же ключу, по всем подписчикам
+     * @param lastEventId  номер последнего опубликованного события
+     * @param history      количество событий в истории в памяти
+     * @param replayed     количество событий, повторно отданных переподключившимся клиентам
+     * @param resets       количество переподключений, для которых пропущенные события восстановить не удалось
+     * @param subscribers  метрики текущих подписчиков
+     */
+    public record Stats(String name, long bufferSize, long published, long dropped, long disconnected,
+                        long conflated, long lastEventId, int history, long replayed, long resets,
+                        List<SubscriberStats> subscribers) {
+    }
+
+    /**
+     * Событие стрима. Один и тот же объект события уходит всем подписчикам, поэтому представление
+     * для отправки клиентам вычисляется на нём один раз, а не отдельно для каждого подключения
+     *
+     * @param <T> сущность
+     */
+    public static final class Event<T> {
+
+        private final String epoch;
+        private final long id;
+        private final T payload;
+        private volatile Object encoded;
+
+        /**
+         * @param epoch   эпоха нумерации стрима
+         * @param id      номер события, возрастающий в пределах стрима
+         * @param payload изменённая сущность или null, если клиенту нужно перечитать состояние
+         */
+        public Event(String epoch, long id, T payload) {
+            this.epoch = epoch;
+            this.id = id;
+            this.payload = payload;
+        }
+
+        /**
+         * Номер события, возрастающий в пределах стрима
+         */
+        public long id() {
+            return id;
+        }
+
+        /**
+         * Номер события в том виде, в котором его получает клиент
+         */
+        public EventPosition position() {
+            return new EventPosition(epoch, id);
+        }
+
+        /**
+         * Изменённая сущность или null, если клиенту нужно перечитать состояние
+         */
+        public T payload() {
+            return payload;
+        }
+
+        /**
+         * Сброс: пропущенные события восстановить нельзя, клиент должен перечитать состояние
+         */
+        public boolean isReset() {
+            return payload == null;
+        }
+
+        /**
+         * Представление события для отправки. Вычисляется первым подписчиком, остальные получают готовое,
+         * поэтому все подписчики стрима должны передавать одинаковый кодировщик
+         *
+         * @param encoder кодировщик сущности
+         * @param <V>     представление
+         */
+        @SuppressWarnings("unchecked")
+        public <V> V encoded(Function<? super T, ? extends V> encoder) {
+            Object result = encoded;
+            if (result == null) {
+                synchronized (this) {
+                    result = encoded;
+                    if (result == null) {
+                        result = encoder.apply(payload);
+                        encoded = result;
+                    }
+                }
+            }
+            return (V) result;
+        }
+
+        @Override
+        public String toString() {
+            return "Event[id=" + id + ", payload=" + payload + "]";
+        }
+    }
+
+    /**
+     * Метрики одного подписчика
+     *
+     * @param id        номер подписчика
+     * @param policy     политика переполнения
+     * @param conflation склейка событий или null
+     * @param keys       количество сущностей, на которые подписан подписчик, или null, если на все
+     * @param lag        количество событий в очереди, ещё не отданных клиенту
+     * @param maxLag     наибольшее количество событий в очереди за время подписки
+     * @param delivered  количество отданных клиенту событий
+     * @param dropped    количество событий, не доставленных из-за переполнения
+     * @param conflated  количество событий, заменённых более свежими по тому же ключу
+     */
+    public record SubscriberStats(long id, OverflowPolicy policy, Conflation conflation, Integer keys, long lag,
+                                  long maxLag, long delivered, long dropped, long conflated) {
+    }
+
+    /**
+     * Какие события нужны подписчику. Ключи сущностей используются как индекс подписок,
+     * условие проверяется только для событий, прошедших по ключу
+     *
+     * @param keys      ключи сущностей или null для всех сущностей
+     * @param condition условие на событие или null
+     * @param <T>       событие
+     */
+    public record Filter<T>(Set<?> keys, Predicate<? super T> condition) {
+
+        /**
+         * Все события
+         */
+        public static <T> Filter<T> all() {
+            return new Filter<>(null, null);
+        }
+
+        /**
+         * События по указанным сущностям, удовлетворяющие условию
+         *
+         * @param keys      ключи сущностей, null или пустая коллекция - все сущности
+         * @param condition условие на событие или null
+         */
+        public static <T> Filter<T> of(Collection<?> keys, Predicate<? super T> condition) {
+            return new Filter<>(keys == null || keys.isEmpty() ? null : Set.copyOf(keys), condition);
+        }
+
+        boolean matches(T event) {
+            return condition == null || condition.test(event);
+        }
+    }
+
+    /**
+     * Склейка событий по ключу сущности: из нескольких версий одной сущности клиенту уходит только последняя.
+     * Без окна склеиваются только события, ожидающие в очереди отстающего клиента.
+     * С окном события копятся и отдаются не чаще одного раза за окно, так что за окно клиент получает
+     * не больше одного события на сущность
+     *
+     * @param window окно склейки или null
+     */
+    public record Conflation(Duration window) {
+
+        /**
+         * Склеивать события, пока клиент не успевает их забирать
+         */
+        public static Conflation whileBehind() {
+            return new Conflation(null);
+        }
+
+        /**
+         * Отдавать события не чаще одного раза за окно, по одному на сущность
+         */
+        public static Conflation within(Duration window) {
+            if (window.isNegative() || window.isZero()) {
+                throw new IllegalArgumentException("window must be positive: " + window);
+            }
+            return new Conflation(window);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package ru.itmo.spaceships.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+import ru.itmo.spaceships.converter.JsonbCodec;
+import ru.itmo.spaceships.model.UpdateEventEntity;
+import ru.itmo.spaceships.repository.UpdateEventRepository;
+
+/**
+ * Журнал событий одного стрима в базе.
+ * Публикация только кладёт событие в ограниченную очередь, а сериализация и запись идут пачками
+ * в отдельном потоке, поэтому база не задерживает рассылку. Если журнал не успевает, событие в него
+ * не попадает, а клиент, которому оно понадобится при переподключении, получит сброс.
+ * В журнале хранится ограниченное количество последних событий, более старые удаляются после каждой пачки
+ *
+ * @param <T> сущность
+ */
+@Slf4j
+public class EventOutbox<T> {
+
+    private static final int QUEUE_SIZE = 16_384;
+    private static final int BATCH_SIZE = Queues.SMALL_BUFFER_SIZE;
+    private static final Duration BATCH_TIMEOUT = Duration.ofMillis(50);
+
+    private final String stream;
+    private final JsonbCodec<T> codec;
+    private final UpdateEventRepository repository;
+    private final long retainedEvents;
+    private final Sinks.Many<EventHub.Event<T>> pending =
+            Sinks.many().unicast().onBackpressureBuffer(Queues.<EventHub.Event<T>>get(QUEUE_SIZE).get());
+    private final LongAdder lost = new LongAdder();
+
+    /**
+     * @param stream         название стрима
+     * @param codec          кодек сущности в JSONB
+     * @param repository     репозиторий журнала
+     * @param retainedEvents сколько последних событий стрима хранить
+     */
+    public EventOutbox(String stream, JsonbCodec<T> codec, UpdateEventRepository repository, long retainedEvents) {
+        this.stream = stream;
+        this.codec = codec;
+        this.repository = repository;
+        this.retainedEvents = retainedEvents;
+        pending.asFlux()
+                .bufferTimeout(BATCH_SIZE, BATCH_TIMEOUT)
+                .concatMap(this::write)
+                .subscribe();
+    }
+
+    /**
+     * Поставить событие в очередь на запись. Вызывается последовательно в порядке номеров
+     */
+    void append(EventHub.Event<T> event) {
+        if (pending.tryEmitNext(event).isFailure()) {
+            lost.increment();
+        }
+    }
+
+    /**
+     * Прочитать события с номерами строго между границами
+     *
+     * @param epoch эпоха нумерации стрима
+     */
+    Flux<EventHub.Event<T>> read(String epoch, long afterId, long beforeId) {
+        return repository.findBetween(stream, afterId, beforeId)
+                .map(entity -> new EventHub.Event<>(epoch, entity.getId(), codec.decode(entity.getPayload())));
+    }
+
+    /**
+     * Номер последнего события в журнале или 0
+     */
+    Mono<Long> lastEventId() {
+        return repository.findLastId(stream);
+    }
+
+    private Mono<Void> write(List<EventHub.Event<T>> batch) {
+        long lostEvents = lost.sumThenReset();
+        if (lostEvents > 0) {
+            log.warn("{} событий стрима {} не попали в журнал: очередь записи переполнена", lostEvents, stream);
+        }
+        return Mono.defer(() -> {
+            List<UpdateEventEntity> entities = new ArrayList<>(batch.size());
+            for (EventHub.Event<T> event : batch) {
+                entities.add(new UpdateEventEntity(stream, event.id(), codec.encode(event.payload())));
+            }
+            long lastRetainedId = batch.get(batch.size() - 1).id() - retainedEvents;
+            return repository.insertAll(entities)
+                    .then(repository.deleteUpTo(stream, lastRetainedId));
+        })
+                .then()
+                .onErrorResume(error -> {
+                    log.error("Ошибка при записи событий стрима {} в журнал", stream, error);
+                    return Mono.empty();
+                });
+    }
+}
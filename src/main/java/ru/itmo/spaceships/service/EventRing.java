@@ -0,0 +1,71 @@
+package ru.itmo.spaceships.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Последние события стрима в кольцевом буфере фиксированного размера.
+ * Номера событий в буфере идут подряд, поэтому позиция события вычисляется по номеру без поиска.
+ * Не потокобезопасен, доступ защищается монитором {@link EventHub}
+ *
+ * @param <T> сущность
+ */
+final class EventRing<T> {
+
+    private final EventHub.Event<T>[] events;
+    private int head;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    EventRing(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.events = (EventHub.Event<T>[]) new EventHub.Event<?>[capacity];
+    }
+
+    void add(EventHub.Event<T> event) {
+        events[head] = event;
+        head = (head + 1) % events.length;
+        size = Math.min(size + 1, events.length);
+    }
+
+    void clear() {
+        Arrays.fill(events, null);
+        head = 0;
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Номер самого старого события в буфере
+     *
+     * @param emptyId номер, который вернуть для пустого буфера
+     */
+    long oldestId(long emptyId) {
+        return size == 0 ? emptyId : events[index(0)].id();
+    }
+
+    /**
+     * События с номером больше указанного в порядке публикации
+     */
+    List<EventHub.Event<T>> after(long eventId) {
+        if (size == 0) {
+            return List.of();
+        }
+        long skip = Math.max(0, eventId - events[index(0)].id() + 1);
+        List<EventHub.Event<T>> result = new ArrayList<>((int) Math.max(0, size - skip));
+        for (long i = skip; i < size; i++) {
+            result.add(events[index((int) i)]);
+        }
+        return result;
+    }
+
+    private int index(int offset) {
+        return (head - size + offset + events.length) % events.length;
+    }
+}
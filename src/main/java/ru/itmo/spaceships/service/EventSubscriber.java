@@ -0,0 +1,291 @@
+package ru.itmo.spaceships.service;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import reactor.core.publisher.FluxSink;
+import ru.itmo.spaceships.service.EventHub.Conflation;
+import ru.itmo.spaceships.service.EventHub.Event;
+import ru.itmo.spaceships.service.EventHub.Filter;
+import ru.itmo.spaceships.service.EventHub.OverflowPolicy;
+
+/**
+ * Подписчик {@link EventHub} с собственной очередью. Очередь защищена монитором подписчика и занята им только
+ * на время одной операции с ней, а отдача событий клиенту сериализуется счётчиком wip без блокировок.
+ * Пропущенные клиентом события лежат в отдельной очереди повтора и отдаются раньше новых
+ *
+ * @param <T> сущность
+ */
+final class EventSubscriber<T> {
+    private final EventHub<T> hub;
+    private final long id;
+    private final OverflowPolicy policy;
+    private final Conflation conflation;
+    private final Filter<? super T> filter;
+    private final FluxSink<Event<T>> sink;
+    private final ArrayDeque<Event<T>> queue;
+    private final LinkedHashMap<Object, Event<T>> latestByKey;
+    private final ArrayDeque<Event<T>> replay = new ArrayDeque<>();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private Object lastKey;
+    private int released;
+    private boolean overflowed;
+    private boolean terminated;
+    private boolean replayPending;
+    private long maxLag;
+    private long droppedEvents;
+    private long conflatedEvents;
+    private volatile long delivered;
+
+    EventSubscriber(EventHub<T> hub, long id, OverflowPolicy policy, Conflation conflation,
+                    Filter<? super T> filter, FluxSink<Event<T>> sink) {
+        this.hub = hub;
+        this.id = id;
+        this.policy = policy;
+        this.conflation = conflation;
+        this.filter = filter;
+        this.sink = sink;
+        this.queue = conflation == null ? new ArrayDeque<>() : null;
+        this.latestByKey = conflation != null ? new LinkedHashMap<>() : null;
+    }
+
+    Filter<? super T> filter() {
+        return filter;
+    }
+
+    boolean isWindowed() {
+        return conflation != null && conflation.window() != null;
+    }
+
+    void offerIfMatches(Event<T> event, List<EventSubscriber<T>> offered) {
+        if (filter.matches(event.payload()) && offer(event)) {
+            offered.add(this);
+        }
+    }
+
+    private synchronized boolean offer(Event<T> event) {
+        if (overflowed) {
+            return false;
+        }
+        if (latestByKey != null) {
+            offerConflated(event);
+        } else {
+            offerQueued(event);
+        }
+        maxLag = Math.max(maxLag, size());
+        return true;
+    }
+
+    /**
+     * Добавить пропущенные клиентом события в конец повтора
+     */
+    synchronized void replay(List<Event<T>> events) {
+        for (Event<T> event : events) {
+            if (isReplayed(event)) {
+                replay.offerLast(event);
+            }
+        }
+    }
+
+    /**
+     * Начать повтор со сброса: клиент перечитывает состояние, а номер сброса становится его последним номером
+     */
+    synchronized void reset(long eventId) {
+        replay.offerFirst(new Event<>(hub.epoch, eventId, null));
+        hub.resets.increment();
+    }
+
+    /**
+     * Не отдавать события, пока из журнала не прочитано начало повтора
+     */
+    synchronized void awaitReplay() {
+        replayPending = true;
+    }
+
+    /**
+     * Поставить прочитанные из журнала события перед уже собранным повтором.
+     * Если в журнале есть пропуски, повтор начинается со сброса
+     */
+    void completeReplay(List<Event<T>> events, long afterId, long beforeId) {
+        synchronized (this) {
+            replayPending = false;
+            if (events.size() != beforeId - afterId - 1) {
+                reset(beforeId - 1);
+            } else {
+                for (int i = events.size() - 1; i >= 0; i--) {
+                    Event<T> event = events.get(i);
+                    if (isReplayed(event)) {
+                        replay.offerFirst(event);
+                    }
+                }
+            }
+        }
+        drain();
+    }
+
+    /**
+     * Живые события уже отобраны по ключу индексом подписок, а повтор берётся из общей истории
+     */
+    private boolean isReplayed(Event<T> event) {
+        Set<?> keys = filter.keys();
+        return (keys == null || keys.contains(hub.keyOf(event.payload()))) && filter.matches(event.payload());
+    }
+
+    private void offerQueued(Event<T> event) {
+        if (queue.size() >= hub.bufferSize()) {
+            if (policy == OverflowPolicy.DISCONNECT) {
+                overflow(queue.size());
+                queue.clear();
+                return;
+            } else if (policy == OverflowPolicy.CONFLATE_LATEST) {
+                queue.pollLast();
+            } else {
+                queue.pollFirst();
+            }
+            drop(1);
+        }
+        queue.offerLast(event);
+    }
+
+    /**
+     * Событие по уже ожидающему ключу заменяет прежнее, поэтому отстающий клиент получит по каждой сущности
+     * только последнюю версию. Новая версия встаёт в конец очереди, а не на место прежней: иначе клиент получил бы
+     * её номер раньше меньших номеров других сущностей и после переподключения с этим номером потерял бы их
+     */
+    private void offerConflated(Event<T> event) {
+        Object key = hub.keyOf(event.payload());
+        if (latestByKey.containsKey(key)) {
+            if (released > 0 && positionOf(key) < released) {
+                released--;
+            }
+            latestByKey.remove(key);
+            latestByKey.put(key, event);
+            lastKey = key;
+            conflatedEvents++;
+            hub.conflated.increment();
+            return;
+        }
+        if (latestByKey.size() >= hub.bufferSize()) {
+            if (policy == OverflowPolicy.DISCONNECT) {
+                overflow(latestByKey.size());
+                latestByKey.clear();
+                return;
+            } else if (policy == OverflowPolicy.CONFLATE_LATEST) {
+                latestByKey.remove(lastKey);
+                released = Math.min(released, latestByKey.size());
+            } else {
+                pollFirst();
+            }
+            drop(1);
+        }
+        latestByKey.put(key, event);
+        lastKey = key;
+    }
+
+    /**
+     * Разрешить отдать клиенту всё, что накопилось за окно склейки
+     */
+    void release() {
+        synchronized (this) {
+            released = latestByKey.size();
+        }
+        drain();
+    }
+
+    void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            while (!terminated && !sink.isCancelled()) {
+                if (isOverflowed()) {
+                    terminated = true;
+                    hub.unregister(this);
+                    sink.error(hub.overflowError());
+                    break;
+                }
+                if (sink.requestedFromDownstream() == 0) {
+                    break;
+                }
+                Event<T> event = poll();
+                if (event == null) {
+                    break;
+                }
+                sink.next(event);
+                delivered++;
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void overflow(int queued) {
+        overflowed = true;
+        drop(queued + 1L);
+        hub.disconnected.increment();
+    }
+
+    private void drop(long count) {
+        droppedEvents += count;
+        hub.dropped.add(count);
+    }
+
+    private int size() {
+        return latestByKey != null ? latestByKey.size() : queue.size();
+    }
+
+    private int positionOf(Object key) {
+        int position = 0;
+        for (Object queued : latestByKey.keySet()) {
+            if (queued.equals(key)) {
+                return position;
+            }
+            position++;
+        }
+        return position;
+    }
+
+    private Event<T> pollFirst() {
+        Iterator<Event<T>> iterator = latestByKey.values().iterator();
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        Event<T> event = iterator.next();
+        iterator.remove();
+        released = Math.max(0, released - 1);
+        return event;
+    }
+
+    private synchronized boolean isOverflowed() {
+        return overflowed;
+    }
+
+    private synchronized Event<T> poll() {
+        Event<T> replayed = replay.pollFirst();
+        if (replayed != null) {
+            hub.replayed.increment();
+            return replayed;
+        }
+        if (replayPending) {
+            return null;
+        }
+        if (latestByKey == null) {
+            return queue.pollFirst();
+        }
+        if (isWindowed() && released == 0) {
+            return null;
+        }
+        return pollFirst();
+    }
+
+    synchronized EventHub.SubscriberStats stats() {
+        return new EventHub.SubscriberStats(id, policy, conflation,
+                filter.keys() != null ? filter.keys().size() : null,
+                size() + replay.size(), maxLag, delivered, droppedEvents, conflatedEvents);
+    }
+}
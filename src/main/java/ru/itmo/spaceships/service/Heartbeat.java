@@ -0,0 +1,29 @@
+package ru.itmo.spaceships.service;
+
+import java.time.Duration;
+
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * Общий таймер сигналов "сервер жив" для всех SSE-подключений.
+ * Один интервал работает, пока есть хотя бы один подписчик, вместо отдельного таймера на каждое подключение.
+ * Каждый подписчик получает только последний тик, если не успел забрать предыдущие,
+ * поэтому медленное подключение не задерживает остальных
+ */
+@Component
+public class Heartbeat {
+
+    private static final Duration PERIOD = Duration.ofSeconds(3);
+
+    private final Flux<Long> ticks = Flux.interval(PERIOD)
+            .onBackpressureDrop()
+            .share();
+
+    /**
+     * Бесконечный поток тиков с номером тика
+     */
+    public Flux<Long> ticks() {
+        return ticks.onBackpressureLatest();
+    }
+}
@@ -0,0 +1,24 @@
+package ru.itmo.spaceships.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * Шина для единственного узла: других узлов нет, поэтому сообщать некому.
+ * Используется, если spaceships.events.bus не задано или равно local
+ */
+@Component
+@ConditionalOnProperty(name = "spaceships.events.bus", havingValue = "local", matchIfMissing = true)
+public class LocalEventBus implements EventBus {
+
+    @Override
+    public void announce(String stream, long key) {
+        // Все подписчики на этом узле уже получили обновление через EventHub
+    }
+
+    @Override
+    public Flux<Change> changes() {
+        return Flux.empty();
+    }
+}
@@ -1,21 +1,22 @@
 package ru.itmo.spaceships.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.Sinks;
 import ru.itmo.spaceships.exception.Errors;
 import ru.itmo.spaceships.generated.model.MaintenanceRequestRequest;
+import ru.itmo.spaceships.model.EventPosition;
+import ru.itmo.spaceships.model.MaintenanceRequestChanges;
 import ru.itmo.spaceships.model.MaintenanceRequestEntity;
+import ru.itmo.spaceships.model.MaintenanceRequestFilter;
 import ru.itmo.spaceships.model.MaintenanceStatus;
 import ru.itmo.spaceships.repository.MaintenanceRequestRepository;
 
-import java.time.Duration;
 import java.time.Instant;
-
-import static reactor.core.publisher.Sinks.EmitFailureHandler.busyLooping;
+import java.util.Collection;
 
 /**
  * Сервис для работы с заявками на обслуживание.
@@ -24,10 +25,12 @@ import static reactor.core.publisher.Sinks.EmitFailureHandler.busyLooping;
 @RequiredArgsConstructor
 public class MaintenanceRequestService {
 
-    private final MaintenanceRequestRepository maintenanceRequestRepository;
-    private final Sinks.Many<MaintenanceRequestEntity> maintenanceRequestUpdateSink;
+    private static final Sort SORT = Sort.by(Sort.Direction.ASC, "id");
 
-    private final Duration emitDuration = Duration.ofSeconds(3);
+    private final MaintenanceRequestRepository maintenanceRequestRepository;
+    private final EventHub<MaintenanceRequestEntity> maintenanceRequestUpdateHub;
+    private final EntityCache<Long, MaintenanceRequestEntity> maintenanceRequestCache;
+    private final EventBus eventBus;
 
     /**
      * Создаёт новую заявку на обслуживание.
@@ -53,64 +56,59 @@ public class MaintenanceRequestService {
     }
 
     /**
-     * Обновляет существующую заявку на обслуживание.
+     * Обновляет существующую заявку на обслуживание одним запросом к базе данных.
      * Все поля могут быть обновлены, кроме createdAt и updatedAt (системные поля).
-     * Переходы статусов валидируются согласно бизнес-правилам.
+     * Переход статуса проверяется в том же запросе. Если в запросе передана версия,
+     * заявка обновляется только при совпадении с текущей версией.
      *
      * @param id идентификатор заявки на обслуживание
      * @param request запрос на обновление заявки на обслуживание
      * @return обновлённая сущность заявки на обслуживание
      */
     public Mono<MaintenanceRequestEntity> updateMaintenanceRequest(Long id, MaintenanceRequestRequest request) {
-        return maintenanceRequestRepository.findById(id)
+        MaintenanceStatus newStatus = request.getStatus() != null
+                ? MaintenanceStatus.valueOf(request.getStatus().name())
+                : null;
+        MaintenanceRequestChanges changes = new MaintenanceRequestChanges(
+                request.getSpaceshipSerial(), request.getComment(), request.getAssignee(), newStatus);
+        return maintenanceRequestRepository.conditionalUpdate(id, changes, Instant.now(), request.getVersion())
                 .switchIfEmpty(Mono.error(Errors.maintenanceRequestNotFound(id)))
-                .flatMap(entity -> {
-                    // Если статус изменяется, валидируем переход
-                    if (request.getStatus() != null) {
-                        MaintenanceStatus newStatus = MaintenanceStatus.valueOf(request.getStatus().name());
-                        MaintenanceStatus currentStatus = entity.getStatus();
-
-                        if (currentStatus != newStatus) {
-                            // Валидируем переход статуса
-                            try {
-                                currentStatus.validateTransition(newStatus);
-                            } catch (IllegalArgumentException e) {
-                                return Mono.error(Errors.maintenanceRequestStatusTransitionError(
-                                        currentStatus.name(), newStatus.name()));
-                            }
-                            entity.setStatus(newStatus);
-                        }
+                .flatMap(write -> {
+                    if (write.applied()) {
+                        return Mono.just(write.current());
                     }
-
-                    // Обновляем другие поля
-                    if (request.getSpaceshipSerial() != null) {
-                        entity.setSpaceshipSerial(request.getSpaceshipSerial());
+                    // По состоянию до изменения понятно, какое из условий не выполнилось
+                    MaintenanceRequestEntity previous = write.previous();
+                    if (request.getVersion() != null && request.getVersion() != previous.getVersion()) {
+                        return Mono.error(Errors.maintenanceRequestVersionConflictError(id, previous.getVersion()));
                     }
-                    if (request.getComment() != null) {
-                        entity.setComment(request.getComment());
-                    }
-                    if (request.getAssignee() != null) {
-                        entity.setAssignee(request.getAssignee());
-                    }
-
-                    // Обновляем временную метку updatedAt
-                    entity.setUpdatedAt(Instant.now());
-                    // createdAt и updatedAt - системные поля, не обновляются из запроса
-                    return maintenanceRequestRepository.save(entity);
+                    return Mono.error(Errors.maintenanceRequestStatusTransitionError(
+                            previous.getStatus().name(), String.valueOf(newStatus)));
                 })
-                .doOnSuccess(entity -> maintenanceRequestUpdateSink.emitNext(entity, busyLooping(emitDuration)));
+                .doOnSuccess(entity -> {
+                    maintenanceRequestCache.put(id, entity);
+                    maintenanceRequestUpdateHub.publish(entity);
+                    eventBus.announce(maintenanceRequestUpdateHub.name(), id);
+                });
     }
 
     /**
-     * Удаляет заявку на обслуживание.
+     * Удаляет заявку на обслуживание одним запросом к базе данных.
      *
      * @param id идентификатор заявки на обслуживание
+     * @param version версия, которую видел клиент, или null без проверки
      * @return пустой Mono
      */
-    public Mono<Void> deleteMaintenanceRequest(Long id) {
-        return maintenanceRequestRepository.findById(id)
+    public Mono<Void> deleteMaintenanceRequest(Long id, Long version) {
+        return maintenanceRequestRepository.conditionalDelete(id, version)
                 .switchIfEmpty(Mono.error(Errors.maintenanceRequestNotFound(id)))
-                .flatMap(maintenanceRequestRepository::delete);
+                .flatMap(write -> write.applied()
+                        ? Mono.<Void>empty()
+                        : Mono.error(Errors.maintenanceRequestVersionConflictError(id, write.previous().getVersion())))
+                .doOnSuccess(v -> {
+                    maintenanceRequestCache.invalidate(id);
+                    eventBus.announce(maintenanceRequestUpdateHub.name(), id);
+                });
     }
 
     /**
@@ -118,37 +116,76 @@ public class MaintenanceRequestService {
      *
      * @param page номер страницы (начиная с 0)
      * @param size размер страницы
+     * @param after курсор - идентификатор последнего элемента предыдущей страницы, при наличии page не учитывается
+     * @param filter условия отбора заявок
      * @return поток сущностей заявок на обслуживание, отсортированных по ID
      */
-    public Flux<MaintenanceRequestEntity> getMaintenanceRequests(Integer page, Integer size) {
-        int pageNum = page != null ? page : 0;
+    public Flux<MaintenanceRequestEntity> getMaintenanceRequests(
+            Integer page,
+            Integer size,
+            Long after,
+            MaintenanceRequestFilter filter) {
         int pageSize = size != null ? size : 20;
-        long offset = (long) pageNum * pageSize;
-        Sort sort = Sort.by(Sort.Direction.ASC, "id");
-        return maintenanceRequestRepository.findAll(sort)
-                .skip(offset)
-                .take(pageSize);
+        if (!filter.isEmpty()) {
+            int pageNum = page != null ? page : 0;
+            return maintenanceRequestRepository.findFiltered(filter, after, PageRequest.of(pageNum, pageSize, SORT));
+        }
+        if (after != null) {
+            return maintenanceRequestRepository.findByIdGreaterThan(after, PageRequest.of(0, pageSize, SORT));
+        }
+        int pageNum = page != null ? page : 0;
+        return maintenanceRequestRepository.findAllBy(PageRequest.of(pageNum, pageSize, SORT));
     }
 
     /**
      * Получает заявку на обслуживание по ID.
+     * Повторные чтения обслуживаются из кэша, который обновляется при изменении и удалении заявки.
      *
      * @param id идентификатор заявки на обслуживание
      * @return сущность заявки на обслуживание
      */
     public Mono<MaintenanceRequestEntity> getMaintenanceRequestById(Long id) {
-        return maintenanceRequestRepository.findById(id)
+        return maintenanceRequestCache.get(id, maintenanceRequestRepository::findById)
                 .switchIfEmpty(Mono.error(Errors.maintenanceRequestNotFound(id)));
     }
 
     /**
      * Получает поток обновлений заявок на обслуживание.
      * Эмитит событие каждый раз, когда заявка на обслуживание успешно обновляется.
+     * Публикация не ждёт подписчика: события копятся в его ограниченной очереди, а при её переполнении
+     * срабатывает выбранная политика.
+     *
+     * @param overflowPolicy политика переполнения очереди подписчика или null для политики по умолчанию
+     * @param conflation склейка обновлений по сущности или null, чтобы получать каждое обновление
+     * @param ids идентификаторы заявок, обновления которых нужны клиенту, или null для всех
+     * @param filter условия на новое состояние заявки
+     * @param lastEventId номер последнего полученного клиентом события, см. {@link EventPosition}, или null,
+     *                    чтобы получать только новые
+     * @return поток событий с сущностями заявок на обслуживание
+     */
+    public Flux<EventHub.Event<MaintenanceRequestEntity>> getMaintenanceRequestsUpdatesStream(
+            EventHub.OverflowPolicy overflowPolicy,
+            EventHub.Conflation conflation,
+            Collection<Long> ids,
+            MaintenanceRequestFilter filter,
+            String lastEventId) {
+        EventHub.Filter<MaintenanceRequestEntity> eventFilter =
+                EventHub.Filter.of(ids, filter.isEmpty() ? null : filter::matches);
+        return maintenanceRequestUpdateHub.subscribe(overflowPolicy, conflation, eventFilter, lastEventId);
+    }
+
+    /**
+     * Применяет изменения заявок, сделанные на другом узле: сбрасывает их в кэше и рассылает
+     * свежие версии подписчикам этого узла. Удалённые заявки просто пропадают из кэша.
      *
-     * @return поток сущностей заявок на обслуживание
+     * @param ids идентификаторы изменённых заявок
+     * @return завершение рассылки
      */
-    public Flux<MaintenanceRequestEntity> getMaintenanceRequestsUpdatesStream() {
-        return maintenanceRequestUpdateSink.asFlux();
+    public Mono<Void> applyRemoteUpdates(Collection<Long> ids) {
+        ids.forEach(maintenanceRequestCache::invalidate);
+        return maintenanceRequestRepository.findAllById(ids)
+                .doOnNext(maintenanceRequestUpdateHub::publish)
+                .then();
     }
 }
 
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import org.springframework.stereotype.Service;
@@ -33,6 +35,17 @@ public class ObjectMapperWrapper {
         }
     }
 
+    /**
+     * Сериализует объект в JSON в UTF-8.
+     *
+     * @param obj объект для сериализации
+     * @return JSON в UTF-8
+     */
+    @SneakyThrows
+    public byte[] writeValueAsBytes(Object obj) {
+        return mapper.writeValueAsBytes(obj);
+    }
+
     /**
      * Десериализует объект из JSON строки.
      *
@@ -81,5 +94,44 @@ public class ObjectMapperWrapper {
     public JsonNode readTree(String data) {
         return mapper.readTree(data);
     }
-}
 
+    /**
+     * Создаёт ObjectReader для класса. Его стоит создать один раз и переиспользовать.
+     *
+     * @param cls класс
+     * @return читатель JSON
+     */
+    public ObjectReader readerFor(Class<?> cls) {
+        return mapper.readerFor(cls);
+    }
+
+    /**
+     * Создаёт ObjectReader для обобщённого типа. Его стоит создать один раз и переиспользовать.
+     *
+     * @param type ссылка на тип
+     * @return читатель JSON
+     */
+    public ObjectReader readerFor(TypeReference<?> type) {
+        return mapper.readerFor(type);
+    }
+
+    /**
+     * Создаёт ObjectWriter для класса. Его стоит создать один раз и переиспользовать.
+     *
+     * @param cls класс
+     * @return писатель JSON
+     */
+    public ObjectWriter writerFor(Class<?> cls) {
+        return mapper.writerFor(cls);
+    }
+
+    /**
+     * Создаёт ObjectWriter для обобщённого типа. Его стоит создать один раз и переиспользовать.
+     *
+     * @param type ссылка на тип
+     * @return писатель JSON
+     */
+    public ObjectWriter writerFor(TypeReference<?> type) {
+        return mapper.writerFor(type);
+    }
+}
@@ -0,0 +1,196 @@
+package ru.itmo.spaceships.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+import ru.itmo.spaceships.repository.UpdateEventRepository;
+
+/**
+ * Шина изменений на PostgreSQL LISTEN/NOTIFY. Используется, если spaceships.events.bus равно postgres.
+ * Ключи изменённых сущностей копятся {@link #FLUSH_DELAY} и отправляются одним NOTIFY на стрим,
+ * повторные изменения одной сущности за это время склеиваются в один ключ. Уведомления отправляются
+ * через общий пул соединений, а для LISTEN берётся отдельное соединение, которое переоткрывается при обрыве.
+ * Доставка не гарантирована: уведомления, отправленные без слушающего соединения, теряются.
+ * С журналом событий шина не совместима: каждый узел нумерует события своих стримов сам,
+ * и номера разных узлов в общем журнале совпадали бы
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spaceships.events.bus", havingValue = "postgres")
+public class PostgresEventBus implements EventBus {
+
+    static final String CHANNEL = "spaceships_entity_updates";
+    // NOTIFY принимает не больше 8000 байт, ключи и служебные поля - ASCII
+    private static final int MAX_PAYLOAD_LENGTH = 7_900;
+    private static final Duration FLUSH_DELAY = Duration.ofMillis(50);
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(1);
+    private static final Duration MAX_RECONNECT_DELAY = Duration.ofSeconds(30);
+
+    private final ConnectionFactory connectionFactory;
+    private final DatabaseClient databaseClient;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Sinks.Empty<Void> listening = Sinks.empty();
+
+    private Map<String, Set<Long>> pending = new HashMap<>();
+
+    /**
+     * @param connectionFactory фабрика соединений для слушающего соединения
+     * @param databaseClient    клиент базы данных для отправки уведомлений
+     */
+    public PostgresEventBus(ConnectionFactory connectionFactory, DatabaseClient databaseClient) {
+        this.connectionFactory = connectionFactory;
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Не даёт запустить шину вместе с журналом событий spaceships.events.outbox.enabled
+     *
+     * @param connectionFactory     фабрика соединений для слушающего соединения
+     * @param databaseClient        клиент базы данных для отправки уведомлений
+     * @param updateEventRepository журнал событий, если он включён
+     */
+    @Autowired
+    public PostgresEventBus(ConnectionFactory connectionFactory, DatabaseClient databaseClient,
+                            ObjectProvider<UpdateEventRepository> updateEventRepository) {
+        this(connectionFactory, databaseClient);
+        if (updateEventRepository.getIfAvailable() != null) {
+            throw new IllegalStateException("spaceships.events.bus=postgres requires "
+                    + "spaceships.events.outbox.enabled=false: event ids are numbered per node "
+                    + "and would collide in the shared outbox");
+        }
+    }
+
+    @Override
+    public void announce(String stream, long key) {
+        boolean first;
+        synchronized (this) {
+            first = pending.isEmpty();
+            pending.computeIfAbsent(stream, s -> new LinkedHashSet<>()).add(key);
+        }
+        if (first) {
+            Schedulers.parallel().schedule(this::flush, FLUSH_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public Flux<Change> changes() {
+        return Flux.usingWhen(connectionFactory.create(), this::listen, Connection::close)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, RECONNECT_DELAY)
+                        .maxBackoff(MAX_RECONNECT_DELAY)
+                        .doBeforeRetry(signal -> log.warn("Соединение для LISTEN {} потеряно, переподключение",
+                                CHANNEL, signal.failure())));
+    }
+
+    private Flux<Change> listen(Connection connection) {
+        PostgresqlConnection postgresConnection = unwrap(connection);
+        return postgresConnection.createStatement("LISTEN " + CHANNEL)
+                .execute()
+                .flatMap(result -> result.getRowsUpdated())
+                .doOnComplete(() -> {
+                    log.info("Узел {} слушает изменения других узлов в {}", nodeId, CHANNEL);
+                    listening.tryEmitEmpty();
+                })
+                .thenMany(postgresConnection.getNotifications())
+                .mapNotNull(notification -> parse(notification.getParameter()));
+    }
+
+    /**
+     * Завершается, когда узел впервые выполнил LISTEN: уведомления, отправленные после этого, он получит
+     */
+    Mono<Void> listening() {
+        return listening.asMono();
+    }
+
+    private void flush() {
+        Map<String, Set<Long>> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = new HashMap<>();
+        }
+        Flux.fromIterable(payloads(batch))
+                .concatMap(payload -> databaseClient.sql("SELECT pg_notify($1, $2)")
+                        .bind(0, CHANNEL)
+                        .bind(1, payload)
+                        .then())
+                .subscribe(null, error -> log.error("Ошибка при отправке изменений в {}", CHANNEL, error));
+    }
+
+    /**
+     * Уведомления вида "узел стрим ключ,ключ,...". Ключи стрима, не влезающие в одно уведомление,
+     * разбиваются на несколько
+     */
+    List<String> payloads(Map<String, Set<Long>> batch) {
+        List<String> payloads = new ArrayList<>();
+        for (Map.Entry<String, Set<Long>> entry : batch.entrySet()) {
+            String prefix = nodeId + " " + entry.getKey() + " ";
+            StringBuilder payload = new StringBuilder(prefix);
+            for (Long key : entry.getValue()) {
+                String value = key.toString();
+                if (payload.length() > prefix.length()
+                        && payload.length() + value.length() + 1 > MAX_PAYLOAD_LENGTH) {
+                    payloads.add(payload.toString());
+                    payload.setLength(prefix.length());
+                }
+                if (payload.length() > prefix.length()) {
+                    payload.append(',');
+                }
+                payload.append(value);
+            }
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    /**
+     * Разобрать уведомление. Свои уведомления и уведомления в чужом формате пропускаются
+     */
+    Change parse(String payload) {
+        String[] parts = payload != null ? payload.split(" ", 3) : new String[0];
+        if (parts.length != 3 || parts[0].equals(nodeId)) {
+            return null;
+        }
+        Set<Long> keys = new LinkedHashSet<>();
+        try {
+            for (String key : parts[2].split(",")) {
+                keys.add(Long.parseLong(key));
+            }
+        } catch (NumberFormatException e) {
+            log.warn("Пропущено уведомление в неизвестном формате: {}", payload);
+            return null;
+        }
+        return new Change(parts[1], keys);
+    }
+
+    private static PostgresqlConnection unwrap(Connection connection) {
+        Object unwrapped = connection;
+        while (!(unwrapped instanceof PostgresqlConnection) && unwrapped instanceof Wrapped<?> wrapped) {
+            unwrapped = wrapped.unwrap();
+        }
+        if (!(unwrapped instanceof PostgresqlConnection postgresConnection)) {
+            throw new IllegalStateException("LISTEN requires a PostgreSQL connection: " + connection);
+        }
+        return postgresConnection;
+    }
+}
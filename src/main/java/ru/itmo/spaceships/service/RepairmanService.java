@@ -1,20 +1,19 @@
 package ru.itmo.spaceships.service;
 
-import java.time.Duration;
+import java.util.Collection;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.Sinks;
 import ru.itmo.spaceships.exception.Errors;
 import ru.itmo.spaceships.generated.model.RepairmanRequest;
+import ru.itmo.spaceships.model.EventPosition;
 import ru.itmo.spaceships.model.RepairmanEntity;
 import ru.itmo.spaceships.repository.RepairmanRepository;
 
-import static reactor.core.publisher.Sinks.EmitFailureHandler.busyLooping;
-
 /**
  * Сервис для работы с ремонтниками.
  */
@@ -22,10 +21,12 @@ import static reactor.core.publisher.Sinks.EmitFailureHandler.busyLooping;
 @RequiredArgsConstructor
 public class RepairmanService {
 
-    private final RepairmanRepository repairmanRepository;
-    private final Sinks.Many<RepairmanEntity> repairmanUpdateSink;
+    private static final Sort SORT = Sort.by(Sort.Direction.ASC, "id");
 
-    private final Duration emitDuration = Duration.ofSeconds(3);
+    private final RepairmanRepository repairmanRepository;
+    private final EventHub<RepairmanEntity> repairmanUpdateHub;
+    private final EntityCache<Long, RepairmanEntity> repairmanCache;
+    private final EventBus eventBus;
 
     /**
      * Создаёт нового ремонтника.
@@ -45,37 +46,43 @@ public class RepairmanService {
     }
 
     /**
-     * Обновляет существующего ремонтника.
+     * Обновляет существующего ремонтника одним запросом к базе данных.
+     * Если в запросе передана версия, ремонтник обновляется только при совпадении с текущей версией.
      *
      * @param id идентификатор ремонтника
      * @param request запрос на обновление ремонтника
      * @return обновлённая сущность ремонтника
      */
     public Mono<RepairmanEntity> updateRepairman(Long id, RepairmanRequest request) {
-        return repairmanRepository.findById(id)
+        return repairmanRepository.conditionalUpdate(id, request.getName(), request.getPosition(), request.getVersion())
                 .switchIfEmpty(Mono.error(Errors.repairmanNotFound(id)))
-                .flatMap(entity -> {
-                    if (request.getName() != null) {
-                        entity.setName(request.getName());
-                    }
-                    if (request.getPosition() != null) {
-                        entity.setPosition(request.getPosition());
-                    }
-                    return repairmanRepository.save(entity);
-                })
-                .doOnSuccess(entity -> repairmanUpdateSink.emitNext(entity, busyLooping(emitDuration)));
+                .flatMap(write -> write.applied()
+                        ? Mono.just(write.current())
+                        : Mono.error(Errors.repairmanVersionConflictError(id, write.previous().getVersion())))
+                .doOnSuccess(entity -> {
+                    repairmanCache.put(id, entity);
+                    repairmanUpdateHub.publish(entity);
+                    eventBus.announce(repairmanUpdateHub.name(), id);
+                });
     }
 
     /**
-     * Удаляет ремонтника.
+     * Удаляет ремонтника одним запросом к базе данных.
      *
      * @param id идентификатор ремонтника
+     * @param version версия, которую видел клиент, или null без проверки
      * @return пустой Mono
      */
-    public Mono<Void> deleteRepairman(Long id) {
-        return repairmanRepository.findById(id)
+    public Mono<Void> deleteRepairman(Long id, Long version) {
+        return repairmanRepository.conditionalDelete(id, version)
                 .switchIfEmpty(Mono.error(Errors.repairmanNotFound(id)))
-                .flatMap(repairmanRepository::delete);
+                .flatMap(write -> write.applied()
+                        ? Mono.<Void>empty()
+                        : Mono.error(Errors.repairmanVersionConflictError(id, write.previous().getVersion())))
+                .doOnSuccess(v -> {
+                    repairmanCache.invalidate(id);
+                    eventBus.announce(repairmanUpdateHub.name(), id);
+                });
     }
 
     /**
@@ -83,37 +90,63 @@ public class RepairmanService {
      *
      * @param page номер страницы (начиная с 0)
      * @param size размер страницы
+     * @param after курсор - идентификатор последнего элемента предыдущей страницы, при наличии page не учитывается
      * @return поток сущностей ремонтников, отсортированных по ID
      */
-    public Flux<RepairmanEntity> getRepairmen(Integer page, Integer size) {
-        int pageNum = page != null ? page : 0;
+    public Flux<RepairmanEntity> getRepairmen(Integer page, Integer size, Long after) {
         int pageSize = size != null ? size : 20;
-        long offset = (long) pageNum * pageSize;
-        Sort sort = Sort.by(Sort.Direction.ASC, "id");
-        return repairmanRepository.findAll(sort)
-                .skip(offset)
-                .take(pageSize);
+        if (after != null) {
+            return repairmanRepository.findByIdGreaterThan(after, PageRequest.of(0, pageSize, SORT));
+        }
+        int pageNum = page != null ? page : 0;
+        return repairmanRepository.findAllBy(PageRequest.of(pageNum, pageSize, SORT));
     }
 
     /**
      * Получает ремонтника по ID.
+     * Повторные чтения обслуживаются из кэша, который обновляется при изменении и удалении ремонтника.
      *
      * @param id идентификатор ремонтника
      * @return сущность ремонтника
      */
     public Mono<RepairmanEntity> getRepairmanById(Long id) {
-        return repairmanRepository.findById(id)
+        return repairmanCache.get(id, repairmanRepository::findById)
                 .switchIfEmpty(Mono.error(Errors.repairmanNotFound(id)));
     }
 
     /**
      * Получает поток обновлений ремонтников.
      * Эмитит событие каждый раз, когда ремонтник успешно обновляется.
+     * Публикация не ждёт подписчика: события копятся в его ограниченной очереди, а при её переполнении
+     * срабатывает выбранная политика.
+     *
+     * @param overflowPolicy политика переполнения очереди подписчика или null для политики по умолчанию
+     * @param conflation склейка обновлений по сущности или null, чтобы получать каждое обновление
+     * @param ids идентификаторы ремонтников, обновления которых нужны клиенту, или null для всех
+     * @param lastEventId номер последнего полученного клиентом события, см. {@link EventPosition}, или null,
+     *                    чтобы получать только новые
+     * @return поток событий с сущностями ремонтников
+     */
+    public Flux<EventHub.Event<RepairmanEntity>> getRepairmenUpdatesStream(
+            EventHub.OverflowPolicy overflowPolicy,
+            EventHub.Conflation conflation,
+            Collection<Long> ids,
+            String lastEventId) {
+        return repairmanUpdateHub.subscribe(overflowPolicy, conflation, EventHub.Filter.of(ids, null), lastEventId);
+    }
+
+    /**
+     * Применяет изменения ремонтников, сделанные на другом узле: сбрасывает их в кэше и рассылает
+     * свежие версии подписчикам этого узла. Удалённые ремонтники просто пропадают из кэша.
      *
-     * @return поток сущностей ремонтников
+     * @param ids идентификаторы изменённых ремонтников
+     * @return завершение рассылки
      */
-    public Flux<RepairmanEntity> getRepairmenUpdatesStream() {
-        return repairmanUpdateSink.asFlux();
+    public Mono<Void> applyRemoteUpdates(Collection<Long> ids) {
+        ids.forEach(repairmanCache::invalidate);
+        return repairmanRepository.findAllById(ids)
+                .doOnNext(repairmanUpdateHub::publish)
+                .then();
     }
 }
 
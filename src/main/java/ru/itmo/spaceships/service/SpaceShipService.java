@@ -1,21 +1,24 @@
 package ru.itmo.spaceships.service;
 
-import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.Sinks;
 import ru.itmo.spaceships.converter.SpaceShipConverter;
+import ru.itmo.spaceships.exception.BaseException;
 import ru.itmo.spaceships.exception.Errors;
 import ru.itmo.spaceships.generated.model.SpaceShipRequest;
+import ru.itmo.spaceships.model.EventPosition;
+import ru.itmo.spaceships.model.SpaceShipBatchResult;
 import ru.itmo.spaceships.model.SpaceShipEntity;
 import ru.itmo.spaceships.repository.SpaceShipRepository;
 
-import static reactor.core.publisher.Sinks.EmitFailureHandler.busyLooping;
-
 /**
  * Сервис для работы с кораблями.
  */
@@ -23,11 +26,27 @@ import static reactor.core.publisher.Sinks.EmitFailureHandler.busyLooping;
 @RequiredArgsConstructor
 public class SpaceShipService {
 
+    private static final Sort SORT = Sort.by(Sort.Direction.ASC, "serial");
+
+    /**
+     * Строк в одном многострочном INSERT. 1000 строк по 10 параметров (все колонки, кроме id)
+     * далеко от предела в 65535 параметров.
+     */
+    private static final int BATCH_SIZE = 1_000;
+    /**
+     * Сколько пачек одновременно вставляется в базу данных. Пока они не завершатся,
+     * тело запроса дальше не читается, поэтому в памяти не больше нескольких пачек.
+     */
+    private static final int MAX_IN_FLIGHT_BATCHES = 4;
+    private static final int MAX_REPORTED_ERRORS = 1_000;
+    private static final int DEFAULT_EXPORT_FETCH_SIZE = 512;
+
     private final SpaceShipRepository spaceShipRepository;
     private final SpaceShipConverter spaceShipConverter;
-    private final Sinks.Many<SpaceShipEntity> spaceShipUpdateSink;
-
-    private final Duration emitDuration = Duration.ofSeconds(3);
+    private final SpaceShipStatisticsService spaceShipStatisticsService;
+    private final EventHub<SpaceShipEntity> spaceShipUpdateHub;
+    private final EntityCache<Long, SpaceShipEntity> spaceShipCache;
+    private final EventBus eventBus;
 
     /**
      * Создаёт новый корабль.
@@ -36,48 +55,101 @@ public class SpaceShipService {
      * @return созданная сущность корабля
      */
     public Mono<SpaceShipEntity> createSpaceship(SpaceShipRequest request) {
-        if (request.getSerial() == null) {
-            return Mono.error(Errors.spaceshipSerialRequiredError());
-        }
-        if (request.getManufacturer() == null || request.getName() == null
-                || request.getManufactureDate() == null || request.getType() == null) {
-            return Mono.error(Errors.spaceshipRequiredFieldsError());
+        BaseException error = validate(request);
+        if (error != null) {
+            return Mono.error(error);
         }
-        SpaceShipEntity entity = spaceShipConverter.convertToEntity(request);
-        entity.setSerial(request.getSerial());
-        return spaceShipRepository.save(entity);
+        return spaceShipRepository.save(toNewEntity(request))
+                .doOnSuccess(spaceShipStatisticsService::onCreated);
     }
 
     /**
-     * Обновляет существующий корабль.
+     * Создаёт корабли пачками.
+     * Невалидные строки и строки с уже занятым серийным номером не прерывают загрузку, а попадают в отчёт.
+     *
+     * @param requests запросы на создание кораблей
+     * @return итог загрузки
+     */
+    public Mono<SpaceShipBatchResult> createSpaceships(Flux<SpaceShipRequest> requests) {
+        return Mono.defer(() -> {
+            SpaceShipBatchResult result = new SpaceShipBatchResult(MAX_REPORTED_ERRORS);
+            Flux<IndexedShip> ships = requests.index()
+                    .doOnNext(indexed -> result.received())
+                    .handle((indexed, sink) -> {
+                        SpaceShipRequest request = indexed.getT2();
+                        BaseException error = validate(request);
+                        if (error != null) {
+                            result.failed(indexed.getT1(), request.getSerial(), error);
+                        } else {
+                            sink.next(new IndexedShip(indexed.getT1(), toNewEntity(request)));
+                        }
+                    });
+            return insertInBatches(ships, result).thenReturn(result);
+        });
+    }
+
+    /**
+     * Сохраняет готовые сущности кораблей пачками.
+     *
+     * @param entities корабли без id
+     * @return итог загрузки
+     */
+    public Mono<SpaceShipBatchResult> importSpaceships(Flux<SpaceShipEntity> entities) {
+        return Mono.defer(() -> {
+            SpaceShipBatchResult result = new SpaceShipBatchResult(MAX_REPORTED_ERRORS);
+            Flux<IndexedShip> ships = entities.index()
+                    .doOnNext(indexed -> result.received())
+                    .map(indexed -> new IndexedShip(indexed.getT1(), indexed.getT2()));
+            return insertInBatches(ships, result).thenReturn(result);
+        });
+    }
+
+    /**
+     * Обновляет существующий корабль одним запросом к базе данных.
+     * Если в запросе передана версия, корабль обновляется только при совпадении с текущей версией.
      *
      * @param serial серийный номер корабля из параметра пути
      * @param request запрос на обновление корабля (поле serial игнорируется)
      * @return обновлённая сущность корабля
      */
     public Mono<SpaceShipEntity> updateSpaceship(Long serial, SpaceShipRequest request) {
-        return spaceShipRepository.findBySerial(serial)
+        SpaceShipEntity updated = spaceShipConverter.convertToEntity(request);
+        updated.setSerial(serial);
+        return spaceShipRepository.conditionalUpdate(updated, request.getVersion())
                 .switchIfEmpty(Mono.error(Errors.spaceshipNotFound(serial)))
-                .flatMap(entity -> {
-                    SpaceShipEntity updated = spaceShipConverter.convertToEntity(request);
-                    // Сохраняем id и serial из существующей сущности
-                    updated.setId(entity.getId());
-                    updated.setSerial(serial);
-                    return spaceShipRepository.save(updated);
+                .flatMap(write -> {
+                    if (!write.applied()) {
+                        return Mono.error(Errors.spaceshipVersionConflictError(serial, write.previous().getVersion()));
+                    }
+                    spaceShipStatisticsService.onUpdated(write.previous(), write.current());
+                    return Mono.just(write.current());
                 })
-                .doOnSuccess(entity -> spaceShipUpdateSink.emitNext(entity, busyLooping(emitDuration)));
+                .doOnSuccess(entity -> {
+                    spaceShipCache.put(serial, entity);
+                    spaceShipUpdateHub.publish(entity);
+                    eventBus.announce(spaceShipUpdateHub.name(), serial);
+                });
     }
 
     /**
-     * Удаляет корабль.
+     * Удаляет корабль одним запросом к базе данных.
      *
      * @param serial серийный номер корабля
+     * @param version версия, которую видел клиент, или null без проверки
      * @return пустой Mono
      */
-    public Mono<Void> deleteSpaceship(Long serial) {
-        return spaceShipRepository.findBySerial(serial)
+    public Mono<Void> deleteSpaceship(Long serial, Long version) {
+        return spaceShipRepository.conditionalDelete(serial, version)
                 .switchIfEmpty(Mono.error(Errors.spaceshipNotFound(serial)))
-                .flatMap(spaceShipRepository::delete);
+                .flatMap(write -> {
+                    if (!write.applied()) {
+                        return Mono.error(Errors.spaceshipVersionConflictError(serial, write.previous().getVersion()));
+                    }
+                    spaceShipCache.invalidate(serial);
+                    spaceShipStatisticsService.onDeleted(write.previous());
+                    eventBus.announce(spaceShipUpdateHub.name(), serial);
+                    return Mono.empty();
+                });
     }
 
     /**
@@ -85,37 +157,133 @@ public class SpaceShipService {
      *
      * @param page номер страницы (начиная с 0)
      * @param size размер страницы
+     * @param after курсор - серийный номер последнего элемента предыдущей страницы, при наличии page не учитывается
      * @return поток сущностей кораблей, отсортированных по серийному номеру
      */
-    public Flux<SpaceShipEntity> getSpaceships(Integer page, Integer size) {
-        int pageNum = page != null ? page : 0;
+    public Flux<SpaceShipEntity> getSpaceships(Integer page, Integer size, Long after) {
         int pageSize = size != null ? size : 20;
-        long offset = (long) pageNum * pageSize;
-        Sort sort = Sort.by(Sort.Direction.ASC, "serial");
-        return spaceShipRepository.findAll(sort)
-                .skip(offset)
-                .take(pageSize);
+        if (after != null) {
+            return spaceShipRepository.findBySerialGreaterThan(after, PageRequest.of(0, pageSize, SORT));
+        }
+        int pageNum = page != null ? page : 0;
+        return spaceShipRepository.findAllBy(PageRequest.of(pageNum, pageSize, SORT));
+    }
+
+    /**
+     * Выгружает все корабли потоком из курсора базы данных.
+     * Следующая порция строк запрашивается у драйвера только после того, как предыдущая записана в ответ.
+     *
+     * @param fetchSize количество строк в одной порции курсора
+     * @return поток всех кораблей
+     */
+    public Flux<SpaceShipEntity> exportSpaceships(Integer fetchSize) {
+        return spaceShipRepository.streamAll(fetchSize != null ? fetchSize : DEFAULT_EXPORT_FETCH_SIZE);
     }
 
     /**
      * Получает корабль по серийному номеру.
+     * Повторные чтения обслуживаются из кэша, который обновляется при изменении и удалении корабля.
      *
      * @param serial серийный номер корабля
      * @return сущность корабля
      */
     public Mono<SpaceShipEntity> getSpaceshipBySerial(Long serial) {
-        return spaceShipRepository.findBySerial(serial)
+        return spaceShipCache.get(serial, spaceShipRepository::findBySerial)
                 .switchIfEmpty(Mono.error(Errors.spaceshipNotFound(serial)));
     }
 
+    /**
+     * Проверяет обязательные поля запроса на создание корабля.
+     *
+     * @return ошибка или null, если запрос корректен
+     */
+    private static BaseException validate(SpaceShipRequest request) {
+        if (request.getSerial() == null) {
+            return Errors.spaceshipSerialRequiredError();
+        }
+        if (request.getManufacturer() == null || request.getName() == null
+                || request.getManufactureDate() == null || request.getType() == null) {
+            return Errors.spaceshipRequiredFieldsError();
+        }
+        return null;
+    }
+
+    private SpaceShipEntity toNewEntity(SpaceShipRequest request) {
+        SpaceShipEntity entity = spaceShipConverter.convertToEntity(request);
+        entity.setSerial(request.getSerial());
+        return entity;
+    }
+
+    private Mono<Void> insertInBatches(Flux<IndexedShip> ships, SpaceShipBatchResult result) {
+        return ships.buffer(BATCH_SIZE)
+                .flatMap(batch -> insertBatch(batch, result), MAX_IN_FLIGHT_BATCHES)
+                .then();
+    }
+
+    private Mono<Void> insertBatch(List<IndexedShip> batch, SpaceShipBatchResult result) {
+        List<SpaceShipEntity> entities = batch.stream()
+                .map(IndexedShip::ship)
+                .toList();
+        return spaceShipRepository.insertSkippingDuplicates(entities)
+                .doOnNext(spaceShipStatisticsService::onCreated)
+                .count()
+                .doOnNext(created -> {
+                    result.created(created);
+                    for (IndexedShip indexed : batch) {
+                        // Не вставленный корабль так и остался с id = 0
+                        if (indexed.ship().getId() == 0) {
+                            long serial = indexed.ship().getSerial();
+                            result.failed(indexed.index(), serial, Errors.spaceshipSerialDuplicateError(serial));
+                        }
+                    }
+                })
+                .then();
+    }
+
     /**
      * Получает поток обновлений кораблей.
      * Эмитит событие каждый раз, когда корабль успешно обновляется.
+     * Публикация не ждёт подписчика: события копятся в его ограниченной очереди, а при её переполнении
+     * срабатывает выбранная политика.
      *
-     * @return поток сущностей кораблей
+     * @param overflowPolicy политика переполнения очереди подписчика или null для политики по умолчанию
+     * @param conflation склейка обновлений по сущности или null, чтобы получать каждое обновление
+     * @param serials серийные номера кораблей, обновления которых нужны клиенту, или null для всех
+     * @param manufacturer производитель кораблей или null для всех
+     * @param lastEventId номер последнего полученного клиентом события, см. {@link EventPosition}, или null,
+     *                    чтобы получать только новые
+     * @return поток событий с сущностями кораблей
      */
-    public Flux<SpaceShipEntity> getSpaceshipsUpdatesStream() {
-        return spaceShipUpdateSink.asFlux();
+    public Flux<EventHub.Event<SpaceShipEntity>> getSpaceshipsUpdatesStream(
+            EventHub.OverflowPolicy overflowPolicy,
+            EventHub.Conflation conflation,
+            Collection<Long> serials,
+            String manufacturer,
+            String lastEventId) {
+        Predicate<SpaceShipEntity> condition = manufacturer != null
+                ? ship -> manufacturer.equals(ship.getManufacturer())
+                : null;
+        return spaceShipUpdateHub.subscribe(
+                overflowPolicy, conflation, EventHub.Filter.of(serials, condition), lastEventId);
     }
-}
 
+    /**
+     * Применяет изменения кораблей, сделанные на другом узле: сбрасывает их в кэше и рассылает
+     * свежие версии подписчикам этого узла. Удалённые корабли просто пропадают из кэша.
+     *
+     * @param serials серийные номера изменённых кораблей
+     * @return завершение рассылки
+     */
+    public Mono<Void> applyRemoteUpdates(Collection<Long> serials) {
+        serials.forEach(spaceShipCache::invalidate);
+        return spaceShipRepository.findBySerialIn(serials)
+                .doOnNext(spaceShipUpdateHub::publish)
+                .then();
+    }
+
+    /**
+     * Корабль вместе с номером строки в исходном запросе
+     */
+    private record IndexedShip(long index, SpaceShipEntity ship) {
+    }
+}
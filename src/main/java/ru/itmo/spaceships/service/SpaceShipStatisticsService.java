@@ -0,0 +1,188 @@
+package ru.itmo.spaceships.service;
+
+import java.time.Month;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import ru.itmo.spaceships.model.CrewMember;
+import ru.itmo.spaceships.model.FuelType;
+import ru.itmo.spaceships.model.SpaceShipEntity;
+import ru.itmo.spaceships.repository.SpaceShipRepository;
+import ru.itmo.spaceships.statistics.overall.IncrementalSpaceShipStatistics;
+import ru.itmo.spaceships.statistics.overall.OverallStatistics;
+
+/**
+ * Сервис живой статистики по кораблям.
+ * Статистика заполняется одним потоковым проходом по таблице при старте,
+ * а дальше обновляется приращениями при создании, изменении и удалении кораблей.
+ * Пока статистика не заполнена, общая статистика считается разовым отчётом.
+ * На нескольких узлах (шина postgres) статистика не заполняется вовсе, см. StatisticsInitializer.
+ * Разовые отчёты на небольшой таблице считаются потоковым проходом в JVM,
+ * а на большой - запросами с GROUP BY в базе данных, чтобы не передавать по сети всю таблицу.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SpaceShipStatisticsService {
+
+    /**
+     * Количество строк, которое запрашивается у базы данных за один раз при полном проходе по таблице.
+     */
+    private static final int FETCH_SIZE = 512;
+
+    /**
+     * Начиная с этого количества строк отчёты считаются в базе данных.
+     * Ниже порога один проход по таблице дешевле нескольких агрегирующих запросов.
+     */
+    private static final long PUSH_DOWN_THRESHOLD = 10_000;
+
+    private final SpaceShipRepository spaceShipRepository;
+    private final IncrementalSpaceShipStatistics statistics = new IncrementalSpaceShipStatistics();
+
+    /**
+     * Пересчитывает статистику по всем кораблям в базе данных.
+     * Изменения, пришедшие во время прохода, сверяются со строками прохода по версии корабля.
+     * При ошибке статистика остаётся незаполненной.
+     *
+     * @return количество прочитанных кораблей
+     */
+    public Mono<Long> seed() {
+        return Mono.fromRunnable(statistics::beginSeed)
+                .thenMany(spaceShipRepository.streamAll(FETCH_SIZE))
+                .doOnNext(statistics::seed)
+                .count()
+                .doOnSuccess(count -> {
+                    statistics.completeSeed();
+                    log.info("Статистика по кораблям заполнена, прочитано кораблей: {}", count);
+                })
+                .doOnError(error -> statistics.clear())
+                .doOnCancel(statistics::clear);
+    }
+
+    /**
+     * Учитывает созданный корабль.
+     *
+     * @param created созданный корабль
+     */
+    public void onCreated(SpaceShipEntity created) {
+        statistics.add(created);
+    }
+
+    /**
+     * Заменяет старое состояние корабля новым.
+     *
+     * @param previous корабль до изменения
+     * @param updated корабль после изменения
+     */
+    public void onUpdated(SpaceShipEntity previous, SpaceShipEntity updated) {
+        statistics.replace(previous, updated);
+    }
+
+    /**
+     * Перестаёт учитывать удалённый корабль.
+     *
+     * @param deleted удалённый корабль
+     */
+    public void onDeleted(SpaceShipEntity deleted) {
+        statistics.remove(deleted);
+    }
+
+    /**
+     * Получает текущую статистику по кораблям.
+     * Пока живая статистика не заполнена, она собирается разовым отчётом.
+     *
+     * @return статистика по кораблям
+     */
+    public Mono<OverallStatistics> getOverallStatistics() {
+        return Mono.defer(() -> statistics.isReady()
+                ? Mono.just(statistics.getSnapshot())
+                : aggregateOverallStatistics());
+    }
+
+    /**
+     * Собирает общую статистику по всем кораблям в базе данных.
+     *
+     * @return общая статистика
+     */
+    public Mono<OverallStatistics> aggregateOverallStatistics() {
+        return chooseByRowCount(
+                spaceShipRepository::aggregateOverallStatistics,
+                () -> spaceShipRepository.streamAll(FETCH_SIZE)
+                        .collect(IncrementalSpaceShipStatistics::new, IncrementalSpaceShipStatistics::add)
+                        .map(IncrementalSpaceShipStatistics::getSnapshot));
+    }
+
+    /**
+     * Считает корабли каждого производителя.
+     *
+     * @return количество кораблей по производителю
+     */
+    public Mono<Map<String, Long>> countByManufacturer() {
+        return chooseByRowCount(spaceShipRepository::aggregateCountByManufacturer, () -> countBy(
+                HashMap::new,
+                (counts, ship) -> counts.merge(ship.getManufacturer(), 1L, Long::sum)));
+    }
+
+    /**
+     * Считает корабли по типу топлива двигателя.
+     * Корабли без двигателя не учитываются.
+     *
+     * @return количество кораблей по типу топлива
+     */
+    public Mono<Map<FuelType, Long>> countByFuelType() {
+        return chooseByRowCount(spaceShipRepository::aggregateCountByFuelType, () -> countBy(
+                () -> new EnumMap<>(FuelType.class),
+                (counts, ship) -> {
+                    if (ship.getEngine() != null && ship.getEngine().getFuelType() != null) {
+                        counts.merge(ship.getEngine().getFuelType(), 1L, Long::sum);
+                    }
+                }));
+    }
+
+    /**
+     * Считает членов экипажа по месяцу рождения.
+     *
+     * @return количество членов экипажа по месяцу рождения
+     */
+    public Mono<Map<Month, Long>> countByBirthdayMonth() {
+        return chooseByRowCount(spaceShipRepository::aggregateCountByBirthdayMonth, () -> countBy(
+                () -> new EnumMap<>(Month.class),
+                (counts, ship) -> {
+                    if (ship.getCrew() == null) {
+                        return;
+                    }
+                    for (CrewMember crewMember : ship.getCrew()) {
+                        if (crewMember.getBirthDate() != null) {
+                            counts.merge(crewMember.getBirthDate().getMonth(), 1L, Long::sum);
+                        }
+                    }
+                }));
+    }
+
+    /**
+     * Выбирает, где считать отчёт, по количеству строк в таблице.
+     * Количество берётся из статистики планировщика, а если её ещё нет - точным подсчётом.
+     */
+    private <T> Mono<T> chooseByRowCount(Supplier<Mono<T>> inDatabase, Supplier<Mono<T>> inJvm) {
+        return spaceShipRepository.estimateCount()
+                .flatMap(estimate -> estimate >= 0 ? Mono.just(estimate) : spaceShipRepository.count())
+                .flatMap(rows -> rows >= PUSH_DOWN_THRESHOLD ? inDatabase.get() : inJvm.get());
+    }
+
+    /**
+     * Сворачивает все корабли в счётчики. В памяти держатся только счётчики и одна порция строк.
+     */
+    private <K> Mono<Map<K, Long>> countBy(
+            Supplier<Map<K, Long>> countsFactory,
+            BiConsumer<Map<K, Long>, SpaceShipEntity> accumulator) {
+        return spaceShipRepository.streamAll(FETCH_SIZE)
+                .collect(countsFactory, accumulator);
+    }
+}
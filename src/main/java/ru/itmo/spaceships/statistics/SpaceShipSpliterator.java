@@ -1,51 +1,152 @@
 package ru.itmo.spaceships.statistics;
 
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import ru.itmo.spaceships.model.SpaceShipEntity;
 
 /**
- * Реализация Spliterator для обработки списка кораблей
+ * Реализация Spliterator для обработки списка кораблей.
+ * Размер минимального куска выбирается по стоимости обработки одного элемента и параллелизму пула:
+ * кусок должен быть достаточно дорогим, чтобы окупить создание подзадачи, а кусков должно быть
+ * в несколько раз больше, чем потоков, чтобы освободившиеся потоки могли забирать чужую работу.
+ * Обход оставшихся элементов выполняется одним циклом по массиву или списку с произвольным доступом
  */
 public class SpaceShipSpliterator implements Spliterator<SpaceShipEntity> {
 
+    /**
+     * Минимальный размер куска для дешевых элементов
+     */
     public static final int MIN_BATCH_SIZE = 50;
+    /**
+     * Оценка стоимости обработки одного элемента без задержки, нс
+     */
+    public static final long DEFAULT_ELEMENT_COST_NANOS = 100;
+    /**
+     * Желаемая стоимость одного куска, нс. Порядка сотни микросекунд с запасом окупает fork/join
+     */
+    public static final long TARGET_BATCH_COST_NANOS = 100_000;
+    /**
+     * Во сколько раз кусков больше, чем потоков в пуле
+     */
+    public static final int OVERSPLIT_FACTOR = 4;
 
     private final List<SpaceShipEntity> list;
+    private final SpaceShipEntity[] array;
     private int currentIndex;
     private final int endIndex;
     private final int batchSize;
 
     public SpaceShipSpliterator(List<SpaceShipEntity> list) {
-        this(list, 0, list.size(),list.size()/Runtime.getRuntime().availableProcessors());
+        this(list, DEFAULT_ELEMENT_COST_NANOS);
     }
 
-    private SpaceShipSpliterator(List<SpaceShipEntity> list, int start, int end, int batchSize) {
+    /**
+     * @param list             корабли
+     * @param elementCostNanos оценка стоимости обработки одного элемента, нс
+     */
+    public SpaceShipSpliterator(List<SpaceShipEntity> list, long elementCostNanos) {
+        this(
+                list instanceof RandomAccess ? list : null,
+                list instanceof RandomAccess ? null : list.toArray(new SpaceShipEntity[0]),
+                list.size(),
+                elementCostNanos,
+                currentParallelism()
+        );
+    }
+
+    /**
+     * @param array            корабли
+     * @param elementCostNanos оценка стоимости обработки одного элемента, нс
+     */
+    public SpaceShipSpliterator(SpaceShipEntity[] array, long elementCostNanos) {
+        this(null, array, array.length, elementCostNanos, currentParallelism());
+    }
+
+    private SpaceShipSpliterator(
+            List<SpaceShipEntity> list,
+            SpaceShipEntity[] array,
+            int size,
+            long elementCostNanos,
+            int parallelism
+    ) {
+        this(list, array, 0, size, batchSize(size, elementCostNanos, parallelism));
+    }
+
+    private SpaceShipSpliterator(List<SpaceShipEntity> list, SpaceShipEntity[] array, int start, int end,
+                                 int batchSize) {
         this.list = list;
+        this.array = array;
         this.currentIndex = start;
         this.endIndex = end;
         this.batchSize = batchSize;
     }
 
+    /**
+     * Оценка стоимости элемента, обработка которого включает задержку
+     *
+     * @param delayMillis задержка, мс
+     */
+    public static long costOfDelay(long delayMillis) {
+        return DEFAULT_ELEMENT_COST_NANOS + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+    }
+
+    /**
+     * Размер куска, меньше которого список не делится
+     *
+     * @param size             количество элементов
+     * @param elementCostNanos оценка стоимости обработки одного элемента, нс
+     * @param parallelism      параллелизм пула
+     */
+    public static int batchSize(int size, long elementCostNanos, int parallelism) {
+        long minByCost = elementCostNanos >= TARGET_BATCH_COST_NANOS
+                ? 1
+                : Math.max(MIN_BATCH_SIZE, TARGET_BATCH_COST_NANOS / Math.max(1, elementCostNanos));
+        long chunks = (long) Math.max(1, parallelism) * OVERSPLIT_FACTOR;
+        long byParallelism = (size + chunks - 1) / chunks;
+        return (int) Math.max(minByCost, byParallelism);
+    }
+
     @Override
     public boolean tryAdvance(Consumer<? super SpaceShipEntity> action) {
         if (currentIndex < endIndex) {
-            action.accept(list.get(currentIndex++));
+            action.accept(get(currentIndex++));
             return true;
         }
         return false;
     }
 
+    @Override
+    public void forEachRemaining(Consumer<? super SpaceShipEntity> action) {
+        int index = currentIndex;
+        int end = endIndex;
+        currentIndex = end;
+        if (array != null) {
+            SpaceShipEntity[] elements = array;
+            for (; index < end; index++) {
+                action.accept(elements[index]);
+            }
+        } else {
+            List<SpaceShipEntity> elements = list;
+            for (; index < end; index++) {
+                action.accept(elements.get(index));
+            }
+        }
+    }
+
     @Override
     public Spliterator<SpaceShipEntity> trySplit() {
         int remaining = endIndex - currentIndex;
-        if (remaining <= batchSize) {
+        if (remaining < batchSize * 2) {
             return null;
         }
         int midIndex = currentIndex + remaining / 2;
-        SpaceShipSpliterator newSplit = new SpaceShipSpliterator(list, currentIndex, midIndex, batchSize);
+        SpaceShipSpliterator newSplit = new SpaceShipSpliterator(list, array, currentIndex, midIndex, batchSize);
         currentIndex = midIndex;
         return newSplit;
     }
@@ -59,4 +160,17 @@ public class SpaceShipSpliterator implements Spliterator<SpaceShipEntity> {
     public int characteristics() {
         return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
     }
+
+    private SpaceShipEntity get(int index) {
+        return array != null ? array[index] : list.get(index);
+    }
+
+    /**
+     * Параллелизм пула, в котором будет выполняться стрим: текущего, если вызов из ForkJoin-потока,
+     * иначе общего
+     */
+    private static int currentParallelism() {
+        ForkJoinPool pool = ForkJoinTask.getPool();
+        return pool != null ? pool.getParallelism() : ForkJoinPool.getCommonPoolParallelism();
+    }
 }
@@ -0,0 +1,86 @@
+package ru.itmo.spaceships.statistics;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Пул, в котором выполняются параллельные расчеты статистики.
+ * Параллельный стрим раскладывает свои подзадачи в тот ForkJoinPool, из потока которого вызвана
+ * терминальная операция, поэтому расчет запускается задачей внутри выбранного пула.
+ * Так статистика не конкурирует за общий пул с Reactor/Netty, а параллелизм задается по-настоящему
+ */
+public final class StatisticsExecutor implements AutoCloseable {
+
+    private static final StatisticsExecutor COMMON = new StatisticsExecutor(ForkJoinPool.commonPool(), false);
+    private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+
+    private final ForkJoinPool pool;
+    private final boolean owned;
+
+    private StatisticsExecutor(ForkJoinPool pool, boolean owned) {
+        this.pool = pool;
+        this.owned = owned;
+    }
+
+    /**
+     * Общий ForkJoinPool (поведение параллельных стримов по умолчанию)
+     */
+    public static StatisticsExecutor commonPool() {
+        return COMMON;
+    }
+
+    /**
+     * Собственный ForkJoinPool с заданным параллелизмом. Закрывается вместе с исполнителем
+     *
+     * @param parallelism количество рабочих потоков
+     */
+    public static StatisticsExecutor dedicated(int parallelism) {
+        String prefix = "statistics-" + POOL_COUNTER.incrementAndGet() + "-worker-";
+        ForkJoinPool pool = new ForkJoinPool(parallelism, basePool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(basePool);
+            thread.setName(prefix + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        return new StatisticsExecutor(pool, true);
+    }
+
+    /**
+     * Внешний ForkJoinPool, жизненным циклом которого управляет вызывающий код
+     */
+    public static StatisticsExecutor of(ForkJoinPool pool) {
+        return new StatisticsExecutor(pool, false);
+    }
+
+    /**
+     * Выполнить расчет внутри пула и дождаться результата.
+     * Если вызов уже происходит из потока этого пула, расчет выполняется сразу
+     *
+     * @param task расчет, обычно терминальная операция параллельного стрима
+     * @return результат расчета
+     */
+    public <R> R execute(Supplier<R> task) {
+        if (ForkJoinTask.inForkJoinPool() && ForkJoinTask.getPool() == pool) {
+            return task.get();
+        }
+        Callable<R> callable = task::get;
+        return pool.submit(callable).join();
+    }
+
+    /**
+     * Параллелизм пула
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public void close() {
+        if (owned) {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package ru.itmo.spaceships.statistics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Движок для статистики с блокирующими (задержанными) обращениями к кораблям.
+ * Каждое обращение выполняется отдельной задачей в собственном потоке, поэтому пакет из N кораблей
+ * считается примерно за одну задержку, а не за N / (количество ядер) задержек.
+ * Одновременно выполняется не больше maxConcurrency задач, а весь пакет ограничен общим таймаутом.
+ * В Java 17 нет виртуальных потоков, поэтому используются платформенные потоки с уменьшенным стеком,
+ * которые переиспользуются между пакетами и завершаются после простоя
+ */
+public final class ThreadPerTaskEngine implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_CONCURRENCY = 2_048;
+    public static final Duration DEFAULT_BATCH_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final long THREAD_STACK_SIZE = 256 * 1024;
+    private static final long KEEP_ALIVE_SECONDS = 30;
+    private static final AtomicInteger ENGINE_COUNTER = new AtomicInteger();
+    private static final ThreadPerTaskEngine DEFAULT =
+            new ThreadPerTaskEngine(DEFAULT_MAX_CONCURRENCY, DEFAULT_BATCH_TIMEOUT);
+
+    private final ThreadPoolExecutor executor;
+    private final Semaphore permits;
+    private final Duration batchTimeout;
+
+    /**
+     * @param maxConcurrency максимальное количество одновременно выполняемых задач
+     * @param batchTimeout   ограничение на время расчета одного пакета
+     */
+    public ThreadPerTaskEngine(int maxConcurrency, Duration batchTimeout) {
+        String prefix = "statistics-blocking-" + ENGINE_COUNTER.incrementAndGet() + "-";
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                maxConcurrency,
+                maxConcurrency,
+                KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(null, runnable, prefix + threadCounter.incrementAndGet(),
+                            THREAD_STACK_SIZE);
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+        this.permits = new Semaphore(maxConcurrency);
+        this.batchTimeout = batchTimeout;
+    }
+
+    /**
+     * Общий движок с параметрами по умолчанию
+     */
+    public static ThreadPerTaskEngine getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Применить блокирующую операцию к каждому объекту, каждую - в отдельной задаче.
+     * Если пакет не уложился в таймаут, незавершенные задачи отменяются
+     *
+     * @param objects объекты
+     * @param task    блокирующая операция
+     * @return результаты в порядке исходных объектов
+     */
+    public <T, R> List<R> map(List<T> objects, Function<? super T, ? extends R> task) {
+        long deadline = System.nanoTime() + batchTimeout.toNanos();
+        List<PermitTask<R>> tasks = new ArrayList<>(objects.size());
+        try {
+            for (T object : objects) {
+                if (!permits.tryAcquire(remaining(deadline), TimeUnit.NANOSECONDS)) {
+                    throw new TimeoutException();
+                }
+                PermitTask<R> permitTask = new PermitTask<>(() -> task.apply(object));
+                tasks.add(permitTask);
+                executor.execute(permitTask);
+            }
+            List<R> results = new ArrayList<>(tasks.size());
+            for (PermitTask<R> permitTask : tasks) {
+                results.add(permitTask.get(remaining(deadline), TimeUnit.NANOSECONDS));
+            }
+            return results;
+        } catch (TimeoutException e) {
+            cancel(tasks);
+            throw new IllegalStateException("Statistics batch timed out after " + batchTimeout, e);
+        } catch (ExecutionException e) {
+            cancel(tasks);
+            throw new IllegalStateException("Statistics task failed", e.getCause());
+        } catch (InterruptedException e) {
+            cancel(tasks);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Statistics batch interrupted", e);
+        } catch (RejectedExecutionException e) {
+            cancel(tasks);
+            throw e;
+        }
+    }
+
+    /**
+     * Максимальное количество одновременно выполняемых задач
+     */
+    public int getMaxConcurrency() {
+        return executor.getMaximumPoolSize();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    private static void cancel(List<? extends FutureTask<?>> tasks) {
+        tasks.forEach(task -> task.cancel(true));
+    }
+
+    /**
+     * Задача, возвращающая разрешение семафора при любом завершении, в том числе при отмене до запуска
+     */
+    private final class PermitTask<R> extends FutureTask<R> {
+
+        PermitTask(Callable<R> callable) {
+            super(callable);
+        }
+
+        @Override
+        protected void done() {
+            permits.release();
+        }
+    }
+}
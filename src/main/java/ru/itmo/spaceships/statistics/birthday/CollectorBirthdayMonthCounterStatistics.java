@@ -14,6 +14,7 @@ import java.util.stream.Collector;
 import ru.itmo.spaceships.model.CrewMember;
 import ru.itmo.spaceships.model.SpaceShipEntity;
 import ru.itmo.spaceships.statistics.StatisticsCalculator;
+import ru.itmo.spaceships.statistics.StatisticsExecutor;
 
 /**
  * Класс для сбора статистики о количестве членов экипажа, рожденных в разные месяцы.
@@ -22,11 +23,21 @@ import ru.itmo.spaceships.statistics.StatisticsCalculator;
 public class CollectorBirthdayMonthCounterStatistics
         implements StatisticsCalculator<SpaceShipEntity, Map<Month, Long>> {
 
+    private final StatisticsExecutor executor;
+
+    public CollectorBirthdayMonthCounterStatistics() {
+        this(StatisticsExecutor.commonPool());
+    }
+
+    public CollectorBirthdayMonthCounterStatistics(StatisticsExecutor executor) {
+        this.executor = executor;
+    }
+
     @Override
     public Map<Month, Long> calculate(List<SpaceShipEntity> objects) {
-        return objects.stream()
+        return executor.execute(() -> objects.stream()
                 .parallel()
-                .collect(new BirthdayMonthCounterCollector());
+                .collect(new BirthdayMonthCounterCollector()));
     }
 
     private static class BirthdayMonthCounterCollector
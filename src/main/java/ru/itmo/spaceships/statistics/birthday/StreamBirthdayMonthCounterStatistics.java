@@ -8,6 +8,7 @@ import java.util.stream.Collectors;
 
 import ru.itmo.spaceships.model.SpaceShipEntity;
 import ru.itmo.spaceships.statistics.StatisticsCalculator;
+import ru.itmo.spaceships.statistics.StatisticsExecutor;
 
 /**
  * Класс для сбора статистики о количестве членов экипажа, рожденных в разные месяцы.
@@ -15,12 +16,22 @@ import ru.itmo.spaceships.statistics.StatisticsCalculator;
  */
 public class StreamBirthdayMonthCounterStatistics implements StatisticsCalculator<SpaceShipEntity, Map<Month, Long>> {
 
+    private final StatisticsExecutor executor;
+
+    public StreamBirthdayMonthCounterStatistics() {
+        this(StatisticsExecutor.commonPool());
+    }
+
+    public StreamBirthdayMonthCounterStatistics(StatisticsExecutor executor) {
+        this.executor = executor;
+    }
+
     @Override
     public Map<Month, Long> calculate(List<SpaceShipEntity> objects) {
-        return objects.stream()
+        return executor.execute(() -> objects.stream()
                 .parallel()
                 .flatMap(ship -> ship.getCrew().stream())
                 .map(crewMember -> crewMember.getBirthDate().getMonth())
-                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting())));
     }
 }
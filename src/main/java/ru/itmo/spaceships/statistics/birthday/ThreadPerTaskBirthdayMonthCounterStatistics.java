@@ -0,0 +1,47 @@
+package ru.itmo.spaceships.statistics.birthday;
+
+import java.time.Month;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import ru.itmo.spaceships.model.CrewMember;
+import ru.itmo.spaceships.model.SpaceShipEntity;
+import ru.itmo.spaceships.statistics.DelayedStatistics;
+import ru.itmo.spaceships.statistics.StatisticsCalculator;
+import ru.itmo.spaceships.statistics.ThreadPerTaskEngine;
+
+/**
+ * Класс для сбора статистики о количестве членов экипажа, рожденных в разные месяцы.
+ * При помощи отдельной задачи на каждое задержанное получение экипажа корабля
+ */
+public class ThreadPerTaskBirthdayMonthCounterStatistics extends DelayedStatistics
+        implements StatisticsCalculator<SpaceShipEntity, Map<Month, Long>> {
+
+    private final ThreadPerTaskEngine engine;
+
+    public ThreadPerTaskBirthdayMonthCounterStatistics(long delay, ThreadPerTaskEngine engine) {
+        super(delay);
+        this.engine = engine;
+    }
+
+    public ThreadPerTaskBirthdayMonthCounterStatistics(long delay) {
+        this(delay, ThreadPerTaskEngine.getDefault());
+    }
+
+    public ThreadPerTaskBirthdayMonthCounterStatistics() {
+        this(0);
+    }
+
+    @Override
+    public Map<Month, Long> calculate(List<SpaceShipEntity> objects) {
+        List<List<CrewMember>> crews = engine.map(objects, ship -> ship.getCrewDelayed(getDelay()));
+        Map<Month, Long> result = new EnumMap<>(Month.class);
+        for (List<CrewMember> crew : crews) {
+            for (CrewMember crewMember : crew) {
+                result.merge(crewMember.getBirthDate().getMonth(), 1L, Long::sum);
+            }
+        }
+        return result;
+    }
+}
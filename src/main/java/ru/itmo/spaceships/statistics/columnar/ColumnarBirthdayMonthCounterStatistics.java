@@ -0,0 +1,31 @@
+package ru.itmo.spaceships.statistics.columnar;
+
+import java.time.Month;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Класс для сбора статистики о количестве членов экипажа, рожденных в разные месяцы.
+ * При помощи цикла по колоночному снимку
+ */
+public class ColumnarBirthdayMonthCounterStatistics implements ColumnarStatisticsCalculator<Map<Month, Long>> {
+
+    private static final Month[] MONTHS = Month.values();
+
+    @Override
+    public Map<Month, Long> calculate(SpaceShipColumns columns) {
+        byte[] birthMonth = columns.crewBirthMonthColumn();
+        long[] counts = new long[MONTHS.length];
+        for (byte month : birthMonth) {
+            counts[month]++;
+        }
+
+        Map<Month, Long> result = new EnumMap<>(Month.class);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                result.put(MONTHS[i], counts[i]);
+            }
+        }
+        return result;
+    }
+}
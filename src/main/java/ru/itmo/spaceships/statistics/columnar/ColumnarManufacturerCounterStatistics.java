@@ -0,0 +1,28 @@
+package ru.itmo.spaceships.statistics.columnar;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Класс для сбора статистики о количестве произведенных кораблей различными производителями.
+ * При помощи цикла по колоночному снимку
+ */
+public class ColumnarManufacturerCounterStatistics implements ColumnarStatisticsCalculator<Map<String, Long>> {
+
+    @Override
+    public Map<String, Long> calculate(SpaceShipColumns columns) {
+        int[] manufacturer = columns.manufacturerColumn();
+        long[] counts = new long[columns.manufacturerCount()];
+        for (int i = 0; i < columns.size(); i++) {
+            counts[manufacturer[i]]++;
+        }
+
+        Map<String, Long> result = new HashMap<>();
+        for (int id = 0; id < counts.length; id++) {
+            if (counts[id] > 0) {
+                result.put(columns.manufacturerName(id), counts[id]);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,137 @@
+package ru.itmo.spaceships.statistics.columnar;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+
+import ru.itmo.spaceships.model.FuelType;
+import ru.itmo.spaceships.model.SpaceShipType;
+import ru.itmo.spaceships.statistics.overall.OverallStatistics;
+
+import static ru.itmo.spaceships.statistics.overall.OverallStatistics.DATE_FORMATTER;
+
+/**
+ * Класс для сбора общей статистики по кораблям.
+ * При помощи одного прохода по колоночному снимку: все счетчики - примитивные массивы,
+ * объекты результата создаются только в конце
+ */
+public class ColumnarSpaceShipStatistics implements ColumnarStatisticsCalculator<OverallStatistics> {
+
+    private static final FuelType[] FUEL_TYPES = FuelType.values();
+    private static final SpaceShipType[] SHIP_TYPES = SpaceShipType.values();
+
+    @Override
+    public OverallStatistics calculate(SpaceShipColumns columns) {
+        int size = columns.size();
+        int[] manufacturer = columns.manufacturerColumn();
+        byte[] fuelType = columns.fuelTypeColumn();
+        byte[] type = columns.typeColumn();
+        int[] maxSpeed = columns.maxSpeedColumn();
+        int[] crewSize = columns.crewSizeColumn();
+        long[] length = columns.lengthColumn();
+
+        long[] manufacturerCounts = new long[columns.manufacturerCount()];
+        long[] fuelTypeCounts = new long[FUEL_TYPES.length];
+
+        Summary maxSpeedSummary = new Summary();
+        Summary crewSummary = new Summary();
+        Summary lengthSummary = new Summary();
+        Summary[] crewByType = new Summary[SHIP_TYPES.length];
+        for (int i = 0; i < crewByType.length; i++) {
+            crewByType[i] = new Summary();
+        }
+
+        for (int i = 0; i < size; i++) {
+            manufacturerCounts[manufacturer[i]]++;
+            fuelTypeCounts[fuelType[i]]++;
+            maxSpeedSummary.accept(maxSpeed[i]);
+            crewSummary.accept(crewSize[i]);
+            lengthSummary.accept(length[i]);
+            crewByType[type[i]].accept(crewSize[i]);
+        }
+
+        OverallStatistics result = new OverallStatistics();
+        for (int id = 0; id < manufacturerCounts.length; id++) {
+            if (manufacturerCounts[id] > 0) {
+                result.getCountByManufacturer().put(columns.manufacturerName(id), manufacturerCounts[id]);
+            }
+        }
+        for (int i = 0; i < fuelTypeCounts.length; i++) {
+            if (fuelTypeCounts[i] > 0) {
+                result.getCountByFuelType().put(FUEL_TYPES[i].name(), fuelTypeCounts[i]);
+            }
+        }
+        countByDate(columns.manufactureEpochDayColumn(), size).forEach((epochDay, count) ->
+                result.getCountByDate().put(DATE_FORMATTER.format(LocalDate.ofEpochDay(epochDay)), count));
+
+        result.setAggregateMaxSpeed(maxSpeedSummary.toStatistics());
+        result.setAggregateCrewMembers(crewSummary.toStatistics());
+        result.setAggregateLength(lengthSummary.toStatistics());
+        for (int i = 0; i < crewByType.length; i++) {
+            if (crewByType[i].count > 0) {
+                result.getAggregateCrewByShipType().put(SHIP_TYPES[i].name(), crewByType[i].toStatistics());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Подсчет кораблей по дням производства. Даты в генераторе укладываются в пару недель,
+     * поэтому сначала находим диапазон и считаем в плотном массиве, а в карту перекладываем только итог
+     */
+    private static Map<Long, Long> countByDate(long[] epochDays, int size) {
+        Map<Long, Long> result = new HashMap<>();
+        if (size == 0) {
+            return result;
+        }
+
+        long minDay = Long.MAX_VALUE;
+        long maxDay = Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            minDay = Math.min(minDay, epochDays[i]);
+            maxDay = Math.max(maxDay, epochDays[i]);
+        }
+
+        long range = maxDay - minDay + 1;
+        if (range > size) {
+            // Даты сильно разрежены - плотный массив был бы больше самих данных
+            for (int i = 0; i < size; i++) {
+                result.merge(epochDays[i], 1L, Long::sum);
+            }
+            return result;
+        }
+
+        long[] counts = new long[(int) range];
+        for (int i = 0; i < size; i++) {
+            counts[(int) (epochDays[i] - minDay)]++;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                result.put(minDay + i, counts[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Изменяемый аналог LongSummaryStatistics без виртуальных вызовов IntConsumer/LongConsumer
+     */
+    private static final class Summary {
+        private long count;
+        private long sum;
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+
+        void accept(long value) {
+            count++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        LongSummaryStatistics toStatistics() {
+            return new LongSummaryStatistics(count, min, max, sum);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package ru.itmo.spaceships.statistics.columnar;
+
+/**
+ * Класс для сбора какой-то статистики с колоночного снимка кораблей
+ * @param <R> тип статистики (число или комплексный объект)
+ */
+public interface ColumnarStatisticsCalculator<R> {
+    /**
+     * Рассчитать статистику на заданном снимке
+     */
+    R calculate(SpaceShipColumns columns);
+}
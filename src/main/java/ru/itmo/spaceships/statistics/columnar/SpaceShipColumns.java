@@ -0,0 +1,213 @@
+package ru.itmo.spaceships.statistics.columnar;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ru.itmo.spaceships.model.CrewMember;
+import ru.itmo.spaceships.model.SpaceShipEntity;
+
+/**
+ * Колоночный снимок списка кораблей.
+ * Каждое поле, нужное статистикам, хранится в отдельном примитивном массиве,
+ * а строковые и enum-поля закодированы словарем в целые числа.
+ * Снимок неизменяемый, строится один раз и может переиспользоваться любым количеством расчетов
+ */
+public final class SpaceShipColumns {
+
+    /**
+     * Часовой пояс, в котором считается дата производства (совпадает с OverallStatistics.DATE_FORMATTER)
+     */
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final int size;
+
+    /**
+     * Словарь производителей: id -> название
+     */
+    private final String[] manufacturerDictionary;
+    private final int[] manufacturer;
+
+    /**
+     * Порядковые номера SpaceShipType и FuelType
+     */
+    private final byte[] type;
+    private final byte[] fuelType;
+
+    private final int[] maxSpeed;
+    private final int[] crewSize;
+    private final long[] length;
+    /**
+     * Дата производства в днях от эпохи
+     */
+    private final long[] manufactureEpochDay;
+
+    /**
+     * Месяцы рождения всех членов экипажа подряд (0 - январь).
+     * Экипаж корабля i лежит в диапазоне [crewOffset[i], crewOffset[i + 1])
+     */
+    private final byte[] crewBirthMonth;
+    private final int[] crewOffset;
+
+    private SpaceShipColumns(int size, String[] manufacturerDictionary, int[] manufacturer, byte[] type,
+                             byte[] fuelType, int[] maxSpeed, int[] crewSize, long[] length,
+                             long[] manufactureEpochDay, byte[] crewBirthMonth, int[] crewOffset) {
+        this.size = size;
+        this.manufacturerDictionary = manufacturerDictionary;
+        this.manufacturer = manufacturer;
+        this.type = type;
+        this.fuelType = fuelType;
+        this.maxSpeed = maxSpeed;
+        this.crewSize = crewSize;
+        this.length = length;
+        this.manufactureEpochDay = manufactureEpochDay;
+        this.crewBirthMonth = crewBirthMonth;
+        this.crewOffset = crewOffset;
+    }
+
+    /**
+     * Построить колоночный снимок по списку кораблей
+     *
+     * @param ships список кораблей
+     * @return снимок
+     */
+    public static SpaceShipColumns of(List<SpaceShipEntity> ships) {
+        int size = ships.size();
+
+        Map<String, Integer> manufacturerIds = new HashMap<>();
+        List<String> manufacturerDictionary = new ArrayList<>();
+
+        int[] manufacturer = new int[size];
+        byte[] type = new byte[size];
+        byte[] fuelType = new byte[size];
+        int[] maxSpeed = new int[size];
+        int[] crewSize = new int[size];
+        long[] length = new long[size];
+        long[] manufactureEpochDay = new long[size];
+        int[] crewOffset = new int[size + 1];
+
+        int totalCrew = 0;
+        for (int i = 0; i < size; i++) {
+            crewOffset[i] = totalCrew;
+            totalCrew += ships.get(i).getCrew().size();
+        }
+        crewOffset[size] = totalCrew;
+        byte[] crewBirthMonth = new byte[totalCrew];
+
+        for (int i = 0; i < size; i++) {
+            SpaceShipEntity ship = ships.get(i);
+
+            manufacturer[i] = manufacturerIds.computeIfAbsent(ship.getManufacturer(), name -> {
+                manufacturerDictionary.add(name);
+                return manufacturerDictionary.size() - 1;
+            });
+            type[i] = (byte) ship.getType().ordinal();
+            fuelType[i] = (byte) ship.getEngine().getFuelType().ordinal();
+            maxSpeed[i] = ship.getMaxSpeed();
+            length[i] = ship.getDimensions().length();
+            manufactureEpochDay[i] = toEpochDay(ship.getManufactureDate());
+
+            List<CrewMember> crew = ship.getCrew();
+            crewSize[i] = crew.size();
+            int offset = crewOffset[i];
+            for (int j = 0; j < crew.size(); j++) {
+                crewBirthMonth[offset + j] = (byte) (crew.get(j).getBirthDate().getMonthValue() - 1);
+            }
+        }
+
+        return new SpaceShipColumns(size, manufacturerDictionary.toArray(new String[0]), manufacturer, type,
+                fuelType, maxSpeed, crewSize, length, manufactureEpochDay, crewBirthMonth, crewOffset);
+    }
+
+    private static long toEpochDay(Instant instant) {
+        return LocalDate.ofInstant(instant, ZONE).toEpochDay();
+    }
+
+    /**
+     * Количество кораблей в снимке
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Количество различных производителей в снимке
+     */
+    public int manufacturerCount() {
+        return manufacturerDictionary.length;
+    }
+
+    /**
+     * Название производителя по его id в словаре снимка
+     */
+    public String manufacturerName(int id) {
+        return manufacturerDictionary[id];
+    }
+
+    /**
+     * Колонка id производителей. Массив отдается без копирования и не должен изменяться
+     */
+    public int[] manufacturerColumn() {
+        return manufacturer;
+    }
+
+    /**
+     * Колонка порядковых номеров SpaceShipType
+     */
+    public byte[] typeColumn() {
+        return type;
+    }
+
+    /**
+     * Колонка порядковых номеров FuelType
+     */
+    public byte[] fuelTypeColumn() {
+        return fuelType;
+    }
+
+    /**
+     * Колонка максимальных скоростей
+     */
+    public int[] maxSpeedColumn() {
+        return maxSpeed;
+    }
+
+    /**
+     * Колонка размеров экипажа
+     */
+    public int[] crewSizeColumn() {
+        return crewSize;
+    }
+
+    /**
+     * Колонка длин кораблей
+     */
+    public long[] lengthColumn() {
+        return length;
+    }
+
+    /**
+     * Колонка дат производства в днях от эпохи
+     */
+    public long[] manufactureEpochDayColumn() {
+        return manufactureEpochDay;
+    }
+
+    /**
+     * Месяцы рождения всех членов экипажа всех кораблей подряд (0 - январь)
+     */
+    public byte[] crewBirthMonthColumn() {
+        return crewBirthMonth;
+    }
+
+    /**
+     * Смещения экипажей кораблей в {@link #crewBirthMonthColumn()}, длина size() + 1
+     */
+    public int[] crewOffsetColumn() {
+        return crewOffset;
+    }
+}
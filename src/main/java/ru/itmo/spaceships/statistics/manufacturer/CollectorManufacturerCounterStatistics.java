@@ -14,6 +14,7 @@ import java.util.stream.Collector;
 
 import ru.itmo.spaceships.model.SpaceShipEntity;
 import ru.itmo.spaceships.statistics.StatisticsCalculator;
+import ru.itmo.spaceships.statistics.StatisticsExecutor;
 
 /**
  * Класс для сбора статистики о количестве произведенных кораблей различными производителями.
@@ -22,11 +23,21 @@ import ru.itmo.spaceships.statistics.StatisticsCalculator;
 public class CollectorManufacturerCounterStatistics
         implements StatisticsCalculator<SpaceShipEntity, Map<String, Long>> {
 
+    private final StatisticsExecutor executor;
+
+    public CollectorManufacturerCounterStatistics() {
+        this(StatisticsExecutor.commonPool());
+    }
+
+    public CollectorManufacturerCounterStatistics(StatisticsExecutor executor) {
+        this.executor = executor;
+    }
+
     @Override
     public Map<String, Long> calculate(List<SpaceShipEntity> objects) {
-        return objects.stream()
+        return executor.execute(() -> objects.stream()
                 .parallel()
-                .collect(new ManufacturerCounterCollector());
+                .collect(new ManufacturerCounterCollector()));
     }
 
     private static class ManufacturerCounterCollector
@@ -8,6 +8,7 @@ import java.util.stream.Collectors;
 import ru.itmo.spaceships.model.SpaceShipEntity;
 import ru.itmo.spaceships.statistics.DelayedStatistics;
 import ru.itmo.spaceships.statistics.StatisticsCalculator;
+import ru.itmo.spaceships.statistics.StatisticsExecutor;
 
 /**
  * Класс для сбора статистики о количестве произведенных кораблей различными производителями.
@@ -16,23 +17,26 @@ import ru.itmo.spaceships.statistics.StatisticsCalculator;
 public class ConcurrentStreamManufacturerCounterStatistics extends DelayedStatistics
         implements StatisticsCalculator<SpaceShipEntity, Map<String, Long>> {
 
-    private final int parallelism;
+    private final StatisticsExecutor executor;
 
     public ConcurrentStreamManufacturerCounterStatistics() {
-        this(0, Runtime.getRuntime().availableProcessors());
+        this(0, StatisticsExecutor.commonPool());
     }
 
-    public ConcurrentStreamManufacturerCounterStatistics(long delay, int parallelism) {
+    /**
+     * @param delay    задержка на каждый корабль
+     * @param executor пул расчета, закрывает его вызывающий код
+     */
+    public ConcurrentStreamManufacturerCounterStatistics(long delay, StatisticsExecutor executor) {
         super(delay);
-        this.parallelism = parallelism;
+        this.executor = executor;
     }
 
     @Override
     public Map<String, Long> calculate(List<SpaceShipEntity> objects) {
-        System.setProperty("java.util.concurrent.ForkJoinPool.common.parallelism", String.valueOf(parallelism));
-        return objects.stream()
+        return executor.execute(() -> objects.stream()
                 .parallel()
                 .map(ship -> ship.getManufacturerDelayed(getDelay()))
-                .collect(Collectors.groupingByConcurrent(Function.identity(), Collectors.counting()));
+                .collect(Collectors.groupingByConcurrent(Function.identity(), Collectors.counting())));
     }
 }
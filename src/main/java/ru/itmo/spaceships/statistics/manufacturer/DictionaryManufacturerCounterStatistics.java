@@ -0,0 +1,40 @@
+package ru.itmo.spaceships.statistics.manufacturer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import ru.itmo.spaceships.model.SpaceShipEntity;
+import ru.itmo.spaceships.statistics.StatisticsCalculator;
+
+/**
+ * Класс для сбора статистики о количестве произведенных кораблей различными производителями.
+ * При помощи словаря производителей и массива примитивных счетчиков
+ */
+public class DictionaryManufacturerCounterStatistics
+        implements StatisticsCalculator<SpaceShipEntity, Map<String, Long>> {
+
+    private final ManufacturerRegistry registry;
+
+    public DictionaryManufacturerCounterStatistics() {
+        this(ManufacturerRegistry.getDefault());
+    }
+
+    public DictionaryManufacturerCounterStatistics(ManufacturerRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Map<String, Long> calculate(List<SpaceShipEntity> objects) {
+        long[] counts = new long[registry.size()];
+        for (SpaceShipEntity ship : objects) {
+            int id = registry.idOf(ship.getManufacturer());
+            if (id >= counts.length) {
+                // Встретился производитель, которого не было в реестре на момент старта
+                counts = Arrays.copyOf(counts, registry.size());
+            }
+            counts[id]++;
+        }
+        return registry.toCountMap(counts);
+    }
+}
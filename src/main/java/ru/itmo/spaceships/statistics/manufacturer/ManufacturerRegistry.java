@@ -0,0 +1,97 @@
+package ru.itmo.spaceships.statistics.manufacturer;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import ru.itmo.spaceships.generator.SpaseShipGenerator;
+
+/**
+ * Реестр производителей, выдающий каждому названию небольшой целочисленный id.
+ * Id выдаются подряд с нуля, поэтому по ним можно индексировать обычные массивы счетчиков.
+ * Чтение потокобезопасно и не блокируется, регистрация нового названия синхронизирована
+ */
+public final class ManufacturerRegistry {
+
+    /**
+     * Реестр, заранее заполненный всеми производителями из генератора
+     */
+    private static final ManufacturerRegistry DEFAULT = new ManufacturerRegistry(SpaseShipGenerator.MANUFACTURERS);
+
+    private final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[0];
+
+    public ManufacturerRegistry() {
+    }
+
+    public ManufacturerRegistry(Collection<String> manufacturers) {
+        manufacturers.forEach(this::idOf);
+    }
+
+    /**
+     * Общий реестр, заполненный производителями {@link SpaseShipGenerator#MANUFACTURERS}
+     */
+    public static ManufacturerRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Получить id производителя, зарегистрировав его при первом обращении
+     *
+     * @param manufacturer название производителя
+     * @return id в диапазоне [0, size())
+     */
+    public int idOf(String manufacturer) {
+        Integer id = ids.get(manufacturer);
+        return id != null ? id : register(manufacturer);
+    }
+
+    /**
+     * Получить название производителя по id
+     */
+    public String nameOf(int id) {
+        return names[id];
+    }
+
+    /**
+     * Количество зарегистрированных производителей
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Переложить массив счетчиков, индексированный id производителя, в карту название -> количество.
+     * Нулевые счетчики в карту не попадают
+     *
+     * @param counts счетчики, длина не больше size()
+     * @return карта с количеством по каждому встреченному производителю
+     */
+    public Map<String, Long> toCountMap(long[] counts) {
+        Map<String, Long> result = new HashMap<>();
+        String[] snapshot = names;
+        for (int id = 0; id < counts.length; id++) {
+            if (counts[id] > 0) {
+                result.put(snapshot[id], counts[id]);
+            }
+        }
+        return result;
+    }
+
+    private synchronized int register(String manufacturer) {
+        Integer existing = ids.get(manufacturer);
+        if (existing != null) {
+            return existing;
+        }
+        int id = names.length;
+        String[] grown = Arrays.copyOf(names, id + 1);
+        grown[id] = manufacturer;
+        // Сначала публикуем название, чтобы любой прочитавший id мог сразу получить его имя
+        names = grown;
+        ids.put(manufacturer, id);
+        return id;
+    }
+}
@@ -10,6 +10,7 @@ import ru.itmo.spaceships.model.SpaceShipEntity;
 import ru.itmo.spaceships.statistics.DelayedStatistics;
 import ru.itmo.spaceships.statistics.SpaceShipSpliterator;
 import ru.itmo.spaceships.statistics.StatisticsCalculator;
+import ru.itmo.spaceships.statistics.StatisticsExecutor;
 
 /**
  * Класс для сбора статистики о количестве произведенных кораблей различными производителями.
@@ -18,17 +19,29 @@ import ru.itmo.spaceships.statistics.StatisticsCalculator;
 public class SpliteratorStreamManufacturerCounterStatistics extends DelayedStatistics
         implements StatisticsCalculator<SpaceShipEntity, Map<String, Long>> {
 
-    public SpliteratorStreamManufacturerCounterStatistics(long delay) {
+    private final StatisticsExecutor executor;
+
+    public SpliteratorStreamManufacturerCounterStatistics(long delay, StatisticsExecutor executor) {
         super(delay);
+        this.executor = executor;
+    }
+
+    public SpliteratorStreamManufacturerCounterStatistics(long delay) {
+        this(delay, StatisticsExecutor.commonPool());
     }
 
     public SpliteratorStreamManufacturerCounterStatistics() {
+        this(0);
     }
 
     @Override
     public Map<String, Long> calculate(List<SpaceShipEntity> objects) {
-        return StreamSupport.stream(new SpaceShipSpliterator(objects), true)
+        return executor.execute(() -> StreamSupport.stream(spliterator(objects), true)
                 .map(ship -> ship.getManufacturerDelayed(getDelay()))
-                .collect(Collectors.groupingByConcurrent(Function.identity(), Collectors.counting()));
+                .collect(Collectors.groupingByConcurrent(Function.identity(), Collectors.counting())));
+    }
+
+    private SpaceShipSpliterator spliterator(List<SpaceShipEntity> objects) {
+        return new SpaceShipSpliterator(objects, SpaceShipSpliterator.costOfDelay(getDelay()));
     }
 }
@@ -0,0 +1,43 @@
+package ru.itmo.spaceships.statistics.manufacturer;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ru.itmo.spaceships.model.SpaceShipEntity;
+import ru.itmo.spaceships.statistics.DelayedStatistics;
+import ru.itmo.spaceships.statistics.StatisticsCalculator;
+import ru.itmo.spaceships.statistics.ThreadPerTaskEngine;
+
+/**
+ * Класс для сбора статистики о количестве произведенных кораблей различными производителями.
+ * При помощи отдельной задачи на каждое задержанное обращение к кораблю
+ */
+public class ThreadPerTaskManufacturerCounterStatistics extends DelayedStatistics
+        implements StatisticsCalculator<SpaceShipEntity, Map<String, Long>> {
+
+    private final ThreadPerTaskEngine engine;
+
+    public ThreadPerTaskManufacturerCounterStatistics(long delay, ThreadPerTaskEngine engine) {
+        super(delay);
+        this.engine = engine;
+    }
+
+    public ThreadPerTaskManufacturerCounterStatistics(long delay) {
+        this(delay, ThreadPerTaskEngine.getDefault());
+    }
+
+    public ThreadPerTaskManufacturerCounterStatistics() {
+        this(0);
+    }
+
+    @Override
+    public Map<String, Long> calculate(List<SpaceShipEntity> objects) {
+        List<String> manufacturers = engine.map(objects, ship -> ship.getManufacturerDelayed(getDelay()));
+        Map<String, Long> result = new HashMap<>();
+        for (String manufacturer : manufacturers) {
+            result.merge(manufacturer, 1L, Long::sum);
+        }
+        return result;
+    }
+}
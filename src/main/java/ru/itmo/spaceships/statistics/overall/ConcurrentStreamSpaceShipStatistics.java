@@ -3,6 +3,7 @@ package ru.itmo.spaceships.statistics.overall;
 import ru.itmo.spaceships.model.SpaceShipEntity;
 import ru.itmo.spaceships.statistics.DelayedStatistics;
 import ru.itmo.spaceships.statistics.StatisticsCalculator;
+import ru.itmo.spaceships.statistics.StatisticsExecutor;
 
 import java.util.List;
 import java.util.function.Function;
@@ -12,15 +13,27 @@ import static ru.itmo.spaceships.statistics.overall.OverallStatistics.DATE_FORMA
 
 public class ConcurrentStreamSpaceShipStatistics extends DelayedStatistics
         implements StatisticsCalculator<SpaceShipEntity, OverallStatistics> {
-    public ConcurrentStreamSpaceShipStatistics(long delay) {
+    private final StatisticsExecutor executor;
+
+    public ConcurrentStreamSpaceShipStatistics(long delay, StatisticsExecutor executor) {
         super(delay);
+        this.executor = executor;
+    }
+
+    public ConcurrentStreamSpaceShipStatistics(long delay) {
+        this(delay, StatisticsExecutor.commonPool());
     }
 
     public ConcurrentStreamSpaceShipStatistics() {
-        super();
+        this(0);
     }
+
     @Override
     public OverallStatistics calculate(List<SpaceShipEntity> objects) {
+        return executor.execute(() -> calculateInPool(objects));
+    }
+
+    private OverallStatistics calculateInPool(List<SpaceShipEntity> objects) {
         OverallStatistics accumulator = new OverallStatistics();
 
         accumulator.setCountByManufacturer(objects.stream().parallel()
@@ -0,0 +1,144 @@
+package ru.itmo.spaceships.statistics.overall;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.stream.Collector;
+
+import ru.itmo.spaceships.model.FuelType;
+import ru.itmo.spaceships.model.SpaceShipEntity;
+import ru.itmo.spaceships.model.SpaceShipType;
+import ru.itmo.spaceships.statistics.DelayedStatistics;
+import ru.itmo.spaceships.statistics.StatisticsCalculator;
+import ru.itmo.spaceships.statistics.StatisticsExecutor;
+import ru.itmo.spaceships.statistics.manufacturer.ManufacturerRegistry;
+
+import static ru.itmo.spaceships.statistics.overall.OverallStatistics.DATE_FORMATTER;
+
+/**
+ * Класс для сбора общей статистики по кораблям.
+ * При помощи одного параллельного прохода: каждый поток копит все поля в собственном аккумуляторе
+ * без синхронизации, а затем аккумуляторы сливаются попарно
+ */
+public class FusedConcurrentSpaceShipStatistics extends DelayedStatistics
+        implements StatisticsCalculator<SpaceShipEntity, OverallStatistics> {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static final FuelType[] FUEL_TYPES = FuelType.values();
+    private static final SpaceShipType[] SHIP_TYPES = SpaceShipType.values();
+
+    private final ManufacturerRegistry registry;
+    private final StatisticsExecutor executor;
+
+    public FusedConcurrentSpaceShipStatistics(long delay, StatisticsExecutor executor) {
+        super(delay);
+        this.registry = ManufacturerRegistry.getDefault();
+        this.executor = executor;
+    }
+
+    public FusedConcurrentSpaceShipStatistics(long delay) {
+        this(delay, StatisticsExecutor.commonPool());
+    }
+
+    public FusedConcurrentSpaceShipStatistics() {
+        this(0);
+    }
+
+    @Override
+    public OverallStatistics calculate(List<SpaceShipEntity> objects) {
+        return executor.execute(() -> objects.stream()
+                .parallel()
+                .collect(Collector.of(
+                        Accumulator::new,
+                        Accumulator::accept,
+                        Accumulator::merge,
+                        Accumulator::toStatistics,
+                        Collector.Characteristics.UNORDERED
+                )));
+    }
+
+    /**
+     * Аккумулятор одного потока. Счетчики по производителю, топливу и типу корабля - массивы,
+     * индексированные id из реестра или порядковым номером enum
+     */
+    private final class Accumulator {
+        private long[] countByManufacturer = new long[registry.size()];
+        private final long[] countByFuelType = new long[FUEL_TYPES.length];
+        private final Map<Long, Long> countByEpochDay = new HashMap<>();
+        private final LongSummaryStatistics maxSpeed = new LongSummaryStatistics();
+        private final LongSummaryStatistics crewMembers = new LongSummaryStatistics();
+        private final LongSummaryStatistics length = new LongSummaryStatistics();
+        private final LongSummaryStatistics[] crewByShipType = new LongSummaryStatistics[SHIP_TYPES.length];
+
+        Accumulator() {
+            for (int i = 0; i < crewByShipType.length; i++) {
+                crewByShipType[i] = new LongSummaryStatistics();
+            }
+        }
+
+        void accept(SpaceShipEntity ship) {
+            int manufacturerId = registry.idOf(ship.getManufacturerDelayed(getDelay()));
+            if (manufacturerId >= countByManufacturer.length) {
+                countByManufacturer = Arrays.copyOf(countByManufacturer, registry.size());
+            }
+            countByManufacturer[manufacturerId]++;
+
+            countByFuelType[ship.getEngine().getFuelType().ordinal()]++;
+
+            countByEpochDay.merge(LocalDate.ofInstant(ship.getManufactureDate(), ZONE).toEpochDay(), 1L, Long::sum);
+
+            int crewSize = ship.getCrew().size();
+            maxSpeed.accept(ship.getMaxSpeed());
+            crewMembers.accept(crewSize);
+            length.accept(ship.getDimensions().length());
+            crewByShipType[ship.getType().ordinal()].accept(crewSize);
+        }
+
+        Accumulator merge(Accumulator other) {
+            if (other.countByManufacturer.length > countByManufacturer.length) {
+                countByManufacturer = Arrays.copyOf(countByManufacturer, other.countByManufacturer.length);
+            }
+            for (int i = 0; i < other.countByManufacturer.length; i++) {
+                countByManufacturer[i] += other.countByManufacturer[i];
+            }
+            for (int i = 0; i < countByFuelType.length; i++) {
+                countByFuelType[i] += other.countByFuelType[i];
+            }
+            other.countByEpochDay.forEach((day, count) -> countByEpochDay.merge(day, count, Long::sum));
+
+            maxSpeed.combine(other.maxSpeed);
+            crewMembers.combine(other.crewMembers);
+            length.combine(other.length);
+            for (int i = 0; i < crewByShipType.length; i++) {
+                crewByShipType[i].combine(other.crewByShipType[i]);
+            }
+            return this;
+        }
+
+        OverallStatistics toStatistics() {
+            OverallStatistics result = new OverallStatistics();
+            result.getCountByManufacturer().putAll(registry.toCountMap(countByManufacturer));
+            for (int i = 0; i < countByFuelType.length; i++) {
+                if (countByFuelType[i] > 0) {
+                    result.getCountByFuelType().put(FUEL_TYPES[i].name(), countByFuelType[i]);
+                }
+            }
+            countByEpochDay.forEach((day, count) ->
+                    result.getCountByDate().put(DATE_FORMATTER.format(LocalDate.ofEpochDay(day)), count));
+
+            result.setAggregateMaxSpeed(maxSpeed);
+            result.setAggregateCrewMembers(crewMembers);
+            result.setAggregateLength(length);
+            for (int i = 0; i < crewByShipType.length; i++) {
+                if (crewByShipType[i].getCount() > 0) {
+                    result.getAggregateCrewByShipType().put(SHIP_TYPES[i].name(), crewByShipType[i]);
+                }
+            }
+            return result;
+        }
+    }
+}
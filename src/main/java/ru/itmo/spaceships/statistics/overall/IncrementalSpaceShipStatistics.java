@@ -0,0 +1,241 @@
+package ru.itmo.spaceships.statistics.overall;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import ru.itmo.spaceships.model.SpaceShipEntity;
+
+import static ru.itmo.spaceships.statistics.overall.OverallStatistics.DATE_FORMATTER;
+
+/**
+ * Общая статистика по кораблям, которая поддерживается приращениями.
+ * Корабль можно добавить и убрать, поэтому при обновлении старые значения вычитаются, а новые прибавляются.
+ * Минимумы и максимумы нельзя откатить по одной сумме, поэтому для них хранится количество каждого значения.
+ * Снимок пересобирается только после изменений, повторное чтение возвращает готовый объект.
+ * <p>
+ * Пока статистика заполняется проходом по таблице, изменения приходят вперемешку со строками прохода,
+ * и строка может быть прочитана как до изменения, так и после него. Поэтому на время заполнения
+ * запоминается версия учтённого состояния каждого корабля и удалённые корабли: строка прохода
+ * не учитывается, если корабль уже учтён изменением или удалён, а изменение откатывает только то,
+ * что было учтено. Значение, которое не было учтено, не откатывается, поэтому счётчики не уходят в минус
+ */
+public class IncrementalSpaceShipStatistics {
+
+    private final Map<String, Long> countByManufacturer = new HashMap<>();
+    private final Map<String, Long> countByFuelType = new HashMap<>();
+    private final Map<String, Long> countByDate = new HashMap<>();
+    private final RetractableSummary maxSpeed = new RetractableSummary();
+    private final RetractableSummary crewMembers = new RetractableSummary();
+    private final RetractableSummary length = new RetractableSummary();
+    private final Map<String, RetractableSummary> crewByShipType = new HashMap<>();
+
+    /**
+     * Версия учтённого состояния по идентификатору корабля, null - статистика не заполняется
+     */
+    private Map<Long, Long> seedVersions;
+    /**
+     * Идентификаторы кораблей, удалённых во время заполнения
+     */
+    private Set<Long> seedDeleted;
+    private boolean ready;
+
+    private OverallStatistics snapshot;
+
+    /**
+     * Учесть корабль
+     */
+    public synchronized void add(SpaceShipEntity ship) {
+        if (seedVersions != null && seedVersions.putIfAbsent(ship.getId(), ship.getVersion()) != null) {
+            return;
+        }
+        apply(ship, 1);
+    }
+
+    /**
+     * Перестать учитывать корабль
+     */
+    public synchronized void remove(SpaceShipEntity ship) {
+        if (seedVersions != null) {
+            seedDeleted.add(ship.getId());
+            if (seedVersions.remove(ship.getId()) == null) {
+                return;
+            }
+        }
+        apply(ship, -1);
+    }
+
+    /**
+     * Заменить старое состояние корабля новым
+     *
+     * @param previous состояние до изменения
+     * @param current  состояние после изменения
+     */
+    public synchronized void replace(SpaceShipEntity previous, SpaceShipEntity current) {
+        if (seedVersions != null) {
+            Long counted = seedVersions.get(current.getId());
+            if (counted != null && counted >= current.getVersion()) {
+                return;
+            }
+            seedVersions.put(current.getId(), current.getVersion());
+            if (counted == null) {
+                apply(current, 1);
+                return;
+            }
+        }
+        apply(previous, -1);
+        apply(current, 1);
+    }
+
+    /**
+     * Начать заполнение: забыть все корабли и до {@link #completeSeed()} сверять строки прохода
+     * с изменениями, пришедшими во время прохода
+     */
+    public synchronized void beginSeed() {
+        clear();
+        seedVersions = new HashMap<>();
+        seedDeleted = new HashSet<>();
+    }
+
+    /**
+     * Учесть строку прохода по таблице. Строка пропускается, если корабль уже учтён или удалён
+     */
+    public synchronized void seed(SpaceShipEntity ship) {
+        if (seedVersions == null) {
+            throw new IllegalStateException("Статистика не заполняется");
+        }
+        if (seedDeleted.contains(ship.getId())) {
+            return;
+        }
+        add(ship);
+    }
+
+    /**
+     * Закончить заполнение. Дальше изменения применяются сразу
+     */
+    public synchronized void completeSeed() {
+        seedVersions = null;
+        seedDeleted = null;
+        ready = true;
+    }
+
+    /**
+     * Заполнена ли статистика. До окончания заполнения снимок неполный
+     */
+    public synchronized boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Забыть все корабли
+     */
+    public synchronized void clear() {
+        countByManufacturer.clear();
+        countByFuelType.clear();
+        countByDate.clear();
+        maxSpeed.clear();
+        crewMembers.clear();
+        length.clear();
+        crewByShipType.clear();
+        seedVersions = null;
+        seedDeleted = null;
+        ready = false;
+        snapshot = null;
+    }
+
+    /**
+     * Текущая статистика. Возвращаемый объект не меняется при последующих изменениях
+     */
+    public synchronized OverallStatistics getSnapshot() {
+        if (snapshot == null) {
+            snapshot = buildSnapshot();
+        }
+        return snapshot;
+    }
+
+    private void apply(SpaceShipEntity ship, int sign) {
+        int crewSize = ship.getCrew() != null ? ship.getCrew().size() : 0;
+        addCount(countByManufacturer, ship.getManufacturer(), sign);
+        if (ship.getEngine() != null && ship.getEngine().getFuelType() != null) {
+            addCount(countByFuelType, ship.getEngine().getFuelType().name(), sign);
+        }
+        if (ship.getManufactureDate() != null) {
+            addCount(countByDate, DATE_FORMATTER.format(ship.getManufactureDate()), sign);
+        }
+        maxSpeed.add(ship.getMaxSpeed(), sign);
+        crewMembers.add(crewSize, sign);
+        if (ship.getDimensions() != null) {
+            length.add(ship.getDimensions().length(), sign);
+        }
+        if (ship.getType() != null) {
+            RetractableSummary summary = sign > 0
+                    ? crewByShipType.computeIfAbsent(ship.getType().name(), type -> new RetractableSummary())
+                    : crewByShipType.get(ship.getType().name());
+            if (summary != null) {
+                summary.add(crewSize, sign);
+                if (summary.isEmpty()) {
+                    crewByShipType.remove(ship.getType().name());
+                }
+            }
+        }
+        snapshot = null;
+    }
+
+    private static void addCount(Map<String, Long> counts, String key, int sign) {
+        if (key != null && (sign > 0 || counts.containsKey(key))) {
+            counts.merge(key, (long) sign, (left, right) -> left + right == 0 ? null : left + right);
+        }
+    }
+
+    private OverallStatistics buildSnapshot() {
+        OverallStatistics result = new OverallStatistics();
+        result.getCountByManufacturer().putAll(countByManufacturer);
+        result.getCountByFuelType().putAll(countByFuelType);
+        result.getCountByDate().putAll(countByDate);
+        result.setAggregateMaxSpeed(maxSpeed.toStatistics());
+        result.setAggregateCrewMembers(crewMembers.toStatistics());
+        result.setAggregateLength(length.toStatistics());
+        crewByShipType.forEach((type, summary) ->
+                result.getAggregateCrewByShipType().put(type, summary.toStatistics()));
+        return result;
+    }
+
+    /**
+     * Аналог LongSummaryStatistics, из которого можно убрать значение.
+     * Значение, которого нет, не убирается
+     */
+    private static final class RetractableSummary {
+        private final TreeMap<Long, Long> countByValue = new TreeMap<>();
+        private long count;
+        private long sum;
+
+        void add(long value, int sign) {
+            if (sign < 0 && !countByValue.containsKey(value)) {
+                return;
+            }
+            countByValue.merge(value, (long) sign, (left, right) -> left + right == 0 ? null : left + right);
+            count += sign;
+            sum += sign * value;
+        }
+
+        boolean isEmpty() {
+            return count == 0;
+        }
+
+        void clear() {
+            countByValue.clear();
+            count = 0;
+            sum = 0;
+        }
+
+        LongSummaryStatistics toStatistics() {
+            if (count == 0) {
+                return new LongSummaryStatistics();
+            }
+            return new LongSummaryStatistics(count, countByValue.firstKey(), countByValue.lastKey(), sum);
+        }
+    }
+}
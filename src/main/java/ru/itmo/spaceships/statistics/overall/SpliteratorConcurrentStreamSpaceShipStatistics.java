@@ -4,6 +4,7 @@ import ru.itmo.spaceships.model.SpaceShipEntity;
 import ru.itmo.spaceships.statistics.DelayedStatistics;
 import ru.itmo.spaceships.statistics.SpaceShipSpliterator;
 import ru.itmo.spaceships.statistics.StatisticsCalculator;
+import ru.itmo.spaceships.statistics.StatisticsExecutor;
 
 import java.util.List;
 import java.util.function.Function;
@@ -15,11 +16,28 @@ import static ru.itmo.spaceships.statistics.overall.OverallStatistics.DATE_FORMA
 public class SpliteratorConcurrentStreamSpaceShipStatistics extends DelayedStatistics
         implements StatisticsCalculator<SpaceShipEntity, OverallStatistics> {
 
+    private final StatisticsExecutor executor;
+
+    public SpliteratorConcurrentStreamSpaceShipStatistics(long delay, StatisticsExecutor executor) {
+        super(delay);
+        this.executor = executor;
+    }
+
+    public SpliteratorConcurrentStreamSpaceShipStatistics() {
+        this(0, StatisticsExecutor.commonPool());
+    }
+
     @Override
     public OverallStatistics calculate(List<SpaceShipEntity> objects) {
+        return executor.execute(() -> calculateInPool(objects));
+    }
+
+    private OverallStatistics calculateInPool(List<SpaceShipEntity> objects) {
         OverallStatistics accumulator = new OverallStatistics();
 
-        accumulator.setCountByManufacturer(StreamSupport.stream(new SpaceShipSpliterator(objects), true)
+        SpaceShipSpliterator delayedSpliterator =
+                new SpaceShipSpliterator(objects, SpaceShipSpliterator.costOfDelay(getDelay()));
+        accumulator.setCountByManufacturer(StreamSupport.stream(delayedSpliterator, true)
                 .collect(Collectors.groupingByConcurrent(s -> s.getManufacturerDelayed(getDelay()),
                         Collectors.counting())));
 
@@ -0,0 +1,54 @@
+package ru.itmo.spaceships.statistics.overall;
+
+import java.util.List;
+import java.util.LongSummaryStatistics;
+
+import ru.itmo.spaceships.model.SpaceShipEntity;
+import ru.itmo.spaceships.statistics.DelayedStatistics;
+import ru.itmo.spaceships.statistics.StatisticsCalculator;
+import ru.itmo.spaceships.statistics.ThreadPerTaskEngine;
+
+import static ru.itmo.spaceships.statistics.overall.OverallStatistics.DATE_FORMATTER;
+
+/**
+ * Класс для сбора общей статистики по кораблям.
+ * Задержанные обращения выполняются отдельными задачами, остальные поля считаются одним циклом
+ */
+public class ThreadPerTaskSpaceShipStatistics extends DelayedStatistics
+        implements StatisticsCalculator<SpaceShipEntity, OverallStatistics> {
+
+    private final ThreadPerTaskEngine engine;
+
+    public ThreadPerTaskSpaceShipStatistics(long delay, ThreadPerTaskEngine engine) {
+        super(delay);
+        this.engine = engine;
+    }
+
+    public ThreadPerTaskSpaceShipStatistics(long delay) {
+        this(delay, ThreadPerTaskEngine.getDefault());
+    }
+
+    public ThreadPerTaskSpaceShipStatistics() {
+        this(0);
+    }
+
+    @Override
+    public OverallStatistics calculate(List<SpaceShipEntity> objects) {
+        List<String> manufacturers = engine.map(objects, ship -> ship.getManufacturerDelayed(getDelay()));
+
+        OverallStatistics accumulator = new OverallStatistics();
+        for (int i = 0; i < objects.size(); i++) {
+            SpaceShipEntity object = objects.get(i);
+            accumulator.getCountByManufacturer().merge(manufacturers.get(i), 1L, Long::sum);
+            accumulator.getCountByFuelType().merge(object.getEngine().getFuelType().name(), 1L, Long::sum);
+            accumulator.getCountByDate().merge(DATE_FORMATTER.format(object.getManufactureDate()), 1L, Long::sum);
+            accumulator.getAggregateMaxSpeed().accept(object.getMaxSpeed());
+            accumulator.getAggregateCrewMembers().accept(object.getCrew().size());
+            accumulator.getAggregateLength().accept(object.getDimensions().length());
+            accumulator.getAggregateCrewByShipType()
+                    .computeIfAbsent(object.getType().name(), type -> new LongSummaryStatistics())
+                    .accept(object.getCrew().size());
+        }
+        return accumulator;
+    }
+}
@@ -21,3 +21,17 @@ comment on column maintenance_request.updated_at is 'Last update timestamp';
 comment on column maintenance_request.assignee is 'Assigned repairman identifier';
 comment on column maintenance_request.status is 'Request status';
 
+--changeset andryss:add-maintenance-request-version
+alter table maintenance_request add column version bigint not null default 0;
+
+comment on column maintenance_request.version is 'Row version, incremented on every update';
+
+--changeset andryss:add-maintenance-request-filter-indexes
+create index maintenance_request_status_idx on maintenance_request (status, id);
+create index maintenance_request_assignee_idx on maintenance_request (assignee, id);
+create index maintenance_request_spaceship_serial_idx on maintenance_request (spaceship_serial, id);
+create index maintenance_request_created_at_idx on maintenance_request (created_at);
+create index maintenance_request_open_assignee_idx on maintenance_request (assignee, id)
+    where status not in ('COMPLETED', 'CANCELLED');
+
+comment on index maintenance_request_open_assignee_idx is 'Open requests of a repairman, closed requests are not indexed';
@@ -13,3 +13,7 @@ comment on column repairmen.id is 'Repairman identifier';
 comment on column repairmen.name is 'Repairman name';
 comment on column repairmen.position is 'Repairman position';
 
+--changeset andryss:add-repairmen-version
+alter table repairmen add column version bigint not null default 0;
+
+comment on column repairmen.version is 'Row version, incremented on every update';
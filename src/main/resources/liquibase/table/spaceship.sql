@@ -27,3 +27,7 @@ comment on column spaceship.engine is 'Engine (JSONB)';
 comment on column spaceship.crew is 'Crew members (JSONB)';
 comment on column spaceship.max_speed is 'Maximum speed';
 
+--changeset andryss:add-spaceship-version
+alter table spaceship add column version bigint not null default 0;
+
+comment on column spaceship.version is 'Row version, incremented on every update';
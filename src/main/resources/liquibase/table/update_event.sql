@@ -0,0 +1,17 @@
+--liquibase formatted sql
+
+--changeset andryss:create-update-event-table
+create table update_event (
+    stream varchar(64) not null,
+    id bigint not null,
+    payload jsonb not null,
+    created_at timestamp not null default now(),
+    primary key (stream, id)
+);
+
+comment on table update_event is 'Outbox of published entity update events, used to replay missed events to reconnecting clients';
+
+comment on column update_event.stream is 'Update stream name';
+comment on column update_event.id is 'Event number, increasing within the stream';
+comment on column update_event.payload is 'Updated entity';
+comment on column update_event.created_at is 'Publication timestamp';
@@ -183,184 +183,82 @@ function setStatus(online) {
     }
 }
 
-// Global EventSource instance for server status monitoring
-let pingEventSource = null;
+// Global EventSource instance for server status and all entity updates, multiplexed over one connection
+let eventsEventSource = null;
 
 /**
- * Start server status monitoring via SSE (opens once and remains open during session)
+ * Parse an entity update from an SSE event and pass it to the handler if the page defines one
  */
-function startPingStream() {
-    // Don't create a new connection if one already exists and is open
-    if (pingEventSource && pingEventSource.readyState !== EventSource.CLOSED) {
-        return;
-    }
-    
-    // Close existing connection if any (shouldn't happen, but just in case)
-    if (pingEventSource) {
-        pingEventSource.close();
-    }
-    
-    // Create new EventSource connection
-    pingEventSource = new EventSource(`${API_BASE}/pinger`);
-    pingEventSource.onmessage = () => setStatus(true);
-    pingEventSource.onerror = () => setStatus(false);
-    pingEventSource.onopen = () => {
-        console.log('Server status monitor connected');
-    };
-}
-
-// Global EventSource instance for repairman updates stream
-let repairmanUpdatesEventSource = null;
-
-/**
- * Start repairman updates stream via SSE (opens once and remains open during session)
- */
-function startRepairmanUpdatesStream() {
-    // Don't create a new connection if one already exists and is open
-    if (repairmanUpdatesEventSource && repairmanUpdatesEventSource.readyState !== EventSource.CLOSED) {
-        return;
-    }
-    
-    // Close existing connection if any (shouldn't happen, but just in case)
-    if (repairmanUpdatesEventSource) {
-        repairmanUpdatesEventSource.close();
-    }
-    
-    // Create new EventSource connection
-    repairmanUpdatesEventSource = new EventSource(`${API_BASE}/repairmen/updates/stream`);
-    
-    repairmanUpdatesEventSource.onmessage = (event) => {
-        try {
-            // Parse the repairman update from SSE
-            // Spring WebFlux sends JSON objects directly in the data field
-            const data = event.data;
-            if (data && data.trim() !== '') {
-                const repairman = JSON.parse(data);
-                if (repairman && repairman.id) {
-                    handleRepairmanUpdate(repairman);
-                }
+function handleStreamEvent(event, name, isValid, handler) {
+    try {
+        // Spring WebFlux sends JSON objects directly in the data field
+        const data = event.data;
+        if (data && data.trim() !== '') {
+            const entity = JSON.parse(data);
+            if (entity && isValid(entity) && typeof handler === 'function') {
+                handler(entity);
             }
-        } catch (error) {
-            console.error('Error parsing repairman update from stream:', error, event.data);
         }
-    };
-    
-    repairmanUpdatesEventSource.onerror = () => {
-        // No reconnection - similar to ping stream
-    };
-    
-    repairmanUpdatesEventSource.onopen = () => {
-        console.log('Repairman updates stream connected');
-    };
+    } catch (error) {
+        console.error(`Error parsing ${name} update from stream:`, error, event.data);
+    }
 }
 
-// Global EventSource instance for maintenance request updates stream
-let maintenanceRequestUpdatesEventSource = null;
-
 /**
- * Start maintenance request updates stream via SSE (opens once and remains open during session)
+ * Start server status monitoring and entity updates stream via SSE
+ * (opens once and remains open during session)
  */
-function startMaintenanceRequestUpdatesStream() {
+function startEventsStream() {
     // Don't create a new connection if one already exists and is open
-    if (maintenanceRequestUpdatesEventSource && maintenanceRequestUpdatesEventSource.readyState !== EventSource.CLOSED) {
+    if (eventsEventSource && eventsEventSource.readyState !== EventSource.CLOSED) {
         return;
     }
     
     // Close existing connection if any (shouldn't happen, but just in case)
-    if (maintenanceRequestUpdatesEventSource) {
-        maintenanceRequestUpdatesEventSource.close();
+    if (eventsEventSource) {
+        eventsEventSource.close();
     }
     
-    // Create new EventSource connection
-    maintenanceRequestUpdatesEventSource = new EventSource(`${API_BASE}/maintenance-requests/updates/stream`);
+    // Create new EventSource connection, the browser resumes every topic with Last-Event-ID on reconnect
+    eventsEventSource = new EventSource(`${API_BASE}/events?conflate=true`);
     
-    maintenanceRequestUpdatesEventSource.onmessage = (event) => {
-        try {
-            // Parse the maintenance request update from SSE
-            // Spring WebFlux sends JSON objects directly in the data field
-            const data = event.data;
-            if (data && data.trim() !== '') {
-                const request = JSON.parse(data);
-                if (request && request.id) {
-                    // Handle the update
-                    if (typeof handleRequestUpdate === 'function') {
-                        handleRequestUpdate(request);
-                    }
-                }
-            }
-        } catch (error) {
-            console.error('Error parsing maintenance request update from stream:', error, event.data);
-        }
-    };
+    eventsEventSource.addEventListener('ping', () => setStatus(true));
     
-    maintenanceRequestUpdatesEventSource.onerror = () => {
-        // No reconnection - similar to ping stream
-    };
-    
-    maintenanceRequestUpdatesEventSource.onopen = () => {
-        console.log('Maintenance request updates stream connected');
-    };
-}
-
-// Global EventSource instance for spaceship updates stream
-let spaceshipUpdatesEventSource = null;
-
-/**
- * Start spaceship updates stream via SSE (opens once and remains open during session)
- */
-function startSpaceshipUpdatesStream() {
-    // Don't create a new connection if one already exists and is open
-    if (spaceshipUpdatesEventSource && spaceshipUpdatesEventSource.readyState !== EventSource.CLOSED) {
-        return;
-    }
+    eventsEventSource.addEventListener('repairmen', (event) => {
+        handleStreamEvent(event, 'repairman', repairman => repairman.id,
+            typeof handleRepairmanUpdate === 'function' ? handleRepairmanUpdate : null);
+    });
     
-    // Close existing connection if any (shouldn't happen, but just in case)
-    if (spaceshipUpdatesEventSource) {
-        spaceshipUpdatesEventSource.close();
-    }
+    eventsEventSource.addEventListener('maintenance-requests', (event) => {
+        handleStreamEvent(event, 'maintenance request', request => request.id,
+            typeof handleRequestUpdate === 'function' ? handleRequestUpdate : null);
+    });
     
-    // Create new EventSource connection
-    spaceshipUpdatesEventSource = new EventSource(`${API_BASE}/spaceships/updates/stream`);
+    eventsEventSource.addEventListener('spaceships', (event) => {
+        handleStreamEvent(event, 'spaceship', spaceship => spaceship.serial,
+            typeof handleSpaceshipUpdate === 'function' ? handleSpaceshipUpdate : null);
+    });
     
-    spaceshipUpdatesEventSource.onmessage = (event) => {
-        try {
-            // Parse the spaceship update from SSE
-            // Spring WebFlux sends JSON objects directly in the data field
-            const data = event.data;
-            if (data && data.trim() !== '') {
-                const spaceship = JSON.parse(data);
-                if (spaceship && spaceship.serial) {
-                    // Handle the update
-                    if (typeof handleSpaceshipUpdate === 'function') {
-                        handleSpaceshipUpdate(spaceship);
-                    }
-                }
-            }
-        } catch (error) {
-            console.error('Error parsing spaceship update from stream:', error, event.data);
+    // The server could not restore updates of the topic missed while reconnecting, reload the whole list
+    eventsEventSource.addEventListener('reset', (event) => {
+        console.log(`Updates stream ${event.data} reset, reloading`);
+        if (event.data === 'repairmen' && typeof loadRepairmen === 'function') {
+            loadRepairmen();
+        } else if (event.data === 'maintenance-requests' && typeof loadRequests === 'function') {
+            loadRequests();
+        } else if (event.data === 'spaceships' && typeof loadSpaceships === 'function') {
+            loadSpaceships();
         }
-    };
-    
-    spaceshipUpdatesEventSource.onerror = () => {
-        // No reconnection - similar to ping stream
-    };
+    });
     
-    spaceshipUpdatesEventSource.onopen = () => {
-        console.log('Spaceship updates stream connected');
+    eventsEventSource.onerror = () => setStatus(false);
+    eventsEventSource.onopen = () => {
+        console.log('Events stream connected');
     };
 }
 
-// Initialize status monitor
-startPingStream();
-
-// Initialize repairman updates stream
-startRepairmanUpdatesStream();
-
-// Initialize maintenance request updates stream
-startMaintenanceRequestUpdatesStream();
-
-// Initialize spaceship updates stream
-startSpaceshipUpdatesStream();
+// Initialize status monitor and entity updates stream
+startEventsStream();
 
 // Load data when tabs are shown
 document.getElementById('spaceships-tab').addEventListener('shown.bs.tab', () => {
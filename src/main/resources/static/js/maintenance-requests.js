@@ -72,7 +72,7 @@ function populateStatusDropdown(currentStatus) {
  */
 async function loadRequests() {
     try {
-        const response = await fetch(`${API_BASE}/maintenance-requests?page=${requestsTablePage}&size=${requestsTablePageSize}`);
+        const response = await fetch(`${API_BASE}/maintenance-requests?${buildPageQuery(requestsTableCursors, requestsTablePage, requestsTablePageSize)}`);
         
         if (!response.ok) {
             const errorMessage = await extractErrorMessage(response);
@@ -83,6 +83,7 @@ async function loadRequests() {
         
         const data = await response.json();
         requestsTableTotalItems = data.length;
+        rememberNextCursor(requestsTableCursors, requestsTablePage, data, 'id');
         
         const tbody = document.getElementById('requestsTableBody');
         tbody.innerHTML = data.map(req => `
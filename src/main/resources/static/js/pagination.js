@@ -3,17 +3,49 @@
  */
 
 // Pagination state for main tables
+// Cursors hold the `after` token for each visited page: cursors[i] is the key of the last item on page i - 1
 let spaceshipsTablePage = 0;
 let spaceshipsTablePageSize = 5;
 let spaceshipsTableTotalItems = 0;
+let spaceshipsTableCursors = [null];
 
 let repairmenTablePage = 0;
 let repairmenTablePageSize = 20;
 let repairmenTableTotalItems = 0;
+let repairmenTableCursors = [null];
 
 let requestsTablePage = 0;
 let requestsTablePageSize = 10;
 let requestsTableTotalItems = 0;
+let requestsTableCursors = [null];
+
+/**
+ * Build query string for a page: the first page is requested without a cursor,
+ * the following ones with the key of the last item of the previous page
+ * @param {Array} cursors - Cursor tokens of the table
+ * @param {number} page - Page number
+ * @param {number} pageSize - Page size
+ * @returns {string} Query string without leading '?'
+ */
+function buildPageQuery(cursors, page, pageSize) {
+    const cursor = cursors[page];
+    return cursor !== null && cursor !== undefined
+        ? `size=${pageSize}&after=${cursor}`
+        : `size=${pageSize}`;
+}
+
+/**
+ * Remember cursor for the page following the loaded one
+ * @param {Array} cursors - Cursor tokens of the table
+ * @param {number} page - Loaded page number
+ * @param {Array} items - Loaded items
+ * @param {string} key - Name of the cursor field (serial or id)
+ */
+function rememberNextCursor(cursors, page, items, key) {
+    if (items.length > 0) {
+        cursors[page + 1] = items[items.length - 1][key];
+    }
+}
 
 /**
  * Update pagination buttons for spaceships table
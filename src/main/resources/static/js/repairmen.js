@@ -16,7 +16,7 @@ let pendingRepairmanUpdate = null;
  */
 async function loadRepairmen() {
     try {
-        const response = await fetch(`${API_BASE}/repairmen?page=${repairmenTablePage}&size=${repairmenTablePageSize}`);
+        const response = await fetch(`${API_BASE}/repairmen?${buildPageQuery(repairmenTableCursors, repairmenTablePage, repairmenTablePageSize)}`);
         
         if (!response.ok) {
             const errorMessage = await extractErrorMessage(response);
@@ -27,6 +27,7 @@ async function loadRepairmen() {
         
         const data = await response.json();
         repairmenTableTotalItems = data.length;
+        rememberNextCursor(repairmenTableCursors, repairmenTablePage, data, 'id');
         
         const tbody = document.getElementById('repairmenTableBody');
         tbody.innerHTML = data.map(repairman => `
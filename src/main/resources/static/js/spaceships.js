@@ -18,7 +18,7 @@ let pendingSpaceshipUpdate = null;
  */
 async function loadSpaceships() {
     try {
-        const response = await fetch(`${API_BASE}/spaceships?page=${spaceshipsTablePage}&size=${spaceshipsTablePageSize}`);
+        const response = await fetch(`${API_BASE}/spaceships?${buildPageQuery(spaceshipsTableCursors, spaceshipsTablePage, spaceshipsTablePageSize)}`);
         
         if (!response.ok) {
             const errorMessage = await extractErrorMessage(response);
@@ -29,6 +29,7 @@ async function loadSpaceships() {
         
         const data = await response.json();
         spaceshipsTableTotalItems = data.length;
+        rememberNextCursor(spaceshipsTableCursors, spaceshipsTablePage, data, 'serial');
         
         const tbody = document.getElementById('spaceshipsTableBody');
         tbody.innerHTML = data.map(ship => {
@@ -0,0 +1,127 @@
+package ru.itmo.spaceships.controller;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+import ru.itmo.spaceships.BaseDbTest;
+import ru.itmo.spaceships.generated.model.RepairmanDto;
+import ru.itmo.spaceships.generated.model.RepairmanRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventsApiControllerTest extends BaseDbTest {
+
+    @Autowired
+    WebTestClient webClient;
+
+    @Test
+    void testGetEventsPing() {
+        webClient.get()
+                .uri("/events?topic=PING")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<String>>() {
+                })
+                .getResponseBody()
+                .take(1)
+                .as(StepVerifier::create)
+                .assertNext(event -> {
+                    assertEquals("ping", event.event());
+                    assertEquals("pong", event.data());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetEventsResumedFromCursor() {
+        CountDownLatch consumerSubscribedLatch = new CountDownLatch(1);
+
+        Long repairmanId = createRepairman("Frank Hale");
+
+        new Thread(() -> {
+            try {
+                consumerSubscribedLatch.await();
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            updateRepairmanPosition(repairmanId, "Inspector");
+        }).start();
+
+        consumerSubscribedLatch.countDown();
+
+        ServerSentEvent<RepairmanDto> received = webClient.get()
+                .uri("/events?topic=REPAIRMEN&topic=SPACESHIPS")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<RepairmanDto>>() {
+                })
+                .getResponseBody()
+                .filter(event -> event.data() != null && repairmanId.equals(event.data().getId()))
+                .blockFirst(Duration.ofSeconds(10));
+        assertNotNull(received);
+        assertEquals("repairmen", received.event());
+        assertNotNull(received.id());
+        // Курсор хранит позицию каждого топика подключения, даже если по нему ещё не было событий
+        assertTrue(received.id().contains("repairmen:"));
+        assertTrue(received.id().contains("spaceships:"));
+
+        // Обновление, пока клиент отключён, приходит после переподключения с курсором последнего события
+        updateRepairmanPosition(repairmanId, "Chief Inspector");
+
+        webClient.get()
+                .uri("/events?topic=REPAIRMEN")
+                .header("Last-Event-ID", received.id())
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<RepairmanDto>>() {
+                })
+                .getResponseBody()
+                .filter(event -> event.data() != null && repairmanId.equals(event.data().getId()))
+                .take(1)
+                .as(StepVerifier::create)
+                .assertNext(event -> {
+                    assertEquals("repairmen", event.event());
+                    assertEquals("Chief Inspector", event.data().getPosition());
+                })
+                .verifyComplete();
+    }
+
+    private void updateRepairmanPosition(Long id, String position) {
+        RepairmanRequest updateRequest = new RepairmanRequest();
+        updateRequest.setPosition(position);
+        webClient.put()
+                .uri("/repairmen/{id}", id)
+                .bodyValue(updateRequest)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    private Long createRepairman(String name) {
+        RepairmanRequest createRequest = new RepairmanRequest();
+        createRequest.setName(name);
+        createRequest.setPosition("Technician");
+        RepairmanDto created = webClient.post()
+                .uri("/repairmen")
+                .bodyValue(createRequest)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(RepairmanDto.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(created);
+        return created.getId();
+    }
+}
@@ -1,5 +1,6 @@
 package ru.itmo.spaceships.controller;
 
+import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -382,6 +383,80 @@ class MaintenanceRequestsApiControllerTest extends BaseDbTest {
                 });
     }
 
+    @Test
+    void testUpdateMaintenanceRequestVersionConflict() {
+        MaintenanceRequestDto created = webClient.post()
+                .uri("/maintenance-requests")
+                .bodyValue(createTestRequest())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(MaintenanceRequestDto.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertNotNull(created);
+        Long id = created.getId();
+        Long version = created.getVersion();
+
+        MaintenanceRequestRequest first = new MaintenanceRequestRequest();
+        first.setStatus(MaintenanceStatus.ACCEPTED);
+        first.setVersion(version);
+        webClient.put()
+                .uri("/maintenance-requests/{id}", id)
+                .bodyValue(first)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(MaintenanceRequestDto.class)
+                .consumeWith(result -> {
+                    MaintenanceRequestDto updated = result.getResponseBody();
+                    assertNotNull(updated);
+                    assertEquals(MaintenanceStatus.ACCEPTED, updated.getStatus());
+                    assertEquals(version + 1, updated.getVersion());
+                });
+
+        // Второе изменение основано на уже устаревшей версии
+        MaintenanceRequestRequest second = new MaintenanceRequestRequest();
+        second.setComment("Stale comment");
+        second.setVersion(version);
+        webClient.put()
+                .uri("/maintenance-requests/{id}", id)
+                .bodyValue(second)
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody(ErrorObject.class)
+                .consumeWith(result -> {
+                    ErrorObject error = result.getResponseBody();
+                    assertNotNull(error);
+                    assertEquals("maintenance.request.version.conflict.error", error.getMessage());
+                });
+
+        webClient.delete()
+                .uri(uriBuilder -> uriBuilder.path("/maintenance-requests/{id}")
+                        .queryParam("version", version)
+                        .build(id))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+
+        webClient.get()
+                .uri("/maintenance-requests/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(MaintenanceRequestDto.class)
+                .consumeWith(result -> {
+                    MaintenanceRequestDto current = result.getResponseBody();
+                    assertNotNull(current);
+                    assertEquals(created.getComment(), current.getComment());
+                    assertEquals(version + 1, current.getVersion());
+                });
+
+        webClient.delete()
+                .uri(uriBuilder -> uriBuilder.path("/maintenance-requests/{id}")
+                        .queryParam("version", version + 1)
+                        .build(id))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
     @Test
     void testUpdateMaintenanceRequestNotFound() {
         MaintenanceRequestRequest updateRequest = new MaintenanceRequestRequest();
@@ -493,6 +568,63 @@ class MaintenanceRequestsApiControllerTest extends BaseDbTest {
                 });
     }
 
+    @Test
+    void testGetMaintenanceRequestsFiltered() {
+        long spaceshipSerial = ThreadLocalRandom.current().nextLong(1_000_000, 2_000_000);
+        long assignee = ThreadLocalRandom.current().nextLong(1_000_000, 2_000_000);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            MaintenanceRequestRequest createRequest = createTestRequest();
+            createRequest.setSpaceshipSerial(spaceshipSerial);
+            MaintenanceRequestDto created = webClient.post()
+                    .uri("/maintenance-requests")
+                    .bodyValue(createRequest)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(MaintenanceRequestDto.class)
+                    .returnResult()
+                    .getResponseBody();
+            assertNotNull(created);
+            ids.add(created.getId());
+        }
+
+        // Первая заявка назначена и принята, вторая назначена и отменена, третья осталась новой
+        MaintenanceRequestRequest accept = new MaintenanceRequestRequest();
+        accept.setAssignee(assignee);
+        accept.setStatus(MaintenanceStatus.ACCEPTED);
+        webClient.put().uri("/maintenance-requests/{id}", ids.get(0)).bodyValue(accept).exchange()
+                .expectStatus().isOk();
+        MaintenanceRequestRequest cancel = new MaintenanceRequestRequest();
+        cancel.setAssignee(assignee);
+        cancel.setStatus(MaintenanceStatus.CANCELLED);
+        webClient.put().uri("/maintenance-requests/{id}", ids.get(1)).bodyValue(cancel).exchange()
+                .expectStatus().isOk();
+
+        assertEquals(ids, getFilteredIds("spaceshipSerial=" + spaceshipSerial));
+        assertEquals(List.of(ids.get(0), ids.get(1)), getFilteredIds("assignee=" + assignee));
+        // Открытые заявки ремонтника
+        assertEquals(List.of(ids.get(0)),
+                getFilteredIds("assignee=" + assignee + "&status=NEW&status=ACCEPTED&status=DIAGNOSTICS"));
+        assertEquals(List.of(ids.get(2)), getFilteredIds("spaceshipSerial=" + spaceshipSerial + "&status=NEW"));
+        // Курсор и фильтр вместе
+        assertEquals(List.of(ids.get(1), ids.get(2)),
+                getFilteredIds("spaceshipSerial=" + spaceshipSerial + "&after=" + ids.get(0)));
+        assertEquals(List.of(), getFilteredIds("spaceshipSerial=" + spaceshipSerial
+                + "&createdFrom=" + Instant.now().plus(1, ChronoUnit.DAYS)));
+    }
+
+    private List<Long> getFilteredIds(String query) {
+        List<MaintenanceRequestDto> result = webClient.get()
+                .uri("/maintenance-requests?size=100&" + query)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(MaintenanceRequestDto.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(result);
+        return result.stream().map(MaintenanceRequestDto::getId).toList();
+    }
+
     @Test
     void testGetMaintenanceRequestsSortedById() {
         // Create maintenance requests
@@ -689,5 +821,57 @@ class MaintenanceRequestsApiControllerTest extends BaseDbTest {
                 })
                 .verifyComplete();
     }
-}
 
+    @Test
+    void testGetMaintenanceRequestsUpdatesStreamConflated() {
+        CountDownLatch consumerSubscribedLatch = new CountDownLatch(1);
+
+        MaintenanceRequestDto created = webClient.post()
+                .uri("/maintenance-requests")
+                .bodyValue(createTestRequest())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(MaintenanceRequestDto.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(created);
+        Long id = created.getId();
+
+        // Заявка быстро проходит несколько статусов подряд
+        new Thread(() -> {
+            try {
+                consumerSubscribedLatch.await();
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+
+            for (MaintenanceStatus status : List.of(
+                    MaintenanceStatus.ACCEPTED, MaintenanceStatus.DIAGNOSTICS, MaintenanceStatus.APPROVAL)) {
+                MaintenanceRequestRequest updateRequest = new MaintenanceRequestRequest();
+                updateRequest.setStatus(status);
+                webClient.put()
+                        .uri("/maintenance-requests/{id}", id)
+                        .bodyValue(updateRequest)
+                        .exchange()
+                        .expectStatus().isOk();
+            }
+        }).start();
+
+        consumerSubscribedLatch.countDown();
+
+        // За окно склейки клиент получает только последнюю версию заявки
+        webClient.get()
+                .uri("/maintenance-requests/updates/stream?conflateWindow=2000")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(MaintenanceRequestDto.class)
+                .getResponseBody()
+                .filter(dto -> dto.getId().equals(id))
+                .take(1)
+                .as(StepVerifier::create)
+                .assertNext(dto -> assertEquals(MaintenanceStatus.APPROVAL, dto.getStatus()))
+                .verifyComplete();
+    }
+}
@@ -1,17 +1,21 @@
 package ru.itmo.spaceships.controller;
 
+import java.time.Duration;
 import java.util.concurrent.CountDownLatch;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.test.StepVerifier;
 import ru.itmo.spaceships.BaseDbTest;
 import ru.itmo.spaceships.generated.model.ErrorObject;
 import ru.itmo.spaceships.generated.model.RepairmanDto;
 import ru.itmo.spaceships.generated.model.RepairmanRequest;
+import ru.itmo.spaceships.model.EventPosition;
 import ru.itmo.spaceships.repository.RepairmanRepository;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -640,5 +644,128 @@ class RepairmenApiControllerTest extends BaseDbTest {
                 })
                 .verifyComplete();
     }
-}
 
+    @Test
+    void testGetRepairmenUpdatesStreamFilteredById() {
+        CountDownLatch consumerSubscribedLatch = new CountDownLatch(1);
+
+        Long ignoredId = createRepairman("Carl White");
+        Long watchedId = createRepairman("Dana Black");
+
+        // Сначала обновляется ремонтник, на которого клиент не подписан
+        new Thread(() -> {
+            try {
+                consumerSubscribedLatch.await();
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+
+            for (Long id : new Long[]{ignoredId, watchedId}) {
+                RepairmanRequest updateRequest = new RepairmanRequest();
+                updateRequest.setPosition("Inspector");
+                webClient.put()
+                        .uri("/repairmen/{id}", id)
+                        .bodyValue(updateRequest)
+                        .exchange()
+                        .expectStatus().isOk();
+            }
+        }).start();
+
+        consumerSubscribedLatch.countDown();
+
+        // Сервер отдаёт только обновления выбранного ремонтника, фильтровать на клиенте не нужно
+        webClient.get()
+                .uri("/repairmen/updates/stream?id={id}", watchedId)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(RepairmanDto.class)
+                .getResponseBody()
+                .take(1)
+                .as(StepVerifier::create)
+                .assertNext(dto -> {
+                    assertEquals(watchedId, dto.getId());
+                    assertEquals("Inspector", dto.getPosition());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetRepairmenUpdatesStreamResumedFromLastEventId() {
+        CountDownLatch consumerSubscribedLatch = new CountDownLatch(1);
+
+        Long repairmanId = createRepairman("Erin Gray");
+
+        new Thread(() -> {
+            try {
+                consumerSubscribedLatch.await();
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            updateRepairmanPosition(repairmanId, "Inspector");
+        }).start();
+
+        consumerSubscribedLatch.countDown();
+
+        ServerSentEvent<RepairmanDto> received = webClient.get()
+                .uri("/repairmen/updates/stream?id={id}", repairmanId)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<RepairmanDto>>() {
+                })
+                .getResponseBody()
+                .blockFirst(Duration.ofSeconds(10));
+        assertNotNull(received);
+        assertNotNull(received.id());
+
+        // Обновление, пока клиент отключён, приходит после переподключения с номером последнего события
+        updateRepairmanPosition(repairmanId, "Chief Inspector");
+
+        webClient.get()
+                .uri("/repairmen/updates/stream?id={id}", repairmanId)
+                .header("Last-Event-ID", received.id())
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<RepairmanDto>>() {
+                })
+                .getResponseBody()
+                .take(1)
+                .as(StepVerifier::create)
+                .assertNext(event -> {
+                    assertNotNull(event.data());
+                    assertEquals("Chief Inspector", event.data().getPosition());
+                    assertTrue(EventPosition.parse(event.id()).id() > EventPosition.parse(received.id()).id());
+                })
+                .verifyComplete();
+    }
+
+    private void updateRepairmanPosition(Long id, String position) {
+        RepairmanRequest updateRequest = new RepairmanRequest();
+        updateRequest.setPosition(position);
+        webClient.put()
+                .uri("/repairmen/{id}", id)
+                .bodyValue(updateRequest)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    private Long createRepairman(String name) {
+        RepairmanRequest createRequest = new RepairmanRequest();
+        createRequest.setName(name);
+        createRequest.setPosition("Technician");
+        RepairmanDto created = webClient.post()
+                .uri("/repairmen")
+                .bodyValue(createRequest)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(RepairmanDto.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(created);
+        return created.getId();
+    }
+}
@@ -12,6 +12,8 @@ import ru.itmo.spaceships.generated.model.DimensionsDto;
 import ru.itmo.spaceships.generated.model.EngineDto;
 import ru.itmo.spaceships.generated.model.FuelType;
 import ru.itmo.spaceships.generated.model.ErrorObject;
+import ru.itmo.spaceships.generated.model.SpaceShipBatchErrorDto;
+import ru.itmo.spaceships.generated.model.SpaceShipBatchResultDto;
 import ru.itmo.spaceships.generated.model.SpaceShipDto;
 import ru.itmo.spaceships.generated.model.SpaceShipRequest;
 import ru.itmo.spaceships.generated.model.SpaceShipType;
@@ -20,6 +22,7 @@ import ru.itmo.spaceships.repository.SpaceShipRepository;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 
@@ -185,6 +188,80 @@ class SpaceShipsApiControllerTest extends BaseDbTest {
                 });
     }
 
+    @Test
+    void testUpdateSpaceshipVersionConflict() {
+        SpaceShipDto created = webClient.post()
+                .uri("/spaceships")
+                .bodyValue(createTestRequest())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(SpaceShipDto.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertNotNull(created);
+        Long serial = created.getSerial();
+        Long version = created.getVersion();
+
+        SpaceShipRequest first = createTestRequest(serial);
+        first.setName("First Edit");
+        first.setVersion(version);
+        webClient.put()
+                .uri("/spaceships/{serial}", serial)
+                .bodyValue(first)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(SpaceShipDto.class)
+                .consumeWith(result -> {
+                    SpaceShipDto dto = result.getResponseBody();
+                    assertNotNull(dto);
+                    assertEquals("First Edit", dto.getName());
+                    assertEquals(version + 1, dto.getVersion());
+                });
+
+        // Второе изменение основано на той же, уже устаревшей версии
+        SpaceShipRequest second = createTestRequest(serial);
+        second.setName("Second Edit");
+        second.setVersion(version);
+        webClient.put()
+                .uri("/spaceships/{serial}", serial)
+                .bodyValue(second)
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody(ErrorObject.class)
+                .consumeWith(result -> {
+                    ErrorObject error = result.getResponseBody();
+                    assertNotNull(error);
+                    assertEquals(409, error.getCode());
+                    assertEquals("spaceship.version.conflict.error", error.getMessage());
+                });
+
+        webClient.get()
+                .uri("/spaceships/{serial}", serial)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(SpaceShipDto.class)
+                .consumeWith(result -> {
+                    SpaceShipDto dto = result.getResponseBody();
+                    assertNotNull(dto);
+                    assertEquals("First Edit", dto.getName());
+                });
+
+        webClient.delete()
+                .uri(uriBuilder -> uriBuilder.path("/spaceships/{serial}")
+                        .queryParam("version", version)
+                        .build(serial))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+
+        webClient.delete()
+                .uri(uriBuilder -> uriBuilder.path("/spaceships/{serial}")
+                        .queryParam("version", version + 1)
+                        .build(serial))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
     @Test
     void testUpdateSpaceshipNotFound() {
         SpaceShipRequest updateRequest = createTestRequest();
@@ -433,6 +510,172 @@ class SpaceShipsApiControllerTest extends BaseDbTest {
                 });
     }
 
+    @Test
+    void testCreateSpaceshipsBatch() {
+        SpaceShipRequest existing = createTestRequest();
+        webClient.post()
+                .uri("/spaceships")
+                .bodyValue(existing)
+                .exchange()
+                .expectStatus().isOk();
+
+        SpaceShipRequest first = createTestRequest();
+        SpaceShipRequest withoutName = createTestRequest();
+        withoutName.setName(null);
+        SpaceShipRequest second = createTestRequest();
+        // Повтор серийного номера из базы и из этой же пачки
+        List<SpaceShipRequest> requests = List.of(
+                first,
+                createTestRequest(existing.getSerial()),
+                withoutName,
+                second,
+                createTestRequest(first.getSerial()));
+
+        SpaceShipBatchResultDto result = webClient.post()
+                .uri("/spaceships/batch")
+                .bodyValue(requests)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(SpaceShipBatchResultDto.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertNotNull(result);
+        assertEquals(5L, result.getReceived());
+        assertEquals(2L, result.getCreated());
+        assertEquals(3L, result.getFailed());
+        List<SpaceShipBatchErrorDto> errors = result.getErrors().stream()
+                .sorted(Comparator.comparing(SpaceShipBatchErrorDto::getIndex))
+                .toList();
+        assertEquals(List.of(1L, 2L, 4L), errors.stream().map(SpaceShipBatchErrorDto::getIndex).toList());
+        assertEquals("spaceship.serial.duplicate.error", errors.get(0).getError().getMessage());
+        assertEquals("spaceship.required.fields.error", errors.get(1).getError().getMessage());
+        assertEquals("spaceship.serial.duplicate.error", errors.get(2).getError().getMessage());
+
+        webClient.get()
+                .uri("/spaceships/{serial}", second.getSerial())
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void testCreateSpaceshipsBatchFromNdjson() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 3; i++) {
+            body.append(objectMapper.writeValueAsString(createTestRequest())).append('\n');
+        }
+
+        webClient.post()
+                .uri("/spaceships/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body.toString())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(SpaceShipBatchResultDto.class)
+                .value(result -> {
+                    assertEquals(3L, result.getReceived());
+                    assertEquals(3L, result.getCreated());
+                    assertTrue(result.getErrors().isEmpty());
+                });
+    }
+
+    @Test
+    void testGetSpaceshipsWithCursor() {
+        long baseSerial = 700000L + System.nanoTime() % 100000L;
+        for (int i = 0; i < 5; i++) {
+            webClient.post()
+                    .uri("/spaceships")
+                    .bodyValue(createTestRequest(baseSerial + i))
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+
+        // Курсор указывает на второй корабль, page при наличии курсора не учитывается
+        webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/spaceships")
+                        .queryParam("page", 5)
+                        .queryParam("size", 2)
+                        .queryParam("after", baseSerial + 1)
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(SpaceShipDto.class)
+                .consumeWith(result -> {
+                    assertNotNull(result.getResponseBody());
+                    assertEquals(List.of(baseSerial + 2, baseSerial + 3),
+                            result.getResponseBody().stream().map(SpaceShipDto::getSerial).toList());
+                });
+
+        // После последнего корабля ничего нет
+        webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/spaceships")
+                        .queryParam("size", 2)
+                        .queryParam("after", Long.MAX_VALUE)
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(SpaceShipDto.class)
+                .hasSize(0);
+    }
+
+    @Test
+    void testExportSpaceshipsAsNdjson() throws Exception {
+        SpaceShipRequest request = createTestRequest();
+        long serial = request.getSerial();
+        webClient.post()
+                .uri("/spaceships")
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk();
+
+        String body = webClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/spaceships/export").queryParam("fetchSize", 2).build())
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertNotNull(body);
+        List<Long> serials = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            serials.add(objectMapper.readValue(line, SpaceShipDto.class).getSerial());
+        }
+        assertEquals(spaceShipRepository.count().block(), (long) serials.size());
+        assertTrue(serials.contains(serial));
+    }
+
+    @Test
+    void testExportSpaceshipsAsCsv() {
+        SpaceShipRequest request = createTestRequest();
+        long serial = request.getSerial();
+        webClient.post()
+                .uri("/spaceships")
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk();
+
+        String body = webClient.get()
+                .uri("/spaceships/export")
+                .accept(MediaType.parseMediaType("text/csv"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.parseMediaType("text/csv"))
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertNotNull(body);
+        String[] lines = body.split("\r\n");
+        assertTrue(lines[0].startsWith("serial,name,manufacturer,manufactureDate,type,maxSpeed"));
+        assertEquals(spaceShipRepository.count().block() + 1, (long) lines.length);
+        assertTrue(List.of(lines).stream().anyMatch(line -> line.startsWith(serial + ",")));
+    }
+
     @Test
     void testGetSpaceshipsUpdatesStreamMultipleUpdates() {
         CountDownLatch consumerSubscribedLatch = new CountDownLatch(1);
@@ -0,0 +1,334 @@
+package ru.itmo.spaceships.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.itmo.spaceships.BaseDbTest;
+import ru.itmo.spaceships.generated.model.CacheStatisticsDto;
+import ru.itmo.spaceships.generated.model.CountStatisticsDto;
+import ru.itmo.spaceships.generated.model.CrewMemberDto;
+import ru.itmo.spaceships.generated.model.EngineDto;
+import ru.itmo.spaceships.generated.model.EventStreamStatisticsDto;
+import ru.itmo.spaceships.generated.model.FuelType;
+import ru.itmo.spaceships.generated.model.OverallStatisticsDto;
+import ru.itmo.spaceships.generated.model.SpaceShipDto;
+import ru.itmo.spaceships.generated.model.SpaceShipRequest;
+import ru.itmo.spaceships.generated.model.SpaceShipType;
+import ru.itmo.spaceships.repository.SpaceShipRepository;
+import ru.itmo.spaceships.service.SpaceShipStatisticsService;
+import ru.itmo.spaceships.statistics.overall.IncrementalSpaceShipStatistics;
+import ru.itmo.spaceships.statistics.overall.OverallStatistics;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatisticsApiControllerTest extends BaseDbTest {
+
+    @Autowired
+    WebTestClient webClient;
+
+    @Autowired
+    SpaceShipRepository spaceShipRepository;
+
+    @Autowired
+    SpaceShipStatisticsService spaceShipStatisticsService;
+
+    private static long serialCounter = System.currentTimeMillis();
+
+    /**
+     * Очистка таблицы после теста идёт мимо сервиса, поэтому живая статистика заполняется заново
+     */
+    @BeforeEach
+    void seedStatistics() {
+        spaceShipStatisticsService.seed().block();
+    }
+
+    private void createSpaceship(String manufacturer, FuelType fuelType, LocalDate... crewBirthDates) {
+        SpaceShipRequest request = new SpaceShipRequest();
+        request.setSerial(++serialCounter);
+        request.setManufacturer(manufacturer);
+        request.setManufactureDate(OffsetDateTime.now());
+        request.setName("Test Ship");
+        request.setType(SpaceShipType.CARGO);
+
+        EngineDto engine = new EngineDto();
+        engine.setModel("Test Engine");
+        engine.setThrust(5000);
+        engine.setFuelType(fuelType);
+        engine.setFuelConsumption(100.0);
+        request.setEngine(engine);
+
+        request.setCrew(Arrays.stream(crewBirthDates)
+                .map(birthDate -> {
+                    CrewMemberDto member = new CrewMemberDto();
+                    member.setFullName("John Doe");
+                    member.setRank("Captain");
+                    member.setExperienceYears(10);
+                    member.setBirthDate(birthDate);
+                    return member;
+                })
+                .toList());
+        request.setMaxSpeed(500);
+
+        webClient.post()
+                .uri("/spaceships")
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    private CountStatisticsDto getStatistics(String uri) {
+        CountStatisticsDto dto = webClient.get()
+                .uri(uri)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CountStatisticsDto.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(dto);
+        return dto;
+    }
+
+    @Test
+    void testManufacturerStatistics() {
+        createSpaceship("Alpha", FuelType.KEROSENE);
+        createSpaceship("Alpha", FuelType.METHANE);
+        createSpaceship("Beta", FuelType.KEROSENE);
+
+        CountStatisticsDto dto = getStatistics("/statistics/manufacturers");
+
+        assertEquals(3L, dto.getTotal());
+        assertEquals(2L, dto.getCounts().get("Alpha"));
+        assertEquals(1L, dto.getCounts().get("Beta"));
+    }
+
+    @Test
+    void testFuelTypeStatistics() {
+        createSpaceship("Alpha", FuelType.KEROSENE);
+        createSpaceship("Alpha", FuelType.METHANE);
+        createSpaceship("Beta", FuelType.KEROSENE);
+
+        CountStatisticsDto dto = getStatistics("/statistics/fuel-types");
+
+        assertEquals(3L, dto.getTotal());
+        assertEquals(2L, dto.getCounts().get("KEROSENE"));
+        assertEquals(1L, dto.getCounts().get("METHANE"));
+    }
+
+    @Test
+    void testBirthdayMonthStatistics() {
+        createSpaceship("Alpha", FuelType.KEROSENE, LocalDate.of(1990, 1, 1), LocalDate.of(1985, 3, 15));
+        createSpaceship("Beta", FuelType.KEROSENE, LocalDate.of(1992, 1, 20));
+
+        CountStatisticsDto dto = getStatistics("/statistics/birthday-months");
+
+        assertEquals(3L, dto.getTotal());
+        assertEquals(2L, dto.getCounts().get("JANUARY"));
+        assertEquals(1L, dto.getCounts().get("MARCH"));
+    }
+
+    @Test
+    void testStatisticsOnEmptyTable() {
+        CountStatisticsDto dto = getStatistics("/statistics/manufacturers");
+
+        assertEquals(0L, dto.getTotal());
+        assertTrue(dto.getCounts().isEmpty());
+    }
+
+    @Test
+    void testOverallStatistics() {
+        createSpaceship("Alpha", FuelType.KEROSENE, LocalDate.of(1990, 1, 1), LocalDate.of(1985, 3, 15));
+        createSpaceship("Beta", FuelType.METHANE, LocalDate.of(1992, 1, 20));
+        createSpaceship("Beta", FuelType.KEROSENE);
+
+        OverallStatisticsDto dto = getOverallStatistics();
+
+        assertEquals(Map.of("Alpha", 1L, "Beta", 2L), dto.getCountByManufacturer());
+        assertEquals(Map.of("KEROSENE", 2L, "METHANE", 1L), dto.getCountByFuelType());
+        assertEquals(3L, dto.getMaxSpeed().getCount());
+        assertEquals(500L, dto.getMaxSpeed().getMax());
+        assertEquals(3L, dto.getCrewMembers().getSum());
+        assertEquals(0L, dto.getCrewMembers().getMin());
+        assertEquals(2L, dto.getCrewMembers().getMax());
+        assertEquals(3L, dto.getCrewByShipType().get("CARGO").getCount());
+    }
+
+    @Test
+    void testOverallStatisticsFollowWrites() {
+        createSpaceship("Alpha", FuelType.KEROSENE, LocalDate.of(1990, 1, 1));
+        long alpha = serialCounter;
+        createSpaceship("Beta", FuelType.METHANE);
+        long beta = serialCounter;
+        createSpaceship("Beta", FuelType.METHANE);
+        assertEquals(Map.of("Alpha", 1L, "Beta", 2L), getOverallStatistics().getCountByManufacturer());
+
+        updateSpaceship(beta, request -> {
+            request.setManufacturer("Gamma");
+            request.setMaxSpeed(900);
+        });
+        webClient.delete()
+                .uri("/spaceships/{serial}", alpha)
+                .exchange()
+                .expectStatus().is2xxSuccessful();
+
+        OverallStatisticsDto dto = getOverallStatistics();
+        assertEquals(Map.of("Beta", 1L, "Gamma", 1L), dto.getCountByManufacturer());
+        assertEquals(Map.of("METHANE", 2L), dto.getCountByFuelType());
+        assertEquals(2L, dto.getMaxSpeed().getCount());
+        assertEquals(500L, dto.getMaxSpeed().getMin());
+        assertEquals(900L, dto.getMaxSpeed().getMax());
+        assertEquals(0L, dto.getCrewMembers().getSum());
+    }
+
+    @Test
+    void testDatabaseAggregationMatchesStreaming() {
+        createSpaceship("Alpha", FuelType.KEROSENE, LocalDate.of(1990, 1, 1), LocalDate.of(1985, 3, 15));
+        createSpaceship("Beta", FuelType.METHANE, LocalDate.of(1992, 1, 20));
+        createSpaceship("Beta", FuelType.KEROSENE);
+
+        OverallStatistics expected = spaceShipRepository.streamAll(16)
+                .collect(IncrementalSpaceShipStatistics::new, IncrementalSpaceShipStatistics::add)
+                .map(IncrementalSpaceShipStatistics::getSnapshot)
+                .block();
+        OverallStatistics actual = spaceShipRepository.aggregateOverallStatistics().block();
+
+        assertNotNull(expected);
+        assertNotNull(actual);
+        assertEquals(expected.getCountByManufacturer(), actual.getCountByManufacturer());
+        assertEquals(expected.getCountByFuelType(), actual.getCountByFuelType());
+        assertEquals(expected.getCountByDate(), actual.getCountByDate());
+        assertEquals(expected.getAggregateMaxSpeed().toString(), actual.getAggregateMaxSpeed().toString());
+        assertEquals(expected.getAggregateCrewMembers().toString(), actual.getAggregateCrewMembers().toString());
+        assertEquals(expected.getAggregateLength().toString(), actual.getAggregateLength().toString());
+        assertEquals(expected.getAggregateCrewByShipType().get("CARGO").toString(),
+                actual.getAggregateCrewByShipType().get("CARGO").toString());
+        assertEquals(Map.of(Month.JANUARY, 2L, Month.MARCH, 1L),
+                spaceShipRepository.aggregateCountByBirthdayMonth().block());
+    }
+
+    @Test
+    void testSpaceshipCacheHitsAndInvalidation() {
+        createSpaceship("Alpha", FuelType.KEROSENE);
+        long serial = serialCounter;
+        long hitsBefore = getSpaceshipCacheStatistics().getHits();
+
+        getSpaceship(serial);
+        getSpaceship(serial);
+        assertTrue(getSpaceshipCacheStatistics().getHits() >= hitsBefore + 1);
+
+        // Обновление кладёт в кэш новое состояние, а не оставляет старое
+        renameSpaceship(serial, "Renamed Ship");
+        assertEquals("Renamed Ship", getSpaceship(serial).getName());
+
+        // Удалённый корабль из кэша не возвращается
+        webClient.delete()
+                .uri("/spaceships/{serial}", serial)
+                .exchange()
+                .expectStatus().is2xxSuccessful();
+        webClient.get()
+                .uri("/spaceships/{serial}", serial)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testSpaceshipUpdatesArePublishedWithoutSubscribers() {
+        createSpaceship("Beta", FuelType.METHANE);
+        long serial = serialCounter;
+        EventStreamStatisticsDto before = getSpaceshipEventStreamStatistics();
+        assertEquals(256L, before.getBufferSize());
+
+        renameSpaceship(serial, "Published Ship");
+
+        // Публикация не ждёт подписчиков, событие просто учитывается
+        EventStreamStatisticsDto after = getSpaceshipEventStreamStatistics();
+        assertTrue(after.getPublished() >= before.getPublished() + 1);
+        assertNotNull(after.getSubscribers());
+    }
+
+    private void renameSpaceship(long serial, String name) {
+        updateSpaceship(serial, request -> request.setName(name));
+    }
+
+    private void updateSpaceship(long serial, Consumer<SpaceShipRequest> change) {
+        SpaceShipDto current = getSpaceship(serial);
+        SpaceShipRequest request = new SpaceShipRequest();
+        request.setSerial(serial);
+        request.setManufacturer(current.getManufacturer());
+        request.setManufactureDate(current.getManufactureDate());
+        request.setName(current.getName());
+        request.setType(current.getType());
+        request.setDimensions(current.getDimensions());
+        request.setEngine(current.getEngine());
+        request.setCrew(current.getCrew());
+        request.setMaxSpeed(current.getMaxSpeed());
+        request.setVersion(current.getVersion());
+        change.accept(request);
+        webClient.put()
+                .uri("/spaceships/{serial}", serial)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    private OverallStatisticsDto getOverallStatistics() {
+        OverallStatisticsDto dto = webClient.get()
+                .uri("/statistics/overall")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(OverallStatisticsDto.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(dto);
+        return dto;
+    }
+
+    private SpaceShipDto getSpaceship(long serial) {
+        SpaceShipDto dto = webClient.get()
+                .uri("/spaceships/{serial}", serial)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(SpaceShipDto.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(dto);
+        return dto;
+    }
+
+    private EventStreamStatisticsDto getSpaceshipEventStreamStatistics() {
+        return webClient.get()
+                .uri("/statistics/event-streams")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(EventStreamStatisticsDto.class)
+                .returnResult()
+                .getResponseBody()
+                .stream()
+                .filter(dto -> "spaceships".equals(dto.getName()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private CacheStatisticsDto getSpaceshipCacheStatistics() {
+        return webClient.get()
+                .uri("/statistics/caches")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(CacheStatisticsDto.class)
+                .returnResult()
+                .getResponseBody()
+                .stream()
+                .filter(dto -> "spaceships".equals(dto.getName()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
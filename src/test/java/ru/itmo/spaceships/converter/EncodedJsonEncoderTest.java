@@ -0,0 +1,102 @@
+package ru.itmo.spaceships.converter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import reactor.core.Disposable;
+import ru.itmo.spaceships.service.EventHub;
+import ru.itmo.spaceships.service.ObjectMapperWrapper;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Событие стрима сериализуется один раз, а все подключения пишут одни и те же байты.
+ */
+class EncodedJsonEncoderTest {
+
+    private static final int SUBSCRIBERS = 5;
+
+    private final DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+    private static byte[] toBytes(DataBuffer buffer) {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        return bytes;
+    }
+
+    @Test
+    void testEventIsEncodedOnceForAllSubscribers() {
+        ObjectMapperWrapper objectMapperWrapper = spy(new ObjectMapperWrapper(new ObjectMapper()));
+        EventStreamConverter eventStreamConverter = new EventStreamConverter(objectMapperWrapper);
+        EventHub<String> hub = new EventHub<>("test", 8, EventHub.OverflowPolicy.DROP_OLDEST,
+                Function.identity(), 16, null);
+        AtomicInteger conversions = new AtomicInteger();
+        Function<String, Map<String, String>> converter = payload -> {
+            conversions.incrementAndGet();
+            return Map.of("name", payload);
+        };
+
+        List<EncodedJson> encoded = new ArrayList<>();
+        List<Disposable> subscriptions = new ArrayList<>();
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            subscriptions.add(hub.subscribe(null, null, null, null)
+                    .map(event -> eventStreamConverter.encode(event, converter))
+                    .subscribe(encoded::add));
+        }
+        hub.publish("alpha");
+        subscriptions.forEach(Disposable::dispose);
+
+        assertEquals(SUBSCRIBERS, encoded.size());
+        for (EncodedJson json : encoded) {
+            assertSame(encoded.get(0), json);
+        }
+        assertEquals(1, conversions.get());
+        verify(objectMapperWrapper, times(1)).writeValueAsBytes(any());
+        assertEquals("{\"name\":\"alpha\"}", new String(encoded.get(0).bytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testEncodedJsonIsWrittenAsIs() {
+        Encoder<Object> delegate = mock(Encoder.class);
+        EncodedJsonEncoder encoder = new EncodedJsonEncoder(delegate);
+        byte[] bytes = "{\"name\":\"alpha\"}".getBytes(StandardCharsets.UTF_8);
+
+        DataBuffer buffer = encoder.encodeValue(new EncodedJson(bytes), bufferFactory,
+                ResolvableType.forClass(Object.class), MediaType.APPLICATION_JSON, Map.of());
+
+        assertArrayEquals(bytes, toBytes(buffer));
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void testOtherValuesAreWrittenByJackson() {
+        EncodedJsonEncoder encoder = new EncodedJsonEncoder(new Jackson2JsonEncoder(new ObjectMapper()));
+
+        DataBuffer buffer = encoder.encodeValue(Map.of("name", "beta"), bufferFactory,
+                ResolvableType.forClass(Map.class), MediaType.APPLICATION_JSON, Map.of());
+
+        assertEquals("{\"name\":\"beta\"}", new String(toBytes(buffer), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,44 @@
+package ru.itmo.spaceships.generator;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import ru.itmo.spaceships.model.SpaceShipEntity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ParallelGeneratorTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC);
+    // Не кратно размеру части, чтобы последняя часть была неполной
+    private static final int COUNT = 10 * ParallelGenerator.CHUNK_SIZE - 240;
+
+    @Test
+    void testResultDoesNotDependOnThreadCount() {
+        List<SpaceShipEntity> single = generateInPool(42L, 1);
+        List<SpaceShipEntity> parallel = generateInPool(42L, 8);
+
+        assertEquals(COUNT, single.size());
+        assertEquals(single, parallel);
+    }
+
+    @Test
+    void testSeedChangesResult() {
+        assertNotEquals(generateInPool(42L, 2), generateInPool(43L, 2));
+    }
+
+    private static List<SpaceShipEntity> generateInPool(long seed, int threads) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            ParallelGenerator<SpaceShipEntity> generator = new ParallelGenerator<>(seed, CLOCK, SpaseShipGenerator::new);
+            return pool.submit(() -> generator.generateMany(COUNT)).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
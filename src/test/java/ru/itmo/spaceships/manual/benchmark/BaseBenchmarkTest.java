@@ -23,8 +23,15 @@ public abstract class BaseBenchmarkTest {
 
     @Test
     public void run() {
-        BenchmarkRunner.run(getClass(), getReportPath());
+        BenchmarkRunner.run(getClass(), getReportPath(), isProfileAllocations());
     }
 
     protected abstract String getReportPath();
+
+    /**
+     * Замерять ли выделение памяти на операцию
+     */
+    protected boolean isProfileAllocations() {
+        return false;
+    }
 }
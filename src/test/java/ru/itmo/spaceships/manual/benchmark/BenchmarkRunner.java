@@ -4,9 +4,10 @@ import java.io.File;
 import java.io.IOException;
 
 import lombok.SneakyThrows;
+import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.results.format.ResultFormatType;
 import org.openjdk.jmh.runner.Runner;
-import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
 /**
@@ -14,17 +15,26 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
  */
 public class BenchmarkRunner {
 
-    @SneakyThrows
     public static void run(Class<?> cls, String reportPath) {
+        run(cls, reportPath, false);
+    }
+
+    /**
+     * @param profileAllocations добавить в отчет gc.alloc.rate.norm - сколько байт выделяется за операцию
+     */
+    @SneakyThrows
+    public static void run(Class<?> cls, String reportPath, boolean profileAllocations) {
         createFileIfNotExist(reportPath);
 
-        Options opt = new OptionsBuilder()
+        ChainedOptionsBuilder opt = new OptionsBuilder()
                 .include(cls.getSimpleName())
                 .result(reportPath)
-                .resultFormat(ResultFormatType.TEXT)
-                .build();
+                .resultFormat(ResultFormatType.TEXT);
+        if (profileAllocations) {
+            opt.addProfiler(GCProfiler.class);
+        }
 
-        new Runner(opt).run();
+        new Runner(opt.build()).run();
     }
 
     @SuppressWarnings("ResultOfMethodCallIgnored")
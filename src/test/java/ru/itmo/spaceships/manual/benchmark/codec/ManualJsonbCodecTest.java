@@ -0,0 +1,77 @@
+package ru.itmo.spaceships.manual.benchmark.codec;
+
+import java.util.List;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.r2dbc.postgresql.codec.Json;
+import org.junit.jupiter.api.Disabled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.itmo.spaceships.manual.benchmark.BaseBenchmarkTest;
+import ru.itmo.spaceships.manual.benchmark.config.JsonbColumnsConfig;
+import ru.itmo.spaceships.model.CrewMember;
+import ru.itmo.spaceships.model.Dimensions;
+import ru.itmo.spaceships.model.Engine;
+import ru.itmo.spaceships.model.SpaceShipEntity;
+import ru.itmo.spaceships.service.ObjectMapperWrapper;
+
+/**
+ * Чтение и запись JSONB-колонок 10 000 кораблей.
+ * String-варианты повторяют прежние конвертеры: Json.asString, новый TypeReference на каждую строку
+ * и writeValueAsString. Codec-варианты - текущие конвертеры на байтах
+ */
+@Disabled("Только для ручного запуска")
+public class ManualJsonbCodecTest extends BaseBenchmarkTest {
+
+    @Benchmark
+    public void decodeStringRun(JsonbColumnsConfig config, Blackhole blackhole) {
+        ObjectMapperWrapper objectMapper = config.getObjectMapper();
+        for (int i = 0; i < config.getCrewColumns().size(); i++) {
+            List<CrewMember> crew = objectMapper.readValue(config.getCrewColumns().get(i).asString(),
+                    new TypeReference<>() {
+                    });
+            blackhole.consume(crew);
+            blackhole.consume(objectMapper.readValue(config.getEngineColumns().get(i).asString(), Engine.class));
+            blackhole.consume(objectMapper.readValue(config.getDimensionsColumns().get(i).asString(),
+                    Dimensions.class));
+        }
+    }
+
+    @Benchmark
+    public void decodeCodecRun(JsonbColumnsConfig config, Blackhole blackhole) {
+        for (int i = 0; i < config.getCrewColumns().size(); i++) {
+            blackhole.consume(config.getCrewReadingConverter().convert(config.getCrewColumns().get(i)));
+            blackhole.consume(config.getEngineReadingConverter().convert(config.getEngineColumns().get(i)));
+            blackhole.consume(config.getDimensionsReadingConverter().convert(config.getDimensionsColumns().get(i)));
+        }
+    }
+
+    @Benchmark
+    public void encodeStringRun(JsonbColumnsConfig config, Blackhole blackhole) {
+        ObjectMapperWrapper objectMapper = config.getObjectMapper();
+        for (SpaceShipEntity ship : config.getShips()) {
+            blackhole.consume(Json.of(objectMapper.writeValueAsString(ship.getCrew())));
+            blackhole.consume(Json.of(objectMapper.writeValueAsString(ship.getEngine())));
+            blackhole.consume(Json.of(objectMapper.writeValueAsString(ship.getDimensions())));
+        }
+    }
+
+    @Benchmark
+    public void encodeCodecRun(JsonbColumnsConfig config, Blackhole blackhole) {
+        for (SpaceShipEntity ship : config.getShips()) {
+            blackhole.consume(config.getCrewWritingConverter().convert(ship.getCrew()));
+            blackhole.consume(config.getEngineWritingConverter().convert(ship.getEngine()));
+            blackhole.consume(config.getDimensionsWritingConverter().convert(ship.getDimensions()));
+        }
+    }
+
+    @Override
+    protected String getReportPath() {
+        return "reports/benchmarks/JsonbCodec/result.txt";
+    }
+
+    @Override
+    protected boolean isProfileAllocations() {
+        return true;
+    }
+}
@@ -0,0 +1,286 @@
+package ru.itmo.spaceships.manual.benchmark.columnar;
+
+import java.time.Month;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Disabled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.itmo.spaceships.manual.benchmark.BaseBenchmarkTest;
+import ru.itmo.spaceships.manual.benchmark.config.SpaceShipColumnsConfig;
+import ru.itmo.spaceships.manual.benchmark.config.SpaseShipsConfig;
+import ru.itmo.spaceships.manual.benchmark.config.StatisticsConfig;
+import ru.itmo.spaceships.model.SpaceShipEntity;
+import ru.itmo.spaceships.statistics.birthday.CycleBirthdayMonthCounterStatistics;
+import ru.itmo.spaceships.statistics.columnar.ColumnarBirthdayMonthCounterStatistics;
+import ru.itmo.spaceships.statistics.columnar.ColumnarManufacturerCounterStatistics;
+import ru.itmo.spaceships.statistics.columnar.ColumnarSpaceShipStatistics;
+import ru.itmo.spaceships.statistics.columnar.SpaceShipColumns;
+import ru.itmo.spaceships.statistics.manufacturer.CycleManufacturerCounterStatistics;
+import ru.itmo.spaceships.statistics.overall.CycleSpaceShipStatistics;
+import ru.itmo.spaceships.statistics.overall.OverallStatistics;
+
+@Disabled("Только для ручного запуска")
+public class ManualColumnarStatisticsTest extends BaseBenchmarkTest {
+
+    @Benchmark
+    public void smallManufacturerCycleRun(
+            StatisticsConfig statisticsConfig,
+            SpaseShipsConfig spaseShipsConfig,
+            Blackhole blackhole
+    ) {
+        CycleManufacturerCounterStatistics statistics = statisticsConfig.getCycleManufacturerCounterStatistics();
+        List<SpaceShipEntity> batch = spaseShipsConfig.getSmallBatch();
+
+        Map<String, Long> result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void smallManufacturerColumnarRun(
+            StatisticsConfig statisticsConfig,
+            SpaceShipColumnsConfig spaceShipColumnsConfig,
+            Blackhole blackhole
+    ) {
+        ColumnarManufacturerCounterStatistics statistics = statisticsConfig.getColumnarManufacturerCounterStatistics();
+        SpaceShipColumns batch = spaceShipColumnsConfig.getSmallBatch();
+
+        Map<String, Long> result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void smallOverallCycleRun(
+            StatisticsConfig statisticsConfig,
+            SpaseShipsConfig spaseShipsConfig,
+            Blackhole blackhole
+    ) {
+        CycleSpaceShipStatistics statistics = statisticsConfig.getCycleSpaceShipStatistics();
+        List<SpaceShipEntity> batch = spaseShipsConfig.getSmallBatch();
+
+        OverallStatistics result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void smallOverallColumnarRun(
+            StatisticsConfig statisticsConfig,
+            SpaceShipColumnsConfig spaceShipColumnsConfig,
+            Blackhole blackhole
+    ) {
+        ColumnarSpaceShipStatistics statistics = statisticsConfig.getColumnarSpaceShipStatistics();
+        SpaceShipColumns batch = spaceShipColumnsConfig.getSmallBatch();
+
+        OverallStatistics result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void smallBirthdayMonthCycleRun(
+            StatisticsConfig statisticsConfig,
+            SpaseShipsConfig spaseShipsConfig,
+            Blackhole blackhole
+    ) {
+        CycleBirthdayMonthCounterStatistics statistics = statisticsConfig.getCycleBirthdayMonthCounterStatistics();
+        List<SpaceShipEntity> batch = spaseShipsConfig.getSmallBatch();
+
+        Map<Month, Long> result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void smallBirthdayMonthColumnarRun(
+            StatisticsConfig statisticsConfig,
+            SpaceShipColumnsConfig spaceShipColumnsConfig,
+            Blackhole blackhole
+    ) {
+        ColumnarBirthdayMonthCounterStatistics statistics =
+                statisticsConfig.getColumnarBirthdayMonthCounterStatistics();
+        SpaceShipColumns batch = spaceShipColumnsConfig.getSmallBatch();
+
+        Map<Month, Long> result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void mediumManufacturerCycleRun(
+            StatisticsConfig statisticsConfig,
+            SpaseShipsConfig spaseShipsConfig,
+            Blackhole blackhole
+    ) {
+        CycleManufacturerCounterStatistics statistics = statisticsConfig.getCycleManufacturerCounterStatistics();
+        List<SpaceShipEntity> batch = spaseShipsConfig.getMediumBatch();
+
+        Map<String, Long> result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void mediumManufacturerColumnarRun(
+            StatisticsConfig statisticsConfig,
+            SpaceShipColumnsConfig spaceShipColumnsConfig,
+            Blackhole blackhole
+    ) {
+        ColumnarManufacturerCounterStatistics statistics = statisticsConfig.getColumnarManufacturerCounterStatistics();
+        SpaceShipColumns batch = spaceShipColumnsConfig.getMediumBatch();
+
+        Map<String, Long> result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void mediumOverallCycleRun(
+            StatisticsConfig statisticsConfig,
+            SpaseShipsConfig spaseShipsConfig,
+            Blackhole blackhole
+    ) {
+        CycleSpaceShipStatistics statistics = statisticsConfig.getCycleSpaceShipStatistics();
+        List<SpaceShipEntity> batch = spaseShipsConfig.getMediumBatch();
+
+        OverallStatistics result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void mediumOverallColumnarRun(
+            StatisticsConfig statisticsConfig,
+            SpaceShipColumnsConfig spaceShipColumnsConfig,
+            Blackhole blackhole
+    ) {
+        ColumnarSpaceShipStatistics statistics = statisticsConfig.getColumnarSpaceShipStatistics();
+        SpaceShipColumns batch = spaceShipColumnsConfig.getMediumBatch();
+
+        OverallStatistics result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void mediumBirthdayMonthCycleRun(
+            StatisticsConfig statisticsConfig,
+            SpaseShipsConfig spaseShipsConfig,
+            Blackhole blackhole
+    ) {
+        CycleBirthdayMonthCounterStatistics statistics = statisticsConfig.getCycleBirthdayMonthCounterStatistics();
+        List<SpaceShipEntity> batch = spaseShipsConfig.getMediumBatch();
+
+        Map<Month, Long> result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void mediumBirthdayMonthColumnarRun(
+            StatisticsConfig statisticsConfig,
+            SpaceShipColumnsConfig spaceShipColumnsConfig,
+            Blackhole blackhole
+    ) {
+        ColumnarBirthdayMonthCounterStatistics statistics =
+                statisticsConfig.getColumnarBirthdayMonthCounterStatistics();
+        SpaceShipColumns batch = spaceShipColumnsConfig.getMediumBatch();
+
+        Map<Month, Long> result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void largeManufacturerCycleRun(
+            StatisticsConfig statisticsConfig,
+            SpaseShipsConfig spaseShipsConfig,
+            Blackhole blackhole
+    ) {
+        CycleManufacturerCounterStatistics statistics = statisticsConfig.getCycleManufacturerCounterStatistics();
+        List<SpaceShipEntity> batch = spaseShipsConfig.getLargeBatch();
+
+        Map<String, Long> result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void largeManufacturerColumnarRun(
+            StatisticsConfig statisticsConfig,
+            SpaceShipColumnsConfig spaceShipColumnsConfig,
+            Blackhole blackhole
+    ) {
+        ColumnarManufacturerCounterStatistics statistics = statisticsConfig.getColumnarManufacturerCounterStatistics();
+        SpaceShipColumns batch = spaceShipColumnsConfig.getLargeBatch();
+
+        Map<String, Long> result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void largeOverallCycleRun(
+            StatisticsConfig statisticsConfig,
+            SpaseShipsConfig spaseShipsConfig,
+            Blackhole blackhole
+    ) {
+        CycleSpaceShipStatistics statistics = statisticsConfig.getCycleSpaceShipStatistics();
+        List<SpaceShipEntity> batch = spaseShipsConfig.getLargeBatch();
+
+        OverallStatistics result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void largeOverallColumnarRun(
+            StatisticsConfig statisticsConfig,
+            SpaceShipColumnsConfig spaceShipColumnsConfig,
+            Blackhole blackhole
+    ) {
+        ColumnarSpaceShipStatistics statistics = statisticsConfig.getColumnarSpaceShipStatistics();
+        SpaceShipColumns batch = spaceShipColumnsConfig.getLargeBatch();
+
+        OverallStatistics result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void largeBirthdayMonthCycleRun(
+            StatisticsConfig statisticsConfig,
+            SpaseShipsConfig spaseShipsConfig,
+            Blackhole blackhole
+    ) {
+        CycleBirthdayMonthCounterStatistics statistics = statisticsConfig.getCycleBirthdayMonthCounterStatistics();
+        List<SpaceShipEntity> batch = spaseShipsConfig.getLargeBatch();
+
+        Map<Month, Long> result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void largeBirthdayMonthColumnarRun(
+            StatisticsConfig statisticsConfig,
+            SpaceShipColumnsConfig spaceShipColumnsConfig,
+            Blackhole blackhole
+    ) {
+        ColumnarBirthdayMonthCounterStatistics statistics =
+                statisticsConfig.getColumnarBirthdayMonthCounterStatistics();
+        SpaceShipColumns batch = spaceShipColumnsConfig.getLargeBatch();
+
+        Map<Month, Long> result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Override
+    protected String getReportPath() {
+        return "reports/benchmarks/Columnar/result.txt";
+    }
+}
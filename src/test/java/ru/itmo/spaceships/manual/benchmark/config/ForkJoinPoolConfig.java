@@ -0,0 +1,35 @@
+package ru.itmo.spaceships.manual.benchmark.config;
+
+import java.util.concurrent.ForkJoinPool;
+
+import lombok.Getter;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Состояние с пулом ForkJoinPool, количество потоков которого перебирается JMH.
+ * Параллельные стримы, запущенные из задачи пула, работают в нём, а не в общем пуле
+ */
+@Getter
+@State(Scope.Benchmark)
+public class ForkJoinPoolConfig {
+
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,82 @@
+package ru.itmo.spaceships.manual.benchmark.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.r2dbc.postgresql.codec.Json;
+import lombok.Getter;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.itmo.spaceships.converter.CrewMemberListReadingConverter;
+import ru.itmo.spaceships.converter.CrewMemberListWritingConverter;
+import ru.itmo.spaceships.converter.DimensionsReadingConverter;
+import ru.itmo.spaceships.converter.DimensionsWritingConverter;
+import ru.itmo.spaceships.converter.EngineReadingConverter;
+import ru.itmo.spaceships.converter.EngineWritingConverter;
+import ru.itmo.spaceships.converter.JsonbCodec;
+import ru.itmo.spaceships.converter.StringInterner;
+import ru.itmo.spaceships.generator.SpaseShipGenerator;
+import ru.itmo.spaceships.model.CrewMember;
+import ru.itmo.spaceships.model.Dimensions;
+import ru.itmo.spaceships.model.Engine;
+import ru.itmo.spaceships.model.SpaceShipEntity;
+import ru.itmo.spaceships.service.ObjectMapperWrapper;
+
+/**
+ * Состояние с JSONB-колонками 10 000 кораблей в том виде, в котором их возвращает драйвер (массив байт),
+ * и конвертерами, настроенными так же, как в приложении
+ */
+@Getter
+@State(Scope.Benchmark)
+public class JsonbColumnsConfig {
+
+    private static final int ROWS = 10_000;
+
+    private ObjectMapperWrapper objectMapper;
+    private List<SpaceShipEntity> ships;
+    private List<Json> crewColumns;
+    private List<Json> engineColumns;
+    private List<Json> dimensionsColumns;
+
+    private CrewMemberListReadingConverter crewReadingConverter;
+    private CrewMemberListWritingConverter crewWritingConverter;
+    private EngineReadingConverter engineReadingConverter;
+    private EngineWritingConverter engineWritingConverter;
+    private DimensionsReadingConverter dimensionsReadingConverter;
+    private DimensionsWritingConverter dimensionsWritingConverter;
+
+    @Setup(Level.Trial)
+    public void setUp(RandomConfig randomConfig) {
+        // Настройки как у ObjectMapper из Spring Boot: модули из classpath и даты строками
+        objectMapper = new ObjectMapperWrapper(JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+
+        JsonbCodec<List<CrewMember>> crewCodec = JsonbCodec.of(objectMapper, new TypeReference<>() {
+        });
+        JsonbCodec<Engine> engineCodec = JsonbCodec.of(objectMapper, Engine.class);
+        JsonbCodec<Dimensions> dimensionsCodec = JsonbCodec.of(objectMapper, Dimensions.class);
+        crewReadingConverter = new CrewMemberListReadingConverter(crewCodec, new StringInterner());
+        crewWritingConverter = new CrewMemberListWritingConverter(crewCodec);
+        engineReadingConverter = new EngineReadingConverter(engineCodec);
+        engineWritingConverter = new EngineWritingConverter(engineCodec);
+        dimensionsReadingConverter = new DimensionsReadingConverter(dimensionsCodec);
+        dimensionsWritingConverter = new DimensionsWritingConverter(dimensionsCodec);
+
+        ships = new SpaseShipGenerator(randomConfig.getSeededRandom()).generateMany(ROWS);
+        crewColumns = new ArrayList<>(ROWS);
+        engineColumns = new ArrayList<>(ROWS);
+        dimensionsColumns = new ArrayList<>(ROWS);
+        for (SpaceShipEntity ship : ships) {
+            crewColumns.add(Json.of(crewWritingConverter.convert(ship.getCrew()).asArray()));
+            engineColumns.add(Json.of(engineWritingConverter.convert(ship.getEngine()).asArray()));
+            dimensionsColumns.add(Json.of(dimensionsWritingConverter.convert(ship.getDimensions()).asArray()));
+        }
+    }
+}
@@ -14,5 +14,10 @@ import org.openjdk.jmh.annotations.State;
 @Getter
 @State(Scope.Benchmark)
 public class RandomConfig {
-    private final Random seededRandom = new Random(1758979187L);
+    /**
+     * Зерно для генераторов, которым нужен не Random, а только само зерно
+     */
+    public static final long SEED = 1758979187L;
+
+    private final Random seededRandom = new Random(SEED);
 }
@@ -0,0 +1,28 @@
+package ru.itmo.spaceships.manual.benchmark.config;
+
+import lombok.Getter;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.itmo.spaceships.statistics.columnar.SpaceShipColumns;
+
+/**
+ * Состояние с колоночными снимками тех же групп кораблей, что и в {@link SpaseShipsConfig}.
+ * Снимки строятся один раз, чтобы замерять только сам расчет статистики
+ */
+@Getter
+@State(Scope.Benchmark)
+public class SpaceShipColumnsConfig {
+
+    private SpaceShipColumns smallBatch;
+    private SpaceShipColumns mediumBatch;
+    private SpaceShipColumns largeBatch;
+
+    @Setup(Level.Trial)
+    public void setUp(SpaseShipsConfig spaseShipsConfig) {
+        smallBatch = SpaceShipColumns.of(spaseShipsConfig.getSmallBatch());
+        mediumBatch = SpaceShipColumns.of(spaseShipsConfig.getMediumBatch());
+        largeBatch = SpaceShipColumns.of(spaseShipsConfig.getLargeBatch());
+    }
+}
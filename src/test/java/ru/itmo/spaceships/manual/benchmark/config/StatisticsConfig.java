@@ -1,10 +1,19 @@
 package ru.itmo.spaceships.manual.benchmark.config;
 
 import lombok.Getter;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import ru.itmo.spaceships.statistics.StatisticsExecutor;
+import ru.itmo.spaceships.statistics.birthday.CycleBirthdayMonthCounterStatistics;
+import ru.itmo.spaceships.statistics.columnar.ColumnarBirthdayMonthCounterStatistics;
+import ru.itmo.spaceships.statistics.columnar.ColumnarManufacturerCounterStatistics;
+import ru.itmo.spaceships.statistics.columnar.ColumnarSpaceShipStatistics;
 import ru.itmo.spaceships.statistics.manufacturer.*;
 import ru.itmo.spaceships.statistics.overall.ConcurrentStreamSpaceShipStatistics;
+import ru.itmo.spaceships.statistics.overall.CycleSpaceShipStatistics;
+import ru.itmo.spaceships.statistics.overall.FusedConcurrentSpaceShipStatistics;
 import ru.itmo.spaceships.statistics.overall.SequenceStreamSpaceShipStatistics;
 import ru.itmo.spaceships.statistics.overall.SpliteratorConcurrentStreamSpaceShipStatistics;
 
@@ -15,8 +24,16 @@ import ru.itmo.spaceships.statistics.overall.SpliteratorConcurrentStreamSpaceShi
 @Getter
 @State(Scope.Benchmark)
 public class StatisticsConfig {
+	/**
+	 * Собственные пулы параллельных статистик, закрываются после замеров
+	 */
+	private final StatisticsExecutor narrowExecutor = StatisticsExecutor.dedicated(10);
+	private final StatisticsExecutor wideExecutor = StatisticsExecutor.dedicated(20);
+
 	private final CycleManufacturerCounterStatistics cycleManufacturerCounterStatistics =
 			new CycleManufacturerCounterStatistics();
+	private final DictionaryManufacturerCounterStatistics dictionaryManufacturerCounterStatistics =
+			new DictionaryManufacturerCounterStatistics();
 
 	private final StreamManufacturerCounterStatistics streamManufacturerCounterStatistics =
 			new StreamManufacturerCounterStatistics();
@@ -26,9 +43,9 @@ public class StatisticsConfig {
 	private final ConcurrentStreamManufacturerCounterStatistics concurrentStreamManufacturerCounterStatistics =
 			new ConcurrentStreamManufacturerCounterStatistics();
 	private final ConcurrentStreamManufacturerCounterStatistics concurrentDelayedStreamManufacturerCounterStatistics =
-			new ConcurrentStreamManufacturerCounterStatistics(1L, 10);
+			new ConcurrentStreamManufacturerCounterStatistics(1L, narrowExecutor);
 	private final ConcurrentStreamManufacturerCounterStatistics concurrentWideStreamManufacturerCounterStatistics =
-			new ConcurrentStreamManufacturerCounterStatistics(1L, 20);
+			new ConcurrentStreamManufacturerCounterStatistics(1L, wideExecutor);
 
 	private final SpliteratorStreamManufacturerCounterStatistics spliteratorStreamManufacturerCounterStatistics =
 			new SpliteratorStreamManufacturerCounterStatistics();
@@ -41,6 +58,8 @@ public class StatisticsConfig {
 			new SpliteratorConcurrentStreamSpaceShipStatistics();
 	private final ConcurrentStreamSpaceShipStatistics concurrentDelayedStreamSpaceShipStatistics =
 			new ConcurrentStreamSpaceShipStatistics(5L);
+	private final FusedConcurrentSpaceShipStatistics fusedConcurrentSpaceShipStatistics =
+			new FusedConcurrentSpaceShipStatistics();
 	private final SequenceStreamSpaceShipStatistics sequenceStreamSpaceShipStatistics =
 			new SequenceStreamSpaceShipStatistics();
 	private final SequenceStreamSpaceShipStatistics sequenceDelayedStreamSpaceShipStatistics =
@@ -54,4 +73,25 @@ public class StatisticsConfig {
 			new RxBackpressureManufacturerCounterStatistics(1_000, true);
 	private final RxBackpressureParallelManufacturerCounterStatistics rxParallelManufacturerCounterStatistics =
 			new RxBackpressureParallelManufacturerCounterStatistics(8_000);
+
+	private final ThreadPerTaskManufacturerCounterStatistics threadPerTaskDelayedManufacturerCounterStatistics =
+			new ThreadPerTaskManufacturerCounterStatistics(1L);
+
+	private final CycleSpaceShipStatistics cycleSpaceShipStatistics =
+			new CycleSpaceShipStatistics();
+	private final CycleBirthdayMonthCounterStatistics cycleBirthdayMonthCounterStatistics =
+			new CycleBirthdayMonthCounterStatistics();
+
+	private final ColumnarManufacturerCounterStatistics columnarManufacturerCounterStatistics =
+			new ColumnarManufacturerCounterStatistics();
+	private final ColumnarSpaceShipStatistics columnarSpaceShipStatistics =
+			new ColumnarSpaceShipStatistics();
+	private final ColumnarBirthdayMonthCounterStatistics columnarBirthdayMonthCounterStatistics =
+			new ColumnarBirthdayMonthCounterStatistics();
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		narrowExecutor.close();
+		wideExecutor.close();
+	}
 }
@@ -0,0 +1,31 @@
+package ru.itmo.spaceships.manual.benchmark.config;
+
+import java.util.List;
+
+import lombok.Getter;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.itmo.spaceships.generator.SpaseShipGenerator;
+import ru.itmo.spaceships.model.SpaceShipEntity;
+
+/**
+ * Состояние с пачкой кораблей, размер которой перебирается JMH.
+ * Нужно, чтобы найти размер, начиная с которого один способ обхода выигрывает у другого
+ */
+@Getter
+@State(Scope.Benchmark)
+public class SweepSpaseShipsConfig {
+
+    @Param({"100", "1000", "5000", "20000", "100000", "250000"})
+    private int size;
+
+    private List<SpaceShipEntity> batch;
+
+    @Setup(Level.Trial)
+    public void setUp(RandomConfig randomConfig) {
+        batch = new SpaseShipGenerator(randomConfig.getSeededRandom()).generateMany(size);
+    }
+}
@@ -0,0 +1,53 @@
+package ru.itmo.spaceships.manual.benchmark.generator;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Disabled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.itmo.spaceships.generator.ParallelGenerator;
+import ru.itmo.spaceships.generator.SpaseShipGenerator;
+import ru.itmo.spaceships.manual.benchmark.BaseBenchmarkTest;
+import ru.itmo.spaceships.manual.benchmark.config.ForkJoinPoolConfig;
+import ru.itmo.spaceships.manual.benchmark.config.RandomConfig;
+import ru.itmo.spaceships.model.SpaceShipEntity;
+
+/**
+ * Генерация пачки размера largeBatch: последовательно на общем Random и параллельно
+ * на SplittableRandom в пуле с разным количеством потоков.
+ * Параллельный вариант при любом количестве потоков генерирует один и тот же флот
+ */
+@Disabled("Только для ручного запуска")
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ManualParallelSpaseShipGeneratorTest extends BaseBenchmarkTest {
+
+    private static final int LARGE_BATCH_SIZE = 250_000;
+
+    @Benchmark
+    public void largeBatchSequentialRun(Blackhole blackhole) {
+        SpaseShipGenerator generator = new SpaseShipGenerator(new Random(RandomConfig.SEED));
+
+        List<SpaceShipEntity> result = generator.generateMany(LARGE_BATCH_SIZE);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void largeBatchParallelRun(ForkJoinPoolConfig forkJoinPoolConfig, Blackhole blackhole) {
+        ParallelGenerator<SpaceShipEntity> generator = ParallelGenerator.spaceships(RandomConfig.SEED);
+
+        List<SpaceShipEntity> result = forkJoinPoolConfig.getPool()
+                .submit(() -> generator.generateMany(LARGE_BATCH_SIZE))
+                .join();
+
+        blackhole.consume(result);
+    }
+
+    @Override
+    protected String getReportPath() {
+        return "reports/benchmarks/SpaseShipGenerator/result-parallel.txt";
+    }
+}
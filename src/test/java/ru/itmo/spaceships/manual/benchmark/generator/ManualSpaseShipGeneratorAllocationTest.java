@@ -0,0 +1,147 @@
+package ru.itmo.spaceships.manual.benchmark.generator;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Disabled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.itmo.spaceships.generator.DimensionsGenerator;
+import ru.itmo.spaceships.generator.SpaseShipGenerator;
+import ru.itmo.spaceships.manual.benchmark.BaseBenchmarkTest;
+import ru.itmo.spaceships.manual.benchmark.config.RandomConfig;
+import ru.itmo.spaceships.model.CrewMember;
+import ru.itmo.spaceships.model.Dimensions;
+import ru.itmo.spaceships.model.Engine;
+import ru.itmo.spaceships.model.FuelType;
+import ru.itmo.spaceships.model.SpaceShipEntity;
+import ru.itmo.spaceships.model.SpaceShipType;
+
+/**
+ * Время и выделение памяти на один сгенерированный корабль.
+ * legacyRun повторяет прежний генератор: Instant.now и String.format на каждый корабль,
+ * Period.between и склейка имени на каждого члена экипажа. generateOneRun - текущий генератор
+ * по одному кораблю, generateManyRun - пачкой, с одним моментом времени на пачку
+ */
+@Disabled("Только для ручного запуска")
+@OperationsPerInvocation(ManualSpaseShipGeneratorAllocationTest.SHIPS)
+public class ManualSpaseShipGeneratorAllocationTest extends BaseBenchmarkTest {
+
+    static final int SHIPS = 1_000;
+
+    @Benchmark
+    public void legacyRun(Blackhole blackhole) {
+        LegacySpaseShipGenerator generator = new LegacySpaseShipGenerator(new Random(RandomConfig.SEED));
+
+        for (int i = 0; i < SHIPS; i++) {
+            blackhole.consume(generator.generateOne());
+        }
+    }
+
+    @Benchmark
+    public void generateOneRun(Blackhole blackhole) {
+        SpaseShipGenerator generator = new SpaseShipGenerator(new Random(RandomConfig.SEED));
+
+        for (int i = 0; i < SHIPS; i++) {
+            blackhole.consume(generator.generateOne());
+        }
+    }
+
+    @Benchmark
+    public void generateManyRun(Blackhole blackhole) {
+        SpaseShipGenerator generator = new SpaseShipGenerator(new Random(RandomConfig.SEED));
+
+        blackhole.consume(generator.generateMany(SHIPS));
+    }
+
+    @Override
+    protected String getReportPath() {
+        return "reports/benchmarks/SpaseShipGenerator/result-allocation.txt";
+    }
+
+    @Override
+    protected boolean isProfileAllocations() {
+        return true;
+    }
+
+    /**
+     * Прежний генератор кораблей, двигателей, экипажа и имён. Тратит случайные числа в том же порядке,
+     * что и текущий, поэтому генерирует те же корабли
+     */
+    private static class LegacySpaseShipGenerator {
+
+        private static final String[] FIRST_NAMES = {
+                "Иван", "Алексей", "Дмитрий", "Сергей", "Павел",
+                "Фёдор", "Александр", "Евгений", "Олег", "Артём"
+        };
+        private static final String[] LAST_NAMES = {
+                "Иванов", "Петров", "Сидоров", "Кузнецов", "Смирнов",
+                "Соколов", "Попов", "Морозов", "Волков", "Фёдоров"
+        };
+        private static final String[] RANKS = {
+                "Капитан", "Старший помощник", "Штурман",
+                "Инженер", "Механик", "Бортпроводник"
+        };
+        private static final String[] ENGINE_MANUFACTURERS = {
+                "GAZ", "UAZ", "Kuznetsov", "ELSIB", "Saturn", "Kamaz", "RUMO"
+        };
+        private static final LocalDate MIN_BIRTH_DATE = LocalDate.of(1960, 1, 1);
+        private static final LocalDate MAX_BIRTH_DATE = LocalDate.of(2001, 1, 1);
+
+        private final Random random;
+        private final DimensionsGenerator dimensionsGenerator;
+
+        LegacySpaseShipGenerator(Random random) {
+            this.random = random;
+            this.dimensionsGenerator = new DimensionsGenerator(random);
+        }
+
+        SpaceShipEntity generateOne() {
+            long serial = random.nextLong(0, SpaseShipGenerator.JS_MAX_SAFE_INTEGER);
+            String manufacturer = SpaseShipGenerator.MANUFACTURERS.get(
+                    random.nextInt(SpaseShipGenerator.MANUFACTURERS.size()));
+            Instant manufactureDate = Instant.now().minusSeconds(random.nextInt(1_000_000));
+            String name = String.format("SS-%s", random.nextInt(1_000, 9_000));
+            SpaceShipType[] spaceShipTypes = SpaceShipType.values();
+            SpaceShipType spaceShipType = spaceShipTypes[random.nextInt(spaceShipTypes.length)];
+            Dimensions dimensions = dimensionsGenerator.generateOne();
+            Engine engine = generateEngine();
+            int crewSize = random.nextInt(10, 20);
+            List<CrewMember> crewMembers = new ArrayList<>(crewSize);
+            while (crewSize-- > 0) {
+                crewMembers.add(generateCrewMember());
+            }
+            int maxSpeed = random.nextInt(1_000, 10_000);
+            return new SpaceShipEntity(0L, serial, manufacturer, manufactureDate, name, spaceShipType, dimensions,
+                    engine, crewMembers, maxSpeed, 0L);
+        }
+
+        private Engine generateEngine() {
+            String manufacturer = ENGINE_MANUFACTURERS[random.nextInt(ENGINE_MANUFACTURERS.length)];
+            String model = String.format("%s Model-%s", manufacturer, random.nextInt(1, 5));
+            int thrust = random.nextInt(50, 500);
+            FuelType[] fuelTypes = FuelType.values();
+            FuelType fuelType = fuelTypes[random.nextInt(fuelTypes.length)];
+            double fuelConsumption = random.nextDouble(0.5, 10.0);
+            return new Engine(model, thrust, fuelType, fuelConsumption);
+        }
+
+        private CrewMember generateCrewMember() {
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            String fullName = String.format("%s %s", firstName, lastName);
+            String rank = RANKS[random.nextInt(RANKS.length)];
+            long days = ChronoUnit.DAYS.between(MIN_BIRTH_DATE, MAX_BIRTH_DATE);
+            LocalDate birthDate = MIN_BIRTH_DATE.plusDays(random.nextLong(days));
+            long age = Period.between(birthDate, LocalDate.now()).getYears();
+            int experienceYears = (int) Math.max(0, age - 18);
+            return new CrewMember(fullName, rank, experienceYears, birthDate);
+        }
+    }
+}
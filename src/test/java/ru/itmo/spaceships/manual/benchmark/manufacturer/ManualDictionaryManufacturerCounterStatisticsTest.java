@@ -0,0 +1,67 @@
+package ru.itmo.spaceships.manual.benchmark.manufacturer;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Disabled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.itmo.spaceships.manual.benchmark.BaseBenchmarkTest;
+import ru.itmo.spaceships.manual.benchmark.config.SpaseShipsConfig;
+import ru.itmo.spaceships.manual.benchmark.config.StatisticsConfig;
+import ru.itmo.spaceships.model.SpaceShipEntity;
+import ru.itmo.spaceships.statistics.manufacturer.DictionaryManufacturerCounterStatistics;
+
+@Disabled("Только для ручного запуска")
+public class ManualDictionaryManufacturerCounterStatisticsTest extends BaseBenchmarkTest {
+
+    @Benchmark
+    public void smallBatchRun(
+            StatisticsConfig statisticsConfig,
+            SpaseShipsConfig spaseShipsConfig,
+            Blackhole blackhole
+    ) {
+        DictionaryManufacturerCounterStatistics statistics =
+                statisticsConfig.getDictionaryManufacturerCounterStatistics();
+        List<SpaceShipEntity> batch = spaseShipsConfig.getSmallBatch();
+
+        Map<String, Long> result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void mediumBatchRun(
+            StatisticsConfig statisticsConfig,
+            SpaseShipsConfig spaseShipsConfig,
+            Blackhole blackhole
+    ) {
+        DictionaryManufacturerCounterStatistics statistics =
+                statisticsConfig.getDictionaryManufacturerCounterStatistics();
+        List<SpaceShipEntity> batch = spaseShipsConfig.getMediumBatch();
+
+        Map<String, Long> result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void largeBatchRun(
+            StatisticsConfig statisticsConfig,
+            SpaseShipsConfig spaseShipsConfig,
+            Blackhole blackhole
+    ) {
+        DictionaryManufacturerCounterStatistics statistics =
+                statisticsConfig.getDictionaryManufacturerCounterStatistics();
+        List<SpaceShipEntity> batch = spaseShipsConfig.getLargeBatch();
+
+        Map<String, Long> result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Override
+    protected String getReportPath() {
+        return "reports/benchmarks/ManufacturerCounterStatistics/dictionary/result.txt";
+    }
+}
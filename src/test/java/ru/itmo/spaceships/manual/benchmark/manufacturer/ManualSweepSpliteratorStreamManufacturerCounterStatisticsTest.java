@@ -0,0 +1,56 @@
+package ru.itmo.spaceships.manual.benchmark.manufacturer;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Disabled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.itmo.spaceships.manual.benchmark.BaseBenchmarkTest;
+import ru.itmo.spaceships.manual.benchmark.config.StatisticsConfig;
+import ru.itmo.spaceships.manual.benchmark.config.SweepSpaseShipsConfig;
+import ru.itmo.spaceships.model.SpaceShipEntity;
+import ru.itmo.spaceships.statistics.manufacturer.ConcurrentStreamManufacturerCounterStatistics;
+import ru.itmo.spaceships.statistics.manufacturer.SpliteratorStreamManufacturerCounterStatistics;
+
+/**
+ * Сравнение SpaceShipSpliterator со стандартным Spliterator у ArrayList на разных размерах пачки
+ */
+@Disabled("Только для ручного запуска")
+public class ManualSweepSpliteratorStreamManufacturerCounterStatisticsTest extends BaseBenchmarkTest {
+
+    @Benchmark
+    public void spliteratorRun(
+            StatisticsConfig statisticsConfig,
+            SweepSpaseShipsConfig sweepSpaseShipsConfig,
+            Blackhole blackhole
+    ) {
+        SpliteratorStreamManufacturerCounterStatistics statistics =
+                statisticsConfig.getSpliteratorStreamManufacturerCounterStatistics();
+        List<SpaceShipEntity> batch = sweepSpaseShipsConfig.getBatch();
+
+        Map<String, Long> result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void arrayListSpliteratorRun(
+            StatisticsConfig statisticsConfig,
+            SweepSpaseShipsConfig sweepSpaseShipsConfig,
+            Blackhole blackhole
+    ) {
+        ConcurrentStreamManufacturerCounterStatistics statistics =
+                statisticsConfig.getConcurrentStreamManufacturerCounterStatistics();
+        List<SpaceShipEntity> batch = sweepSpaseShipsConfig.getBatch();
+
+        Map<String, Long> result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Override
+    protected String getReportPath() {
+        return "reports/benchmarks/ManufacturerCounterStatistics/stream/result-spliterator-sweep.txt";
+    }
+}
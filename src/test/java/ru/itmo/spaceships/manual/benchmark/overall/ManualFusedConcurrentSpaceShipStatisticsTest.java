@@ -0,0 +1,157 @@
+package ru.itmo.spaceships.manual.benchmark.overall;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Disabled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.itmo.spaceships.manual.benchmark.BaseBenchmarkTest;
+import ru.itmo.spaceships.manual.benchmark.config.SpaseShipsConfig;
+import ru.itmo.spaceships.manual.benchmark.config.StatisticsConfig;
+import ru.itmo.spaceships.model.SpaceShipEntity;
+import ru.itmo.spaceships.statistics.overall.ConcurrentStreamSpaceShipStatistics;
+import ru.itmo.spaceships.statistics.overall.FusedConcurrentSpaceShipStatistics;
+import ru.itmo.spaceships.statistics.overall.OverallStatistics;
+import ru.itmo.spaceships.statistics.overall.SpliteratorConcurrentStreamSpaceShipStatistics;
+
+/**
+ * Один параллельный проход против семи параллельных стримов (обычных и со своим сплитератором)
+ * на пачках из 5 000, 50 000 и 250 000 кораблей
+ */
+@Disabled("Только для ручного запуска")
+public class ManualFusedConcurrentSpaceShipStatisticsTest extends BaseBenchmarkTest {
+
+    @Benchmark
+    public void smallBatchFusedRun(
+            StatisticsConfig statisticsConfig,
+            SpaseShipsConfig spaseShipsConfig,
+            Blackhole blackhole
+    ) {
+        FusedConcurrentSpaceShipStatistics statistics = statisticsConfig.getFusedConcurrentSpaceShipStatistics();
+        List<SpaceShipEntity> batch = spaseShipsConfig.getSmallBatch();
+
+        OverallStatistics result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void smallBatchConcurrentRun(
+            StatisticsConfig statisticsConfig,
+            SpaseShipsConfig spaseShipsConfig,
+            Blackhole blackhole
+    ) {
+        ConcurrentStreamSpaceShipStatistics statistics = statisticsConfig.getConcurrentStreamSpaceShipStatistics();
+        List<SpaceShipEntity> batch = spaseShipsConfig.getSmallBatch();
+
+        OverallStatistics result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void smallBatchSpliteratorRun(
+            StatisticsConfig statisticsConfig,
+            SpaseShipsConfig spaseShipsConfig,
+            Blackhole blackhole
+    ) {
+        SpliteratorConcurrentStreamSpaceShipStatistics statistics =
+                statisticsConfig.getSpliteratorStreamSpaceShipStatistics();
+        List<SpaceShipEntity> batch = spaseShipsConfig.getSmallBatch();
+
+        OverallStatistics result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void mediumBatchFusedRun(
+            StatisticsConfig statisticsConfig,
+            SpaseShipsConfig spaseShipsConfig,
+            Blackhole blackhole
+    ) {
+        FusedConcurrentSpaceShipStatistics statistics = statisticsConfig.getFusedConcurrentSpaceShipStatistics();
+        List<SpaceShipEntity> batch = spaseShipsConfig.getMediumBatch();
+
+        OverallStatistics result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void mediumBatchConcurrentRun(
+            StatisticsConfig statisticsConfig,
+            SpaseShipsConfig spaseShipsConfig,
+            Blackhole blackhole
+    ) {
+        ConcurrentStreamSpaceShipStatistics statistics = statisticsConfig.getConcurrentStreamSpaceShipStatistics();
+        List<SpaceShipEntity> batch = spaseShipsConfig.getMediumBatch();
+
+        OverallStatistics result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void mediumBatchSpliteratorRun(
+            StatisticsConfig statisticsConfig,
+            SpaseShipsConfig spaseShipsConfig,
+            Blackhole blackhole
+    ) {
+        SpliteratorConcurrentStreamSpaceShipStatistics statistics =
+                statisticsConfig.getSpliteratorStreamSpaceShipStatistics();
+        List<SpaceShipEntity> batch = spaseShipsConfig.getMediumBatch();
+
+        OverallStatistics result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void largeBatchFusedRun(
+            StatisticsConfig statisticsConfig,
+            SpaseShipsConfig spaseShipsConfig,
+            Blackhole blackhole
+    ) {
+        FusedConcurrentSpaceShipStatistics statistics = statisticsConfig.getFusedConcurrentSpaceShipStatistics();
+        List<SpaceShipEntity> batch = spaseShipsConfig.getLargeBatch();
+
+        OverallStatistics result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void largeBatchConcurrentRun(
+            StatisticsConfig statisticsConfig,
+            SpaseShipsConfig spaseShipsConfig,
+            Blackhole blackhole
+    ) {
+        ConcurrentStreamSpaceShipStatistics statistics = statisticsConfig.getConcurrentStreamSpaceShipStatistics();
+        List<SpaceShipEntity> batch = spaseShipsConfig.getLargeBatch();
+
+        OverallStatistics result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void largeBatchSpliteratorRun(
+            StatisticsConfig statisticsConfig,
+            SpaseShipsConfig spaseShipsConfig,
+            Blackhole blackhole
+    ) {
+        SpliteratorConcurrentStreamSpaceShipStatistics statistics =
+                statisticsConfig.getSpliteratorStreamSpaceShipStatistics();
+        List<SpaceShipEntity> batch = spaseShipsConfig.getLargeBatch();
+
+        OverallStatistics result = statistics.calculate(batch);
+
+        blackhole.consume(result);
+    }
+
+    @Override
+    protected String getReportPath() {
+        return "reports/benchmarks/Overall/stream/result-fused.txt";
+    }
+}
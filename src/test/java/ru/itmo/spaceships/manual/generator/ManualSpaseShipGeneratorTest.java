@@ -20,4 +20,4 @@ class ManualSpaseShipGeneratorTest {
 
         log.info("Generated: {}", generated);
     }
-}
\ No newline at end of file
+}
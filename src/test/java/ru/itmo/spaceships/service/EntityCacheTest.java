@@ -0,0 +1,100 @@
+package ru.itmo.spaceships.service;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EntityCacheTest {
+
+    private static Mono<String> load(Long key) {
+        return Mono.just("loaded " + key);
+    }
+
+    @Test
+    void testHotKeySurvivesScan() {
+        EntityCache<Long, String> cache = new EntityCache<>("test", 100);
+        cache.put(0L, "hot");
+        for (int i = 0; i < 5; i++) {
+            cache.getIfPresent(0L);
+        }
+
+        // Разовое чтение множества сущностей не вымывает сущность, которую продолжают читать,
+        // хотя между её чтениями проходит больше сущностей, чем помещается в кэш
+        for (long key = 1; key <= 10_000; key++) {
+            cache.get(key, EntityCacheTest::load).block();
+            if (key % 150 == 0) {
+                assertEquals("hot", cache.getIfPresent(0L));
+            }
+        }
+
+        assertEquals("hot", cache.getIfPresent(0L));
+        assertEquals(100, cache.size());
+    }
+
+    @Test
+    void testSizeStaysWithinMaximum() {
+        EntityCache<Long, String> cache = new EntityCache<>("test", 50);
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            long key = random.nextInt(500);
+            if (random.nextInt(10) == 0) {
+                cache.put(key, "put " + key);
+            } else {
+                cache.get(key, EntityCacheTest::load).block();
+            }
+            assertTrue(cache.size() <= 50);
+        }
+
+        EntityCache.Stats stats = cache.stats();
+        assertEquals(50, stats.size());
+        assertTrue(stats.evictions() > 0);
+        assertTrue(stats.hits() > 0);
+    }
+
+    @Test
+    void testLoadStartedBeforePutIsNotStored() {
+        EntityCache<Long, String> cache = new EntityCache<>("test", 100);
+        Sinks.One<String> loaded = Sinks.one();
+
+        Mono<String> result = cache.get(1L, key -> loaded.asMono()).cache();
+        result.subscribe();
+        cache.put(1L, "updated");
+        loaded.tryEmitValue("stale");
+
+        assertEquals("stale", result.block());
+        assertEquals("updated", cache.getIfPresent(1L));
+    }
+
+    @Test
+    void testLoadStartedBeforeInvalidateIsNotStored() {
+        EntityCache<Long, String> cache = new EntityCache<>("test", 100);
+        Sinks.One<String> loaded = Sinks.one();
+
+        cache.get(1L, key -> loaded.asMono()).subscribe();
+        cache.invalidate(1L);
+        loaded.tryEmitValue("deleted");
+
+        assertNull(cache.getIfPresent(1L));
+    }
+
+    @Test
+    void testWriteToAnotherKeyKeepsLoad() {
+        EntityCache<Long, String> cache = new EntityCache<>("test", 100);
+        Sinks.One<String> loaded = Sinks.one();
+
+        cache.get(1L, key -> loaded.asMono()).subscribe();
+        cache.put(2L, "other");
+        cache.invalidate(3L);
+        loaded.tryEmitValue("fresh");
+
+        assertEquals("fresh", cache.getIfPresent(1L));
+        assertEquals("other", cache.getIfPresent(2L));
+    }
+}
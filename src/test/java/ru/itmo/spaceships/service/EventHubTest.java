@@ -0,0 +1,245 @@
+package ru.itmo.spaceships.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+import ru.itmo.spaceships.exception.BaseException;
+import ru.itmo.spaceships.model.EventPosition;
+import ru.itmo.spaceships.service.EventHub.Conflation;
+import ru.itmo.spaceships.service.EventHub.Event;
+import ru.itmo.spaceships.service.EventHub.Filter;
+import ru.itmo.spaceships.service.EventHub.OverflowPolicy;
+import ru.itmo.spaceships.service.EventHub.SubscriberStats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Рассылка событий без Spring: клиент запрашивает события по одному через StepVerifier.
+ */
+class EventHubTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private record Update(String key, int version) {
+    }
+
+    private static EventHub<Update> hub(int bufferSize) {
+        return new EventHub<>("test", bufferSize, OverflowPolicy.DROP_OLDEST, Update::key, 16, null);
+    }
+
+    private static void publish(EventHub<Update> hub, int count) {
+        for (int i = 1; i <= count; i++) {
+            hub.publish(new Update("k" + i, 1));
+        }
+    }
+
+    private static SubscriberStats subscriber(EventHub<Update> hub) {
+        List<SubscriberStats> subscribers = hub.stats().subscribers();
+        assertEquals(1, subscribers.size());
+        return subscribers.get(0);
+    }
+
+    @Test
+    void testDropOldestKeepsNewestEvents() {
+        EventHub<Update> hub = hub(3);
+
+        StepVerifier.create(hub.subscribe(OverflowPolicy.DROP_OLDEST, null, null, null), 0)
+                .then(() -> publish(hub, 5))
+                .then(() -> {
+                    SubscriberStats stats = subscriber(hub);
+                    assertEquals(3, stats.lag());
+                    assertEquals(3, stats.maxLag());
+                    assertEquals(2, stats.dropped());
+                    assertEquals(0, stats.delivered());
+                })
+                .thenRequest(1)
+                .expectNextMatches(event -> event.id() == 3)
+                .then(() -> {
+                    SubscriberStats stats = subscriber(hub);
+                    assertEquals(2, stats.lag());
+                    assertEquals(1, stats.delivered());
+                })
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextMatches(event -> event.id() == 4)
+                .expectNextMatches(event -> event.id() == 5)
+                .thenCancel()
+                .verify(TIMEOUT);
+
+        assertEquals(5, hub.stats().published());
+        assertEquals(2, hub.stats().dropped());
+        assertEquals(0, hub.stats().disconnected());
+    }
+
+    @Test
+    void testConflateLatestReplacesQueueTail() {
+        EventHub<Update> hub = hub(3);
+
+        StepVerifier.create(hub.subscribe(OverflowPolicy.CONFLATE_LATEST, null, null, null), 0)
+                .then(() -> publish(hub, 5))
+                .then(() -> {
+                    SubscriberStats stats = subscriber(hub);
+                    assertEquals(3, stats.lag());
+                    assertEquals(3, stats.maxLag());
+                    assertEquals(2, stats.dropped());
+                })
+                .thenRequest(Long.MAX_VALUE)
+                // Хвост очереди хранит самое свежее событие, начало очереди не трогается
+                .expectNextMatches(event -> event.id() == 1)
+                .expectNextMatches(event -> event.id() == 2)
+                .expectNextMatches(event -> event.id() == 5)
+                .then(() -> {
+                    SubscriberStats stats = subscriber(hub);
+                    assertEquals(0, stats.lag());
+                    assertEquals(3, stats.delivered());
+                })
+                .thenCancel()
+                .verify(TIMEOUT);
+
+        assertEquals(2, hub.stats().dropped());
+    }
+
+    @Test
+    void testDisconnectOnOverflowDoesNotAffectOtherSubscribers() {
+        EventHub<Update> hub = hub(3);
+        List<Event<Update>> fast = new ArrayList<>();
+        hub.subscribe(null, null, null, null).subscribe(fast::add);
+
+        StepVerifier.create(hub.subscribe(OverflowPolicy.DISCONNECT, null, null, null), 0)
+                .then(() -> publish(hub, 4))
+                // Ошибка уходит клиенту, даже если он не запрашивал событий
+                .expectErrorMatches(error -> error instanceof BaseException)
+                .verify(TIMEOUT);
+
+        EventHub.Stats stats = hub.stats();
+        assertEquals(1, stats.disconnected());
+        // Три события в очереди и событие, которое в неё не поместилось
+        assertEquals(4, stats.dropped());
+        // Отключённый подписчик снят, медленный клиент не задержал быстрого
+        assertEquals(1, stats.subscribers().size());
+        assertEquals(4, stats.subscribers().get(0).delivered());
+        assertEquals(4, fast.size());
+    }
+
+    @Test
+    void testCancelUnregistersSubscriber() {
+        EventHub<Update> hub = hub(3);
+
+        StepVerifier.create(hub.subscribe(null, Conflation.whileBehind(), Filter.of(Set.of("k1"), null), null), 0)
+                .then(() -> publish(hub, 2))
+                .then(() -> {
+                    SubscriberStats stats = subscriber(hub);
+                    assertEquals(1, stats.keys());
+                    assertEquals(1, stats.lag());
+                })
+                .thenCancel()
+                .verify(TIMEOUT);
+
+        assertTrue(hub.stats().subscribers().isEmpty());
+        // Подписка снята и из индекса по ключу: новая версия сущности уже никому не предлагается
+        hub.publish(new Update("k1", 2));
+        assertEquals(0, hub.stats().conflated());
+        assertEquals(3, hub.stats().published());
+    }
+
+    @Test
+    void testConflatedReconnectDoesNotLoseKeys() {
+        EventHub<Update> hub = hub(8);
+        List<Event<Update>> received = new ArrayList<>();
+
+        StepVerifier.create(hub.subscribe(null, Conflation.whileBehind(), null, null), 0)
+                .then(() -> {
+                    hub.publish(new Update("A", 1));
+                    hub.publish(new Update("B", 1));
+                    hub.publish(new Update("A", 2));
+                })
+                .thenRequest(1)
+                .consumeNextWith(received::add)
+                // Соединение обрывается посреди склеенной пачки
+                .thenCancel()
+                .verify(TIMEOUT);
+
+        String lastEventId = received.get(received.size() - 1).position().toString();
+        StepVerifier.create(hub.subscribe(null, Conflation.whileBehind(), null, lastEventId), 0)
+                .thenRequest(Long.MAX_VALUE)
+                .thenConsumeWhile(event -> received.add(event) && event.id() < hub.lastEventId())
+                .thenCancel()
+                .verify(TIMEOUT);
+
+        // Номера идут по возрастанию, и по каждой сущности клиент получил последнюю версию
+        Map<String, Integer> latest = new HashMap<>();
+        for (int i = 0; i < received.size(); i++) {
+            if (i > 0) {
+                assertTrue(received.get(i).id() > received.get(i - 1).id());
+            }
+            latest.put(received.get(i).payload().key(), received.get(i).payload().version());
+        }
+        assertEquals(Map.of("A", 2, "B", 1), latest);
+        assertEquals("B", received.get(0).payload().key());
+    }
+
+    @Test
+    void testWindowedConflationKeepsIdOrder() {
+        EventHub<Update> hub = hub(8);
+
+        StepVerifier.create(hub.subscribe(null, Conflation.within(Duration.ofMillis(100)), null, null), 0)
+                .then(() -> {
+                    hub.publish(new Update("A", 1));
+                    hub.publish(new Update("B", 1));
+                })
+                // Окно закрылось, обе сущности разрешено отдать, но клиент ещё не запросил события
+                .expectNoEvent(Duration.ofMillis(250))
+                .then(() -> hub.publish(new Update("A", 2)))
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextMatches(event -> event.id() == 2 && event.payload().key().equals("B"))
+                .expectNextMatches(event -> event.id() == 3 && event.payload().version() == 2)
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    void testIdFromAnotherEpochResets() {
+        EventHub<Update> previous = hub(8);
+        previous.publish(new Update("A", 1));
+        EventHub<Update> hub = hub(8);
+        hub.publish(new Update("B", 1));
+        hub.publish(new Update("B", 2));
+
+        // Номер 1 есть и в новой нумерации, но относится к другому событию
+        String lastEventId = previous.lastEventPosition().toString();
+        StepVerifier.create(hub.subscribe(null, null, null, lastEventId))
+                .assertNext(event -> {
+                    assertTrue(event.isReset());
+                    assertEquals(hub.lastEventPosition(), event.position());
+                })
+                .thenCancel()
+                .verify(TIMEOUT);
+
+        StepVerifier.create(hub.subscribe(null, null, null, "1"))
+                .assertNext(event -> assertTrue(event.isReset()))
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    void testIdFromSameEpochReplays() {
+        EventHub<Update> hub = hub(8);
+        hub.publish(new Update("A", 1));
+        EventPosition lastEventId = hub.lastEventPosition();
+        hub.publish(new Update("B", 1));
+
+        StepVerifier.create(hub.subscribe(null, null, null, lastEventId.toString()))
+                .assertNext(event -> {
+                    assertEquals(new EventPosition(lastEventId.epoch(), 2), event.position());
+                    assertEquals("B", event.payload().key());
+                })
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+}
@@ -0,0 +1,102 @@
+package ru.itmo.spaceships.service;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import ru.itmo.spaceships.BaseDbTest;
+import ru.itmo.spaceships.repository.UpdateEventRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Два экземпляра шины на одной базе ведут себя как два узла приложения.
+ */
+class PostgresEventBusTest extends BaseDbTest {
+
+    @Autowired
+    ConnectionFactory connectionFactory;
+
+    @Autowired
+    DatabaseClient databaseClient;
+
+    @Autowired
+    ObjectProvider<UpdateEventRepository> updateEventRepository;
+
+    @Test
+    void testChangesAreDeliveredToOtherNode() {
+        PostgresEventBus nodeA = new PostgresEventBus(connectionFactory, databaseClient);
+        PostgresEventBus nodeB = new PostgresEventBus(connectionFactory, databaseClient);
+
+        Sinks.Many<EventBus.Change> received = Sinks.many().replay().all();
+        Disposable listening = nodeB.changes().subscribe(received::tryEmitNext);
+        try {
+            nodeB.listening().block(Duration.ofSeconds(10));
+
+            // Повторные изменения одной сущности склеиваются в одно уведомление
+            nodeA.announce("repairmen", 1);
+            nodeA.announce("repairmen", 2);
+            nodeA.announce("repairmen", 1);
+            nodeA.announce("spaceships", 7);
+            // Свои изменения узел не получает
+            nodeB.announce("repairmen", 3);
+
+            received.asFlux()
+                    .take(2)
+                    .collectMap(EventBus.Change::stream, EventBus.Change::keys)
+                    .as(StepVerifier::create)
+                    .assertNext(changes -> {
+                        assertEquals(Set.of(1L, 2L), changes.get("repairmen"));
+                        assertEquals(Set.of(7L), changes.get("spaceships"));
+                    })
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(10));
+        } finally {
+            listening.dispose();
+        }
+    }
+
+    @Test
+    void testLargeChangesAreSplitIntoSeveralNotifications() {
+        PostgresEventBus nodeA = new PostgresEventBus(connectionFactory, databaseClient);
+        PostgresEventBus nodeB = new PostgresEventBus(connectionFactory, databaseClient);
+        Set<Long> keys = new LinkedHashSet<>();
+        for (long key = 1_000_000_000L; key < 1_000_005_000L; key++) {
+            keys.add(key);
+        }
+
+        List<String> payloads = nodeA.payloads(Map.of("spaceships", keys));
+
+        assertTrue(payloads.size() > 1);
+        Set<Long> parsed = new HashSet<>();
+        for (String payload : payloads) {
+            assertTrue(payload.length() < 8000);
+            EventBus.Change change = nodeB.parse(payload);
+            assertEquals("spaceships", change.stream());
+            parsed.addAll(change.keys());
+            assertNull(nodeA.parse(payload));
+        }
+        assertEquals(keys, parsed);
+    }
+
+    @Test
+    void testOutboxIsRejected() {
+        // В тестовом профиле журнал включён
+        assertThrows(IllegalStateException.class,
+                () -> new PostgresEventBus(connectionFactory, databaseClient, updateEventRepository));
+    }
+}
@@ -0,0 +1,98 @@
+package ru.itmo.spaceships.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.itmo.spaceships.model.Engine;
+import ru.itmo.spaceships.model.FuelType;
+import ru.itmo.spaceships.model.SpaceShipEntity;
+import ru.itmo.spaceships.model.SpaceShipType;
+import ru.itmo.spaceships.repository.SpaceShipRepository;
+import ru.itmo.spaceships.statistics.overall.OverallStatistics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Живая статистика без базы данных: проход по таблице подменяется заранее заданными строками.
+ */
+class SpaceShipStatisticsServiceTest {
+
+    private final SpaceShipRepository spaceShipRepository = mock(SpaceShipRepository.class);
+    private final SpaceShipStatisticsService service = new SpaceShipStatisticsService(spaceShipRepository);
+
+    private static SpaceShipEntity ship(long id, long version, String manufacturer, int maxSpeed) {
+        return new SpaceShipEntity(id, id, manufacturer, Instant.parse("2025-01-01T12:00:00Z"), "Test Ship",
+                SpaceShipType.CARGO, null, new Engine("Test Engine", 100, FuelType.KEROSENE, 1.0), List.of(),
+                maxSpeed, version);
+    }
+
+    private OverallStatistics getOverallStatistics() {
+        OverallStatistics statistics = service.getOverallStatistics().block();
+        assertNotNull(statistics);
+        return statistics;
+    }
+
+    @Test
+    void testSeededStatisticsFollowWrites() {
+        SpaceShipEntity alpha = ship(1, 0, "Alpha", 100);
+        SpaceShipEntity beta = ship(2, 0, "Beta", 300);
+        when(spaceShipRepository.streamAll(anyInt())).thenReturn(Flux.just(alpha, beta));
+
+        assertEquals(2L, service.seed().block());
+        service.onCreated(ship(3, 0, "Alpha", 200));
+        service.onUpdated(beta, ship(2, 1, "Gamma", 50));
+        service.onDeleted(alpha);
+
+        OverallStatistics statistics = getOverallStatistics();
+        assertEquals(Map.of("Alpha", 1L, "Gamma", 1L), statistics.getCountByManufacturer());
+        assertEquals(2L, statistics.getAggregateMaxSpeed().getCount());
+        assertEquals(50L, statistics.getAggregateMaxSpeed().getMin());
+        assertEquals(200L, statistics.getAggregateMaxSpeed().getMax());
+        // Живая статистика не читает таблицу на каждый запрос
+        verify(spaceShipRepository, never()).estimateCount();
+        verify(spaceShipRepository, never()).aggregateOverallStatistics();
+    }
+
+    @Test
+    void testDeleteDuringSeed() {
+        SpaceShipEntity alpha = ship(1, 0, "Alpha", 100);
+        SpaceShipEntity beta = ship(2, 0, "Beta", 300);
+        // Второй корабль удаляется, пока проход ещё не дошёл до его строки
+        when(spaceShipRepository.streamAll(anyInt())).thenReturn(Flux.just(alpha).concatWith(Flux.defer(() -> {
+            service.onDeleted(beta);
+            return Flux.just(beta);
+        })));
+
+        service.seed().block();
+
+        OverallStatistics statistics = getOverallStatistics();
+        assertEquals(Map.of("Alpha", 1L), statistics.getCountByManufacturer());
+        assertEquals(1L, statistics.getAggregateMaxSpeed().getCount());
+    }
+
+    @Test
+    void testFallsBackToReportUntilSeeded() {
+        OverallStatistics report = new OverallStatistics();
+        report.getCountByManufacturer().put("Report", 1L);
+        when(spaceShipRepository.estimateCount()).thenReturn(Mono.just(1_000_000L));
+        when(spaceShipRepository.aggregateOverallStatistics()).thenReturn(Mono.just(report));
+        when(spaceShipRepository.streamAll(anyInt())).thenReturn(Flux.error(new IllegalStateException("boom")));
+
+        assertEquals(Map.of("Report", 1L), getOverallStatistics().getCountByManufacturer());
+
+        // Незавершённое заполнение не подменяет отчёт неполной статистикой
+        assertThrows(IllegalStateException.class, () -> service.seed().block());
+        assertEquals(Map.of("Report", 1L), getOverallStatistics().getCountByManufacturer());
+    }
+}
@@ -0,0 +1,99 @@
+package ru.itmo.spaceships.statistics;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ThreadPerTaskEngineTest {
+
+    private static final int MAX_CONCURRENCY = 4;
+
+    private static List<Integer> range(int count) {
+        return IntStream.range(0, count).boxed().toList();
+    }
+
+    /**
+     * Пакет, которому нужны все разрешения сразу: задачи ждут друг друга на барьере
+     */
+    private static List<Integer> awaitAll(ThreadPerTaskEngine engine) {
+        CyclicBarrier barrier = new CyclicBarrier(MAX_CONCURRENCY);
+        return engine.map(range(MAX_CONCURRENCY), number -> {
+            try {
+                barrier.await(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return number;
+        });
+    }
+
+    @Test
+    void testResultsKeepOrder() {
+        try (ThreadPerTaskEngine engine = new ThreadPerTaskEngine(MAX_CONCURRENCY, Duration.ofSeconds(5))) {
+            assertEquals(IntStream.range(0, 100).map(number -> number * 2).boxed().toList(),
+                    engine.map(range(100), number -> number * 2));
+        }
+    }
+
+    @Test
+    void testTimeoutCancelsRunningTasks() throws InterruptedException {
+        try (ThreadPerTaskEngine engine = new ThreadPerTaskEngine(MAX_CONCURRENCY, Duration.ofMillis(200))) {
+            CountDownLatch interrupted = new CountDownLatch(MAX_CONCURRENCY);
+
+            // Задач больше, чем разрешений: пятая не дождётся разрешения до таймаута
+            IllegalStateException error = assertThrows(IllegalStateException.class,
+                    () -> engine.map(range(MAX_CONCURRENCY + 1), number -> {
+                        try {
+                            Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                        } catch (InterruptedException e) {
+                            interrupted.countDown();
+                        }
+                        return number;
+                    }));
+
+            assertInstanceOf(TimeoutException.class, error.getCause());
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+            assertEquals(range(MAX_CONCURRENCY), awaitAll(engine));
+        }
+    }
+
+    @Test
+    void testTaskFailureFailsBatch() {
+        try (ThreadPerTaskEngine engine = new ThreadPerTaskEngine(MAX_CONCURRENCY, Duration.ofSeconds(5))) {
+            IllegalStateException error = assertThrows(IllegalStateException.class,
+                    () -> engine.map(range(10), number -> {
+                        if (number == 3) {
+                            throw new IllegalArgumentException("boom");
+                        }
+                        return number;
+                    }));
+
+            assertInstanceOf(IllegalArgumentException.class, error.getCause());
+        }
+    }
+
+    @Test
+    void testPermitsAreReturnedAfterFailedBatch() {
+        try (ThreadPerTaskEngine engine = new ThreadPerTaskEngine(MAX_CONCURRENCY, Duration.ofSeconds(5))) {
+            for (int batch = 0; batch < 3; batch++) {
+                assertThrows(IllegalStateException.class, () -> engine.map(range(MAX_CONCURRENCY * 3), number -> {
+                    throw new IllegalArgumentException("boom");
+                }));
+            }
+
+            // Если хотя бы одно разрешение потеряно, задачи не соберутся на барьере
+            assertEquals(range(MAX_CONCURRENCY), awaitAll(engine));
+        }
+    }
+}
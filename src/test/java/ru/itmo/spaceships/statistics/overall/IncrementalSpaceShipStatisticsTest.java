@@ -0,0 +1,207 @@
+package ru.itmo.spaceships.statistics.overall;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import ru.itmo.spaceships.model.CrewMember;
+import ru.itmo.spaceships.model.Dimensions;
+import ru.itmo.spaceships.model.Engine;
+import ru.itmo.spaceships.model.FuelType;
+import ru.itmo.spaceships.model.SpaceShipEntity;
+import ru.itmo.spaceships.model.SpaceShipType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IncrementalSpaceShipStatisticsTest {
+
+    private static SpaceShipEntity ship(long id, long version, String manufacturer, int maxSpeed, int crewSize) {
+        List<CrewMember> crew = Collections.nCopies(crewSize,
+                new CrewMember("John Doe", "Captain", 10, LocalDate.of(1990, 1, 1)));
+        return new SpaceShipEntity(id, id, manufacturer, Instant.parse("2025-01-01T12:00:00Z"), "Test Ship",
+                SpaceShipType.CARGO, new Dimensions(maxSpeed, 1, 1, 1.0, 1.0),
+                new Engine("Test Engine", 100, FuelType.KEROSENE, 1.0), crew, maxSpeed, version);
+    }
+
+    @Test
+    void testAddAndRemove() {
+        IncrementalSpaceShipStatistics statistics = new IncrementalSpaceShipStatistics();
+        SpaceShipEntity alpha = ship(1, 0, "Alpha", 100, 1);
+        SpaceShipEntity beta = ship(2, 0, "Beta", 300, 3);
+        statistics.add(alpha);
+        statistics.add(beta);
+        statistics.add(ship(3, 0, "Alpha", 200, 2));
+
+        statistics.remove(beta);
+
+        OverallStatistics snapshot = statistics.getSnapshot();
+        assertEquals(Map.of("Alpha", 2L), snapshot.getCountByManufacturer());
+        assertEquals(Map.of("KEROSENE", 2L), snapshot.getCountByFuelType());
+        assertEquals(2L, snapshot.getAggregateMaxSpeed().getCount());
+        assertEquals(300L, snapshot.getAggregateMaxSpeed().getSum());
+        // После удаления максимума максимумом становится следующее значение
+        assertEquals(100L, snapshot.getAggregateMaxSpeed().getMin());
+        assertEquals(200L, snapshot.getAggregateMaxSpeed().getMax());
+        assertEquals(200L, snapshot.getAggregateLength().getMax());
+        assertEquals(3L, snapshot.getAggregateCrewByShipType().get("CARGO").getSum());
+    }
+
+    @Test
+    void testRemoveMinimum() {
+        IncrementalSpaceShipStatistics statistics = new IncrementalSpaceShipStatistics();
+        SpaceShipEntity slowest = ship(1, 0, "Alpha", 100, 1);
+        statistics.add(slowest);
+        statistics.add(ship(2, 0, "Alpha", 100, 1));
+        statistics.add(ship(3, 0, "Alpha", 500, 1));
+
+        // Одно из двух одинаковых значений остаётся минимумом
+        statistics.remove(slowest);
+        assertEquals(100L, statistics.getSnapshot().getAggregateMaxSpeed().getMin());
+
+        statistics.remove(ship(2, 0, "Alpha", 100, 1));
+        assertEquals(500L, statistics.getSnapshot().getAggregateMaxSpeed().getMin());
+    }
+
+    @Test
+    void testReplaceRetractsPreviousState() {
+        IncrementalSpaceShipStatistics statistics = new IncrementalSpaceShipStatistics();
+        SpaceShipEntity beta = ship(1, 0, "Beta", 300, 2);
+        statistics.add(beta);
+        statistics.add(ship(2, 0, "Alpha", 100, 1));
+
+        statistics.replace(beta, ship(1, 1, "Gamma", 50, 4));
+
+        OverallStatistics snapshot = statistics.getSnapshot();
+        assertEquals(Map.of("Alpha", 1L, "Gamma", 1L), snapshot.getCountByManufacturer());
+        assertEquals(2L, snapshot.getAggregateMaxSpeed().getCount());
+        assertEquals(50L, snapshot.getAggregateMaxSpeed().getMin());
+        assertEquals(100L, snapshot.getAggregateMaxSpeed().getMax());
+        assertEquals(5L, snapshot.getAggregateCrewMembers().getSum());
+    }
+
+    @Test
+    void testKeysAreDroppedAtZero() {
+        IncrementalSpaceShipStatistics statistics = new IncrementalSpaceShipStatistics();
+        SpaceShipEntity alpha = ship(1, 0, "Alpha", 100, 1);
+        statistics.add(alpha);
+
+        statistics.remove(alpha);
+
+        OverallStatistics snapshot = statistics.getSnapshot();
+        assertTrue(snapshot.getCountByManufacturer().isEmpty());
+        assertTrue(snapshot.getCountByFuelType().isEmpty());
+        assertTrue(snapshot.getCountByDate().isEmpty());
+        assertTrue(snapshot.getAggregateCrewByShipType().isEmpty());
+        assertEquals(0L, snapshot.getAggregateMaxSpeed().getCount());
+    }
+
+    @Test
+    void testRemoveUnknownShipKeepsCountsNonNegative() {
+        IncrementalSpaceShipStatistics statistics = new IncrementalSpaceShipStatistics();
+        statistics.add(ship(1, 0, "Alpha", 100, 1));
+
+        statistics.remove(ship(2, 0, "Beta", 300, 2));
+        statistics.replace(ship(3, 0, "Gamma", 400, 3), ship(3, 1, "Gamma", 400, 3));
+
+        OverallStatistics snapshot = statistics.getSnapshot();
+        assertEquals(Map.of("Alpha", 1L, "Gamma", 1L), snapshot.getCountByManufacturer());
+        assertEquals(2L, snapshot.getAggregateMaxSpeed().getCount());
+        assertEquals(500L, snapshot.getAggregateMaxSpeed().getSum());
+        assertEquals(2L, snapshot.getAggregateCrewByShipType().get("CARGO").getCount());
+    }
+
+    @Test
+    void testSnapshotIsRebuiltOnlyAfterChanges() {
+        IncrementalSpaceShipStatistics statistics = new IncrementalSpaceShipStatistics();
+        statistics.add(ship(1, 0, "Alpha", 100, 1));
+
+        OverallStatistics first = statistics.getSnapshot();
+        assertSame(first, statistics.getSnapshot());
+
+        statistics.add(ship(2, 0, "Alpha", 200, 1));
+        assertNotSame(first, statistics.getSnapshot());
+        assertEquals(Map.of("Alpha", 1L), first.getCountByManufacturer());
+    }
+
+    @Test
+    void testSeedIsReadyOnlyAfterCompletion() {
+        IncrementalSpaceShipStatistics statistics = new IncrementalSpaceShipStatistics();
+        statistics.add(ship(1, 0, "Stale", 100, 1));
+        assertFalse(statistics.isReady());
+
+        statistics.beginSeed();
+        statistics.seed(ship(2, 0, "Alpha", 200, 1));
+        assertFalse(statistics.isReady());
+        statistics.completeSeed();
+
+        assertTrue(statistics.isReady());
+        assertEquals(Map.of("Alpha", 1L), statistics.getSnapshot().getCountByManufacturer());
+    }
+
+    @Test
+    void testWritesBeforeScannedRow() {
+        IncrementalSpaceShipStatistics statistics = new IncrementalSpaceShipStatistics();
+        statistics.beginSeed();
+
+        // Изменения пришли раньше строк прохода: проход прочитал строку до или после изменения
+        statistics.remove(ship(1, 0, "Deleted", 100, 1));
+        statistics.replace(ship(2, 0, "Beta", 300, 1), ship(2, 1, "Gamma", 400, 1));
+        statistics.add(ship(3, 0, "Created", 500, 1));
+        statistics.seed(ship(1, 0, "Deleted", 100, 1));
+        statistics.seed(ship(2, 0, "Beta", 300, 1));
+        statistics.seed(ship(3, 0, "Created", 500, 1));
+        statistics.completeSeed();
+
+        OverallStatistics snapshot = statistics.getSnapshot();
+        assertEquals(Map.of("Gamma", 1L, "Created", 1L), snapshot.getCountByManufacturer());
+        assertEquals(2L, snapshot.getAggregateMaxSpeed().getCount());
+        assertEquals(900L, snapshot.getAggregateMaxSpeed().getSum());
+    }
+
+    @Test
+    void testWritesAfterScannedRow() {
+        IncrementalSpaceShipStatistics statistics = new IncrementalSpaceShipStatistics();
+        statistics.beginSeed();
+
+        // Строки прохода прочитаны раньше, чем пришли изменения
+        statistics.seed(ship(1, 0, "Deleted", 100, 1));
+        statistics.seed(ship(2, 0, "Beta", 300, 1));
+        statistics.seed(ship(3, 1, "Gamma", 400, 1));
+        statistics.seed(ship(4, 0, "Created", 500, 1));
+        statistics.remove(ship(1, 0, "Deleted", 100, 1));
+        statistics.replace(ship(2, 0, "Beta", 300, 1), ship(2, 1, "Beta", 350, 1));
+        // Проход уже прочитал строку после этого изменения
+        statistics.replace(ship(3, 0, "Gamma", 200, 1), ship(3, 1, "Gamma", 400, 1));
+        // Проход уже прочитал созданный корабль
+        statistics.add(ship(4, 0, "Created", 500, 1));
+        statistics.completeSeed();
+
+        OverallStatistics snapshot = statistics.getSnapshot();
+        assertEquals(Map.of("Beta", 1L, "Gamma", 1L, "Created", 1L), snapshot.getCountByManufacturer());
+        assertEquals(3L, snapshot.getAggregateMaxSpeed().getCount());
+        assertEquals(350L, snapshot.getAggregateMaxSpeed().getMin());
+        assertEquals(1250L, snapshot.getAggregateMaxSpeed().getSum());
+    }
+
+    @Test
+    void testWritesAfterSeedAreAppliedDirectly() {
+        IncrementalSpaceShipStatistics statistics = new IncrementalSpaceShipStatistics();
+        statistics.beginSeed();
+        statistics.seed(ship(1, 0, "Alpha", 100, 1));
+        statistics.completeSeed();
+
+        statistics.add(ship(1, 0, "Alpha", 100, 1));
+        statistics.remove(ship(2, 0, "Beta", 300, 1));
+
+        OverallStatistics snapshot = statistics.getSnapshot();
+        assertEquals(Map.of("Alpha", 2L), snapshot.getCountByManufacturer());
+        assertEquals(2L, snapshot.getAggregateMaxSpeed().getCount());
+    }
+}